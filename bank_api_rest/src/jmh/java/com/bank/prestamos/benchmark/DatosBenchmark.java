@@ -0,0 +1,33 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+final class DatosBenchmark {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private DatosBenchmark() {
+    }
+
+    static Prestamo prestamo(long id, EstadoPrestamo estado) {
+        return Prestamo.builder()
+                .id(id)
+                .nombreSolicitante("Solicitante " + id)
+                .importeSolicitado(new BigDecimal("15000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo(String.format("%08dZ", id))
+                .estado(estado)
+                .fechaCreacion(FECHA)
+                .fechaUltimaModificacion(FECHA.plusHours(2))
+                .usuarioUltimaModificacion("gestor@banco.com")
+                .version(1L)
+                .build();
+    }
+}
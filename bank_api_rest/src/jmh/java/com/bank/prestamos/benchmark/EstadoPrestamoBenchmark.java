@@ -0,0 +1,58 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las reglas de transición de estado del dominio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EstadoPrestamoBenchmark {
+
+    private static final EstadoPrestamo[] ESTADOS = EstadoPrestamo.values();
+
+    @Benchmark
+    public void puedeTransicionarATodasLasCombinaciones(Blackhole bh) {
+        for (EstadoPrestamo origen : ESTADOS) {
+            for (EstadoPrestamo destino : ESTADOS) {
+                bh.consume(origen.puedeTransicionarA(destino));
+            }
+        }
+    }
+
+    @Benchmark
+    public Prestamo cambiarEstadoValido() {
+        Prestamo prestamo = DatosBenchmark.prestamo(1L, EstadoPrestamo.PENDIENTE);
+        prestamo.cambiarEstado(EstadoPrestamo.APROBADA, "gestor@banco.com");
+        return prestamo;
+    }
+
+    @Benchmark
+    public Object cambiarEstadoInvalido() {
+        Prestamo prestamo = DatosBenchmark.prestamo(1L, EstadoPrestamo.RECHAZADA);
+        try {
+            prestamo.cambiarEstado(EstadoPrestamo.APROBADA, "gestor@banco.com");
+            return prestamo;
+        } catch (TransicionEstadoInvalidaException ex) {
+            return ex;
+        }
+    }
+}
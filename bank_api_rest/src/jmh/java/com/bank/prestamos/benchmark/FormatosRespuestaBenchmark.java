@@ -0,0 +1,131 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.mappers.PrestamoDtoMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks de los formatos de respuesta de los listados: CPU de serializar y deserializar una lista
+ * en JSON, CBOR y Smile, con y sin gzip. Los bytes que viajan por la red se publican como contadores
+ * auxiliares de JMH junto a cada resultado de serializar: bytes / respuestas es el tamaño de una respuesta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatosRespuestaBenchmark {
+
+    private static final PrestamoDtoMapper MAPEADOR = Mappers.getMapper(PrestamoDtoMapper.class);
+
+    public enum Formato {
+        JSON(new JsonFactory()),
+        CBOR(new CBORFactory()),
+        SMILE(new SmileFactory());
+
+        private final JsonFactory factoria;
+
+        Formato(JsonFactory factoria) {
+            this.factoria = factoria;
+        }
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Formato formato;
+
+    @Param({"100", "10000"})
+    public int tamanio;
+
+    private ObjectWriter escritor;
+    private ObjectMapper lector;
+    private List<PrestamoResponse> respuestas;
+    private byte[] serializada;
+
+    @Setup
+    public void preparar() throws IOException {
+        // Misma configuración que FormatosRespuesta: solo cambia la factoría de generadores
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(formato.factoria).build();
+        escritor = mapper.writerFor(mapper.getTypeFactory()
+                .constructCollectionType(List.class, PrestamoResponse.class));
+        lector = mapper;
+        respuestas = LongStream.rangeClosed(1, tamanio)
+                .mapToObj(id -> MAPEADOR.toResponse(DatosBenchmark.prestamo(id, EstadoPrestamo.PENDIENTE)))
+                .toList();
+        serializada = escritor.writeValueAsBytes(respuestas);
+    }
+
+    @Benchmark
+    public byte[] serializar(TamanioSalida salida) throws IOException {
+        return salida.contar(escritor.writeValueAsBytes(respuestas));
+    }
+
+    @Benchmark
+    public byte[] serializarComprimido(TamanioSalida salida) throws IOException {
+        return salida.contar(comprimir(escritor.writeValueAsBytes(respuestas)));
+    }
+
+    @Benchmark
+    public PrestamoResponse[] deserializar() throws IOException {
+        return lector.readValue(serializada, PrestamoResponse[].class);
+    }
+
+    private static byte[] comprimir(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * Bytes escritos y respuestas serializadas en cada iteración; JMH los suma y los muestra como
+     * contadores secundarios del resultado.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class TamanioSalida {
+
+        public long bytes;
+        public long respuestas;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            bytes = 0;
+            respuestas = 0;
+        }
+
+        byte[] contar(byte[] salida) {
+            bytes += salida.length;
+            respuestas++;
+            return salida;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import com.bank.prestamos.infrastructure.adapter.out.nombres.IndiceTrigramas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la búsqueda por nombre sobre un índice de un millón de solicitantes
+ * con nombres y apellidos frecuentes, para comprobar que la latencia queda por debajo del milisegundo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IndiceNombresBenchmark {
+
+    private static final String[] NOMBRES = {
+            "José", "María", "Juan", "Ana", "Francisco", "Lucía", "Antonio", "Carmen", "Manuel", "Isabel",
+            "David", "Laura", "Javier", "Marta", "Daniel", "Elena", "Carlos", "Sara", "Miguel", "Paula"
+    };
+
+    private static final String[] APELLIDOS = {
+            "García", "Fernández", "González", "Rodríguez", "López", "Martínez", "Sánchez", "Pérez", "Gómez",
+            "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez", "Romero",
+            "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez",
+            "Serrano", "Blanco", "Molina", "Morales", "Suárez", "Ortega", "Delgado", "Castro", "Ortiz",
+            "Rubio", "Marín", "Sanz", "Núñez", "Iglesias", "Medina", "Garrido", "Cortés", "Castillo"
+    };
+
+    private static final double SIMILITUD_MINIMA = 0.6;
+    private static final int CANDIDATOS_MAXIMOS = 10_000;
+    private static final int LIMITE = 10;
+
+    @Param({"1000000"})
+    private int nombres;
+
+    @Param({"perez", "gonzales", "maria fernandez", "ca"})
+    private String texto;
+
+    private IndiceTrigramas indice;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        indice = new IndiceTrigramas(nombres);
+        for (int i = 1; i <= nombres; i++) {
+            indice.agregar(i, NOMBRES[aleatorio.nextInt(NOMBRES.length)] + " "
+                    + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] + " "
+                    + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]);
+        }
+    }
+
+    @Benchmark
+    public List<CoincidenciaNombre> buscar() {
+        return indice.buscar(texto, LIMITE, SIMILITUD_MINIMA, CANDIDATOS_MAXIMOS);
+    }
+}
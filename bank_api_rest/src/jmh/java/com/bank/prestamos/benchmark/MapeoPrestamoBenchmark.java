@@ -0,0 +1,97 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.application.mappers.PrestamoMapper;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.mappers.PrestamoDtoMapper;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.entities.PrestamoEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks de las conversiones generadas por MapStruct entre DTOs, dominio y entidades.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeoPrestamoBenchmark {
+
+    private PrestamoDtoMapper mapeadorDto;
+    private PrestamoMapper mapeadorEntidad;
+    private CrearPrestamoRequest request;
+    private Prestamo prestamo;
+    private PrestamoEntity entidad;
+
+    /**
+     * Listas de préstamos de distintos tamaños para la conversión de colecciones.
+     */
+    @State(Scope.Thread)
+    public static class Lista {
+
+        @Param({"1", "100", "10000"})
+        public int tamanio;
+
+        private List<Prestamo> prestamos;
+
+        @Setup
+        public void preparar() {
+            prestamos = LongStream.rangeClosed(1, tamanio)
+                    .mapToObj(id -> DatosBenchmark.prestamo(id, EstadoPrestamo.PENDIENTE))
+                    .toList();
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        mapeadorDto = Mappers.getMapper(PrestamoDtoMapper.class);
+        mapeadorEntidad = Mappers.getMapper(PrestamoMapper.class);
+        request = new CrearPrestamoRequest("Juan Pérez", new BigDecimal("15000.00"), "EUR", "12345678Z");
+        prestamo = DatosBenchmark.prestamo(1L, EstadoPrestamo.APROBADA);
+        entidad = mapeadorEntidad.toEntity(prestamo);
+    }
+
+    @Benchmark
+    public Prestamo requestADominio() {
+        return mapeadorDto.toDomain(request);
+    }
+
+    @Benchmark
+    public PrestamoResponse dominioAResponse() {
+        return mapeadorDto.toResponse(prestamo);
+    }
+
+    @Benchmark
+    public List<PrestamoResponse> listaDominioAResponse(Lista lista) {
+        return mapeadorDto.toResponseList(lista.prestamos);
+    }
+
+    @Benchmark
+    public PrestamoEntity dominioAEntidad() {
+        return mapeadorEntidad.toEntity(prestamo);
+    }
+
+    @Benchmark
+    public Prestamo entidadADominio() {
+        return mapeadorEntidad.toDomain(entidad);
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.RespuestaError;
+import com.bank.prestamos.infrastructure.excepcion.ManejadorGlobalExcepciones;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la construcción de respuestas de error del manejador global.
+ * El registro en log de cada error se silencia con src/jmh/resources/logback-test.xml,
+ * de modo que solo se mide la construcción de la respuesta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RespuestaErrorBenchmark {
+
+    private ManejadorGlobalExcepciones manejador;
+    private WebRequest peticion;
+    private PrestamoNoEncontradoException noEncontrado;
+    private TransicionEstadoInvalidaException transicionInvalida;
+    private MethodArgumentNotValidException validacion;
+    private RuntimeException inesperada;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        manejador = new ManejadorGlobalExcepciones();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/prestamos/1");
+        peticion = new ServletWebRequest(request);
+        noEncontrado = new PrestamoNoEncontradoException(1L);
+        transicionInvalida = new TransicionEstadoInvalidaException("RECHAZADA", "APROBADA");
+        inesperada = new IllegalStateException("Error inesperado");
+
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(
+                new CrearPrestamoRequest("", null, "euros", "123"), "crearPrestamoRequest");
+        resultado.addError(new FieldError("crearPrestamoRequest", "nombreSolicitante",
+                "El nombre del solicitante es obligatorio"));
+        resultado.addError(new FieldError("crearPrestamoRequest", "divisa",
+                "La divisa debe ser un código ISO de 3 letras"));
+        resultado.addError(new FieldError("crearPrestamoRequest", "documentoIdentificativo",
+                "Formato de documento inválido"));
+        MethodParameter parametro = new MethodParameter(
+                RespuestaErrorBenchmark.class.getDeclaredMethod("preparar"), -1);
+        validacion = new MethodArgumentNotValidException(parametro, resultado);
+    }
+
+    @Benchmark
+    public ResponseEntity<RespuestaError> prestamoNoEncontrado() {
+        return manejador.manejarPrestamoNoEncontrado(noEncontrado, peticion);
+    }
+
+    @Benchmark
+    public ResponseEntity<RespuestaError> transicionInvalida() {
+        return manejador.manejarTransicionEstadoInvalida(transicionInvalida, peticion);
+    }
+
+    @Benchmark
+    public ResponseEntity<RespuestaError> erroresValidacion() {
+        return manejador.manejarErroresValidacion(validacion, peticion);
+    }
+
+    @Benchmark
+    public ResponseEntity<RespuestaError> excepcionInesperada() {
+        return manejador.manejarExcepcionGlobal(inesperada, peticion);
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.prestamos.benchmark;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.mappers.PrestamoDtoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks de la serialización JSON de las respuestas con la configuración de Jackson de Spring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializacionPrestamoBenchmark {
+
+    private static final PrestamoDtoMapper MAPEADOR = Mappers.getMapper(PrestamoDtoMapper.class);
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter escritorLista;
+    private PrestamoResponse respuesta;
+
+    /**
+     * Listas de respuestas de distintos tamaños.
+     */
+    @State(Scope.Thread)
+    public static class Lista {
+
+        @Param({"1", "100", "10000"})
+        public int tamanio;
+
+        private List<PrestamoResponse> respuestas;
+
+        @Setup
+        public void preparar() {
+            respuestas = LongStream.rangeClosed(1, tamanio)
+                    .mapToObj(id -> MAPEADOR.toResponse(DatosBenchmark.prestamo(id, EstadoPrestamo.PENDIENTE)))
+                    .toList();
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        // Mismos módulos y opciones por defecto que el ObjectMapper de Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        respuesta = MAPEADOR.toResponse(DatosBenchmark.prestamo(1L, EstadoPrestamo.APROBADA));
+        escritorLista = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PrestamoResponse.class));
+    }
+
+    @Benchmark
+    public byte[] serializarRespuesta() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public byte[] serializarLista(Lista lista) throws JsonProcessingException {
+        return escritorLista.writeValueAsBytes(lista.respuestas);
+    }
+}
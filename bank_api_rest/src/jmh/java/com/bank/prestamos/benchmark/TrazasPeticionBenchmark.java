@@ -0,0 +1,188 @@
+package com.bank.prestamos.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.infrastructure.trazas.FiltroMuestreoTrazas;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.mask.MaskingJsonGeneratorDecorator;
+import net.logstash.logback.mask.MaskingJsonGeneratorDecorator.ValueMask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del coste de las trazas en el hilo de la petición: las líneas que escriben el controlador
+ * y el servicio al crear y al consultar un préstamo, con cuatro hilos compitiendo por el appender.
+ * <p>
+ * SINCRONA_TEXTO reproduce la situación anterior completa: patrón de texto escrito en el hilo de la
+ * petición, nivel DEBUG para la aplicación y los mensajes de entonces (la petición entera con nombre y
+ * documento, el nombre del solicitante y la traza DEBUG de la consulta). ASINCRONA_JSON y
+ * ASINCRONA_MUESTREADA son la configuración de logback-spring.xml, sin y con muestreo, con los mensajes
+ * y el nivel INFO actuales. En las asíncronas se mide lo que paga la petición (encolar o descartar),
+ * no el trabajo del hilo de Logback.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TrazasPeticionBenchmark {
+
+    private static final String MASCARA_DOCUMENTO = "\\b[0-9XYZ]\\d\\d\\d\\d(\\d\\d\\d[A-Z])\\b";
+
+    /**
+     * Forma que tenía CrearPrestamoRequest: el toString por defecto del record, con todos sus campos.
+     */
+    private record CrearPrestamoRequest(String nombreSolicitante, BigDecimal importeSolicitado, String divisa,
+                                        String documentoIdentificativo) {
+    }
+
+    public enum Configuracion {
+        SINCRONA_TEXTO,
+        ASINCRONA_JSON,
+        ASINCRONA_MUESTREADA
+    }
+
+    @Param({"SINCRONA_TEXTO", "ASINCRONA_JSON", "ASINCRONA_MUESTREADA"})
+    public Configuracion configuracion;
+
+    private LoggerContext contexto;
+    private Path fichero;
+    private Logger controlador;
+    private Logger servicio;
+    private Prestamo prestamo;
+    private CrearPrestamoRequest solicitud;
+    private boolean anterior;
+
+    @Setup
+    public void preparar() throws IOException {
+        fichero = Files.createTempFile("trazas-benchmark", ".log");
+        contexto = new LoggerContext();
+
+        Appender<ILoggingEvent> salida = configuracion == Configuracion.SINCRONA_TEXTO
+                ? fichero(patronTexto())
+                : asincrono(fichero(json()));
+        if (configuracion == Configuracion.ASINCRONA_MUESTREADA) {
+            FiltroMuestreoTrazas muestreo = new FiltroMuestreoTrazas();
+            muestreo.setContext(contexto);
+            muestreo.addLogger("com.bank.prestamos.infrastructure.adapter.in.rest.controller");
+            muestreo.addLogger("com.bank.prestamos.application.services");
+            muestreo.setMaximoPorSegundo(100);
+            muestreo.start();
+            contexto.addTurboFilter(muestreo);
+        }
+        Logger raiz = contexto.getLogger(Logger.ROOT_LOGGER_NAME);
+        raiz.setLevel(Level.INFO);
+        raiz.addAppender(salida);
+        anterior = configuracion == Configuracion.SINCRONA_TEXTO;
+        if (anterior) {
+            // Antes application.properties fijaba logging.level.com.bank.prestamos=DEBUG
+            contexto.getLogger("com.bank.prestamos").setLevel(Level.DEBUG);
+        }
+
+        controlador = contexto.getLogger(
+                "com.bank.prestamos.infrastructure.adapter.in.rest.controller.PrestamoController");
+        servicio = contexto.getLogger("com.bank.prestamos.application.services.PrestamoService");
+        prestamo = DatosBenchmark.prestamo(1L, EstadoPrestamo.PENDIENTE);
+        solicitud = new CrearPrestamoRequest(prestamo.getNombreSolicitante(), prestamo.getImporteSolicitado(),
+                prestamo.getDivisa(), prestamo.getDocumentoIdentificativo());
+    }
+
+    @TearDown
+    public void limpiar() throws IOException {
+        contexto.stop();
+        Files.deleteIfExists(fichero);
+    }
+
+    @Benchmark
+    public void crearPrestamo() {
+        if (anterior) {
+            controlador.info("Recibida solicitud para crear préstamo: {}", solicitud);
+            servicio.info("Creando nuevo préstamo para: {}", prestamo.getNombreSolicitante());
+        } else {
+            controlador.info("Recibida solicitud para crear préstamo de {} {}",
+                    prestamo.getImporteSolicitado(), prestamo.getDivisa());
+            servicio.info("Creando nuevo préstamo de {} {}", prestamo.getImporteSolicitado(), prestamo.getDivisa());
+        }
+        servicio.info("Préstamo creado exitosamente con ID: {}", prestamo.getId());
+    }
+
+    @Benchmark
+    public void obtenerPrestamo() {
+        // Mismos mensajes antes y ahora; la traza DEBUG solo se escribía con el nivel anterior
+        controlador.info("Recibida solicitud para obtener préstamo con ID: {}", prestamo.getId());
+        servicio.debug("Consultando préstamo con ID: {}", prestamo.getId());
+    }
+
+    private Encoder<ILoggingEvent> patronTexto() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> json() {
+        ValueMask documentos = new ValueMask();
+        documentos.addValue(MASCARA_DOCUMENTO);
+        documentos.setMask("*****$1");
+        MaskingJsonGeneratorDecorator enmascarado = new MaskingJsonGeneratorDecorator();
+        enmascarado.setDefaultMask("****");
+        enmascarado.addPath("nombreSolicitante");
+        enmascarado.addPath("documentoIdentificativo");
+        enmascarado.addValueMask(documentos);
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(contexto);
+        encoder.setJsonGeneratorDecorator(enmascarado);
+        encoder.start();
+        return encoder;
+    }
+
+    private Appender<ILoggingEvent> fichero(Encoder<ILoggingEvent> encoder) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(contexto);
+        appender.setFile(fichero.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asincrono(Appender<ILoggingEvent> destino) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(contexto);
+        appender.setQueueSize(8192);
+        appender.setNeverBlock(true);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(destino);
+        appender.start();
+        return appender;
+    }
+}
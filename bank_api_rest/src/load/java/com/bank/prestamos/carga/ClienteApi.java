@@ -0,0 +1,111 @@
+package com.bank.prestamos.carga;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ActualizarEstadoPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamosLoteRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ResultadoCreacionResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ResultadoLoteResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cliente HTTP de la API de préstamos usado por la prueba de carga.
+ */
+class ClienteApi {
+
+    private static final String LETRAS_DNI = "TRWAGMYFPDXBNJZSQVHLCKE";
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String base;
+    private final AtomicLong documentos = new AtomicLong();
+
+    ClienteApi(int puerto, ObjectMapper objectMapper) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.base = "http://localhost:" + puerto + "/api/prestamos";
+    }
+
+    /**
+     * Crea préstamos mediante el endpoint por lotes y devuelve sus IDs.
+     */
+    List<Long> crearLote(int cantidad) throws IOException, InterruptedException {
+        List<CrearPrestamoRequest> prestamos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            prestamos.add(nuevoPrestamo());
+        }
+        HttpResponse<byte[]> respuesta = enviar(HttpRequest.newBuilder(URI.create(base + "/lote"))
+                .POST(cuerpo(new CrearPrestamosLoteRequest(prestamos))));
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("Fallo al sembrar préstamos: HTTP " + respuesta.statusCode());
+        }
+        return objectMapper.readValue(respuesta.body(), ResultadoLoteResponse.class).resultados().stream()
+                .map(ResultadoCreacionResponse::prestamo)
+                .filter(prestamo -> prestamo != null)
+                .map(PrestamoResponse::id)
+                .toList();
+    }
+
+    HttpResponse<byte[]> crear() throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(base)).POST(cuerpo(nuevoPrestamo())));
+    }
+
+    HttpResponse<byte[]> obtener(long id) throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/" + id)).GET());
+    }
+
+    HttpResponse<byte[]> listar() throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "?tamanio=20")).GET());
+    }
+
+    HttpResponse<byte[]> cambiarEstado(long id, EstadoPrestamo estado) throws IOException, InterruptedException {
+        ActualizarEstadoPrestamoRequest peticion = new ActualizarEstadoPrestamoRequest(estado, "carga@banco.com");
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/" + id + "/estado"))
+                .method("PATCH", cuerpo(peticion)));
+    }
+
+    long idCreado(HttpResponse<byte[]> respuesta) {
+        try {
+            return objectMapper.readValue(respuesta.body(), PrestamoResponse.class).id();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private HttpResponse<byte[]> enviar(HttpRequest.Builder peticion) throws IOException, InterruptedException {
+        return http.send(peticion
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.BodyPublisher cuerpo(Object valor) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(valor));
+    }
+
+    /**
+     * Genera un préstamo con un DNI válido y único dentro de la ejecución.
+     */
+    private CrearPrestamoRequest nuevoPrestamo() {
+        long numero = documentos.incrementAndGet();
+        String documento = String.format("%08d%c", numero, LETRAS_DNI.charAt((int) (numero % 23)));
+        return new CrearPrestamoRequest("Solicitante " + numero, new BigDecimal("12500.00"), "EUR", documento);
+    }
+}
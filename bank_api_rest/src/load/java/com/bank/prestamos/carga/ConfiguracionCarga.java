@@ -0,0 +1,61 @@
+package com.bank.prestamos.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema carga.*.
+ *
+ * @param prestamosIniciales Préstamos que se crean antes de empezar a medir
+ * @param clientes Número de clientes concurrentes
+ * @param calentamiento Tiempo inicial cuyas mediciones se descartan
+ * @param duracion Tiempo de medición
+ * @param mezcla Peso relativo de cada operación
+ * @param perfiles Perfiles de Spring con los que se arranca la aplicación
+ * @param resultados Fichero JSON donde se escribe el informe
+ */
+record ConfiguracionCarga(
+        int prestamosIniciales,
+        int clientes,
+        Duration calentamiento,
+        Duration duracion,
+        Map<Operacion, Integer> mezcla,
+        String perfiles,
+        Path resultados) {
+
+    static ConfiguracionCarga desdePropiedadesSistema() {
+        return new ConfiguracionCarga(
+                Integer.getInteger("carga.prestamos", 10_000),
+                Integer.getInteger("carga.clientes", 32),
+                Duration.ofSeconds(Long.getLong("carga.calentamiento", 10)),
+                Duration.ofSeconds(Long.getLong("carga.duracion", 60)),
+                leerMezcla(System.getProperty("carga.mezcla", "crear:10,obtener:60,listar:20,estado:10")),
+                System.getProperty("carga.perfiles", "h2"),
+                Path.of(System.getProperty("carga.resultados", "target/carga-resultados.json")));
+    }
+
+    /**
+     * Interpreta una mezcla con formato "operacion:peso,operacion:peso".
+     */
+    static Map<Operacion, Integer> leerMezcla(String texto) {
+        Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.trim().split(":");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Mezcla de carga inválida: " + texto);
+            }
+            Operacion operacion = Operacion.valueOf(claveValor[0].trim().toUpperCase(Locale.ROOT));
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso > 0) {
+                mezcla.put(operacion, peso);
+            }
+        }
+        if (mezcla.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de carga no contiene ninguna operación: " + texto);
+        }
+        return mezcla;
+    }
+}
@@ -0,0 +1,191 @@
+package com.bank.prestamos.carga;
+
+import com.bank.prestamos.BankApiRestApplication;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamosLoteRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga HTTP reproducible contra la aplicación arrancada en este mismo proceso.
+ *
+ * <p>Arranca {@link BankApiRestApplication} en un puerto libre, siembra préstamos con el endpoint
+ * por lotes y lanza clientes concurrentes que ejecutan la mezcla de operaciones configurada durante
+ * un calentamiento y una ventana de medición. Escribe un informe JSON con peticiones por segundo,
+ * percentiles de latencia y errores por operación.</p>
+ *
+ * <p>Los clientes trabajan en bucle cerrado (cada uno espera su respuesta antes de la siguiente
+ * petición), por lo que los percentiles reflejan la latencia observada por esos clientes y no
+ * la de una tasa de llegada fija. Cliente y servidor comparten CPU.</p>
+ *
+ * <p>Ejecutar con: mvn verify -Pload [-Dcarga.clientes=64 -Dcarga.duracion=120 ...]</p>
+ */
+public final class GeneradorCarga {
+
+    private static final int TAMANIO_LOTE_SIEMBRA = CrearPrestamosLoteRequest.TAMANIO_MAXIMO;
+
+    private final ConfiguracionCarga configuracion;
+    private final ClienteApi cliente;
+    private final MetricasCarga metricas = new MetricasCarga();
+    private final Operacion[] ruleta;
+    private final List<Long> idsSembrados = new ArrayList<>();
+    private final Queue<Long> pendientes = new ConcurrentLinkedQueue<>();
+
+    private GeneradorCarga(ConfiguracionCarga configuracion, ClienteApi cliente) {
+        this.configuracion = configuracion;
+        this.cliente = cliente;
+        this.ruleta = construirRuleta(configuracion.mezcla());
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdePropiedadesSistema();
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(BankApiRestApplication.class).run(
+                "--spring.profiles.active=" + configuracion.perfiles(),
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:carga_db",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.bank.prestamos=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try {
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            ObjectMapper objectMapper = contexto.getBean(ObjectMapper.class);
+            new GeneradorCarga(configuracion, new ClienteApi(puerto, objectMapper)).ejecutar(objectMapper);
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private void ejecutar(ObjectMapper objectMapper) throws Exception {
+        sembrar();
+
+        log("Calentamiento de %d s con %d clientes", configuracion.calentamiento().toSeconds(), configuracion.clientes());
+        long finCalentamiento = System.nanoTime() + configuracion.calentamiento().toNanos();
+        long fin = finCalentamiento + configuracion.duracion().toNanos();
+        List<Thread> clientes = new ArrayList<>();
+        for (int i = 0; i < configuracion.clientes(); i++) {
+            Thread hilo = new Thread(() -> bucleCliente(fin), "carga-" + i);
+            clientes.add(hilo);
+            hilo.start();
+        }
+
+        dormirHasta(finCalentamiento);
+        metricas.reiniciar();
+        long inicioMedicion = System.nanoTime();
+        log("Midiendo durante %d s", configuracion.duracion().toSeconds());
+        for (Thread hilo : clientes) {
+            hilo.join();
+        }
+        double segundos = (System.nanoTime() - inicioMedicion) / 1e9;
+
+        Map<String, Object> informe = new LinkedHashMap<>();
+        informe.put("configuracion", Map.of(
+                "prestamosIniciales", configuracion.prestamosIniciales(),
+                "clientes", configuracion.clientes(),
+                "calentamientoSegundos", configuracion.calentamiento().toSeconds(),
+                "duracionSegundos", configuracion.duracion().toSeconds(),
+                "mezcla", configuracion.mezcla(),
+                "perfiles", configuracion.perfiles()));
+        informe.putAll(metricas.informe(segundos));
+
+        Files.createDirectories(configuracion.resultados().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(configuracion.resultados().toFile(), informe);
+        log("Informe escrito en %s", configuracion.resultados().toAbsolutePath());
+        log("%s", objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(informe.get("totales")));
+    }
+
+    private void sembrar() throws IOException, InterruptedException {
+        log("Sembrando %d préstamos", configuracion.prestamosIniciales());
+        int restantes = configuracion.prestamosIniciales();
+        while (restantes > 0) {
+            int cantidad = Math.min(restantes, TAMANIO_LOTE_SIEMBRA);
+            idsSembrados.addAll(cliente.crearLote(cantidad));
+            restantes -= cantidad;
+        }
+        pendientes.addAll(idsSembrados);
+        if (idsSembrados.isEmpty()) {
+            throw new IllegalStateException("Se necesita al menos un préstamo sembrado (carga.prestamos > 0)");
+        }
+    }
+
+    private void bucleCliente(long fin) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        while (System.nanoTime() < fin) {
+            Operacion operacion = ruleta[aleatorio.nextInt(ruleta.length)];
+            // Cada préstamo pendiente se resuelve una sola vez, así que todo 409 es un error real
+            Long pendiente = operacion == Operacion.ESTADO ? pendientes.poll() : null;
+            if (operacion == Operacion.ESTADO && pendiente == null) {
+                // Sin pendientes se lista en su lugar, y se mide como listado para no sesgar el histograma de ESTADO
+                operacion = Operacion.LISTAR;
+            }
+            long inicio = System.nanoTime();
+            boolean correcta;
+            try {
+                correcta = ejecutar(operacion, pendiente, aleatorio);
+            } catch (IOException ex) {
+                correcta = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            metricas.registrar(operacion, System.nanoTime() - inicio, correcta);
+        }
+    }
+
+    private boolean ejecutar(Operacion operacion, Long pendiente, ThreadLocalRandom aleatorio)
+            throws IOException, InterruptedException {
+        return switch (operacion) {
+            case CREAR -> {
+                HttpResponse<byte[]> respuesta = cliente.crear();
+                if (respuesta.statusCode() == 201) {
+                    pendientes.add(cliente.idCreado(respuesta));
+                    yield true;
+                }
+                yield false;
+            }
+            case OBTENER -> cliente.obtener(idsSembrados.get(aleatorio.nextInt(idsSembrados.size())))
+                    .statusCode() == 200;
+            case LISTAR -> cliente.listar().statusCode() == 200;
+            case ESTADO -> {
+                EstadoPrestamo destino = aleatorio.nextBoolean() ? EstadoPrestamo.APROBADA : EstadoPrestamo.RECHAZADA;
+                yield cliente.cambiarEstado(pendiente, destino).statusCode() == 200;
+            }
+        };
+    }
+
+    private static Operacion[] construirRuleta(Map<Operacion, Integer> mezcla) {
+        List<Operacion> ruleta = new ArrayList<>();
+        mezcla.forEach((operacion, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                ruleta.add(operacion);
+            }
+        });
+        return ruleta.toArray(Operacion[]::new);
+    }
+
+    private static void dormirHasta(long instante) throws InterruptedException {
+        long restante = instante - System.nanoTime();
+        if (restante > 0) {
+            TimeUnit.NANOSECONDS.sleep(restante);
+        }
+    }
+
+    private static void log(String formato, Object... argumentos) {
+        System.out.printf("[carga] " + formato + "%n", argumentos);
+    }
+}
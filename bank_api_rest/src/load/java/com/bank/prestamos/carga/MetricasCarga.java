@@ -0,0 +1,96 @@
+package com.bank.prestamos.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (HdrHistogram, en microsegundos) y errores por operación.
+ * Los Recorder permiten registrar desde muchos hilos sin bloqueo y descartar el calentamiento.
+ */
+class MetricasCarga {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operacion, Recorder> latencias = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+
+    MetricasCarga() {
+        for (Operacion operacion : Operacion.values()) {
+            latencias.put(operacion, new Recorder(LATENCIA_MAXIMA_US, 3));
+            errores.put(operacion, new LongAdder());
+        }
+    }
+
+    void registrar(Operacion operacion, long nanos, boolean correcta) {
+        latencias.get(operacion).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), LATENCIA_MAXIMA_US));
+        if (!correcta) {
+            errores.get(operacion).increment();
+        }
+    }
+
+    /**
+     * Descarta lo registrado hasta ahora (fin del calentamiento).
+     */
+    void reiniciar() {
+        latencias.values().forEach(Recorder::reset);
+        errores.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Construye el informe de lo registrado desde el último reinicio.
+     *
+     * @param segundos Duración real de la medición
+     * @return Informe serializable a JSON
+     */
+    Map<String, Object> informe(double segundos) {
+        Map<String, Object> operaciones = new LinkedHashMap<>();
+        long totalPeticiones = 0;
+        long totalErrores = 0;
+        for (Operacion operacion : Operacion.values()) {
+            Histogram histograma = latencias.get(operacion).getIntervalHistogram();
+            long peticiones = histograma.getTotalCount();
+            long fallos = errores.get(operacion).sum();
+            if (peticiones == 0) {
+                continue;
+            }
+            totalPeticiones += peticiones;
+            totalErrores += fallos;
+
+            Map<String, Object> latencia = new LinkedHashMap<>();
+            latencia.put("media", histograma.getMean() / 1000);
+            latencia.put("p50", percentil(histograma, 50));
+            latencia.put("p90", percentil(histograma, 90));
+            latencia.put("p99", percentil(histograma, 99));
+            latencia.put("p999", percentil(histograma, 99.9));
+            latencia.put("max", histograma.getMaxValue() / 1000.0);
+
+            Map<String, Object> datos = new LinkedHashMap<>();
+            datos.put("peticiones", peticiones);
+            datos.put("errores", fallos);
+            datos.put("peticionesPorSegundo", peticiones / segundos);
+            datos.put("latenciaMs", latencia);
+            operaciones.put(operacion.name(), datos);
+        }
+
+        Map<String, Object> totales = new LinkedHashMap<>();
+        totales.put("peticiones", totalPeticiones);
+        totales.put("errores", totalErrores);
+        totales.put("peticionesPorSegundo", totalPeticiones / segundos);
+
+        Map<String, Object> informe = new LinkedHashMap<>();
+        informe.put("duracionSegundos", segundos);
+        informe.put("totales", totales);
+        informe.put("operaciones", operaciones);
+        return informe;
+    }
+
+    private static double percentil(Histogram histograma, double percentil) {
+        return histograma.getValueAtPercentile(percentil) / 1000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.prestamos.carga;
+
+/**
+ * Operaciones de la API que genera la prueba de carga.
+ */
+enum Operacion {
+
+    /** POST /api/prestamos */
+    CREAR,
+
+    /** GET /api/prestamos/{id} */
+    OBTENER,
+
+    /** GET /api/prestamos (primera página) */
+    LISTAR,
+
+    /** PATCH /api/prestamos/{id}/estado */
+    ESTADO
+}
@@ -0,0 +1,27 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import com.bank.prestamos.domain.ports.in.BuscarPrestamosPorNombreUseCase;
+import com.bank.prestamos.domain.ports.out.IndiceNombresPrestamosPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Localiza préstamos por nombre de solicitante sobre el índice en memoria, sin consultar la base de datos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusquedaNombresService implements BuscarPrestamosPorNombreUseCase {
+
+    private final IndiceNombresPrestamosPort indiceNombres;
+
+    @Override
+    public List<CoincidenciaNombre> buscarPorNombre(String texto, int limite) {
+        log.debug("Buscando préstamos por nombre ({} caracteres, límite {})", texto.length(), limite);
+        return indiceNombres.buscar(texto, limite);
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.in.ConsultarPrestamoUseCase;
+import com.bank.prestamos.infrastructure.replica.FijacionPrimario;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Caso de uso de consulta que agrupa las lecturas concurrentes del mismo préstamo (single-flight).
+ * Mientras hay una carga de un ID en curso, el resto de peticiones de ese ID esperan
+ * su resultado (o su excepción) en lugar de lanzar otra consulta.
+ * Cuando la carga termina se olvida: no actúa como caché.
+ * <p>
+ * Las peticiones con las lecturas fijadas en el primario no se agrupan: la carga en curso puede venir
+ * de una réplica con retraso y no reflejar lo que acaba de escribir quien la pide.
+ */
+@Service
+@Primary
+@Slf4j
+public class ConsultaPrestamoCoalescidaService implements ConsultarPrestamoUseCase {
+
+    private final PrestamoService delegado;
+    private final ConcurrentMap<Long, CompletableFuture<Prestamo>> cargasEnCurso = new ConcurrentHashMap<>();
+
+    public ConsultaPrestamoCoalescidaService(PrestamoService delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public Prestamo obtenerPorId(Long id) {
+        if (FijacionPrimario.activa()) {
+            return delegado.obtenerPorId(id);
+        }
+        CompletableFuture<Prestamo> carga = new CompletableFuture<>();
+        CompletableFuture<Prestamo> enCurso = cargasEnCurso.putIfAbsent(id, carga);
+        if (enCurso != null) {
+            log.debug("Consulta del préstamo {} agrupada con una carga en curso", id);
+            return esperar(enCurso);
+        }
+
+        try {
+            Prestamo prestamo = delegado.obtenerPorId(id);
+            carga.complete(prestamo);
+            return prestamo;
+        } catch (RuntimeException | Error ex) {
+            carga.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            cargasEnCurso.remove(id, carga);
+        }
+    }
+
+    @Override
+    public Optional<Long> obtenerVersion(Long id) {
+        return delegado.obtenerVersion(id);
+    }
+
+    @Override
+    public List<Prestamo> obtenerTodos() {
+        return delegado.obtenerTodos();
+    }
+
+    @Override
+    public PaginaPrestamos obtenerPagina(CursorPrestamo cursor, int tamanio) {
+        return delegado.obtenerPagina(cursor, tamanio);
+    }
+
+    @Override
+    public List<VersionPrestamo> obtenerVersionesPagina(CursorPrestamo cursor, int tamanio) {
+        return delegado.obtenerVersionesPagina(cursor, tamanio);
+    }
+
+    @Override
+    public PaginaBusquedaPrestamos buscar(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio) {
+        return delegado.buscar(criterios, pagina, tamanio);
+    }
+
+    @Override
+    public void exportarTodos(Consumer<Prestamo> consumidor) {
+        delegado.exportarTodos(consumidor);
+    }
+
+    /**
+     * Espera la carga de otro hilo y devuelve una copia propia, ya que el modelo de dominio es mutable.
+     * Si la carga falló se relanza la misma excepción.
+     */
+    private static Prestamo esperar(CompletableFuture<Prestamo> carga) {
+        try {
+            return carga.join().toBuilder().build();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
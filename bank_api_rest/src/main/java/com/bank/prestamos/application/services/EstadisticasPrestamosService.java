@@ -0,0 +1,205 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.in.ConsultarEstadisticasPrestamosUseCase;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mantiene en memoria los totales de la cartera por estado y divisa y los sirve sin consultar la base de datos.
+ * <p>
+ * Los contadores se siembran con una consulta agregada al arrancar y después PrestamoService los actualiza
+ * tras el commit de cada alta y cambio de estado. Los importes se acumulan en céntimos (la escala de
+ * importe_solicitado) sobre {@link LongAdder}, de modo que las escrituras concurrentes no compiten por
+ * la misma celda y la lectura no bloquea.
+ * <p>
+ * El mínimo y el máximo solo pueden ampliarse: cuando un préstamo sale de un grupo quedan como cotas
+ * hasta la siguiente reconciliación periódica, que además corrige cualquier desviación de los contadores.
+ * Ninguna petición reconcilia: los cambios de estado traen su estado anterior y se aplican como diferencias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EstadisticasPrestamosService implements ConsultarEstadisticasPrestamosUseCase {
+
+    private static final int DECIMALES = 2;
+
+    private static final Comparator<EstadisticaPrestamos> ORDEN = Comparator
+            .comparing(EstadisticaPrestamos::estado)
+            .thenComparing(EstadisticaPrestamos::divisa);
+
+    private final PrestamoRepositoryPort repositoryPort;
+
+    private volatile Map<Clave, Acumulador> acumuladores = new ConcurrentHashMap<>();
+    private volatile LocalDateTime ultimaReconciliacion;
+
+    @Override
+    public List<EstadisticaPrestamos> obtenerEstadisticas() {
+        return acumuladores.entrySet().stream()
+                .map(entrada -> entrada.getValue().estadistica(entrada.getKey()))
+                .filter(estadistica -> estadistica.cantidad() > 0)
+                .sorted(ORDEN)
+                .toList();
+    }
+
+    @Override
+    public synchronized boolean reconciliar() {
+        List<EstadisticaPrestamos> calculadas = repositoryPort.calcularEstadisticas();
+        Map<Clave, Acumulador> nuevos = new ConcurrentHashMap<>();
+        for (EstadisticaPrestamos estadistica : calculadas) {
+            nuevos.put(new Clave(estadistica.estado(), estadistica.divisa()), Acumulador.desde(estadistica));
+        }
+
+        boolean coinciden = coinciden(obtenerEstadisticas(), calculadas);
+        if (!coinciden && ultimaReconciliacion != null) {
+            log.warn("Estadísticas de préstamos desviadas respecto a la base de datos; se recalculan");
+        }
+        // Un cambio que se confirme justo durante la sustitución puede perderse: lo corrige la siguiente reconciliación
+        acumuladores = nuevos;
+        ultimaReconciliacion = LocalDateTime.now();
+        return coinciden;
+    }
+
+    /**
+     * @return Momento de la última reconciliación con la base de datos, o null si aún no se han sembrado
+     */
+    public LocalDateTime getUltimaReconciliacion() {
+        return ultimaReconciliacion;
+    }
+
+    /**
+     * Suma los préstamos dados de alta cuando se confirme la transacción en curso.
+     */
+    void registrarAltas(List<Prestamo> prestamos) {
+        despuesDelCommit(() -> prestamos.forEach(prestamo ->
+                acumulador(prestamo.getEstado(), prestamo.getDivisa()).sumar(centimos(prestamo))));
+    }
+
+    /**
+     * Mueve cada préstamo de su estado anterior al nuevo cuando se confirme la transacción en curso.
+     * El estado anterior es el que devolvió la propia actualización, así que basta con aplicar la diferencia.
+     *
+     * @param cambios Los cambios de estado aplicados
+     */
+    void registrarCambiosEstado(List<CambioEstadoAplicado> cambios) {
+        despuesDelCommit(() -> cambios.forEach(cambio -> {
+            Prestamo actualizado = cambio.prestamo();
+            long importe = centimos(actualizado);
+            acumulador(cambio.estadoAnterior(), actualizado.getDivisa()).restar(importe);
+            acumulador(actualizado.getEstado(), actualizado.getDivisa()).sumar(importe);
+        }));
+    }
+
+    private Acumulador acumulador(EstadoPrestamo estado, String divisa) {
+        return acumuladores.computeIfAbsent(new Clave(estado, divisa), clave -> new Acumulador());
+    }
+
+    private static void despuesDelCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    private static long centimos(Prestamo prestamo) {
+        return prestamo.getImporteSolicitado().movePointRight(DECIMALES).longValueExact();
+    }
+
+    private static BigDecimal importe(long centimos) {
+        return BigDecimal.valueOf(centimos, DECIMALES);
+    }
+
+    private static boolean coinciden(List<EstadisticaPrestamos> memoria, List<EstadisticaPrestamos> baseDatos) {
+        Map<Clave, EstadisticaPrestamos> esperadas = new HashMap<>();
+        baseDatos.forEach(estadistica -> esperadas.put(new Clave(estadistica.estado(), estadistica.divisa()), estadistica));
+        if (memoria.size() != esperadas.size()) {
+            return false;
+        }
+        for (EstadisticaPrestamos actual : memoria) {
+            EstadisticaPrestamos esperada = esperadas.get(new Clave(actual.estado(), actual.divisa()));
+            if (esperada == null
+                    || actual.cantidad() != esperada.cantidad()
+                    || actual.importeTotal().compareTo(esperada.importeTotal()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Clave(EstadoPrestamo estado, String divisa) {
+    }
+
+    /**
+     * Contadores de un grupo. Cada campo es independiente: una lectura concurrente con una escritura
+     * puede ver la cantidad ya incrementada y la suma todavía no, nunca un valor corrupto.
+     */
+    private static final class Acumulador {
+
+        private final LongAdder cantidad = new LongAdder();
+        private final LongAdder totalCentimos = new LongAdder();
+        private final LongAccumulator minimoCentimos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maximoCentimos = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        static Acumulador desde(EstadisticaPrestamos estadistica) {
+            Acumulador acumulador = new Acumulador();
+            acumulador.cantidad.add(estadistica.cantidad());
+            acumulador.totalCentimos.add(estadistica.importeTotal().movePointRight(DECIMALES).longValueExact());
+            if (estadistica.importeMinimo() != null) {
+                acumulador.minimoCentimos.accumulate(
+                        estadistica.importeMinimo().movePointRight(DECIMALES).longValueExact());
+            }
+            if (estadistica.importeMaximo() != null) {
+                acumulador.maximoCentimos.accumulate(
+                        estadistica.importeMaximo().movePointRight(DECIMALES).longValueExact());
+            }
+            return acumulador;
+        }
+
+        void sumar(long centimos) {
+            cantidad.increment();
+            totalCentimos.add(centimos);
+            minimoCentimos.accumulate(centimos);
+            maximoCentimos.accumulate(centimos);
+        }
+
+        void restar(long centimos) {
+            cantidad.decrement();
+            totalCentimos.add(-centimos);
+        }
+
+        EstadisticaPrestamos estadistica(Clave clave) {
+            long minimo = minimoCentimos.get();
+            long maximo = maximoCentimos.get();
+            return new EstadisticaPrestamos(
+                    clave.estado(),
+                    clave.divisa(),
+                    cantidad.sum(),
+                    importe(totalCentimos.sum()),
+                    minimo == Long.MAX_VALUE ? null : importe(minimo),
+                    maximo == Long.MIN_VALUE ? null : importe(maximo));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.domain.ports.in.ConsultarPrestamoReactivoUseCase;
+import com.bank.prestamos.domain.ports.in.CrearPrestamoReactivoUseCase;
+import com.bank.prestamos.domain.ports.in.ModificarEstadoPrestamoReactivoUseCase;
+import com.bank.prestamos.domain.ports.out.HistorialPrestamosPort;
+import com.bank.prestamos.domain.ports.out.IndiceNombresPrestamosPort;
+import com.bank.prestamos.domain.ports.out.PrestamoReactivoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Implementación no bloqueante de los casos de uso de préstamos, equivalente a {@link PrestamoService}.
+ * Cada caso de uso es una única sentencia contra la base de datos (más una lectura en el camino de error),
+ * por lo que no necesita transacción.
+ * <p>
+ * El índice de nombres y el historial tienen puertos síncronos (el historial puede insertar por JDBC), así que
+ * se les llama desde el planificador elástico y nunca desde el hilo del event loop.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "prestamos.reactivo", name = "habilitado", havingValue = "true")
+public class PrestamoReactivoService
+        implements CrearPrestamoReactivoUseCase, ConsultarPrestamoReactivoUseCase, ModificarEstadoPrestamoReactivoUseCase {
+
+    private final PrestamoReactivoRepositoryPort repositoryPort;
+    private final IndiceNombresPrestamosPort indiceNombres;
+    private final HistorialPrestamosPort historial;
+
+    @Override
+    public Mono<Prestamo> crear(Prestamo prestamo) {
+        return Mono.defer(() -> {
+            log.info("Creando nuevo préstamo de {} {}", prestamo.getImporteSolicitado(), prestamo.getDivisa());
+            prestamo.setEstado(EstadoPrestamo.PENDIENTE);
+            prestamo.setFechaCreacion(LocalDateTime.now());
+            return repositoryPort.insertar(prestamo);
+        })
+                .doOnNext(guardado -> log.info("Préstamo creado exitosamente con ID: {}", guardado.getId()))
+                .flatMap(guardado -> fueraDelEventLoop(() -> indiceNombres.registrar(List.of(guardado)))
+                        .thenReturn(guardado))
+                .doOnError(DocumentoDuplicadoException.class, ex ->
+                        log.warn("Intento de crear préstamo con documento duplicado"));
+    }
+
+    @Override
+    public Mono<Prestamo> obtenerPorId(Long id) {
+        return repositoryPort.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Préstamo no encontrado con ID: {}", id);
+                    return new PrestamoNoEncontradoException(id);
+                }));
+    }
+
+    @Override
+    public Mono<PaginaPrestamos> obtenerPagina(CursorPrestamo cursor, int tamanio) {
+        // Se pide un elemento de más para saber si existe una página siguiente
+        return repositoryPort.buscarPagina(cursor, tamanio + 1)
+                .collectList()
+                .map(prestamos -> {
+                    if (prestamos.size() <= tamanio) {
+                        return new PaginaPrestamos(prestamos, null);
+                    }
+                    List<Prestamo> pagina = prestamos.subList(0, tamanio);
+                    return new PaginaPrestamos(pagina, CursorPrestamo.desde(pagina.get(tamanio - 1)));
+                });
+    }
+
+    @Override
+    public Flux<Prestamo> obtenerTodos() {
+        return repositoryPort.buscarTodos()
+                .doOnSubscribe(suscripcion -> log.info("Iniciando exportación de todos los préstamos"))
+                .doOnComplete(() -> log.info("Exportación de préstamos finalizada"));
+    }
+
+    @Override
+    public Mono<Prestamo> cambiarEstado(Long id, EstadoPrestamo nuevoEstado, String usuario) {
+        // Como en PrestamoService, la transición se valida en la propia sentencia UPDATE
+        return Mono.defer(() -> {
+            log.info("Cambiando estado del préstamo ID {} a {}", id, nuevoEstado);
+            LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            return repositoryPort.actualizarEstado(id, nuevoEstado.predecesores(), nuevoEstado, usuario, ahora);
+        })
+                .switchIfEmpty(Mono.defer(() -> rechazoCambioEstado(id, nuevoEstado)))
+                .doOnNext(cambio -> log.info("Estado del préstamo {} cambiado a {} por usuario {} (versión {})",
+                        id, nuevoEstado, usuario, cambio.prestamo().getVersion()))
+                .flatMap(cambio -> fueraDelEventLoop(() -> historial.registrar(List.of(new RegistroHistorial(
+                        id, cambio.estadoAnterior(), nuevoEstado, usuario,
+                        cambio.prestamo().getFechaUltimaModificacion()))))
+                        .thenReturn(cambio.prestamo()));
+    }
+
+    private static Mono<Void> fueraDelEventLoop(Runnable tarea) {
+        return Mono.fromRunnable(tarea).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    /**
+     * Determina por qué no se actualizó ninguna fila. Solo se consulta en el camino de error.
+     */
+    private Mono<CambioEstadoAplicado> rechazoCambioEstado(Long id, EstadoPrestamo nuevoEstado) {
+        return repositoryPort.buscarEstado(id)
+                .flatMap(estadoActual -> {
+                    log.warn("Transición de estado inválida del préstamo {}: {} -> {}", id, estadoActual, nuevoEstado);
+                    return Mono.<CambioEstadoAplicado>error(
+                            new TransicionEstadoInvalidaException(estadoActual.name(), nuevoEstado.name()));
+                })
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Préstamo no encontrado con ID: {}", id);
+                    return new PrestamoNoEncontradoException(id);
+                }));
+    }
+}
@@ -2,11 +2,28 @@ package com.bank.prestamos.application.services;
 
 import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
 import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.domain.models.CambioEstado;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
 import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.EventoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.domain.models.ResultadoCambioEstado;
+import com.bank.prestamos.domain.models.ResultadoCreacion;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.in.ConsultarHistorialPrestamoUseCase;
 import com.bank.prestamos.domain.ports.in.ConsultarPrestamoUseCase;
 import com.bank.prestamos.domain.ports.in.CrearPrestamoUseCase;
 import com.bank.prestamos.domain.ports.in.ModificarEstadoPrestamoUseCase;
+import com.bank.prestamos.domain.ports.out.EventosPrestamoPort;
+import com.bank.prestamos.domain.ports.out.HistorialPrestamosPort;
+import com.bank.prestamos.domain.ports.out.IndiceNombresPrestamosPort;
 import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +31,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Servicio que implementa los casos de uso relacionados con préstamos.
@@ -24,31 +51,94 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
-public class PrestamoService implements CrearPrestamoUseCase, ConsultarPrestamoUseCase, ModificarEstadoPrestamoUseCase {
+public class PrestamoService implements CrearPrestamoUseCase, ConsultarPrestamoUseCase, ModificarEstadoPrestamoUseCase,
+        ConsultarHistorialPrestamoUseCase {
 
     private final PrestamoRepositoryPort repositoryPort;
+    private final EstadisticasPrestamosService estadisticas;
+    private final IndiceNombresPrestamosPort indiceNombres;
+    private final HistorialPrestamosPort historial;
+    private final EventosPrestamoPort eventos;
 
     @Override
     public Prestamo crear(Prestamo prestamo) {
-        log.info("Creando nuevo préstamo para: {}", prestamo.getNombreSolicitante());
-
-        // Validar que no exista un préstamo con el mismo documento
-        if (repositoryPort.existePorDocumento(prestamo.getDocumentoIdentificativo())) {
-            log.warn("Intento de crear préstamo con documento duplicado: {}", 
-                    prestamo.getDocumentoIdentificativo());
-            throw new DocumentoDuplicadoException(prestamo.getDocumentoIdentificativo());
-        }
+        log.info("Creando nuevo préstamo de {} {}", prestamo.getImporteSolicitado(), prestamo.getDivisa());
 
         // Inicializar campos por defecto
         prestamo.setEstado(EstadoPrestamo.PENDIENTE);
         prestamo.setFechaCreacion(LocalDateTime.now());
 
-        Prestamo prestamoGuardado = repositoryPort.guardar(prestamo);
+        // Sin comprobación previa: la restricción única del documento decide en la propia inserción,
+        // también entre peticiones concurrentes
+        Prestamo prestamoGuardado;
+        try {
+            prestamoGuardado = repositoryPort.insertar(prestamo);
+        } catch (DocumentoDuplicadoException ex) {
+            log.warn("Intento de crear préstamo con documento duplicado");
+            throw ex;
+        }
         log.info("Préstamo creado exitosamente con ID: {}", prestamoGuardado.getId());
+        estadisticas.registrarAltas(List.of(prestamoGuardado));
+        indiceNombres.registrar(List.of(prestamoGuardado));
+        eventos.publicar(List.of(EventoPrestamo.creado(prestamoGuardado)));
 
         return prestamoGuardado;
     }
 
+    @Override
+    public List<ResultadoCreacion> crearLote(List<Prestamo> prestamos) {
+        log.info("Creando lote de {} préstamos", prestamos.size());
+
+        // Una sola consulta para todos los documentos del lote
+        Set<String> documentosExistentes = repositoryPort.buscarDocumentosExistentes(
+                prestamos.stream().map(Prestamo::getDocumentoIdentificativo).toList());
+
+        ResultadoCreacion[] resultados = new ResultadoCreacion[prestamos.size()];
+        Set<String> documentosDelLote = new HashSet<>();
+        List<Prestamo> nuevos = new ArrayList<>();
+        List<Integer> posicionesNuevos = new ArrayList<>();
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (int i = 0; i < prestamos.size(); i++) {
+            Prestamo prestamo = prestamos.get(i);
+            String documento = prestamo.getDocumentoIdentificativo();
+            if (documentosExistentes.contains(documento)) {
+                resultados[i] = ResultadoCreacion.duplicado("Ya existe un préstamo con el documento " + documento);
+            } else if (!documentosDelLote.add(documento)) {
+                resultados[i] = ResultadoCreacion.duplicado("El documento " + documento + " está repetido en el lote");
+            } else {
+                prestamo.setEstado(EstadoPrestamo.PENDIENTE);
+                prestamo.setFechaCreacion(ahora);
+                nuevos.add(prestamo);
+                posicionesNuevos.add(i);
+            }
+        }
+
+        int creados = 0;
+        if (!nuevos.isEmpty()) {
+            // La inserción es la que decide: omite los documentos que otra alta registró tras la consulta
+            List<Prestamo> insertados = repositoryPort.insertarTodos(nuevos);
+            Map<String, Prestamo> insertadosPorDocumento = new HashMap<>();
+            insertados.forEach(prestamo -> insertadosPorDocumento.put(prestamo.getDocumentoIdentificativo(), prestamo));
+            for (int j = 0; j < nuevos.size(); j++) {
+                String documento = nuevos.get(j).getDocumentoIdentificativo();
+                Prestamo insertado = insertadosPorDocumento.get(documento);
+                resultados[posicionesNuevos.get(j)] = insertado != null
+                        ? ResultadoCreacion.creado(insertado)
+                        : ResultadoCreacion.duplicado("Ya existe un préstamo con el documento " + documento);
+            }
+            if (!insertados.isEmpty()) {
+                estadisticas.registrarAltas(insertados);
+                indiceNombres.registrar(insertados);
+                eventos.publicar(insertados.stream().map(EventoPrestamo::creado).toList());
+            }
+            creados = insertados.size();
+        }
+
+        log.info("Lote procesado: {} creados, {} duplicados", creados, prestamos.size() - creados);
+        return Arrays.asList(resultados);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Prestamo obtenerPorId(Long id) {
@@ -60,6 +150,23 @@ public class PrestamoService implements CrearPrestamoUseCase, ConsultarPrestamoU
                 });
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> obtenerVersion(Long id) {
+        return repositoryPort.buscarVersion(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaHistorialPrestamo obtenerHistorial(Long id, int pagina, int tamanio) {
+        log.debug("Consultando historial del préstamo {} (página {}, tamaño {})", id, pagina, tamanio);
+        if (repositoryPort.buscarPorId(id).isEmpty()) {
+            log.warn("Préstamo no encontrado con ID: {}", id);
+            throw new PrestamoNoEncontradoException(id);
+        }
+        return historial.buscarPorPrestamo(id, pagina, tamanio);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Prestamo> obtenerTodos() {
@@ -69,20 +176,142 @@ public class PrestamoService implements CrearPrestamoUseCase, ConsultarPrestamoU
         return prestamos;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaPrestamos obtenerPagina(CursorPrestamo cursor, int tamanio) {
+        log.debug("Consultando página de {} préstamos desde cursor {}", tamanio, cursor);
+
+        // Se pide un elemento de más para saber si existe una página siguiente
+        List<Prestamo> prestamos = repositoryPort.buscarPagina(cursor, tamanio + 1);
+        if (prestamos.size() <= tamanio) {
+            return new PaginaPrestamos(prestamos, null);
+        }
+
+        List<Prestamo> pagina = prestamos.subList(0, tamanio);
+        return new PaginaPrestamos(pagina, CursorPrestamo.desde(pagina.get(tamanio - 1)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VersionPrestamo> obtenerVersionesPagina(CursorPrestamo cursor, int tamanio) {
+        // Mismo elemento de más que obtenerPagina: decide si la página tiene siguiente
+        return repositoryPort.buscarVersionesPagina(cursor, tamanio + 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaBusquedaPrestamos buscar(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio) {
+        log.debug("Buscando préstamos con {} (página {}, tamaño {})", criterios, pagina, tamanio);
+        return repositoryPort.buscarPorCriterios(criterios, pagina, tamanio);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<Prestamo> consumidor) {
+        log.info("Iniciando exportación de todos los préstamos");
+        repositoryPort.recorrerTodos(consumidor);
+        log.info("Exportación de préstamos finalizada");
+    }
+
     @Override
     public Prestamo cambiarEstado(Long id, EstadoPrestamo nuevoEstado, String usuario) {
         log.info("Cambiando estado del préstamo ID {} a {}", id, nuevoEstado);
 
-        Prestamo prestamo = obtenerPorId(id);
-        EstadoPrestamo estadoAnterior = prestamo.getEstado();
-
-        // El método cambiarEstado de la entidad valida la transición
-        prestamo.cambiarEstado(nuevoEstado, usuario);
+        // La transición se valida en la propia sentencia: solo se actualiza si el estado
+        // actual es un predecesor válido, por lo que dos cambios concurrentes no se pisan
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        CambioEstadoAplicado cambio = repositoryPort
+                .actualizarEstado(id, nuevoEstado.predecesores(), nuevoEstado, usuario, ahora)
+                .orElseThrow(() -> rechazoCambioEstado(id, nuevoEstado));
+        Prestamo prestamoActualizado = cambio.prestamo();
 
-        Prestamo prestamoActualizado = repositoryPort.guardar(prestamo);
-        log.info("Estado del préstamo {} cambiado de {} a {} por usuario {}", 
-                id, estadoAnterior, nuevoEstado, usuario);
+        log.info("Estado del préstamo {} cambiado a {} por usuario {} (versión {})",
+                id, nuevoEstado, usuario, prestamoActualizado.getVersion());
+        estadisticas.registrarCambiosEstado(List.of(cambio));
+        RegistroHistorial registro = new RegistroHistorial(
+                id, cambio.estadoAnterior(), nuevoEstado, usuario, ahora);
+        historial.registrar(List.of(registro));
+        eventos.publicar(List.of(EventoPrestamo.estadoCambiado(registro)));
 
         return prestamoActualizado;
     }
+
+    @Override
+    public List<ResultadoCambioEstado> cambiarEstadoLote(List<CambioEstado> cambios, String usuario) {
+        log.info("Cambiando estado de {} préstamos por usuario {}", cambios.size(), usuario);
+
+        Map<Long, EstadoPrestamo> estadosActuales = repositoryPort.buscarEstados(
+                cambios.stream().map(CambioEstado::id).distinct().toList());
+
+        // Validación en memoria; los cambios válidos se agrupan por estado destino
+        ResultadoCambioEstado[] resultados = new ResultadoCambioEstado[cambios.size()];
+        Map<EstadoPrestamo, List<Long>> validosPorEstado = new EnumMap<>(EstadoPrestamo.class);
+        Map<Long, Integer> posiciones = new HashMap<>();
+        for (int i = 0; i < cambios.size(); i++) {
+            CambioEstado cambio = cambios.get(i);
+            EstadoPrestamo estadoActual = estadosActuales.get(cambio.id());
+            if (posiciones.putIfAbsent(cambio.id(), i) != null) {
+                resultados[i] = ResultadoCambioEstado.transicionInvalida(
+                        cambio.id(), "El préstamo " + cambio.id() + " está repetido en el lote");
+            } else if (estadoActual == null) {
+                resultados[i] = ResultadoCambioEstado.noEncontrado(cambio.id());
+            } else if (!estadoActual.puedeTransicionarA(cambio.nuevoEstado())) {
+                resultados[i] = ResultadoCambioEstado.transicionInvalida(cambio.id(),
+                        mensajeTransicionInvalida(estadoActual, cambio.nuevoEstado()));
+            } else {
+                validosPorEstado.computeIfAbsent(cambio.nuevoEstado(), estado -> new ArrayList<>()).add(cambio.id());
+            }
+        }
+
+        // La fecha se trunca a microsegundos, la precisión de TIMESTAMP en base de datos
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<CambioEstadoAplicado> aplicados = new ArrayList<>();
+        List<RegistroHistorial> registros = new ArrayList<>();
+        for (Map.Entry<EstadoPrestamo, List<Long>> grupo : validosPorEstado.entrySet()) {
+            EstadoPrestamo nuevoEstado = grupo.getKey();
+            // Cada fila actualizada vuelve con el estado que tenía al escribirla, no el leído al validar
+            Map<Long, CambioEstadoAplicado> porId = new HashMap<>();
+            repositoryPort.actualizarEstadoCondicional(
+                            grupo.getValue(), nuevoEstado.predecesores(), nuevoEstado, usuario, ahora)
+                    .forEach(cambio -> porId.put(cambio.prestamo().getId(), cambio));
+            for (Long id : grupo.getValue()) {
+                CambioEstadoAplicado cambio = porId.get(id);
+                if (cambio != null) {
+                    resultados[posiciones.get(id)] = ResultadoCambioEstado.actualizado(id);
+                    registros.add(new RegistroHistorial(id, cambio.estadoAnterior(), nuevoEstado, usuario, ahora));
+                    aplicados.add(cambio);
+                } else {
+                    resultados[posiciones.get(id)] = ResultadoCambioEstado.transicionInvalida(id,
+                            "El estado del préstamo " + id + " cambió durante la operación");
+                }
+            }
+        }
+
+        int actualizados = aplicados.size();
+        if (actualizados > 0) {
+            estadisticas.registrarCambiosEstado(aplicados);
+            historial.registrar(registros);
+            eventos.publicar(registros.stream().map(EventoPrestamo::estadoCambiado).toList());
+        }
+        log.info("Cambio de estado por lotes: {} actualizados, {} rechazados",
+                actualizados, cambios.size() - actualizados);
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Determina por qué no se actualizó ninguna fila. Solo se consulta en el camino de error.
+     */
+    private RuntimeException rechazoCambioEstado(Long id, EstadoPrestamo nuevoEstado) {
+        EstadoPrestamo estadoActual = repositoryPort.buscarEstados(List.of(id)).get(id);
+        if (estadoActual == null) {
+            log.warn("Préstamo no encontrado con ID: {}", id);
+            return new PrestamoNoEncontradoException(id);
+        }
+        log.warn("Transición de estado inválida del préstamo {}: {} -> {}", id, estadoActual, nuevoEstado);
+        return new TransicionEstadoInvalidaException(estadoActual.name(), nuevoEstado.name());
+    }
+
+    private static String mensajeTransicionInvalida(EstadoPrestamo actual, EstadoPrestamo deseado) {
+        return String.format("Transición de estado inválida de %s a %s", actual, deseado);
+    }
 }
@@ -0,0 +1,11 @@
+package com.bank.prestamos.domain.excepcion;
+
+/**
+ * Excepción lanzada cuando el token de continuación de una página no es válido.
+ */
+public class CursorInvalidoException extends RuntimeException {
+
+    public CursorInvalidoException(String cursor) {
+        super("Cursor de paginación inválido: " + cursor);
+    }
+}
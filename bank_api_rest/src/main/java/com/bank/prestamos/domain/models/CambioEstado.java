@@ -0,0 +1,10 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Cambio de estado solicitado para un préstamo dentro de una operación por lotes.
+ *
+ * @param id El ID del préstamo
+ * @param nuevoEstado El estado deseado
+ */
+public record CambioEstado(Long id, EstadoPrestamo nuevoEstado) {
+}
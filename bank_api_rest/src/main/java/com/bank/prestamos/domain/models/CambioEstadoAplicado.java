@@ -0,0 +1,12 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Cambio de estado ya escrito en base de datos, con el estado que tenía el préstamo justo antes.
+ * El estado anterior lo devuelve la propia actualización condicional, así que es exacto aunque
+ * la transición admita varios predecesores.
+ *
+ * @param prestamo El préstamo ya actualizado
+ * @param estadoAnterior Estado antes del cambio
+ */
+public record CambioEstadoAplicado(Prestamo prestamo, EstadoPrestamo estadoAnterior) {
+}
@@ -0,0 +1,10 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Campos por los que se puede ordenar el resultado de una búsqueda de préstamos.
+ * Cada orden se desempata por ID para que la paginación sea estable.
+ */
+public enum CampoOrdenPrestamos {
+    FECHA_CREACION,
+    IMPORTE_SOLICITADO
+}
@@ -0,0 +1,11 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Préstamo encontrado al buscar por un fragmento del nombre del solicitante.
+ *
+ * @param id ID del préstamo
+ * @param nombreSolicitante Nombre del solicitante tal como se registró
+ * @param puntuacion Relevancia entre 0 y 1; 1 indica que el nombre contiene el texto buscado al inicio de una palabra
+ */
+public record CoincidenciaNombre(Long id, String nombreSolicitante, double puntuacion) {
+}
@@ -0,0 +1,34 @@
+package com.bank.prestamos.domain.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de una búsqueda filtrada de préstamos.
+ * Los filtros con valor null no restringen el resultado; los rangos son inclusivos.
+ *
+ * @param estado Estado exacto del préstamo
+ * @param divisa Código de divisa ISO 4217
+ * @param fechaCreacionDesde Límite inferior de la fecha de creación
+ * @param fechaCreacionHasta Límite superior de la fecha de creación
+ * @param importeMinimo Límite inferior del importe solicitado
+ * @param importeMaximo Límite superior del importe solicitado
+ * @param orden Campo de ordenación; FECHA_CREACION si es null
+ * @param ascendente true para orden ascendente, false para descendente
+ */
+public record CriteriosBusquedaPrestamos(
+        EstadoPrestamo estado,
+        String divisa,
+        LocalDateTime fechaCreacionDesde,
+        LocalDateTime fechaCreacionHasta,
+        BigDecimal importeMinimo,
+        BigDecimal importeMaximo,
+        CampoOrdenPrestamos orden,
+        boolean ascendente) {
+
+    public CriteriosBusquedaPrestamos {
+        if (orden == null) {
+            orden = CampoOrdenPrestamos.FECHA_CREACION;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.prestamos.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición de continuación para la paginación por clave (keyset).
+ * Identifica el último préstamo devuelto según el orden (fechaCreacion DESC, id DESC).
+ *
+ * @param fechaCreacion Fecha de creación del último préstamo de la página anterior
+ * @param id ID del último préstamo de la página anterior
+ */
+public record CursorPrestamo(LocalDateTime fechaCreacion, Long id) {
+
+    /**
+     * Construye el cursor que apunta al préstamo indicado.
+     *
+     * @param prestamo El último préstamo de una página
+     * @return El cursor para solicitar la página siguiente
+     */
+    public static CursorPrestamo desde(Prestamo prestamo) {
+        return new CursorPrestamo(prestamo.getFechaCreacion(), prestamo.getId());
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.prestamos.domain.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de la cartera de préstamos para una combinación de estado y divisa.
+ *
+ * @param estado Estado de los préstamos agregados
+ * @param divisa Divisa de los préstamos agregados
+ * @param cantidad Número de préstamos
+ * @param importeTotal Suma de los importes solicitados
+ * @param importeMinimo Menor importe solicitado, o null si no hay préstamos
+ * @param importeMaximo Mayor importe solicitado, o null si no hay préstamos
+ */
+public record EstadisticaPrestamos(
+        EstadoPrestamo estado,
+        String divisa,
+        long cantidad,
+        BigDecimal importeTotal,
+        BigDecimal importeMinimo,
+        BigDecimal importeMaximo) {
+}
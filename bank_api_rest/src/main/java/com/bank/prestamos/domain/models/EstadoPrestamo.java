@@ -1,5 +1,8 @@
 package com.bank.prestamos.domain.models;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enumeración que representa los posibles estados de un préstamo.
  * Define las transiciones válidas entre estados.
@@ -28,4 +31,21 @@ public enum EstadoPrestamo {
             case RECHAZADA, CANCELADA -> false;
         };
     }
+
+    /**
+     * Obtiene los estados desde los que se puede llegar a este estado.
+     * Se deriva de {@link #puedeTransicionarA(EstadoPrestamo)} para que las actualizaciones
+     * condicionales en base de datos apliquen exactamente las mismas reglas.
+     *
+     * @return Los estados predecesores válidos (vacío para PENDIENTE)
+     */
+    public Set<EstadoPrestamo> predecesores() {
+        Set<EstadoPrestamo> predecesores = EnumSet.noneOf(EstadoPrestamo.class);
+        for (EstadoPrestamo estado : values()) {
+            if (estado.puedeTransicionarA(this)) {
+                predecesores.add(estado);
+            }
+        }
+        return predecesores;
+    }
 }
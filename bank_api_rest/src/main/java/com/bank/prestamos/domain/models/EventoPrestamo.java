@@ -0,0 +1,49 @@
+package com.bank.prestamos.domain.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de un préstamo destinado a sistemas externos (scoring, notificaciones...).
+ *
+ * @param tipo Tipo de evento
+ * @param prestamoId ID del préstamo
+ * @param estadoAnterior Estado antes del cambio; null en las altas o si no pudo determinarse
+ * @param estado Estado del préstamo tras el evento
+ * @param importeSolicitado Importe solicitado; solo en las altas
+ * @param divisa Código de divisa ISO 4217; solo en las altas
+ * @param usuario Usuario que realizó el cambio; null en las altas
+ * @param fecha Fecha y hora del alta o del cambio
+ */
+public record EventoPrestamo(
+        TipoEventoPrestamo tipo,
+        Long prestamoId,
+        EstadoPrestamo estadoAnterior,
+        EstadoPrestamo estado,
+        BigDecimal importeSolicitado,
+        String divisa,
+        String usuario,
+        LocalDateTime fecha) {
+
+    /**
+     * Crea el evento de alta de un préstamo ya guardado.
+     *
+     * @param prestamo El préstamo con su ID asignado
+     * @return El evento PRESTAMO_CREADO
+     */
+    public static EventoPrestamo creado(Prestamo prestamo) {
+        return new EventoPrestamo(TipoEventoPrestamo.PRESTAMO_CREADO, prestamo.getId(), null, prestamo.getEstado(),
+                prestamo.getImporteSolicitado(), prestamo.getDivisa(), null, prestamo.getFechaCreacion());
+    }
+
+    /**
+     * Crea el evento de un cambio de estado a partir de su registro en el historial.
+     *
+     * @param registro El cambio de estado
+     * @return El evento ESTADO_CAMBIADO
+     */
+    public static EventoPrestamo estadoCambiado(RegistroHistorial registro) {
+        return new EventoPrestamo(TipoEventoPrestamo.ESTADO_CAMBIADO, registro.prestamoId(), registro.estadoAnterior(),
+                registro.estadoNuevo(), null, null, registro.usuario(), registro.fecha());
+    }
+}
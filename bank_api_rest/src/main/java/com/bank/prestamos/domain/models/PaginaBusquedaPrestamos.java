@@ -0,0 +1,23 @@
+package com.bank.prestamos.domain.models;
+
+import java.util.List;
+
+/**
+ * Página del resultado de una búsqueda filtrada de préstamos.
+ *
+ * @param prestamos Préstamos de la página en el orden solicitado
+ * @param pagina Número de página, empezando en 0
+ * @param tamanio Tamaño de página solicitado
+ * @param total Número total de préstamos que cumplen los criterios
+ */
+public record PaginaBusquedaPrestamos(List<Prestamo> prestamos, int pagina, int tamanio, long total) {
+
+    /**
+     * Indica si existen más préstamos después de esta página.
+     *
+     * @return true si hay página siguiente, false en caso contrario
+     */
+    public boolean hayMas() {
+        return (long) (pagina + 1) * tamanio < total;
+    }
+}
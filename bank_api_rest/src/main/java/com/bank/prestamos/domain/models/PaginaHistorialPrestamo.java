@@ -0,0 +1,14 @@
+package com.bank.prestamos.domain.models;
+
+import java.util.List;
+
+/**
+ * Página del historial de cambios de estado de un préstamo.
+ *
+ * @param registros Cambios de la página, del más reciente al más antiguo
+ * @param pagina Número de página, empezando en 0
+ * @param tamanio Tamaño de página solicitado
+ * @param hayMas Indica si existen cambios más antiguos después de esta página
+ */
+public record PaginaHistorialPrestamo(List<RegistroHistorial> registros, int pagina, int tamanio, boolean hayMas) {
+}
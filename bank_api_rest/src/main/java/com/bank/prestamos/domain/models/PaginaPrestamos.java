@@ -0,0 +1,21 @@
+package com.bank.prestamos.domain.models;
+
+import java.util.List;
+
+/**
+ * Página de préstamos obtenida mediante paginación por clave.
+ *
+ * @param prestamos Préstamos de la página, ordenados por fechaCreacion DESC, id DESC
+ * @param siguiente Cursor de la página siguiente, o null si no hay más resultados
+ */
+public record PaginaPrestamos(List<Prestamo> prestamos, CursorPrestamo siguiente) {
+
+    /**
+     * Indica si existen más préstamos después de esta página.
+     *
+     * @return true si hay página siguiente, false en caso contrario
+     */
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+}
@@ -14,20 +14,24 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @ToString
 @EqualsAndHashCode(of = "id")
 public class Prestamo {
 
     private Long id;
+    // Datos personales: fuera de toString para que no acaben en las trazas
+    @ToString.Exclude
     private String nombreSolicitante;
     private BigDecimal importeSolicitado;
     private String divisa;
+    @ToString.Exclude
     private String documentoIdentificativo;
     private EstadoPrestamo estado;
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaUltimaModificacion;
     private String usuarioUltimaModificacion;
+    private Long version;
 
     /**
      * Cambia el estado del préstamo validando que la transición sea permitida.
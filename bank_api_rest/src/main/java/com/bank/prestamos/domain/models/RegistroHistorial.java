@@ -0,0 +1,20 @@
+package com.bank.prestamos.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de estado de un préstamo registrado en su historial.
+ *
+ * @param prestamoId ID del préstamo
+ * @param estadoAnterior Estado antes del cambio, o null si no pudo determinarse
+ * @param estadoNuevo Estado después del cambio
+ * @param usuario Usuario que realizó el cambio
+ * @param fecha Fecha y hora del cambio
+ */
+public record RegistroHistorial(
+        Long prestamoId,
+        EstadoPrestamo estadoAnterior,
+        EstadoPrestamo estadoNuevo,
+        String usuario,
+        LocalDateTime fecha) {
+}
@@ -0,0 +1,24 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Resultado individual de un cambio de estado procesado por lotes.
+ *
+ * @param id El ID del préstamo
+ * @param tipo Resultado de la operación
+ * @param mensaje Motivo del rechazo (solo cuando no se actualizó)
+ */
+public record ResultadoCambioEstado(Long id, TipoResultadoCambioEstado tipo, String mensaje) {
+
+    public static ResultadoCambioEstado actualizado(Long id) {
+        return new ResultadoCambioEstado(id, TipoResultadoCambioEstado.ACTUALIZADO, null);
+    }
+
+    public static ResultadoCambioEstado noEncontrado(Long id) {
+        return new ResultadoCambioEstado(id, TipoResultadoCambioEstado.NO_ENCONTRADO,
+                "Préstamo no encontrado con id: " + id);
+    }
+
+    public static ResultadoCambioEstado transicionInvalida(Long id, String mensaje) {
+        return new ResultadoCambioEstado(id, TipoResultadoCambioEstado.TRANSICION_INVALIDA, mensaje);
+    }
+}
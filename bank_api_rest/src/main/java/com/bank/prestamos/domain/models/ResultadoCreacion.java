@@ -0,0 +1,23 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Resultado individual de un préstamo procesado en una creación por lotes.
+ *
+ * @param tipo Resultado de la operación
+ * @param prestamo El préstamo creado (solo cuando el tipo es CREADO)
+ * @param mensaje Motivo del rechazo (solo cuando no se creó)
+ */
+public record ResultadoCreacion(TipoResultadoCreacion tipo, Prestamo prestamo, String mensaje) {
+
+    public static ResultadoCreacion creado(Prestamo prestamo) {
+        return new ResultadoCreacion(TipoResultadoCreacion.CREADO, prestamo, null);
+    }
+
+    public static ResultadoCreacion duplicado(String mensaje) {
+        return new ResultadoCreacion(TipoResultadoCreacion.DUPLICADO, null, mensaje);
+    }
+
+    public static ResultadoCreacion invalido(String mensaje) {
+        return new ResultadoCreacion(TipoResultadoCreacion.INVALIDO, null, mensaje);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Tipos de evento de préstamos publicados para otros sistemas.
+ */
+public enum TipoEventoPrestamo {
+    PRESTAMO_CREADO,
+    ESTADO_CAMBIADO
+}
@@ -0,0 +1,10 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Resultado del cambio de estado de cada préstamo dentro de un lote.
+ */
+public enum TipoResultadoCambioEstado {
+    ACTUALIZADO,
+    NO_ENCONTRADO,
+    TRANSICION_INVALIDA
+}
@@ -0,0 +1,10 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Resultado de la creación de cada préstamo dentro de un lote.
+ */
+public enum TipoResultadoCreacion {
+    CREADO,
+    DUPLICADO,
+    INVALIDO
+}
@@ -0,0 +1,21 @@
+package com.bank.prestamos.domain.models;
+
+/**
+ * Identidad y versión de un préstamo. Cada escritura incrementa la versión, por lo que el par
+ * identifica el contenido del préstamo sin necesidad de leerlo entero.
+ *
+ * @param id ID del préstamo
+ * @param version Versión actual
+ */
+public record VersionPrestamo(Long id, Long version) {
+
+    /**
+     * Obtiene la versión de un préstamo ya cargado.
+     *
+     * @param prestamo El préstamo
+     * @return Su identidad y versión
+     */
+    public static VersionPrestamo de(Prestamo prestamo) {
+        return new VersionPrestamo(prestamo.getId(), prestamo.getVersion());
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.prestamos.domain.ports.in;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+
+import java.util.List;
+
+/**
+ * Puerto de entrada para localizar préstamos por un fragmento del nombre del solicitante.
+ */
+public interface BuscarPrestamosPorNombreUseCase {
+
+    /**
+     * Busca los préstamos cuyo solicitante coincide con el texto, sin distinguir mayúsculas ni acentos
+     * y tolerando pequeñas diferencias de escritura.
+     *
+     * @param texto Fragmento del nombre (al menos dos caracteres alfanuméricos)
+     * @param limite Número máximo de coincidencias
+     * @return Las coincidencias de mayor a menor puntuación
+     */
+    List<CoincidenciaNombre> buscarPorNombre(String texto, int limite);
+}
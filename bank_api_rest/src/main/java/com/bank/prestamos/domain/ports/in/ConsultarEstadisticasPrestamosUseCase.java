@@ -0,0 +1,25 @@
+package com.bank.prestamos.domain.ports.in;
+
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+
+import java.util.List;
+
+/**
+ * Puerto de entrada para consultar los totales de la cartera de préstamos.
+ */
+public interface ConsultarEstadisticasPrestamosUseCase {
+
+    /**
+     * Obtiene los totales por estado y divisa, sin acceder a la base de datos.
+     *
+     * @return Una estadística por cada combinación de estado y divisa con préstamos, ordenadas por estado y divisa
+     */
+    List<EstadisticaPrestamos> obtenerEstadisticas();
+
+    /**
+     * Recalcula los totales con una consulta agregada y corrige los contadores en memoria si difieren.
+     *
+     * @return true si los contadores coincidían con la base de datos
+     */
+    boolean reconciliar();
+}
@@ -0,0 +1,20 @@
+package com.bank.prestamos.domain.ports.in;
+
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+
+/**
+ * Puerto de entrada para consultar el historial de cambios de estado de un préstamo.
+ */
+public interface ConsultarHistorialPrestamoUseCase {
+
+    /**
+     * Obtiene una página del historial de un préstamo, del cambio más reciente al más antiguo.
+     *
+     * @param id El ID del préstamo
+     * @param pagina Número de página, empezando en 0
+     * @param tamanio Número máximo de cambios de la página
+     * @return La página del historial
+     * @throws com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException si el préstamo no existe
+     */
+    PaginaHistorialPrestamo obtenerHistorial(Long id, int pagina, int tamanio);
+}
@@ -0,0 +1,39 @@
+package com.bank.prestamos.domain.ports.in;
+
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante no bloqueante del puerto de entrada para consultar préstamos.
+ */
+public interface ConsultarPrestamoReactivoUseCase {
+
+    /**
+     * Obtiene un préstamo por su ID.
+     *
+     * @param id El ID del préstamo
+     * @return El préstamo encontrado; falla con PrestamoNoEncontradoException si no existe
+     */
+    Mono<Prestamo> obtenerPorId(Long id);
+
+    /**
+     * Obtiene una página de préstamos mediante paginación por clave,
+     * ordenada por fecha de creación descendente.
+     *
+     * @param cursor Posición de continuación, o null para la primera página
+     * @param tamanio Número máximo de préstamos de la página
+     * @return La página de préstamos con el cursor de la siguiente
+     */
+    Mono<PaginaPrestamos> obtenerPagina(CursorPrestamo cursor, int tamanio);
+
+    /**
+     * Emite todos los préstamos a medida que el suscriptor los pide, de modo que
+     * el consumo de memoria no depende del número de préstamos.
+     *
+     * @return Flujo de todos los préstamos ordenados por ID
+     */
+    Flux<Prestamo> obtenerTodos();
+}
@@ -1,8 +1,15 @@
 package com.bank.prestamos.domain.ports.in;
 
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto de entrada para consultar préstamos.
@@ -19,10 +26,56 @@ public interface ConsultarPrestamoUseCase {
      */
     Prestamo obtenerPorId(Long id);
 
+    /**
+     * Obtiene la versión actual de un préstamo sin cargarlo, para validar peticiones condicionales.
+     *
+     * @param id El ID del préstamo
+     * @return La versión, o vacío si el préstamo no existe
+     */
+    Optional<Long> obtenerVersion(Long id);
+
     /**
      * Obtiene todos los préstamos del sistema.
      *
      * @return Lista de todos los préstamos
      */
     List<Prestamo> obtenerTodos();
+
+    /**
+     * Obtiene una página de préstamos mediante paginación por clave,
+     * ordenada por fecha de creación descendente.
+     *
+     * @param cursor Posición de continuación, o null para la primera página
+     * @param tamanio Número máximo de préstamos de la página
+     * @return La página de préstamos con el cursor de la siguiente
+     */
+    PaginaPrestamos obtenerPagina(CursorPrestamo cursor, int tamanio);
+
+    /**
+     * Obtiene la identidad y versión de los préstamos de una página sin cargarlos,
+     * para validar peticiones condicionales sobre el listado.
+     *
+     * @param cursor Posición de continuación, o null para la primera página
+     * @param tamanio Número máximo de préstamos de la página
+     * @return Las versiones de la página, con un elemento de más si existe una página siguiente
+     */
+    List<VersionPrestamo> obtenerVersionesPagina(CursorPrestamo cursor, int tamanio);
+
+    /**
+     * Busca préstamos que cumplen los criterios indicados, con paginación por número de página.
+     *
+     * @param criterios Filtros y orden de la búsqueda
+     * @param pagina Número de página, empezando en 0
+     * @param tamanio Número máximo de préstamos de la página
+     * @return La página de resultados con el total de coincidencias
+     */
+    PaginaBusquedaPrestamos buscar(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio);
+
+    /**
+     * Exporta todos los préstamos entregándolos de uno en uno,
+     * de forma que el consumo de memoria no depende del número de préstamos.
+     *
+     * @param consumidor Función que recibe cada préstamo exportado
+     */
+    void exportarTodos(Consumer<Prestamo> consumidor);
 }
@@ -0,0 +1,18 @@
+package com.bank.prestamos.domain.ports.in;
+
+import com.bank.prestamos.domain.models.Prestamo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante no bloqueante del puerto de entrada para crear préstamos.
+ */
+public interface CrearPrestamoReactivoUseCase {
+
+    /**
+     * Crea un nuevo préstamo en el sistema.
+     *
+     * @param prestamo Los datos del préstamo a crear
+     * @return El préstamo creado con su ID asignado; falla con DocumentoDuplicadoException si el documento ya existe
+     */
+    Mono<Prestamo> crear(Prestamo prestamo);
+}
@@ -1,6 +1,9 @@
 package com.bank.prestamos.domain.ports.in;
 
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.ResultadoCreacion;
+
+import java.util.List;
 
 /**
  * Puerto de entrada para crear un nuevo préstamo.
@@ -15,4 +18,14 @@ public interface CrearPrestamoUseCase {
      * @return El préstamo creado con su ID asignado
      */
     Prestamo crear(Prestamo prestamo);
+
+    /**
+     * Crea un lote de préstamos comprobando los documentos duplicados en una sola consulta
+     * e insertando los nuevos en bloque. La inserción omite los documentos que otra alta haya
+     * registrado entretanto y los informa como duplicados.
+     *
+     * @param prestamos Los datos de los préstamos a crear
+     * @return Un resultado por cada préstamo, en el mismo orden que la entrada
+     */
+    List<ResultadoCreacion> crearLote(List<Prestamo> prestamos);
 }
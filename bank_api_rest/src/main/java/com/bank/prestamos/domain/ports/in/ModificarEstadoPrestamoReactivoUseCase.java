@@ -0,0 +1,22 @@
+package com.bank.prestamos.domain.ports.in;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante no bloqueante del puerto de entrada para modificar el estado de un préstamo.
+ */
+public interface ModificarEstadoPrestamoReactivoUseCase {
+
+    /**
+     * Cambia el estado de un préstamo.
+     *
+     * @param id El ID del préstamo
+     * @param nuevoEstado El nuevo estado deseado
+     * @param usuario El usuario que realiza el cambio
+     * @return El préstamo con el estado actualizado; falla con PrestamoNoEncontradoException
+     *         o TransicionEstadoInvalidaException
+     */
+    Mono<Prestamo> cambiarEstado(Long id, EstadoPrestamo nuevoEstado, String usuario);
+}
@@ -1,7 +1,11 @@
 package com.bank.prestamos.domain.ports.in;
 
+import com.bank.prestamos.domain.models.CambioEstado;
 import com.bank.prestamos.domain.models.EstadoPrestamo;
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.ResultadoCambioEstado;
+
+import java.util.List;
 
 /**
  * Puerto de entrada para modificar el estado de un préstamo.
@@ -20,4 +24,14 @@ public interface ModificarEstadoPrestamoUseCase {
      * @throws com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException si la transición no es válida
      */
     Prestamo cambiarEstado(Long id, EstadoPrestamo nuevoEstado, String usuario);
+
+    /**
+     * Cambia el estado de varios préstamos. Las transiciones se validan en memoria
+     * y las válidas se aplican con actualizaciones condicionales por bloques.
+     *
+     * @param cambios Los cambios solicitados
+     * @param usuario El usuario que realiza los cambios
+     * @return Un resultado por cada cambio, en el mismo orden que la entrada
+     */
+    List<ResultadoCambioEstado> cambiarEstadoLote(List<CambioEstado> cambios, String usuario);
 }
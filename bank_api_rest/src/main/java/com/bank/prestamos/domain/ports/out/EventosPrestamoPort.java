@@ -0,0 +1,20 @@
+package com.bank.prestamos.domain.ports.out;
+
+import com.bank.prestamos.domain.models.EventoPrestamo;
+
+import java.util.List;
+
+/**
+ * Puerto de salida para publicar eventos de préstamos hacia otros sistemas.
+ * La publicación forma parte de la transacción en curso: el evento solo llega a enviarse
+ * si el cambio que lo origina se confirma, y el envío real ocurre después, fuera de la petición.
+ */
+public interface EventosPrestamoPort {
+
+    /**
+     * Publica eventos de préstamos.
+     *
+     * @param eventos Eventos a publicar
+     */
+    void publicar(List<EventoPrestamo> eventos);
+}
@@ -0,0 +1,31 @@
+package com.bank.prestamos.domain.ports.out;
+
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+
+import java.util.List;
+
+/**
+ * Puerto de salida hacia el historial de cambios de estado.
+ * La implementación decide, según su modo de durabilidad, si la escritura forma parte
+ * de la transacción en curso o se realiza en segundo plano tras el commit.
+ */
+public interface HistorialPrestamosPort {
+
+    /**
+     * Registra cambios de estado ya aplicados.
+     *
+     * @param registros Cambios a registrar
+     */
+    void registrar(List<RegistroHistorial> registros);
+
+    /**
+     * Busca una página del historial de un préstamo.
+     *
+     * @param prestamoId ID del préstamo
+     * @param pagina Número de página, empezando en 0
+     * @param tamanio Número máximo de cambios de la página
+     * @return La página del historial
+     */
+    PaginaHistorialPrestamo buscarPorPrestamo(Long prestamoId, int pagina, int tamanio);
+}
@@ -0,0 +1,29 @@
+package com.bank.prestamos.domain.ports.out;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import com.bank.prestamos.domain.models.Prestamo;
+
+import java.util.List;
+
+/**
+ * Puerto de salida hacia el índice de nombres de solicitantes.
+ * El índice se mantiene fuera de la base de datos, por lo que los servicios le notifican cada alta.
+ */
+public interface IndiceNombresPrestamosPort {
+
+    /**
+     * Añade los préstamos al índice. Si hay una transacción en curso, se añaden cuando se confirme.
+     *
+     * @param prestamos Préstamos ya persistidos, con ID
+     */
+    void registrar(List<Prestamo> prestamos);
+
+    /**
+     * Busca los nombres que coinciden con el texto.
+     *
+     * @param texto Fragmento del nombre
+     * @param limite Número máximo de coincidencias
+     * @return Las coincidencias de mayor a menor puntuación
+     */
+    List<CoincidenciaNombre> buscar(String texto, int limite);
+}
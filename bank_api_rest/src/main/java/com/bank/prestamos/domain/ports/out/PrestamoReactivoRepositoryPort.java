@@ -0,0 +1,71 @@
+package com.bank.prestamos.domain.ports.out;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Variante no bloqueante del puerto de salida para la persistencia de préstamos.
+ */
+public interface PrestamoReactivoRepositoryPort {
+
+    /**
+     * Da de alta un préstamo nuevo en una única sentencia. La unicidad del documento
+     * la garantiza la base de datos.
+     *
+     * @param prestamo El préstamo a dar de alta
+     * @return El préstamo guardado; falla con DocumentoDuplicadoException si el documento ya existe
+     */
+    Mono<Prestamo> insertar(Prestamo prestamo);
+
+    /**
+     * Busca un préstamo por su ID.
+     *
+     * @param id El ID del préstamo
+     * @return El préstamo, o vacío si no existe
+     */
+    Mono<Prestamo> buscarPorId(Long id);
+
+    /**
+     * Busca los préstamos siguientes a la posición indicada según el orden (fechaCreacion DESC, id DESC).
+     *
+     * @param cursor Posición de continuación, o null para empezar desde el más reciente
+     * @param limite Número máximo de préstamos a devolver
+     * @return Los préstamos de la página
+     */
+    Flux<Prestamo> buscarPagina(CursorPrestamo cursor, int limite);
+
+    /**
+     * Emite todos los préstamos ordenados por ID, leyéndolos de la base de datos según la demanda.
+     *
+     * @return Flujo de todos los préstamos
+     */
+    Flux<Prestamo> buscarTodos();
+
+    /**
+     * Obtiene el estado actual de un préstamo.
+     *
+     * @param id El ID del préstamo
+     * @return El estado, o vacío si el préstamo no existe
+     */
+    Mono<EstadoPrestamo> buscarEstado(Long id);
+
+    /**
+     * Cambia el estado de un préstamo solo si su estado actual es uno de los permitidos.
+     *
+     * @param id El ID del préstamo
+     * @param estadosPermitidos Estados desde los que se admite la transición
+     * @param nuevoEstado El estado destino
+     * @param usuario El usuario que realiza el cambio
+     * @param fecha La fecha de la modificación
+     * @return El préstamo actualizado con su estado anterior, o vacío si no existe o su estado no lo permite
+     */
+    Mono<CambioEstadoAplicado> actualizarEstado(Long id, Set<EstadoPrestamo> estadosPermitidos,
+                                                EstadoPrestamo nuevoEstado, String usuario, LocalDateTime fecha);
+}
@@ -0,0 +1,189 @@
+package com.bank.prestamos.domain.ports.out;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida para la persistencia de préstamos.
+ * Define las operaciones que debe implementar el adaptador de persistencia.
+ */
+public interface PrestamoRepositoryPort {
+
+    /**
+     * Guarda un préstamo (alta o actualización).
+     *
+     * @param prestamo El préstamo a guardar
+     * @return El préstamo guardado
+     */
+    Prestamo guardar(Prestamo prestamo);
+
+    /**
+     * Da de alta un préstamo nuevo en una única sentencia. La unicidad del documento
+     * la garantiza la base de datos, también entre altas concurrentes.
+     *
+     * @param prestamo El préstamo a dar de alta
+     * @return El préstamo guardado, con su ID asignado
+     * @throws com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException si el documento ya existe
+     */
+    Prestamo insertar(Prestamo prestamo);
+
+    /**
+     * Da de alta varios préstamos nuevos en bloque. Los que chocan con la restricción única del documento,
+     * también con altas concurrentes, no se insertan ni interrumpen el resto del bloque.
+     *
+     * @param prestamos Los préstamos a dar de alta, con documentos distintos entre sí
+     * @return Los préstamos insertados, con su ID asignado; los que faltan tenían el documento duplicado
+     */
+    List<Prestamo> insertarTodos(List<Prestamo> prestamos);
+
+    /**
+     * Busca un préstamo por su ID.
+     *
+     * @param id El ID del préstamo
+     * @return El préstamo si existe
+     */
+    Optional<Prestamo> buscarPorId(Long id);
+
+    /**
+     * Busca solo la versión de un préstamo, con una lectura por clave primaria.
+     *
+     * @param id El ID del préstamo
+     * @return La versión si el préstamo existe
+     */
+    Optional<Long> buscarVersion(Long id);
+
+    /**
+     * Obtiene todos los préstamos.
+     *
+     * @return Lista de todos los préstamos
+     */
+    List<Prestamo> buscarTodos();
+
+    /**
+     * Obtiene una página de préstamos ordenada por fechaCreacion DESC, id DESC,
+     * empezando justo después del cursor indicado.
+     *
+     * @param cursor Posición de continuación, o null para la primera página
+     * @param limite Número máximo de préstamos a devolver
+     * @return Los préstamos de la página
+     */
+    List<Prestamo> buscarPagina(CursorPrestamo cursor, int limite);
+
+    /**
+     * Obtiene la identidad y versión de los préstamos de la misma página que {@link #buscarPagina},
+     * sin leer el resto de columnas.
+     *
+     * @param cursor Posición de continuación, o null para la primera página
+     * @param limite Número máximo de préstamos a devolver
+     * @return Las versiones de la página, en el mismo orden
+     */
+    List<VersionPrestamo> buscarVersionesPagina(CursorPrestamo cursor, int limite);
+
+    /**
+     * Recorre todos los préstamos de uno en uno sin cargarlos en memoria.
+     * Debe invocarse dentro de una transacción para que la lectura use un cursor del servidor.
+     *
+     * @param consumidor Función que recibe cada préstamo leído
+     */
+    void recorrerTodos(Consumer<Prestamo> consumidor);
+
+    /**
+     * Recorre los documentos identificativos de todos los préstamos sin cargarlos en memoria.
+     * Debe invocarse dentro de una transacción para que la lectura use un cursor del servidor.
+     *
+     * @param consumidor Función que recibe cada documento leído
+     */
+    void recorrerDocumentos(Consumer<String> consumidor);
+
+    /**
+     * Busca los préstamos que cumplen los criterios, ordenados y paginados por desplazamiento.
+     *
+     * @param criterios Filtros y orden de la búsqueda
+     * @param pagina Número de página, empezando en 0
+     * @param tamanio Número máximo de préstamos de la página
+     * @return La página de resultados con el total de coincidencias
+     */
+    PaginaBusquedaPrestamos buscarPorCriterios(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio);
+
+    /**
+     * Cuenta los préstamos existentes.
+     *
+     * @return Número total de préstamos
+     */
+    long contar();
+
+    /**
+     * Calcula con una consulta agregada el número, la suma y los importes mínimo y máximo
+     * de los préstamos por estado y divisa.
+     *
+     * @return Una estadística por cada combinación de estado y divisa con préstamos
+     */
+    List<EstadisticaPrestamos> calcularEstadisticas();
+
+    /**
+     * Verifica si existe un préstamo con el documento indicado.
+     *
+     * @param documento El documento identificativo
+     * @return true si existe, false en caso contrario
+     */
+    boolean existePorDocumento(String documento);
+
+    /**
+     * Obtiene, de entre los documentos indicados, los que ya tienen un préstamo.
+     *
+     * @param documentos Los documentos identificativos a comprobar
+     * @return Los documentos que ya existen
+     */
+    Set<String> buscarDocumentosExistentes(Collection<String> documentos);
+
+    /**
+     * Obtiene el estado actual de los préstamos indicados.
+     *
+     * @param ids Los IDs de los préstamos
+     * @return Estado de cada préstamo existente, indexado por ID
+     */
+    Map<Long, EstadoPrestamo> buscarEstados(Collection<Long> ids);
+
+    /**
+     * Cambia el estado de un préstamo solo si su estado actual es uno de los permitidos,
+     * incrementando su versión. La comprobación y la escritura se hacen en una única sentencia.
+     *
+     * @param id El ID del préstamo
+     * @param estadosPermitidos Estados desde los que se permite la transición
+     * @param nuevoEstado El estado destino
+     * @param usuario El usuario que realiza el cambio
+     * @param fecha Fecha de modificación a registrar
+     * @return El préstamo actualizado con su estado anterior, o vacío si no existe o su estado no permite la transición
+     */
+    Optional<CambioEstadoAplicado> actualizarEstado(Long id, Set<EstadoPrestamo> estadosPermitidos,
+                                                    EstadoPrestamo nuevoEstado, String usuario, LocalDateTime fecha);
+
+    /**
+     * Cambia el estado de los préstamos indicados solo si su estado actual es uno de los permitidos.
+     * La comprobación y la escritura se hacen en la misma sentencia, sin cargar las entidades,
+     * y cada fila actualizada vuelve con el estado que tenía antes.
+     *
+     * @param ids Los IDs de los préstamos
+     * @param estadosPermitidos Estados desde los que se permite la transición
+     * @param nuevoEstado El estado destino
+     * @param usuario El usuario que realiza el cambio
+     * @param fecha Fecha de modificación a registrar
+     * @return Los préstamos que efectivamente se actualizaron, con su estado anterior
+     */
+    List<CambioEstadoAplicado> actualizarEstadoCondicional(Collection<Long> ids, Set<EstadoPrestamo> estadosPermitidos,
+                                                           EstadoPrestamo nuevoEstado, String usuario, LocalDateTime fecha);
+}
@@ -0,0 +1,36 @@
+package com.bank.prestamos.domain.ports.out;
+
+import com.bank.prestamos.domain.models.Prestamo;
+
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida para recorrer la tabla de préstamos completa al construir estructuras en memoria,
+ * como el filtro de documentos o el índice de nombres. Lo implementa directamente el adaptador de persistencia, sin los
+ * decoradores de {@link PrestamoRepositoryPort}, que a su vez dependen de esas estructuras.
+ */
+public interface RecorridoPrestamosPort {
+
+    /**
+     * Cuenta los préstamos existentes.
+     *
+     * @return Número total de préstamos
+     */
+    long contar();
+
+    /**
+     * Recorre los documentos identificativos de todos los préstamos sin cargarlos en memoria.
+     * Debe invocarse dentro de una transacción para que la lectura use un cursor del servidor.
+     *
+     * @param consumidor Función que recibe cada documento leído
+     */
+    void recorrerDocumentos(Consumer<String> consumidor);
+
+    /**
+     * Recorre todos los préstamos en orden de ID sin cargarlos en memoria.
+     * Debe invocarse dentro de una transacción para que la lectura use un cursor del servidor.
+     *
+     * @param consumidor Función que recibe cada préstamo leído
+     */
+    void recorrerTodos(Consumer<Prestamo> consumidor);
+}
@@ -0,0 +1,58 @@
+package com.bank.prestamos.infrastructure.adapter.in.programacion;
+
+import com.bank.prestamos.domain.ports.in.ConsultarEstadisticasPrestamosUseCase;
+import com.bank.prestamos.infrastructure.configuracion.EstadisticasProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Siembra las estadísticas de la cartera al arrancar y las reconcilia periódicamente con la base de datos.
+ */
+@Component
+@Slf4j
+public class ReconciliacionEstadisticasTarea {
+
+    private final ConsultarEstadisticasPrestamosUseCase estadisticas;
+    private final EstadisticasProperties propiedades;
+    private final TaskScheduler programador;
+    private final Counter desviaciones;
+
+    public ReconciliacionEstadisticasTarea(ConsultarEstadisticasPrestamosUseCase estadisticas,
+                                           EstadisticasProperties propiedades,
+                                           TaskScheduler programador,
+                                           MeterRegistry registro) {
+        this.estadisticas = estadisticas;
+        this.propiedades = propiedades;
+        this.programador = programador;
+        this.desviaciones = Counter.builder("prestamos.estadisticas.desviaciones")
+                .description("Reconciliaciones en las que los contadores en memoria no coincidían con la base de datos")
+                .register(registro);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sembrarAlArrancar() {
+        Duration intervalo = propiedades.intervaloReconciliacion();
+        estadisticas.reconciliar();
+        log.info("Estadísticas de la cartera sembradas; reconciliación cada {}", intervalo);
+        programador.scheduleWithFixedDelay(this::reconciliar, Instant.now().plus(intervalo), intervalo);
+    }
+
+    void reconciliar() {
+        try {
+            if (!estadisticas.reconciliar()) {
+                desviaciones.increment();
+            }
+        } catch (RuntimeException ex) {
+            // Un fallo puntual no debe cancelar las reconciliaciones siguientes
+            log.error("No se pudieron reconciliar las estadísticas de la cartera", ex);
+        }
+    }
+}
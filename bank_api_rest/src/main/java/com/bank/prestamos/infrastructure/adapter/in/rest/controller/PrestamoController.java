@@ -1,28 +1,84 @@
 package com.bank.prestamos.infrastructure.adapter.in.rest.controller;
 
+import com.bank.prestamos.domain.models.CambioEstado;
+import com.bank.prestamos.domain.models.CampoOrdenPrestamos;
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.ResultadoCambioEstado;
+import com.bank.prestamos.domain.models.ResultadoCreacion;
+import com.bank.prestamos.domain.models.TipoResultadoCreacion;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.in.BuscarPrestamosPorNombreUseCase;
+import com.bank.prestamos.domain.ports.in.ConsultarEstadisticasPrestamosUseCase;
+import com.bank.prestamos.domain.ports.in.ConsultarHistorialPrestamoUseCase;
 import com.bank.prestamos.domain.ports.in.ConsultarPrestamoUseCase;
 import com.bank.prestamos.domain.ports.in.CrearPrestamoUseCase;
 import com.bank.prestamos.domain.ports.in.ModificarEstadoPrestamoUseCase;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ActualizarEstadoPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CambiarEstadoLoteRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CoincidenciasNombreResponse;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamosLoteRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.EstadisticasPrestamosResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PaginaBusquedaPrestamosResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PaginaHistorialResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PaginaPrestamosResponse;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.RespuestaError;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ResultadoCambioEstadoLoteResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ResultadoCambioEstadoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ResultadoCreacionResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ResultadoLoteResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.etag.GeneradorEtag;
+import com.bank.prestamos.infrastructure.adapter.in.rest.formatos.FormatosRespuesta;
+import com.bank.prestamos.infrastructure.adapter.in.rest.idempotencia.AlmacenIdempotencia;
+import com.bank.prestamos.infrastructure.adapter.in.rest.idempotencia.ResultadoIdempotente;
 import com.bank.prestamos.infrastructure.adapter.in.rest.mappers.PrestamoDtoMapper;
+import com.bank.prestamos.infrastructure.adapter.in.rest.paginacion.CodificadorCursor;
+import com.bank.prestamos.infrastructure.configuracion.IndiceNombresProperties;
+import com.bank.prestamos.infrastructure.configuracion.PaginacionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controlador REST para la gestión de préstamos.
@@ -32,66 +88,330 @@ import java.util.List;
 @RequestMapping("/api/prestamos")
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Préstamos", description = "API para gestión de solicitudes de préstamos personales")
 public class PrestamoController {
 
+    private static final String CABECERA_IDEMPOTENCIA = "Idempotency-Key";
+    private static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
     private final CrearPrestamoUseCase crearPrestamoUseCase;
     private final ConsultarPrestamoUseCase consultarPrestamoUseCase;
     private final ModificarEstadoPrestamoUseCase modificarEstadoPrestamoUseCase;
+    private final ConsultarEstadisticasPrestamosUseCase consultarEstadisticasUseCase;
+    private final BuscarPrestamosPorNombreUseCase buscarPorNombreUseCase;
+    private final ConsultarHistorialPrestamoUseCase consultarHistorialUseCase;
     private final PrestamoDtoMapper mapeador;
+    private final CodificadorCursor codificadorCursor;
+    private final GeneradorEtag generadorEtag;
+    private final FormatosRespuesta formatosRespuesta;
+    private final AlmacenIdempotencia almacenIdempotencia;
+    private final PaginacionProperties paginacion;
+    private final IndiceNombresProperties indiceNombres;
+    private final ObjectMapper objectMapper;
+    private final Validator validador;
 
     @PostMapping
     @Operation(summary = "Crear nueva solicitud de préstamo", 
-               description = "Crea una nueva solicitud de préstamo con estado inicial PENDIENTE")
+               description = "Crea una nueva solicitud de préstamo con estado inicial PENDIENTE. "
+                       + "Con la cabecera Idempotency-Key, los reintentos con la misma clave reciben la respuesta "
+                       + "del alta original, con la cabecera Idempotent-Replayed, en lugar de repetirla")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Préstamo creado exitosamente",
                      content = @Content(schema = @Schema(implementation = PrestamoResponse.class))),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos",
                      content = @Content(schema = @Schema(implementation = RespuestaError.class))),
         @ApiResponse(responseCode = "409", description = "Ya existe un préstamo con el documento proporcionado",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class))),
+        @ApiResponse(responseCode = "422", description = "Clave de idempotencia inválida o usada con otra petición",
                      content = @Content(schema = @Schema(implementation = RespuestaError.class)))
     })
-    public ResponseEntity<PrestamoResponse> crearPrestamo(@Valid @RequestBody CrearPrestamoRequest request) {
-        log.info("Recibida solicitud para crear préstamo: {}", request);
-        
-        Prestamo prestamo = mapeador.toDomain(request);
-        Prestamo prestamoCreado = crearPrestamoUseCase.crear(prestamo);
-        PrestamoResponse response = mapeador.toResponse(prestamoCreado);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<PrestamoResponse> crearPrestamo(
+            @Valid @RequestBody CrearPrestamoRequest request,
+            @Parameter(description = "Clave única del alta elegida por el cliente para reintentarla sin duplicarla")
+            @RequestHeader(value = CABECERA_IDEMPOTENCIA, required = false) String claveIdempotencia) {
+        log.info("Recibida solicitud para crear préstamo de {} {}", request.importeSolicitado(), request.divisa());
+
+        if (claveIdempotencia == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(crear(request));
+        }
+        ResultadoIdempotente resultado = almacenIdempotencia.ejecutar(
+                claveIdempotencia, request, () -> crear(request));
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(CABECERA_REPETIDA, String.valueOf(resultado.repetido()))
+                .body(resultado.prestamo());
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Crear solicitudes de préstamo por lotes", 
+               description = "Crea hasta " + CrearPrestamosLoteRequest.TAMANIO_MAXIMO + " préstamos en una petición. "
+                       + "Devuelve un resultado por préstamo: CREADO, DUPLICADO o INVALIDO")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; ver el resultado de cada préstamo",
+                     content = @Content(schema = @Schema(implementation = ResultadoLoteResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class)))
+    })
+    public ResponseEntity<ResultadoLoteResponse> crearPrestamosLote(
+            @Valid @RequestBody CrearPrestamosLoteRequest request) {
+        List<CrearPrestamoRequest> solicitudes = request.prestamos();
+        log.info("Recibida solicitud para crear lote de {} préstamos", solicitudes.size());
+
+        // Los préstamos inválidos se resuelven aquí; solo los válidos llegan al caso de uso
+        ResultadoCreacionResponse[] resultados = new ResultadoCreacionResponse[solicitudes.size()];
+        List<Prestamo> validos = new ArrayList<>();
+        List<Integer> posicionesValidos = new ArrayList<>();
+        for (int i = 0; i < solicitudes.size(); i++) {
+            Map<String, String> errores = validar(solicitudes.get(i));
+            if (errores.isEmpty()) {
+                validos.add(mapeador.toDomain(solicitudes.get(i)));
+                posicionesValidos.add(i);
+            } else {
+                resultados[i] = new ResultadoCreacionResponse(
+                        i, TipoResultadoCreacion.INVALIDO, null, "Falló la validación", errores);
+            }
+        }
+
+        if (!validos.isEmpty()) {
+            List<ResultadoCreacion> creados = crearPrestamoUseCase.crearLote(validos);
+            for (int j = 0; j < creados.size(); j++) {
+                int indice = posicionesValidos.get(j);
+                ResultadoCreacion resultado = creados.get(j);
+                PrestamoResponse prestamo = resultado.prestamo() != null
+                        ? mapeador.toResponse(resultado.prestamo())
+                        : null;
+                resultados[indice] = new ResultadoCreacionResponse(
+                        indice, resultado.tipo(), prestamo, resultado.mensaje(), null);
+            }
+        }
+
+        return ResponseEntity.ok(ResultadoLoteResponse.de(Arrays.asList(resultados)));
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los préstamos", 
-               description = "Obtiene una lista de todas las solicitudes de préstamo")
+    @Operation(summary = "Listar préstamos paginados", 
+               description = "Obtiene una página de solicitudes de préstamo, de la más reciente a la más antigua. "
+                       + "Para la página siguiente se envía el cursor devuelto en la respuesta anterior. "
+                       + "Admite If-None-Match con el ETag de la página")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de préstamos obtenida exitosamente",
-                     content = @Content(schema = @Schema(implementation = PrestamoResponse.class)))
+        @ApiResponse(responseCode = "200", description = "Página de préstamos obtenida exitosamente",
+                     content = @Content(schema = @Schema(implementation = PaginaPrestamosResponse.class))),
+        @ApiResponse(responseCode = "304", description = "La página no ha cambiado desde el ETag indicado"),
+        @ApiResponse(responseCode = "400", description = "Cursor de paginación inválido",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class)))
     })
-    public ResponseEntity<List<PrestamoResponse>> listarPrestamos() {
-        log.info("Recibida solicitud para listar todos los préstamos");
-        
-        List<Prestamo> prestamos = consultarPrestamoUseCase.obtenerTodos();
-        List<PrestamoResponse> response = mapeador.toResponseList(prestamos);
-        
+    public ResponseEntity<PaginaPrestamosResponse> listarPrestamos(
+            @Parameter(description = "Token de continuación devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Número de préstamos por página (limitado por configuración)")
+            @RequestParam(required = false) Integer tamanio,
+            @Parameter(description = "ETag de la página ya recibida")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Recibida solicitud para listar préstamos (tamaño {})", tamanio);
+
+        CursorPrestamo posicion = codificadorCursor.decodificar(cursor);
+        int tamanioEfectivo = paginacion.tamanioEfectivo(tamanio);
+        if (ifNoneMatch != null) {
+            // Solo se leen ID y versión; si la página no cambió no se carga ni se serializa
+            List<VersionPrestamo> versiones = consultarPrestamoUseCase.obtenerVersionesPagina(posicion, tamanioEfectivo);
+            String etag = generadorEtag.deVersionesPagina(versiones, tamanioEfectivo);
+            if (generadorEtag.coincide(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        PaginaPrestamos pagina = consultarPrestamoUseCase.obtenerPagina(posicion, tamanioEfectivo);
+
+        PaginaPrestamosResponse response = new PaginaPrestamosResponse(
+                mapeador.toResponseList(pagina.prestamos()),
+                codificadorCursor.codificar(pagina.siguiente()),
+                pagina.hayMas()
+        );
+
+        return ResponseEntity.ok().eTag(generadorEtag.dePagina(pagina)).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar préstamos", 
+               description = "Busca préstamos por estado, divisa, rango de fechas de creación y rango de importes. "
+                       + "Todos los filtros son opcionales y se combinan con AND; los rangos son inclusivos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
+                     content = @Content(schema = @Schema(implementation = PaginaBusquedaPrestamosResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Parámetros de búsqueda inválidos",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class)))
+    })
+    public ResponseEntity<PaginaBusquedaPrestamosResponse> buscarPrestamos(
+            @Parameter(description = "Estado del préstamo")
+            @RequestParam(required = false) EstadoPrestamo estado,
+            @Parameter(description = "Código de divisa ISO 4217", example = "EUR")
+            @RequestParam(required = false) String divisa,
+            @Parameter(description = "Fecha de creación mínima (ISO-8601)", example = "2026-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaDesde,
+            @Parameter(description = "Fecha de creación máxima (ISO-8601)", example = "2026-12-31T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaHasta,
+            @Parameter(description = "Importe solicitado mínimo", example = "1000")
+            @RequestParam(required = false) BigDecimal importeMinimo,
+            @Parameter(description = "Importe solicitado máximo", example = "50000")
+            @RequestParam(required = false) BigDecimal importeMaximo,
+            @Parameter(description = "Campo de ordenación")
+            @RequestParam(defaultValue = "FECHA_CREACION") CampoOrdenPrestamos orden,
+            @Parameter(description = "Orden ascendente; por defecto descendente")
+            @RequestParam(defaultValue = "false") boolean ascendente,
+            @Parameter(description = "Número de página, empezando en 0")
+            @RequestParam(defaultValue = "0") int pagina,
+            @Parameter(description = "Número de préstamos por página (limitado por configuración)")
+            @RequestParam(required = false) Integer tamanio) {
+        log.info("Recibida solicitud de búsqueda de préstamos (estado {}, divisa {}, página {})",
+                estado, divisa, pagina);
+
+        CriteriosBusquedaPrestamos criterios = new CriteriosBusquedaPrestamos(
+                estado, divisa == null ? null : divisa.toUpperCase(Locale.ROOT),
+                fechaDesde, fechaHasta, importeMinimo, importeMaximo, orden, ascendente);
+        PaginaBusquedaPrestamos resultado = consultarPrestamoUseCase.buscar(
+                criterios, Math.max(0, pagina), paginacion.tamanioEfectivo(tamanio));
+
+        PaginaBusquedaPrestamosResponse response = new PaginaBusquedaPrestamosResponse(
+                mapeador.toResponseList(resultado.prestamos()),
+                resultado.pagina(),
+                resultado.tamanio(),
+                resultado.total(),
+                resultado.hayMas()
+        );
+
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/nombres")
+    @Operation(summary = "Buscar préstamos por nombre del solicitante", 
+               description = "Devuelve los préstamos cuyo solicitante contiene el texto, sin distinguir mayúsculas "
+                       + "ni acentos y tolerando pequeñas erratas. Se sirve desde un índice en memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
+                     content = @Content(schema = @Schema(implementation = CoincidenciasNombreResponse.class))),
+        @ApiResponse(responseCode = "503", description = "El índice de nombres se está construyendo",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class)))
+    })
+    public ResponseEntity<CoincidenciasNombreResponse> buscarPorNombre(
+            @Parameter(description = "Fragmento del nombre (al menos dos letras o dígitos)", example = "perez")
+            @RequestParam String texto,
+            @Parameter(description = "Número máximo de coincidencias (limitado por configuración)")
+            @RequestParam(required = false) Integer limite) {
+        log.debug("Recibida solicitud de búsqueda por nombre ({} caracteres)", texto.length());
+
+        List<CoincidenciaNombre> coincidencias = buscarPorNombreUseCase.buscarPorNombre(
+                texto, indiceNombres.limiteEfectivo(limite));
+
+        return ResponseEntity.ok(new CoincidenciasNombreResponse(mapeador.toCoincidenciasResponse(coincidencias)));
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            FormatosRespuesta.APPLICATION_CBOR_SEQ_VALUE, FormatosRespuesta.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Exportar todos los préstamos", 
+               description = "Devuelve todos los préstamos en formato NDJSON (un objeto JSON por línea) o, según "
+                       + "la cabecera Accept, como secuencia CBOR (application/cbor-seq) o Smile. "
+                       + "La respuesta se escribe a medida que se leen las filas, sin cargar la tabla en memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso",
+                     content = {
+                         @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                  schema = @Schema(implementation = PrestamoResponse.class)),
+                         @Content(mediaType = FormatosRespuesta.APPLICATION_CBOR_SEQ_VALUE,
+                                  schema = @Schema(implementation = PrestamoResponse.class)),
+                         @Content(mediaType = FormatosRespuesta.APPLICATION_SMILE_VALUE,
+                                  schema = @Schema(implementation = PrestamoResponse.class))
+                     })
+    })
+    public ResponseEntity<StreamingResponseBody> exportarPrestamos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType formato = formatosRespuesta.formatoExportacion(accept);
+        log.info("Recibida solicitud para exportar todos los préstamos en {}", formato);
+
+        StreamingResponseBody cuerpo = MediaType.APPLICATION_NDJSON.equals(formato)
+                ? salida -> consultarPrestamoUseCase.exportarTodos(prestamo -> escribirLinea(salida, prestamo))
+                : salida -> exportarSecuencia(salida, formatosRespuesta.escritorSecuencia(formato));
+
+        return ResponseEntity.ok()
+                .contentType(formato)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(cuerpo);
+    }
+
+    @GetMapping("/estadisticas")
+    @Operation(summary = "Obtener estadísticas de la cartera", 
+               description = "Número de préstamos, suma e importes mínimo y máximo por estado y divisa. "
+                       + "Se sirve desde contadores en memoria, sin consultar la base de datos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                     content = @Content(schema = @Schema(implementation = EstadisticasPrestamosResponse.class)))
+    })
+    public ResponseEntity<EstadisticasPrestamosResponse> obtenerEstadisticas() {
+        log.debug("Recibida solicitud de estadísticas de la cartera");
+
+        List<EstadisticaPrestamos> estadisticas = consultarEstadisticasUseCase.obtenerEstadisticas();
+
+        return ResponseEntity.ok(new EstadisticasPrestamosResponse(mapeador.toEstadisticasResponse(estadisticas)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener préstamo por ID", 
-               description = "Obtiene los detalles de un préstamo específico")
+               description = "Obtiene los detalles de un préstamo específico. Admite If-None-Match con su ETag")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Préstamo encontrado",
                      content = @Content(schema = @Schema(implementation = PrestamoResponse.class))),
+        @ApiResponse(responseCode = "304", description = "El préstamo no ha cambiado desde el ETag indicado"),
         @ApiResponse(responseCode = "404", description = "Préstamo no encontrado",
                      content = @Content(schema = @Schema(implementation = RespuestaError.class)))
     })
-    public ResponseEntity<PrestamoResponse> obtenerPrestamoPorId(@PathVariable Long id) {
+    public ResponseEntity<PrestamoResponse> obtenerPrestamoPorId(
+            @PathVariable Long id,
+            @Parameter(description = "ETag del préstamo ya recibido")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Recibida solicitud para obtener préstamo con ID: {}", id);
-        
+
+        if (ifNoneMatch != null) {
+            // Lectura de la versión por clave primaria; si coincide no se carga ni se serializa el préstamo
+            Optional<String> etag = consultarPrestamoUseCase.obtenerVersion(id)
+                    .map(version -> generadorEtag.deVersion(id, version));
+            if (etag.isPresent() && generadorEtag.coincide(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
         Prestamo prestamo = consultarPrestamoUseCase.obtenerPorId(id);
         PrestamoResponse response = mapeador.toResponse(prestamo);
         
+        return ResponseEntity.ok().eTag(generadorEtag.dePrestamo(prestamo)).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    @GetMapping("/{id}/historial")
+    @Operation(summary = "Obtener historial de estados", 
+               description = "Devuelve los cambios de estado del préstamo, del más reciente al más antiguo. "
+                       + "El historial se escribe de forma asíncrona: un cambio recién hecho puede tardar "
+                       + "unos milisegundos en aparecer")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Historial obtenido exitosamente",
+                     content = @Content(schema = @Schema(implementation = PaginaHistorialResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Préstamo no encontrado",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class)))
+    })
+    public ResponseEntity<PaginaHistorialResponse> obtenerHistorial(
+            @PathVariable Long id,
+            @Parameter(description = "Número de página, empezando en 0")
+            @RequestParam(defaultValue = "0") int pagina,
+            @Parameter(description = "Número de cambios por página (limitado por configuración)")
+            @RequestParam(required = false) Integer tamanio) {
+        log.debug("Recibida solicitud del historial del préstamo {} (página {})", id, pagina);
+
+        PaginaHistorialPrestamo historial = consultarHistorialUseCase.obtenerHistorial(
+                id, Math.max(0, pagina), paginacion.tamanioEfectivo(tamanio));
+
+        PaginaHistorialResponse response = new PaginaHistorialResponse(
+                mapeador.toHistorialResponse(historial.registros()),
+                historial.pagina(),
+                historial.tamanio(),
+                historial.hayMas()
+        );
+
         return ResponseEntity.ok(response);
     }
 
@@ -121,6 +441,72 @@ public class PrestamoController {
         );
         PrestamoResponse response = mapeador.toResponse(prestamo);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(generadorEtag.dePrestamo(prestamo)).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    @PatchMapping("/estado")
+    @Operation(summary = "Cambiar estado de préstamos por lotes", 
+               description = "Aplica hasta " + CambiarEstadoLoteRequest.TAMANIO_MAXIMO + " cambios de estado. "
+                       + "Cada transición se valida por separado y se informa del resultado de cada préstamo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; ver el resultado de cada préstamo",
+                     content = @Content(schema = @Schema(implementation = ResultadoCambioEstadoLoteResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos",
+                     content = @Content(schema = @Schema(implementation = RespuestaError.class)))
+    })
+    public ResponseEntity<ResultadoCambioEstadoLoteResponse> cambiarEstadoPrestamosLote(
+            @Valid @RequestBody CambiarEstadoLoteRequest request) {
+        log.info("Recibida solicitud para cambiar estado de {} préstamos", request.cambios().size());
+
+        List<CambioEstado> cambios = request.cambios().stream()
+                .map(cambio -> new CambioEstado(cambio.id(), cambio.estado()))
+                .toList();
+        List<ResultadoCambioEstado> resultados = modificarEstadoPrestamoUseCase.cambiarEstadoLote(
+                cambios, request.usuarioModificacion());
+
+        List<ResultadoCambioEstadoResponse> response = resultados.stream()
+                .map(resultado -> new ResultadoCambioEstadoResponse(
+                        resultado.id(), resultado.tipo(), resultado.mensaje()))
+                .toList();
+
+        return ResponseEntity.ok(ResultadoCambioEstadoLoteResponse.de(response));
+    }
+
+    private Map<String, String> validar(CrearPrestamoRequest solicitud) {
+        if (solicitud == null) {
+            return Map.of("prestamo", "El préstamo es obligatorio");
+        }
+        Map<String, String> errores = new HashMap<>();
+        validador.validate(solicitud).forEach(violacion ->
+                errores.put(violacion.getPropertyPath().toString(), violacion.getMessage())
+        );
+        return errores;
+    }
+
+    private PrestamoResponse crear(CrearPrestamoRequest request) {
+        Prestamo prestamoCreado = crearPrestamoUseCase.crear(mapeador.toDomain(request));
+        return mapeador.toResponse(prestamoCreado);
+    }
+
+    private void exportarSecuencia(OutputStream salida, ObjectWriter escritor) throws IOException {
+        // Al cerrar la secuencia se vuelca el generador; el flujo de salida lo cierra el contenedor
+        try (SequenceWriter secuencia = escritor.writeValues(salida)) {
+            consultarPrestamoUseCase.exportarTodos(prestamo -> {
+                try {
+                    secuencia.write(mapeador.toResponse(prestamo));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private void escribirLinea(OutputStream salida, Prestamo prestamo) {
+        try {
+            salida.write(objectMapper.writeValueAsBytes(mapeador.toResponse(prestamo)));
+            salida.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
@@ -0,0 +1,105 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.controller;
+
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.ports.in.ConsultarPrestamoReactivoUseCase;
+import com.bank.prestamos.domain.ports.in.CrearPrestamoReactivoUseCase;
+import com.bank.prestamos.domain.ports.in.ModificarEstadoPrestamoReactivoUseCase;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.ActualizarEstadoPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PaginaPrestamosResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.mappers.PrestamoDtoMapper;
+import com.bank.prestamos.infrastructure.adapter.in.rest.paginacion.CodificadorCursor;
+import com.bank.prestamos.infrastructure.configuracion.PaginacionProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST no bloqueante (WebFlux) para la gestión de préstamos.
+ * Expone los mismos endpoints individuales que {@link PrestamoController} sobre los casos de uso reactivos;
+ * se registra en lugar de aquel con el perfil reactivo.
+ */
+@RestController
+@RequestMapping("/api/prestamos")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "prestamos.reactivo", name = "habilitado", havingValue = "true")
+@Tag(name = "Préstamos", description = "API para gestión de solicitudes de préstamos personales")
+public class PrestamoReactivoController {
+
+    private final CrearPrestamoReactivoUseCase crearPrestamoUseCase;
+    private final ConsultarPrestamoReactivoUseCase consultarPrestamoUseCase;
+    private final ModificarEstadoPrestamoReactivoUseCase modificarEstadoPrestamoUseCase;
+    private final PrestamoDtoMapper mapeador;
+    private final CodificadorCursor codificadorCursor;
+    private final PaginacionProperties paginacion;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Crear nueva solicitud de préstamo",
+               description = "Crea una nueva solicitud de préstamo con estado inicial PENDIENTE")
+    public Mono<PrestamoResponse> crearPrestamo(@Valid @RequestBody CrearPrestamoRequest request) {
+        log.info("Recibida solicitud para crear préstamo de {} {}", request.importeSolicitado(), request.divisa());
+        return crearPrestamoUseCase.crear(mapeador.toDomain(request))
+                .map(mapeador::toResponse);
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar préstamos paginados",
+               description = "Obtiene una página de solicitudes de préstamo, de la más reciente a la más antigua")
+    public Mono<PaginaPrestamosResponse> listarPrestamos(
+            @Parameter(description = "Token de continuación devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Número de préstamos por página (limitado por configuración)")
+            @RequestParam(required = false) Integer tamanio) {
+        log.info("Recibida solicitud para listar préstamos (tamaño {})", tamanio);
+        CursorPrestamo posicion = codificadorCursor.decodificar(cursor);
+        return consultarPrestamoUseCase.obtenerPagina(posicion, paginacion.tamanioEfectivo(tamanio))
+                .map(pagina -> new PaginaPrestamosResponse(
+                        mapeador.toResponseList(pagina.prestamos()),
+                        codificadorCursor.codificar(pagina.siguiente()),
+                        pagina.hayMas()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos los préstamos",
+               description = "Devuelve todos los préstamos en formato NDJSON. Las filas se leen de la base de datos "
+                       + "al ritmo al que el cliente consume la respuesta")
+    public Flux<PrestamoResponse> exportarPrestamos() {
+        log.info("Recibida solicitud para exportar todos los préstamos");
+        return consultarPrestamoUseCase.obtenerTodos()
+                .map(mapeador::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener préstamo por ID",
+               description = "Obtiene los detalles de un préstamo específico")
+    public Mono<PrestamoResponse> obtenerPrestamoPorId(@PathVariable Long id) {
+        log.info("Recibida solicitud para obtener préstamo con ID: {}", id);
+        return consultarPrestamoUseCase.obtenerPorId(id)
+                .map(mapeador::toResponse);
+    }
+
+    @PatchMapping("/{id}/estado")
+    @Operation(summary = "Cambiar estado de préstamo",
+               description = "Cambia el estado de un préstamo validando las transiciones permitidas")
+    public Mono<PrestamoResponse> cambiarEstadoPrestamo(
+            @PathVariable Long id,
+            @Valid @RequestBody ActualizarEstadoPrestamoRequest request) {
+        log.info("Recibida solicitud para cambiar estado del préstamo {} a {}", id, request.estado());
+        return modificarEstadoPrestamoUseCase.cambiarEstado(id, request.estado(), request.usuarioModificacion())
+                .map(mapeador::toResponse);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para la solicitud de cambio de estado de varios préstamos.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Solicitud para cambiar el estado de varios préstamos")
+public record CambiarEstadoLoteRequest(
+
+    @NotEmpty(message = "El lote debe contener al menos un cambio")
+    @Size(max = CambiarEstadoLoteRequest.TAMANIO_MAXIMO,
+          message = "El lote no puede contener más de " + CambiarEstadoLoteRequest.TAMANIO_MAXIMO + " cambios")
+    @Schema(description = "Cambios de estado a aplicar")
+    List<@NotNull(message = "El cambio de estado es obligatorio") @Valid CambioEstadoRequest> cambios,
+
+    @NotBlank(message = "El usuario que realiza la modificación es obligatorio")
+    @Schema(description = "Usuario que realiza los cambios de estado", example = "gestor@banco.com")
+    String usuarioModificacion
+) {
+
+    public static final int TAMANIO_MAXIMO = 1000;
+}
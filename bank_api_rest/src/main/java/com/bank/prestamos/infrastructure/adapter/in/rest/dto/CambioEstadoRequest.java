@@ -0,0 +1,21 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO con el cambio de estado de un préstamo dentro de un lote.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Cambio de estado de un préstamo")
+public record CambioEstadoRequest(
+
+    @NotNull(message = "El ID del préstamo es obligatorio")
+    @Schema(description = "Identificador del préstamo", example = "1")
+    Long id,
+
+    @NotNull(message = "El estado es obligatorio")
+    @Schema(description = "Nuevo estado del préstamo", example = "APROBADA")
+    EstadoPrestamo estado
+) {}
@@ -0,0 +1,20 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO para una coincidencia de la búsqueda por nombre de solicitante.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Préstamo cuyo solicitante coincide con el texto buscado")
+public record CoincidenciaNombreResponse(
+
+    @Schema(description = "ID del préstamo", example = "1")
+    Long id,
+
+    @Schema(description = "Nombre del solicitante", example = "Juan Pérez García")
+    String nombreSolicitante,
+
+    @Schema(description = "Relevancia entre 0 y 1", example = "1.0")
+    double puntuacion
+) {}
@@ -0,0 +1,16 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de la búsqueda por nombre de solicitante.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Coincidencias de la búsqueda por nombre, de mayor a menor relevancia")
+public record CoincidenciasNombreResponse(
+
+    @Schema(description = "Préstamos encontrados")
+    List<CoincidenciaNombreResponse> coincidencias
+) {}
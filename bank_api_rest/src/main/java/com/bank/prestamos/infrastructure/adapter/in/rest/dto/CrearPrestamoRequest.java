@@ -34,4 +34,13 @@ public record CrearPrestamoRequest(
     )
     @Schema(description = "Documento identificativo (DNI o NIE)", example = "12345678A")
     String documentoIdentificativo
-) {}
+) {
+
+    /**
+     * Omite el nombre y el documento del solicitante para que no acaben en las trazas.
+     */
+    @Override
+    public String toString() {
+        return "CrearPrestamoRequest[importeSolicitado=" + importeSolicitado + ", divisa=" + divisa + "]";
+    }
+}
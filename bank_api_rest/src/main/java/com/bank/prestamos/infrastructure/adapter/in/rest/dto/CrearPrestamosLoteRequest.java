@@ -0,0 +1,24 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para la solicitud de creación de préstamos por lotes.
+ * Cada elemento se valida por separado para poder informar de sus errores sin rechazar el lote.
+ */
+@Schema(description = "Solicitud para crear varios préstamos en una sola petición")
+public record CrearPrestamosLoteRequest(
+
+    @NotEmpty(message = "El lote debe contener al menos un préstamo")
+    @Size(max = CrearPrestamosLoteRequest.TAMANIO_MAXIMO,
+          message = "El lote no puede contener más de " + CrearPrestamosLoteRequest.TAMANIO_MAXIMO + " préstamos")
+    @Schema(description = "Préstamos a crear")
+    List<CrearPrestamoRequest> prestamos
+) {
+
+    public static final int TAMANIO_MAXIMO = 1000;
+}
@@ -0,0 +1,32 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con los totales de la cartera para un estado y una divisa.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Totales de los préstamos de un estado y una divisa")
+public record EstadisticaPrestamosResponse(
+
+    @Schema(description = "Estado de los préstamos", example = "PENDIENTE")
+    EstadoPrestamo estado,
+
+    @Schema(description = "Código de divisa ISO 4217", example = "EUR")
+    String divisa,
+
+    @Schema(description = "Número de préstamos", example = "1250")
+    long cantidad,
+
+    @Schema(description = "Suma de los importes solicitados", example = "18750000.00")
+    BigDecimal importeTotal,
+
+    @Schema(description = "Menor importe solicitado", example = "1000.00")
+    BigDecimal importeMinimo,
+
+    @Schema(description = "Mayor importe solicitado", example = "60000.00")
+    BigDecimal importeMaximo
+) {}
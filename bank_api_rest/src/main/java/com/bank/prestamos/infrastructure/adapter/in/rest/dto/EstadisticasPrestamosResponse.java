@@ -0,0 +1,16 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de estadísticas de la cartera.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Totales de la cartera de préstamos por estado y divisa")
+public record EstadisticasPrestamosResponse(
+
+    @Schema(description = "Totales de cada combinación de estado y divisa con préstamos")
+    List<EstadisticaPrestamosResponse> grupos
+) {}
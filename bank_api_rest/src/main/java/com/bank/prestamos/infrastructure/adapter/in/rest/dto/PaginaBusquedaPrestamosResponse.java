@@ -0,0 +1,28 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una página de la búsqueda filtrada de préstamos.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Página de resultados de la búsqueda filtrada de préstamos")
+public record PaginaBusquedaPrestamosResponse(
+
+    @Schema(description = "Préstamos de la página en el orden solicitado")
+    List<PrestamoResponse> prestamos,
+
+    @Schema(description = "Número de página, empezando en 0", example = "0")
+    int pagina,
+
+    @Schema(description = "Tamaño de página aplicado", example = "20")
+    int tamanio,
+
+    @Schema(description = "Número total de préstamos que cumplen los filtros", example = "137")
+    long total,
+
+    @Schema(description = "Indica si existen más préstamos después de esta página", example = "true")
+    boolean hayMas
+) {}
@@ -0,0 +1,25 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una página del historial de estados de un préstamo.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Página del historial de cambios de estado de un préstamo")
+public record PaginaHistorialResponse(
+
+    @Schema(description = "Cambios de la página, del más reciente al más antiguo")
+    List<RegistroHistorialResponse> registros,
+
+    @Schema(description = "Número de página, empezando en 0", example = "0")
+    int pagina,
+
+    @Schema(description = "Tamaño de página aplicado", example = "20")
+    int tamanio,
+
+    @Schema(description = "Indica si existen cambios más antiguos después de esta página", example = "false")
+    boolean hayMas
+) {}
@@ -0,0 +1,23 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una página de préstamos.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Página de préstamos con paginación por cursor")
+public record PaginaPrestamosResponse(
+
+    @Schema(description = "Préstamos de la página, del más reciente al más antiguo")
+    List<PrestamoResponse> prestamos,
+
+    @Schema(description = "Token opaco para solicitar la página siguiente; null si no hay más",
+            example = "MjAyNi0wMi0wN1QxMDozMDp8NDI")
+    String siguienteCursor,
+
+    @Schema(description = "Indica si existen más préstamos después de esta página", example = "true")
+    boolean hayMas
+) {}
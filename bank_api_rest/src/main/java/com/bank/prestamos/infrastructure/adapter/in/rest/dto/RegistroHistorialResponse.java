@@ -0,0 +1,26 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para un cambio de estado del historial de un préstamo.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Cambio de estado registrado en el historial del préstamo")
+public record RegistroHistorialResponse(
+
+    @Schema(description = "Estado antes del cambio; ausente si no pudo determinarse", example = "PENDIENTE")
+    EstadoPrestamo estadoAnterior,
+
+    @Schema(description = "Estado después del cambio", example = "APROBADA")
+    EstadoPrestamo estadoNuevo,
+
+    @Schema(description = "Usuario que realizó el cambio", example = "gestor@banco.com")
+    String usuario,
+
+    @Schema(description = "Fecha y hora del cambio", example = "2026-01-15T10:30:00")
+    LocalDateTime fecha
+) {}
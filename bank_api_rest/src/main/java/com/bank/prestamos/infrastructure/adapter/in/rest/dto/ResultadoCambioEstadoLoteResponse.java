@@ -0,0 +1,37 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.TipoResultadoCambioEstado;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de un cambio de estado por lotes.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Resultado del cambio de estado de un lote de préstamos")
+public record ResultadoCambioEstadoLoteResponse(
+
+    @Schema(description = "Número de préstamos actualizados", example = "250")
+    long actualizados,
+
+    @Schema(description = "Número de cambios rechazados", example = "3")
+    long rechazados,
+
+    @Schema(description = "Resultado de cada cambio, en el orden de la solicitud")
+    List<ResultadoCambioEstadoResponse> resultados
+) {
+
+    /**
+     * Construye la respuesta calculando los totales.
+     *
+     * @param resultados Resultados individuales
+     * @return La respuesta del lote
+     */
+    public static ResultadoCambioEstadoLoteResponse de(List<ResultadoCambioEstadoResponse> resultados) {
+        long actualizados = resultados.stream()
+                .filter(r -> r.resultado() == TipoResultadoCambioEstado.ACTUALIZADO)
+                .count();
+        return new ResultadoCambioEstadoLoteResponse(actualizados, resultados.size() - actualizados, resultados);
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.TipoResultadoCambioEstado;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con el resultado del cambio de estado de un préstamo dentro de un lote.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado del cambio de estado de un préstamo")
+public record ResultadoCambioEstadoResponse(
+
+    @Schema(description = "Identificador del préstamo", example = "1")
+    Long id,
+
+    @Schema(description = "Resultado del cambio", example = "ACTUALIZADO")
+    TipoResultadoCambioEstado resultado,
+
+    @Schema(description = "Motivo por el que no se actualizó", example = "Transición de estado inválida de RECHAZADA a APROBADA")
+    String mensaje
+) {}
@@ -0,0 +1,31 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.TipoResultadoCreacion;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * DTO con el resultado de un préstamo dentro de una creación por lotes.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de un préstamo del lote")
+public record ResultadoCreacionResponse(
+
+    @Schema(description = "Posición del préstamo en la solicitud (empezando en 0)", example = "0")
+    int indice,
+
+    @Schema(description = "Resultado de la creación", example = "CREADO")
+    TipoResultadoCreacion resultado,
+
+    @Schema(description = "Préstamo creado (solo si el resultado es CREADO)")
+    PrestamoResponse prestamo,
+
+    @Schema(description = "Motivo por el que no se creó", example = "Ya existe un préstamo con el documento 12345678A")
+    String mensaje,
+
+    @Schema(description = "Errores de validación de campos (solo si el resultado es INVALIDO)")
+    Map<String, String> erroresValidacion
+) {}
@@ -0,0 +1,46 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.dto;
+
+import com.bank.prestamos.domain.models.TipoResultadoCreacion;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una creación por lotes.
+ * Usa record para mayor inmutabilidad y concisión.
+ */
+@Schema(description = "Resultado de la creación de un lote de préstamos")
+public record ResultadoLoteResponse(
+
+    @Schema(description = "Número de préstamos creados", example = "998")
+    long creados,
+
+    @Schema(description = "Número de préstamos rechazados por documento duplicado", example = "1")
+    long duplicados,
+
+    @Schema(description = "Número de préstamos rechazados por datos inválidos", example = "1")
+    long invalidos,
+
+    @Schema(description = "Resultado de cada préstamo, en el orden de la solicitud")
+    List<ResultadoCreacionResponse> resultados
+) {
+
+    /**
+     * Construye la respuesta calculando los totales por tipo de resultado.
+     *
+     * @param resultados Resultados individuales
+     * @return La respuesta del lote
+     */
+    public static ResultadoLoteResponse de(List<ResultadoCreacionResponse> resultados) {
+        return new ResultadoLoteResponse(
+                contar(resultados, TipoResultadoCreacion.CREADO),
+                contar(resultados, TipoResultadoCreacion.DUPLICADO),
+                contar(resultados, TipoResultadoCreacion.INVALIDO),
+                resultados
+        );
+    }
+
+    private static long contar(List<ResultadoCreacionResponse> resultados, TipoResultadoCreacion tipo) {
+        return resultados.stream().filter(r -> r.resultado() == tipo).count();
+    }
+}
@@ -0,0 +1,123 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.etag;
+
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Calcula ETags débiles de los préstamos y de las páginas del listado, y los compara con If-None-Match.
+ * <p>
+ * Son débiles porque identifican el contenido, no los bytes: la misma versión se sirve en JSON, CBOR o
+ * Smile según Accept, y esas representaciones son equivalentes pero no idénticas. Las respuestas llevan
+ * además Vary: Accept para que una caché no entregue una codificación a quien pidió otra.
+ * <p>
+ * Un préstamo se identifica por "id-version": la versión cambia con cada escritura. Una página se
+ * identifica por un resumen SHA-256 de los pares (id, version) de sus préstamos y de si tiene siguiente;
+ * el resto del contenido (fechas de creación, cursor) no cambia para un mismo ID. Ambos se pueden
+ * calcular a partir de las versiones, sin leer ni serializar los préstamos.
+ */
+@Component
+public class GeneradorEtag {
+
+    private static final String PREFIJO_DEBIL = "W/";
+    private static final String PREFIJO_PAGINA = "p-";
+    private static final int BYTES_RESUMEN = 16;
+
+    /**
+     * ETag de un préstamo a partir de su identidad y versión.
+     *
+     * @param id El ID del préstamo
+     * @param version Su versión actual
+     * @return El ETag débil
+     */
+    public String deVersion(Long id, Long version) {
+        return PREFIJO_DEBIL + "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * ETag de un préstamo ya cargado; coincide con {@link #deVersion(Long, Long)}.
+     *
+     * @param prestamo El préstamo
+     * @return El ETag débil
+     */
+    public String dePrestamo(Prestamo prestamo) {
+        return deVersion(prestamo.getId(), prestamo.getVersion());
+    }
+
+    /**
+     * ETag de una página a partir de las versiones leídas con un elemento de más.
+     *
+     * @param versiones Versiones de la página, con un elemento de más si existe una página siguiente
+     * @param tamanio Tamaño de página solicitado
+     * @return El ETag débil
+     */
+    public String deVersionesPagina(List<VersionPrestamo> versiones, int tamanio) {
+        boolean hayMas = versiones.size() > tamanio;
+        return resumir(hayMas ? versiones.subList(0, tamanio) : versiones, hayMas);
+    }
+
+    /**
+     * ETag de una página ya cargada; coincide con {@link #deVersionesPagina(List, int)} para la misma página.
+     *
+     * @param pagina La página de préstamos
+     * @return El ETag débil
+     */
+    public String dePagina(PaginaPrestamos pagina) {
+        return resumir(pagina.prestamos().stream().map(VersionPrestamo::de).toList(), pagina.hayMas());
+    }
+
+    /**
+     * Indica si la cabecera If-None-Match contiene el ETag actual. Como indica RFC 9110 para
+     * If-None-Match, la comparación es débil: se ignora el prefijo W/ en ambos lados.
+     *
+     * @param ifNoneMatch Valor de la cabecera, o null si no se recibió
+     * @param etag ETag actual del recurso
+     * @return true si el cliente ya tiene esta representación
+     */
+    public boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String actual = sinPrefijoDebil(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.strip();
+            if (valor.equals("*") || sinPrefijoDebil(valor).equals(actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sinPrefijoDebil(String etag) {
+        return etag.startsWith(PREFIJO_DEBIL) ? etag.substring(PREFIJO_DEBIL.length()) : etag;
+    }
+
+    private static String resumir(List<VersionPrestamo> versiones, boolean hayMas) {
+        ByteBuffer contenido = ByteBuffer.allocate(versiones.size() * 2 * Long.BYTES + 1);
+        for (VersionPrestamo version : versiones) {
+            contenido.putLong(version.id());
+            contenido.putLong(version.version() == null ? -1 : version.version());
+        }
+        contenido.put((byte) (hayMas ? 1 : 0));
+        byte[] resumen = sha256().digest(contenido.array());
+        return PREFIJO_DEBIL + "\"" + PREFIJO_PAGINA + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(resumen, BYTES_RESUMEN)) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Todas las JVM deben incluir SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
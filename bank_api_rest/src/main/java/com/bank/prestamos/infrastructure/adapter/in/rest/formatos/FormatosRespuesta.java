@@ -0,0 +1,98 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.formatos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formatos binarios en los que se pueden servir las respuestas, además de JSON: CBOR y Smile reducen
+ * los bytes y la CPU de los listados y la exportación. Sus ObjectMapper se construyen con la misma
+ * configuración de Jackson que el de JSON (spring.jackson.*), de modo que solo cambia la codificación.
+ */
+@Component
+public class FormatosRespuesta {
+
+    /**
+     * Secuencia de elementos CBOR concatenados (RFC 8742), el equivalente binario de NDJSON.
+     */
+    public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE);
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private static final List<MediaType> FORMATOS_EXPORTACION =
+            List.of(MediaType.APPLICATION_NDJSON, APPLICATION_CBOR_SEQ, APPLICATION_SMILE);
+
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    public FormatosRespuesta(ObjectProvider<Jackson2ObjectMapperBuilder> constructores) {
+        // El constructor de Spring Boot es prototype: cada llamada parte de la configuración original
+        this.cbor = constructores.getObject().factory(new CBORFactory()).build();
+        this.smile = constructores.getObject().factory(new SmileFactory()).build();
+    }
+
+    public ObjectMapper cbor() {
+        return cbor;
+    }
+
+    public ObjectMapper smile() {
+        return smile;
+    }
+
+    /**
+     * Elige el formato de la exportación según la cabecera Accept, respetando los factores de calidad.
+     *
+     * @param accept Valor de la cabecera Accept, o null
+     * @return NDJSON, CBOR-seq o Smile; NDJSON si el cliente no expresa preferencia
+     */
+    public MediaType formatoExportacion(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        List<MediaType> aceptados;
+        try {
+            aceptados = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        // Orden estable: a igual calidad se respeta el orden de la cabecera
+        aceptados.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType aceptado : aceptados) {
+            for (MediaType formato : FORMATOS_EXPORTACION) {
+                if (aceptado.includes(formato)) {
+                    return formato;
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    /**
+     * Escritor de una secuencia de valores binarios concatenados sin separador, que es como
+     * se enmarcan CBOR-seq y Smile. No cierra el flujo de salida, que pertenece al contenedor,
+     * ni lo vacía tras cada valor: el volcado lo decide el búfer de la respuesta.
+     *
+     * @param formato CBOR-seq o Smile
+     * @return El escritor configurado
+     */
+    public ObjectWriter escritorSecuencia(MediaType formato) {
+        ObjectMapper mapper = APPLICATION_SMILE.equals(formato) ? smile : cbor;
+        return mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
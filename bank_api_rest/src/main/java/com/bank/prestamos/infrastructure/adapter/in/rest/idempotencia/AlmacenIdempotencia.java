@@ -0,0 +1,281 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.idempotencia;
+
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.concurrencia.LimiteAdaptativoAspect;
+import com.bank.prestamos.infrastructure.configuracion.IdempotenciaProperties;
+import com.bank.prestamos.infrastructure.excepcion.ClaveIdempotenciaInvalidaException;
+import com.bank.prestamos.infrastructure.excepcion.ServicioSobrecargadoException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Guarda la respuesta de cada alta con cabecera Idempotency-Key y la devuelve a los reintentos.
+ * <p>
+ * Las respuestas se mantienen en una caché en memoria acotada y se escriben también en la tabla
+ * prestamos_idempotencia, de modo que un reintento cuesta una consulta a la caché y, si la respuesta ya
+ * salió de memoria o la atendió otra réplica, una lectura por clave primaria; nunca repite el alta.
+ * Las peticiones simultáneas con la misma clave en una réplica esperan a la primera en lugar de ejecutarse
+ * en paralelo. Si la primera falla no se guarda nada y la siguiente en espera ejecuta el alta.
+ */
+@Component
+@Slf4j
+public class AlmacenIdempotencia {
+
+    /**
+     * Longitud máxima de la clave, igual a la de la columna prestamos_idempotencia.clave.
+     */
+    static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    private static final String NOMBRE_CACHE = "idempotencia";
+
+    private static final String SQL_LEER = "SELECT huella, respuesta, fecha_expiracion "
+            + "FROM prestamos_idempotencia WHERE clave = ? AND fecha_expiracion > ?";
+
+    private static final String SQL_INSERTAR = "INSERT INTO prestamos_idempotencia "
+            + "(clave, huella, respuesta, fecha_creacion, fecha_expiracion) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_PURGAR = "DELETE FROM prestamos_idempotencia WHERE fecha_expiracion <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotenciaProperties propiedades;
+    private final TaskScheduler programador;
+    private final Cache<String, RespuestaAlmacenada> memoria;
+    private final ConcurrentMap<String, CompletableFuture<RespuestaAlmacenada>> enCurso = new ConcurrentHashMap<>();
+    private final Counter repetidas;
+    private final Counter esperas;
+
+    public AlmacenIdempotencia(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               IdempotenciaProperties propiedades,
+                               TaskScheduler programador,
+                               MeterRegistry registro) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.propiedades = propiedades;
+        this.programador = programador;
+        // Cada entrada caduca cuando caduca su fila, también las que se leen de la base de datos
+        this.memoria = Caffeine.newBuilder()
+                .maximumSize(propiedades.capacidadMemoria())
+                .expireAfter(new Expiry<String, RespuestaAlmacenada>() {
+                    @Override
+                    public long expireAfterCreate(String clave, RespuestaAlmacenada respuesta, long ahora) {
+                        return Math.max(0, Duration.between(LocalDateTime.now(), respuesta.fechaExpiracion()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String clave, RespuestaAlmacenada respuesta, long ahora,
+                                                  long restante) {
+                        return expireAfterCreate(clave, respuesta, ahora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String clave, RespuestaAlmacenada respuesta, long ahora,
+                                                long restante) {
+                        return restante;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registro, memoria, NOMBRE_CACHE);
+        this.repetidas = Counter.builder("prestamos.idempotencia.repetidas")
+                .description("Altas respondidas con la respuesta guardada de una petición anterior")
+                .register(registro);
+        this.esperas = Counter.builder("prestamos.idempotencia.esperas")
+                .description("Peticiones que esperaron a otra en curso con la misma clave")
+                .register(registro);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void programarLimpieza() {
+        Duration intervalo = propiedades.intervaloLimpieza();
+        programador.scheduleWithFixedDelay(this::purgarExpiradas, Instant.now().plus(intervalo), intervalo);
+    }
+
+    /**
+     * Ejecuta el alta una sola vez por clave y devuelve su respuesta a todas las peticiones con esa clave.
+     *
+     * @param clave Valor de la cabecera Idempotency-Key
+     * @param peticion Cuerpo de la petición; una clave no puede reutilizarse con un cuerpo distinto
+     * @param alta Alta que se ejecuta si la clave no tiene respuesta guardada
+     * @return El préstamo creado e indicación de si la respuesta es repetida
+     * @throws ClaveIdempotenciaInvalidaException si la clave es inválida o ya se usó con otro cuerpo
+     * @throws ServicioSobrecargadoException si la petición en curso con la misma clave no termina a tiempo
+     */
+    public ResultadoIdempotente ejecutar(String clave, Object peticion, Supplier<PrestamoResponse> alta) {
+        validar(clave);
+        String huella = huella(peticion);
+        while (true) {
+            RespuestaAlmacenada guardada = memoria.getIfPresent(clave);
+            if (guardada != null) {
+                return repetir(guardada, huella);
+            }
+            CompletableFuture<RespuestaAlmacenada> propia = new CompletableFuture<>();
+            CompletableFuture<RespuestaAlmacenada> ajena = enCurso.putIfAbsent(clave, propia);
+            if (ajena == null) {
+                try {
+                    return ejecutarPrimera(clave, huella, alta, propia);
+                } finally {
+                    enCurso.remove(clave, propia);
+                }
+            }
+            esperas.increment();
+            // La espera no dice nada de la salud del sistema: no debe reducir el límite adaptativo
+            LimiteAdaptativoAspect.descartarMuestra();
+            RespuestaAlmacenada resultado = esperar(ajena);
+            if (resultado != null) {
+                return repetir(resultado, huella);
+            }
+            // La primera petición falló sin guardar respuesta: se vuelve a intentar
+        }
+    }
+
+    /**
+     * Borra de la base de datos las respuestas caducadas. La caché en memoria las expulsa por sí sola.
+     */
+    void purgarExpiradas() {
+        try {
+            int borradas = jdbcTemplate.update(SQL_PURGAR, LocalDateTime.now());
+            if (borradas > 0) {
+                log.debug("Borradas {} respuestas de idempotencia caducadas", borradas);
+            }
+        } catch (RuntimeException ex) {
+            // Un fallo puntual no debe cancelar las limpiezas siguientes
+            log.error("No se pudieron borrar las respuestas de idempotencia caducadas", ex);
+        }
+    }
+
+    private ResultadoIdempotente ejecutarPrimera(String clave, String huella, Supplier<PrestamoResponse> alta,
+                                                 CompletableFuture<RespuestaAlmacenada> propia) {
+        try {
+            // Otra petición pudo terminar entre la consulta a la caché y el registro en curso
+            RespuestaAlmacenada guardada = memoria.getIfPresent(clave);
+            if (guardada == null) {
+                guardada = leer(clave);
+            }
+            if (guardada != null) {
+                memoria.put(clave, guardada);
+                propia.complete(guardada);
+                return repetir(guardada, huella);
+            }
+            PrestamoResponse prestamo = alta.get();
+            RespuestaAlmacenada nueva = new RespuestaAlmacenada(
+                    huella, prestamo, LocalDateTime.now().plus(propiedades.expiracion()));
+            guardar(clave, nueva);
+            memoria.put(clave, nueva);
+            propia.complete(nueva);
+            return new ResultadoIdempotente(prestamo, false);
+        } catch (RuntimeException | Error ex) {
+            propia.complete(null);
+            throw ex;
+        }
+    }
+
+    private RespuestaAlmacenada esperar(CompletableFuture<RespuestaAlmacenada> enCursoAjena) {
+        try {
+            return enCursoAjena.get(propiedades.esperaMaxima().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ServicioSobrecargadoException(
+                    "Hay una petición en curso con la misma clave de idempotencia", Duration.ofSeconds(1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServicioSobrecargadoException(
+                    "Hay una petición en curso con la misma clave de idempotencia", Duration.ofSeconds(1));
+        } catch (ExecutionException ex) {
+            // No ocurre: el futuro siempre se completa con un valor, nulo si la petición falló
+            return null;
+        }
+    }
+
+    private ResultadoIdempotente repetir(RespuestaAlmacenada guardada, String huella) {
+        if (!guardada.huella().equals(huella)) {
+            throw new ClaveIdempotenciaInvalidaException(
+                    "La clave de idempotencia ya se usó con una petición distinta");
+        }
+        repetidas.increment();
+        return new ResultadoIdempotente(guardada.prestamo(), true);
+    }
+
+    private RespuestaAlmacenada leer(String clave) {
+        List<RespuestaAlmacenada> filas = jdbcTemplate.query(SQL_LEER, (rs, fila) -> new RespuestaAlmacenada(
+                rs.getString("huella"),
+                deserializar(rs.getString("respuesta")),
+                rs.getObject("fecha_expiracion", LocalDateTime.class)), clave, LocalDateTime.now());
+        return filas.isEmpty() ? null : filas.get(0);
+    }
+
+    private void guardar(String clave, RespuestaAlmacenada respuesta) {
+        try {
+            jdbcTemplate.update(SQL_INSERTAR, clave, respuesta.huella(), serializar(respuesta.prestamo()),
+                    LocalDateTime.now(), respuesta.fechaExpiracion());
+        } catch (DuplicateKeyException ex) {
+            log.warn("La clave de idempotencia {} ya estaba guardada por otra réplica", clave);
+        } catch (RuntimeException ex) {
+            // El préstamo ya está creado: se responde igualmente y la clave queda solo en memoria
+            log.error("No se pudo guardar la respuesta de la clave de idempotencia {}", clave, ex);
+        }
+    }
+
+    private static void validar(String clave) {
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new ClaveIdempotenciaInvalidaException(
+                    "La clave de idempotencia debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+    }
+
+    private String huella(Object peticion) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(serializar(peticion).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // Todas las JVM deben incluir SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private PrestamoResponse deserializar(String json) {
+        try {
+            return objectMapper.readValue(json, PrestamoResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
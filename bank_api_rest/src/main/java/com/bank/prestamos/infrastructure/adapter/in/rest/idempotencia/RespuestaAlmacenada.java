@@ -0,0 +1,15 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.idempotencia;
+
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta de un alta guardada bajo su clave de idempotencia.
+ *
+ * @param huella SHA-256 del cuerpo de la petición original
+ * @param prestamo Préstamo devuelto al cliente
+ * @param fechaExpiracion Momento a partir del cual la clave deja de reconocerse
+ */
+record RespuestaAlmacenada(String huella, PrestamoResponse prestamo, LocalDateTime fechaExpiracion) {
+}
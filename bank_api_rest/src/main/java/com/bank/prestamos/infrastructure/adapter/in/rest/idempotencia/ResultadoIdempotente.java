@@ -0,0 +1,12 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.idempotencia;
+
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+
+/**
+ * Resultado de un alta con clave de idempotencia.
+ *
+ * @param prestamo Préstamo creado
+ * @param repetido true si se devuelve la respuesta de una petición anterior con la misma clave
+ */
+public record ResultadoIdempotente(PrestamoResponse prestamo, boolean repetido) {
+}
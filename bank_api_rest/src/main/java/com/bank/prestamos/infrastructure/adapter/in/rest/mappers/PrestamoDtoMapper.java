@@ -1,8 +1,14 @@
 package com.bank.prestamos.infrastructure.adapter.in.rest.mappers;
 
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CoincidenciaNombreResponse;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.EstadisticaPrestamosResponse;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.RegistroHistorialResponse;
 import org.mapstruct.Mapper;
 
 import java.util.List;
@@ -38,4 +44,28 @@ public interface PrestamoDtoMapper {
      * @return Lista de DTOs de respuesta
      */
     List<PrestamoResponse> toResponseList(List<Prestamo> prestamos);
+
+    /**
+     * Convierte las estadísticas de dominio a DTOs de respuesta.
+     *
+     * @param estadisticas Estadísticas por estado y divisa
+     * @return Lista de DTOs de respuesta
+     */
+    List<EstadisticaPrestamosResponse> toEstadisticasResponse(List<EstadisticaPrestamos> estadisticas);
+
+    /**
+     * Convierte las coincidencias de la búsqueda por nombre a DTOs de respuesta.
+     *
+     * @param coincidencias Coincidencias de dominio
+     * @return Lista de DTOs de respuesta
+     */
+    List<CoincidenciaNombreResponse> toCoincidenciasResponse(List<CoincidenciaNombre> coincidencias);
+
+    /**
+     * Convierte los registros del historial de estados a DTOs de respuesta.
+     *
+     * @param registros Registros de dominio
+     * @return Lista de DTOs de respuesta
+     */
+    List<RegistroHistorialResponse> toHistorialResponse(List<RegistroHistorial> registros);
 }
@@ -0,0 +1,61 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.paginacion;
+
+import com.bank.prestamos.domain.excepcion.CursorInvalidoException;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Convierte el cursor de paginación en un token opaco para los clientes y viceversa.
+ * El token es Base64 URL-safe de "fechaCreacion|id", de modo que puede viajar
+ * como parámetro de query sin escapar.
+ */
+@Component
+public class CodificadorCursor {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Codifica un cursor como token opaco.
+     *
+     * @param cursor El cursor a codificar
+     * @return El token, o null si el cursor es null
+     */
+    public String codificar(CursorPrestamo cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String valor = cursor.fechaCreacion() + SEPARADOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token opaco recibido del cliente.
+     *
+     * @param token El token recibido
+     * @return El cursor, o null si no se recibió token
+     * @throws CursorInvalidoException si el token no tiene el formato esperado
+     */
+    public CursorPrestamo decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int posicion = valor.lastIndexOf(SEPARADOR);
+            if (posicion < 0) {
+                throw new CursorInvalidoException(token);
+            }
+            LocalDateTime fechaCreacion = LocalDateTime.parse(valor.substring(0, posicion));
+            Long id = Long.valueOf(valor.substring(posicion + 1));
+            return new CursorPrestamo(fechaCreacion, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new CursorInvalidoException(token);
+        }
+    }
+}
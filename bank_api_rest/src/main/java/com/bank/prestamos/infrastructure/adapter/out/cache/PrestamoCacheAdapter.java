@@ -0,0 +1,175 @@
+package com.bank.prestamos.infrastructure.adapter.out.cache;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import com.bank.prestamos.infrastructure.replica.FijacionPrimario;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorador del puerto de persistencia que cachea las búsquedas por ID (read-through).
+ * Cualquier escritura sobre un préstamo invalida su entrada; el resto de operaciones
+ * se delegan sin cambios.
+ *
+ * <p>La invalidación se repite al terminar la transacción en curso, para que una lectura
+ * concurrente no deje en caché el valor anterior al commit.</p>
+ *
+ * <p>Los fallos de caché se leen del primario ({@link FijacionPrimario}). La caché se comparte entre
+ * peticiones: un valor leído de una réplica con retraso se serviría también a quien acaba de escribir
+ * y tiene sus lecturas fijadas en el primario. Así una entrada en caché nunca es más antigua que el
+ * primario en el momento de cargarla, y las escrituras la invalidan.</p>
+ */
+public class PrestamoCacheAdapter implements PrestamoRepositoryPort {
+
+    private final PrestamoRepositoryPort delegado;
+    private final Cache<Long, Prestamo> cache;
+
+    public PrestamoCacheAdapter(PrestamoRepositoryPort delegado, Cache<Long, Prestamo> cache) {
+        this.delegado = delegado;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<Prestamo> buscarPorId(Long id) {
+        // Los préstamos inexistentes no se cachean: el loader devuelve null
+        Prestamo prestamo = cache.get(id,
+                clave -> FijacionPrimario.obtener(() -> delegado.buscarPorId(clave).orElse(null)));
+        // Se devuelve una copia porque el modelo de dominio es mutable
+        return Optional.ofNullable(prestamo).map(p -> p.toBuilder().build());
+    }
+
+    @Override
+    public Optional<Long> buscarVersion(Long id) {
+        // Una entrada en caché está al día: toda escritura la invalida. Sin ella también se lee del
+        // primario, para que el ETag no retroceda respecto a lo que ya sirvió la caché
+        Prestamo prestamo = cache.getIfPresent(id);
+        return prestamo != null
+                ? Optional.ofNullable(prestamo.getVersion())
+                : FijacionPrimario.obtener(() -> delegado.buscarVersion(id));
+    }
+
+    @Override
+    public Prestamo guardar(Prestamo prestamo) {
+        Prestamo guardado = delegado.guardar(prestamo);
+        invalidar(List.of(guardado.getId()));
+        return guardado;
+    }
+
+    @Override
+    public Optional<CambioEstadoAplicado> actualizarEstado(Long id, Set<EstadoPrestamo> estadosPermitidos,
+                                                           EstadoPrestamo nuevoEstado, String usuario,
+                                                           LocalDateTime fecha) {
+        Optional<CambioEstadoAplicado> actualizado =
+                delegado.actualizarEstado(id, estadosPermitidos, nuevoEstado, usuario, fecha);
+        actualizado.ifPresent(cambio -> invalidar(List.of(id)));
+        return actualizado;
+    }
+
+    @Override
+    public List<CambioEstadoAplicado> actualizarEstadoCondicional(Collection<Long> ids,
+                                                                  Set<EstadoPrestamo> estadosPermitidos,
+                                                                  EstadoPrestamo nuevoEstado, String usuario,
+                                                                  LocalDateTime fecha) {
+        List<CambioEstadoAplicado> actualizados =
+                delegado.actualizarEstadoCondicional(ids, estadosPermitidos, nuevoEstado, usuario, fecha);
+        invalidar(actualizados.stream().map(cambio -> cambio.prestamo().getId()).toList());
+        return actualizados;
+    }
+
+    @Override
+    public Prestamo insertar(Prestamo prestamo) {
+        return delegado.insertar(prestamo);
+    }
+
+    @Override
+    public List<Prestamo> insertarTodos(List<Prestamo> prestamos) {
+        return delegado.insertarTodos(prestamos);
+    }
+
+    @Override
+    public List<Prestamo> buscarTodos() {
+        return delegado.buscarTodos();
+    }
+
+    @Override
+    public List<Prestamo> buscarPagina(CursorPrestamo cursor, int limite) {
+        return delegado.buscarPagina(cursor, limite);
+    }
+
+    @Override
+    public List<VersionPrestamo> buscarVersionesPagina(CursorPrestamo cursor, int limite) {
+        return delegado.buscarVersionesPagina(cursor, limite);
+    }
+
+    @Override
+    public void recorrerTodos(Consumer<Prestamo> consumidor) {
+        delegado.recorrerTodos(consumidor);
+    }
+
+    @Override
+    public void recorrerDocumentos(Consumer<String> consumidor) {
+        delegado.recorrerDocumentos(consumidor);
+    }
+
+    @Override
+    public PaginaBusquedaPrestamos buscarPorCriterios(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio) {
+        return delegado.buscarPorCriterios(criterios, pagina, tamanio);
+    }
+
+    @Override
+    public long contar() {
+        return delegado.contar();
+    }
+
+    @Override
+    public List<EstadisticaPrestamos> calcularEstadisticas() {
+        return delegado.calcularEstadisticas();
+    }
+
+    @Override
+    public boolean existePorDocumento(String documento) {
+        return delegado.existePorDocumento(documento);
+    }
+
+    @Override
+    public Set<String> buscarDocumentosExistentes(Collection<String> documentos) {
+        return delegado.buscarDocumentosExistentes(documentos);
+    }
+
+    @Override
+    public Map<Long, EstadoPrestamo> buscarEstados(Collection<Long> ids) {
+        return delegado.buscarEstados(ids);
+    }
+
+    private void invalidar(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> pendientes = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(pendientes);
+                }
+            });
+        }
+    }
+}
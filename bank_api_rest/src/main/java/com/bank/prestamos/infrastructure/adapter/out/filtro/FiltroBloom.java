@@ -0,0 +1,102 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para uso concurrente.
+ * Nunca da falsos negativos: si {@link #puedeContener(String)} devuelve false, el valor no se añadió.
+ *
+ * <p>Las k posiciones se obtienen por doble hash (Kirsch-Mitzenmacher) a partir de FNV-1a de 64 bits
+ * y una mezcla splitmix64 del mismo valor.</p>
+ */
+public class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray palabras;
+    private final long bits;
+    private final int funcionesHash;
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * @param capacidad Número de elementos para el que se dimensiona el filtro
+     * @param tasaFalsosPositivos Tasa de falsos positivos objetivo al alcanzar la capacidad
+     */
+    public FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+        if (capacidad <= 0 || tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos no válidas");
+        }
+        long bitsNecesarios = (long) Math.ceil(-capacidad * Math.log(tasaFalsosPositivos) / (LN2 * LN2));
+        int numeroPalabras = Math.toIntExact((bitsNecesarios + Long.SIZE - 1) / Long.SIZE);
+        this.palabras = new AtomicLongArray(numeroPalabras);
+        this.bits = (long) numeroPalabras * Long.SIZE;
+        this.funcionesHash = Math.max(1, (int) Math.round((double) bits / capacidad * LN2));
+    }
+
+    public void agregar(String valor) {
+        long h1 = fnv1a(valor);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long posicion = Math.floorMod(h1 + i * h2, bits);
+            long mascara = 1L << posicion;
+            int indice = (int) (posicion >>> 6);
+            if ((palabras.get(indice) & mascara) == 0) {
+                palabras.getAndAccumulate(indice, mascara, (actual, m) -> actual | m);
+            }
+        }
+        elementos.increment();
+    }
+
+    public boolean puedeContener(String valor) {
+        long h1 = fnv1a(valor);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long posicion = Math.floorMod(h1 + i * h2, bits);
+            if ((palabras.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada con los elementos añadidos hasta ahora: (1 - e^(-kn/m))^k.
+     */
+    public double tasaFalsosPositivosEstimada() {
+        double exponente = -(double) funcionesHash * elementos.sum() / bits;
+        return Math.pow(1 - Math.exp(exponente), funcionesHash);
+    }
+
+    public long elementos() {
+        return elementos.sum();
+    }
+
+    public long bits() {
+        return bits;
+    }
+
+    public int funcionesHash() {
+        return funcionesHash;
+    }
+
+    public long memoriaBytes() {
+        return (long) palabras.length() * Long.BYTES;
+    }
+
+    private static long fnv1a(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mezclar(long valor) {
+        long z = valor + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import com.bank.prestamos.domain.ports.out.RecorridoPrestamosPort;
+import com.bank.prestamos.infrastructure.configuracion.FiltroDocumentosProperties;
+import com.bank.prestamos.infrastructure.replica.FijacionPrimario;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mantiene el filtro de Bloom de los documentos identificativos ya registrados.
+ * Se construye al arrancar recorriendo la columna documento_identificativo y puede
+ * reconstruirse en caliente; mientras no está listo, todas las comprobaciones van a base de datos.
+ * <p>
+ * Las altas se añaden tras su commit. Así, un documento registrado antes de que empiece una reconstrucción
+ * ya es visible para su recorrido, y uno registrado después encuentra el filtro en construcción; ninguno
+ * se queda solo en el filtro que se descarta, que sería un falso negativo.
+ */
+@Component
+@ConditionalOnProperty(prefix = "prestamos.filtro-documentos", name = "habilitado", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class FiltroDocumentos {
+
+    private final RecorridoPrestamosPort persistencia;
+    private final FiltroDocumentosProperties propiedades;
+    private final TransactionTemplate transaccionLectura;
+
+    private volatile FiltroBloom actual;
+    private volatile FiltroBloom enConstruccion;
+
+    private final LongAdder descartes = new LongAdder();
+    private final LongAdder posiblesPresentes = new LongAdder();
+    private final LongAdder falsosPositivos = new LongAdder();
+
+    public FiltroDocumentos(RecorridoPrestamosPort persistencia,
+                            FiltroDocumentosProperties propiedades,
+                            PlatformTransactionManager transactionManager) {
+        this.persistencia = persistencia;
+        this.propiedades = propiedades;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlArrancar() {
+        reconstruir();
+    }
+
+    /**
+     * Construye un filtro nuevo a partir de la base de datos y sustituye al actual.
+     * Los documentos registrados durante la construcción se añaden a ambos filtros.
+     */
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        long existentes = persistencia.contar();
+        long capacidad = Math.max(propiedades.capacidadMinima(),
+                (long) Math.ceil(existentes * propiedades.factorCrecimiento()));
+        FiltroBloom nuevo = new FiltroBloom(capacidad, propiedades.tasaFalsosPositivos());
+        enConstruccion = nuevo;
+        try {
+            // Desde el primario: un documento que faltara por retraso de la réplica daría un falso negativo
+            FijacionPrimario.ejecutar(() -> transaccionLectura.executeWithoutResult(
+                    estado -> persistencia.recorrerDocumentos(nuevo::agregar)));
+            actual = nuevo;
+        } finally {
+            enConstruccion = null;
+        }
+        descartes.reset();
+        posiblesPresentes.reset();
+        falsosPositivos.reset();
+        log.info("Filtro de documentos construido: {} documentos, {} KB, {} ms",
+                nuevo.elementos(), nuevo.memoriaBytes() / 1024, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * @return false solo si el documento seguro que no existe; true si puede existir o el filtro no está listo
+     */
+    public boolean puedeExistir(String documento) {
+        FiltroBloom filtro = actual;
+        if (filtro == null) {
+            return true;
+        }
+        if (filtro.puedeContener(documento)) {
+            posiblesPresentes.increment();
+            return true;
+        }
+        descartes.increment();
+        return false;
+    }
+
+    /**
+     * Añade un documento dado de alta. Si hay una transacción en curso, se añade cuando se confirme.
+     */
+    public void registrar(String documento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            agregar(documento);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                agregar(documento);
+            }
+        });
+    }
+
+    private void agregar(String documento) {
+        // Primero el filtro en construcción: si ya no lo hay, la sustitución terminó y actual es el nuevo.
+        // En el orden inverso, una sustitución entre ambas lecturas dejaría el documento solo en el viejo
+        FiltroBloom nuevo = enConstruccion;
+        if (nuevo != null) {
+            nuevo.agregar(documento);
+        }
+        FiltroBloom filtro = actual;
+        if (filtro != null) {
+            filtro.agregar(documento);
+        }
+    }
+
+    /**
+     * Anota que el filtro dio un positivo que la base de datos no confirmó.
+     */
+    public void registrarFalsoPositivo() {
+        falsosPositivos.increment();
+    }
+
+    public Map<String, Object> estadisticas() {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        FiltroBloom filtro = actual;
+        datos.put("listo", filtro != null);
+        if (filtro != null) {
+            long negativos = descartes.sum();
+            long fallos = falsosPositivos.sum();
+            datos.put("elementos", filtro.elementos());
+            datos.put("bits", filtro.bits());
+            datos.put("funcionesHash", filtro.funcionesHash());
+            datos.put("memoriaBytes", filtro.memoriaBytes());
+            datos.put("tasaFalsosPositivosEstimada", filtro.tasaFalsosPositivosEstimada());
+            datos.put("consultasDescartadas", negativos);
+            datos.put("consultasPosiblementePresentes", posiblesPresentes.sum());
+            datos.put("falsosPositivos", fallos);
+            datos.put("tasaFalsosPositivosObservada",
+                    negativos + fallos == 0 ? 0.0 : (double) fallos / (negativos + fallos));
+        }
+        return datos;
+    }
+}
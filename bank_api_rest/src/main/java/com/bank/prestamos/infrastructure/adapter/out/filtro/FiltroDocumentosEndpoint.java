@@ -0,0 +1,35 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator del filtro de documentos.
+ * GET /actuator/filtrodocumentos devuelve sus estadísticas y POST lo reconstruye sin reiniciar.
+ */
+@Component
+@Endpoint(id = "filtrodocumentos")
+@ConditionalOnProperty(prefix = "prestamos.filtro-documentos", name = "habilitado", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class FiltroDocumentosEndpoint {
+
+    private final FiltroDocumentos filtro;
+
+    @ReadOperation
+    public Map<String, Object> estadisticas() {
+        return filtro.estadisticas();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconstruir() {
+        filtro.reconstruir();
+        return filtro.estadisticas();
+    }
+}
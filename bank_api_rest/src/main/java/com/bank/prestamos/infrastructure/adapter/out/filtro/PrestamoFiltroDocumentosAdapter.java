@@ -0,0 +1,156 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorador del puerto de persistencia que evita las consultas de documentos duplicados
+ * cuando el filtro de Bloom garantiza que el documento no existe.
+ * Las altas realizadas a través de este puerto se registran en el filtro.
+ */
+public class PrestamoFiltroDocumentosAdapter implements PrestamoRepositoryPort {
+
+    private final PrestamoRepositoryPort delegado;
+    private final FiltroDocumentos filtro;
+
+    public PrestamoFiltroDocumentosAdapter(PrestamoRepositoryPort delegado, FiltroDocumentos filtro) {
+        this.delegado = delegado;
+        this.filtro = filtro;
+    }
+
+    @Override
+    public boolean existePorDocumento(String documento) {
+        if (!filtro.puedeExistir(documento)) {
+            return false;
+        }
+        boolean existe = delegado.existePorDocumento(documento);
+        if (!existe) {
+            filtro.registrarFalsoPositivo();
+        }
+        return existe;
+    }
+
+    @Override
+    public Set<String> buscarDocumentosExistentes(Collection<String> documentos) {
+        // Solo se consultan los documentos que el filtro no puede descartar, una vez cada uno para que
+        // los falsos positivos no cuenten las repeticiones del lote
+        List<String> candidatos = documentos.stream()
+                .distinct()
+                .filter(filtro::puedeExistir)
+                .toList();
+        if (candidatos.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existentes = delegado.buscarDocumentosExistentes(candidatos);
+        for (int i = existentes.size(); i < candidatos.size(); i++) {
+            filtro.registrarFalsoPositivo();
+        }
+        return existentes;
+    }
+
+    @Override
+    public Prestamo guardar(Prestamo prestamo) {
+        Prestamo guardado = delegado.guardar(prestamo);
+        filtro.registrar(guardado.getDocumentoIdentificativo());
+        return guardado;
+    }
+
+    @Override
+    public Prestamo insertar(Prestamo prestamo) {
+        Prestamo insertado = delegado.insertar(prestamo);
+        filtro.registrar(insertado.getDocumentoIdentificativo());
+        return insertado;
+    }
+
+    @Override
+    public List<Prestamo> insertarTodos(List<Prestamo> prestamos) {
+        List<Prestamo> insertados = delegado.insertarTodos(prestamos);
+        insertados.forEach(prestamo -> filtro.registrar(prestamo.getDocumentoIdentificativo()));
+        return insertados;
+    }
+
+    @Override
+    public Optional<Prestamo> buscarPorId(Long id) {
+        return delegado.buscarPorId(id);
+    }
+
+    @Override
+    public Optional<Long> buscarVersion(Long id) {
+        return delegado.buscarVersion(id);
+    }
+
+    @Override
+    public List<Prestamo> buscarTodos() {
+        return delegado.buscarTodos();
+    }
+
+    @Override
+    public List<Prestamo> buscarPagina(CursorPrestamo cursor, int limite) {
+        return delegado.buscarPagina(cursor, limite);
+    }
+
+    @Override
+    public List<VersionPrestamo> buscarVersionesPagina(CursorPrestamo cursor, int limite) {
+        return delegado.buscarVersionesPagina(cursor, limite);
+    }
+
+    @Override
+    public void recorrerTodos(Consumer<Prestamo> consumidor) {
+        delegado.recorrerTodos(consumidor);
+    }
+
+    @Override
+    public void recorrerDocumentos(Consumer<String> consumidor) {
+        delegado.recorrerDocumentos(consumidor);
+    }
+
+    @Override
+    public PaginaBusquedaPrestamos buscarPorCriterios(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio) {
+        return delegado.buscarPorCriterios(criterios, pagina, tamanio);
+    }
+
+    @Override
+    public long contar() {
+        return delegado.contar();
+    }
+
+    @Override
+    public List<EstadisticaPrestamos> calcularEstadisticas() {
+        return delegado.calcularEstadisticas();
+    }
+
+    @Override
+    public Map<Long, EstadoPrestamo> buscarEstados(Collection<Long> ids) {
+        return delegado.buscarEstados(ids);
+    }
+
+    @Override
+    public Optional<CambioEstadoAplicado> actualizarEstado(Long id, Set<EstadoPrestamo> estadosPermitidos,
+                                                           EstadoPrestamo nuevoEstado, String usuario,
+                                                           LocalDateTime fecha) {
+        return delegado.actualizarEstado(id, estadosPermitidos, nuevoEstado, usuario, fecha);
+    }
+
+    @Override
+    public List<CambioEstadoAplicado> actualizarEstadoCondicional(Collection<Long> ids,
+                                                                  Set<EstadoPrestamo> estadosPermitidos,
+                                                                  EstadoPrestamo nuevoEstado, String usuario,
+                                                                  LocalDateTime fecha) {
+        return delegado.actualizarEstadoCondicional(ids, estadosPermitidos, nuevoEstado, usuario, fecha);
+    }
+}
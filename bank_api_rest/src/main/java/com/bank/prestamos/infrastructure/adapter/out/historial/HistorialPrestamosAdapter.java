@@ -0,0 +1,312 @@
+package com.bank.prestamos.infrastructure.adapter.out.historial;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.domain.ports.out.HistorialPrestamosPort;
+import com.bank.prestamos.infrastructure.configuracion.HistorialProperties;
+import com.bank.prestamos.infrastructure.configuracion.HistorialProperties.ModoDurabilidad;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptador JDBC del historial de cambios de estado.
+ * <p>
+ * En modo TRANSACCIONAL (por defecto) se insertan en la transacción del cambio.
+ * <p>
+ * En modo ASINCRONO los registros se encolan tras el commit del cambio y un hilo escritor los inserta
+ * en lotes, cada lote en su propia transacción. Si la cola está llena, el hilo de la petición intenta
+ * escribirlos una sola vez, sin esperas; si falla, pasan al derrame, que el escritor vacía antes que la cola.
+ * Solo el escritor reintenta. Un registro nunca se descarta en silencio: los que la base de datos rechaza
+ * (violación de integridad) y los que quedan sin escribir al apagar se trazan completos como ERROR.
+ * <p>
+ * El escritor se detiene después del servidor web, de modo que vacía la cola con las últimas
+ * peticiones ya atendidas antes de que se cierre el pool de conexiones.
+ */
+@Component
+@Slf4j
+public class HistorialPrestamosAdapter implements HistorialPrestamosPort, SmartLifecycle {
+
+    private static final String SQL_INSERTAR = "INSERT INTO prestamos_historial "
+            + "(prestamo_id, estado_anterior, estado_nuevo, usuario, fecha) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_BUSCAR = "SELECT prestamo_id, estado_anterior, estado_nuevo, usuario, fecha "
+            + "FROM prestamos_historial WHERE prestamo_id = ? ORDER BY fecha DESC, id DESC LIMIT ? OFFSET ?";
+
+    private static final RowMapper<RegistroHistorial> ROW_MAPPER = (rs, fila) -> new RegistroHistorial(
+            rs.getLong("prestamo_id"),
+            rs.getString("estado_anterior") == null ? null : EstadoPrestamo.valueOf(rs.getString("estado_anterior")),
+            EstadoPrestamo.valueOf(rs.getString("estado_nuevo")),
+            rs.getString("usuario"),
+            rs.getObject("fecha", LocalDateTime.class));
+
+    /**
+     * Espera máxima del escritor por un registro antes de comprobar si debe detenerse.
+     */
+    private static final long ESPERA_SONDEO_MS = 200;
+    private static final long ESPERA_PARADA_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HistorialProperties propiedades;
+    private final TransactionTemplate transaccionPropia;
+    private final BlockingQueue<RegistroHistorial> pendientes;
+    private final Queue<RegistroHistorial> derramados = new ConcurrentLinkedQueue<>();
+    private final Counter escritos;
+    private final Counter descartados;
+    private final Counter desbordamientos;
+
+    private volatile boolean activo;
+    private Thread escritor;
+
+    public HistorialPrestamosAdapter(JdbcTemplate jdbcTemplate,
+                                     HistorialProperties propiedades,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry registro) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.propiedades = propiedades;
+        this.transaccionPropia = new TransactionTemplate(transactionManager);
+        this.transaccionPropia.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pendientes = new ArrayBlockingQueue<>(propiedades.capacidadCola());
+        Gauge.builder("prestamos.historial.pendientes", this, adaptador -> adaptador.pendientes.size()
+                        + adaptador.derramados.size())
+                .description("Registros del historial a la espera del escritor")
+                .register(registro);
+        this.escritos = Counter.builder("prestamos.historial.escritos")
+                .description("Registros del historial insertados")
+                .register(registro);
+        this.descartados = Counter.builder("prestamos.historial.descartados")
+                .description("Registros del historial rechazados por la base de datos o sin escribir al apagar")
+                .register(registro);
+        this.desbordamientos = Counter.builder("prestamos.historial.desbordamientos")
+                .description("Registros que no cupieron en la cola y se intentaron escribir en el hilo de la petición")
+                .register(registro);
+    }
+
+    @Override
+    public void registrar(List<RegistroHistorial> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        if (propiedades.modo() == ModoDurabilidad.TRANSACCIONAL) {
+            insertar(registros);
+            escritos.increment(registros.size());
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            encolar(registros);
+            return;
+        }
+        // Un cambio que acabe en rollback no debe quedar en el historial
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                encolar(registros);
+            }
+        });
+    }
+
+    @Override
+    public PaginaHistorialPrestamo buscarPorPrestamo(Long prestamoId, int pagina, int tamanio) {
+        // Se pide un registro de más para saber si existe una página siguiente
+        List<RegistroHistorial> registros = jdbcTemplate.query(
+                SQL_BUSCAR, ROW_MAPPER, prestamoId, tamanio + 1, (long) pagina * tamanio);
+        boolean hayMas = registros.size() > tamanio;
+        return new PaginaHistorialPrestamo(
+                hayMas ? registros.subList(0, tamanio) : registros, pagina, tamanio, hayMas);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (activo || propiedades.modo() != ModoDurabilidad.ASINCRONO) {
+            return;
+        }
+        activo = true;
+        escritor = Thread.ofPlatform().name("historial-escritor").daemon(true).start(this::escribirPendientes);
+        log.info("Escritor del historial iniciado (lotes de hasta {} registros)", propiedades.tamanioLote());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!activo) {
+            return;
+        }
+        activo = false;
+        try {
+            escritor.join(ESPERA_PARADA_MS);
+            if (escritor.isAlive()) {
+                escritor.interrupt();
+                escritor.join(ESPERA_SONDEO_MS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<RegistroHistorial> sinEscribir = new ArrayList<>(derramados);
+        pendientes.drainTo(sinEscribir);
+        derramados.clear();
+        if (!sinEscribir.isEmpty()) {
+            log.error("El escritor del historial se detuvo con {} registros sin escribir", sinEscribir.size());
+            trazarPerdidos(sinEscribir);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    /**
+     * Fase inferior a las del servidor web (DEFAULT_PHASE - 1024 para el apagado ordenado y - 2048 para
+     * arrancarlo y detenerlo): arranca antes y se detiene después que él, ya sin peticiones en curso.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void encolar(List<RegistroHistorial> registros) {
+        List<RegistroHistorial> desbordados = new ArrayList<>();
+        for (RegistroHistorial registro : registros) {
+            if (!activo || !pendientes.offer(registro)) {
+                desbordados.add(registro);
+            }
+        }
+        if (desbordados.isEmpty()) {
+            return;
+        }
+        log.warn("Cola del historial llena o escritor detenido: se escriben {} registros de forma síncrona",
+                desbordados.size());
+        desbordamientos.increment(desbordados.size());
+        // Un único intento y sin esperas: el hilo de la petición no reintenta, lo hace el escritor
+        try {
+            escribir(desbordados);
+        } catch (RuntimeException ex) {
+            if (!activo) {
+                log.error("Fallo al escribir {} registros del historial con el escritor detenido",
+                        desbordados.size(), ex);
+                trazarPerdidos(desbordados);
+                return;
+            }
+            log.warn("Fallo al escribir {} registros del historial; pasan al derrame", desbordados.size(), ex);
+            derramados.addAll(desbordados);
+        }
+    }
+
+    private void escribirPendientes() {
+        int tamanioLote = propiedades.tamanioLote();
+        while (activo || !pendientes.isEmpty() || !derramados.isEmpty()) {
+            List<RegistroHistorial> lote = new ArrayList<>(tamanioLote);
+            RegistroHistorial derramado;
+            while (lote.size() < tamanioLote && (derramado = derramados.poll()) != null) {
+                lote.add(derramado);
+            }
+            if (lote.isEmpty()) {
+                RegistroHistorial primero;
+                try {
+                    primero = pendientes.poll(ESPERA_SONDEO_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+            }
+            // Lo acumulado mientras se escribía el lote anterior viaja en el siguiente
+            pendientes.drainTo(lote, tamanioLote - lote.size());
+            if (!escribirConReintentos(lote)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Escribe un lote desde el hilo escritor, reintentando tras una pausa. Agotados los reintentos se
+     * escribe registro a registro: los que violan una restricción se trazan y el resto de fallos vuelve
+     * al derrame para la siguiente vuelta.
+     *
+     * @return false si el hilo se interrumpió; el lote queda entonces en el derrame
+     */
+    private boolean escribirConReintentos(List<RegistroHistorial> lote) {
+        for (int intento = 0; intento <= propiedades.reintentos(); intento++) {
+            if (intento > 0 && !esperarReintento()) {
+                derramados.addAll(lote);
+                return false;
+            }
+            try {
+                escribir(lote);
+                return true;
+            } catch (RuntimeException ex) {
+                log.warn("Fallo al escribir {} registros del historial (intento {})", lote.size(), intento + 1, ex);
+            }
+        }
+        List<RegistroHistorial> rechazados = new ArrayList<>();
+        for (RegistroHistorial registro : lote) {
+            try {
+                escribir(List.of(registro));
+            } catch (DataIntegrityViolationException ex) {
+                rechazados.add(registro);
+            } catch (RuntimeException ex) {
+                derramados.add(registro);
+            }
+        }
+        if (!rechazados.isEmpty()) {
+            log.error("La base de datos rechaza {} registros del historial", rechazados.size());
+            trazarPerdidos(rechazados);
+        }
+        // Sin base de datos disponible el escritor sigue intentándolo, con la pausa de cada reintento
+        return derramados.isEmpty() || esperarReintento();
+    }
+
+    private boolean esperarReintento() {
+        try {
+            Thread.sleep(propiedades.esperaReintento());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void escribir(List<RegistroHistorial> lote) {
+        transaccionPropia.executeWithoutResult(estado -> insertar(lote));
+        escritos.increment(lote.size());
+    }
+
+    private void trazarPerdidos(List<RegistroHistorial> registros) {
+        registros.forEach(registro -> log.error("Registro del historial sin escribir: {}", registro));
+        descartados.increment(registros.size());
+    }
+
+    private void insertar(Collection<RegistroHistorial> registros) {
+        jdbcTemplate.batchUpdate(SQL_INSERTAR, registros, propiedades.tamanioLote(), (ps, registro) -> {
+            ps.setLong(1, registro.prestamoId());
+            ps.setString(2, registro.estadoAnterior() == null ? null : registro.estadoAnterior().name());
+            ps.setString(3, registro.estadoNuevo().name());
+            ps.setString(4, registro.usuario());
+            ps.setObject(5, registro.fecha());
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.bank.prestamos.infrastructure.adapter.out.nombres;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.IndiceNombresPrestamosPort;
+import com.bank.prestamos.domain.ports.out.RecorridoPrestamosPort;
+import com.bank.prestamos.infrastructure.configuracion.IndiceNombresProperties;
+import com.bank.prestamos.infrastructure.excepcion.ServicioSobrecargadoException;
+import com.bank.prestamos.infrastructure.replica.FijacionPrimario;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Mantiene el índice de trigramas de los nombres de solicitantes.
+ * Se construye al arrancar recorriendo la tabla prestamos y recibe las altas tras su commit;
+ * mientras no está listo, las búsquedas se rechazan con 503 y Retry-After.
+ */
+@Component
+@Slf4j
+public class IndiceNombresPrestamos implements IndiceNombresPrestamosPort {
+
+    private final RecorridoPrestamosPort recorrido;
+    private final IndiceNombresProperties propiedades;
+    private final TransactionTemplate transaccionLectura;
+    private final Timer busquedas;
+
+    private volatile IndiceTrigramas actual;
+    private volatile IndiceTrigramas enConstruccion;
+
+    public IndiceNombresPrestamos(RecorridoPrestamosPort recorrido,
+                                  IndiceNombresProperties propiedades,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry registro) {
+        this.recorrido = recorrido;
+        this.propiedades = propiedades;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+        this.busquedas = Timer.builder("prestamos.indice.nombres.busqueda")
+                .description("Duración de las búsquedas en el índice de nombres")
+                .publishPercentiles(0.5, 0.99)
+                .register(registro);
+        Gauge.builder("prestamos.indice.nombres.memoria", this, IndiceNombresPrestamos::memoriaBytes)
+                .description("Memoria estimada del índice de nombres")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registro);
+        Gauge.builder("prestamos.indice.nombres.entradas", this, IndiceNombresPrestamos::entradas)
+                .description("Nombres indexados")
+                .register(registro);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlArrancar() {
+        reconstruir();
+    }
+
+    /**
+     * Construye un índice nuevo a partir de la base de datos y sustituye al actual.
+     * Los préstamos registrados durante la construcción se añaden a ambos índices.
+     */
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        int capacidad = (int) Math.min(Integer.MAX_VALUE - 8, recorrido.contar() + 1024);
+        IndiceTrigramas nuevo = new IndiceTrigramas(capacidad);
+        enConstruccion = nuevo;
+        try {
+            // Desde el primario: los préstamos que aún no estén en la réplica no se recibirían después
+            FijacionPrimario.ejecutar(() -> transaccionLectura.executeWithoutResult(
+                    estado -> recorrido.recorrerTodos(
+                            prestamo -> nuevo.agregar(prestamo.getId(), prestamo.getNombreSolicitante()))));
+            actual = nuevo;
+        } finally {
+            enConstruccion = null;
+        }
+        log.info("Índice de nombres construido: {} nombres, {} KB, {} ms",
+                nuevo.entradas(), nuevo.memoriaBytes() / 1024, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Override
+    public void registrar(List<Prestamo> prestamos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            prestamos.forEach(this::agregar);
+            return;
+        }
+        // Un alta que acabe en rollback no debe aparecer en las búsquedas
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                prestamos.forEach(IndiceNombresPrestamos.this::agregar);
+            }
+        });
+    }
+
+    @Override
+    public List<CoincidenciaNombre> buscar(String texto, int limite) {
+        IndiceTrigramas indice = actual;
+        if (indice == null) {
+            throw new ServicioSobrecargadoException("El índice de nombres se está construyendo",
+                    propiedades.reintentarTras());
+        }
+        return busquedas.record(() -> indice.buscar(
+                texto, limite, propiedades.similitudMinima(), propiedades.candidatosMaximos()));
+    }
+
+    private void agregar(Prestamo prestamo) {
+        // Primero el índice en construcción: si ya no lo hay, la sustitución terminó y actual es el nuevo.
+        // En el orden inverso, una sustitución entre ambas lecturas dejaría el nombre solo en el viejo
+        IndiceTrigramas nuevo = enConstruccion;
+        IndiceTrigramas indice = actual;
+        if (nuevo != null) {
+            nuevo.agregar(prestamo.getId(), prestamo.getNombreSolicitante());
+        }
+        if (indice != null && indice != nuevo) {
+            indice.agregar(prestamo.getId(), prestamo.getNombreSolicitante());
+        }
+    }
+
+    private double memoriaBytes() {
+        IndiceTrigramas indice = actual;
+        return indice == null ? 0 : indice.memoriaBytes();
+    }
+
+    private double entradas() {
+        IndiceTrigramas indice = actual;
+        return indice == null ? 0 : indice.entradas();
+    }
+}
@@ -0,0 +1,385 @@
+package com.bank.prestamos.infrastructure.adapter.out.nombres;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre nombres normalizados (minúsculas, sin acentos,
+ * solo letras y dígitos separados por un espacio).
+ * <p>
+ * Cada trigrama se codifica como un entero y tiene su lista de entradas, ordenada porque las entradas
+ * se numeran al añadirlas. Los nombres se guardan concatenados en dos búferes de bytes (normalizado y original)
+ * con sus posiciones de fin, sin un objeto por nombre. Una búsqueda solo recorre las listas de los trigramas
+ * más raros del texto buscado y comprueba el resto con búsqueda binaria.
+ * <p>
+ * La clasificación es exacta mientras las entradas que comparten esos trigramas no superen el máximo de
+ * candidatos; si lo superan, solo compiten las más recientes de todas ellas, de modo que un nombre antiguo
+ * puede quedar fuera aunque puntúe más. Es la aproximación que acota el coste de los textos muy comunes.
+ * <p>
+ * Admite lecturas concurrentes; las altas toman el cerrojo de escritura durante unos microsegundos.
+ */
+public final class IndiceTrigramas {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Espacio, a-z y 0-9.
+     */
+    private static final int SIMBOLOS = 37;
+    private static final int TRIGRAMAS = SIMBOLOS * SIMBOLOS * SIMBOLOS;
+    private static final int LONGITUD_MINIMA_CONSULTA = 2;
+    private static final int CAPACIDAD_INICIAL_LISTA = 4;
+    private static final int BYTES_POR_NOMBRE_ESTIMADOS = 24;
+
+    private static final Comparator<Candidato> PEOR_PRIMERO = Comparator
+            .comparingDouble(Candidato::puntuacion)
+            .thenComparing(Comparator.comparingInt(Candidato::longitud).reversed())
+            .thenComparingInt(Candidato::entrada);
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+    private final int[][] listas = new int[TRIGRAMAS][];
+    private final int[] tamanios = new int[TRIGRAMAS];
+
+    private long[] ids;
+    private int[] finesNormalizados;
+    private int[] finesOriginales;
+    private byte[] normalizados;
+    private byte[] originales;
+    private int entradas;
+    private int bytesNormalizados;
+    private int bytesOriginales;
+
+    public IndiceTrigramas(int capacidadInicial) {
+        int capacidad = Math.max(16, capacidadInicial);
+        ids = new long[capacidad];
+        finesNormalizados = new int[capacidad];
+        finesOriginales = new int[capacidad];
+        int bytes = (int) Math.min(Integer.MAX_VALUE - 8, (long) capacidad * BYTES_POR_NOMBRE_ESTIMADOS);
+        normalizados = new byte[bytes];
+        originales = new byte[bytes];
+    }
+
+    /**
+     * Añade un nombre al índice.
+     *
+     * @param id ID del préstamo
+     * @param nombre Nombre del solicitante tal como se registró
+     */
+    public void agregar(long id, String nombre) {
+        String normalizado = normalizar(nombre);
+        byte[] bytesNormalizado = normalizado.getBytes(StandardCharsets.US_ASCII);
+        byte[] bytesOriginal = nombre.getBytes(StandardCharsets.UTF_8);
+        // El espacio inicial y final marca los trigramas de inicio y fin de palabra
+        int[] codigos = trigramas(" " + normalizado + " ");
+
+        cerrojo.writeLock().lock();
+        try {
+            asegurarCapacidad(bytesNormalizado.length, bytesOriginal.length);
+            int entrada = entradas;
+            ids[entrada] = id;
+            System.arraycopy(bytesNormalizado, 0, normalizados, bytesNormalizados, bytesNormalizado.length);
+            bytesNormalizados += bytesNormalizado.length;
+            finesNormalizados[entrada] = bytesNormalizados;
+            System.arraycopy(bytesOriginal, 0, originales, bytesOriginales, bytesOriginal.length);
+            bytesOriginales += bytesOriginal.length;
+            finesOriginales[entrada] = bytesOriginales;
+            for (int codigo : codigos) {
+                anotar(codigo, entrada);
+            }
+            entradas++;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los nombres que contienen al menos la fracción indicada de trigramas del texto.
+     * La puntuación combina esa fracción con que el nombre contenga el texto completo y lo haga
+     * al inicio de una palabra; a igual puntuación se prefiere el nombre más corto y después el más reciente.
+     *
+     * @param texto Texto buscado
+     * @param limite Número máximo de coincidencias
+     * @param similitudMinima Fracción mínima de trigramas del texto presentes en el nombre, entre 0 y 1
+     * @param candidatosMaximos Entradas evaluadas como máximo: las más recientes de entre las candidatas
+     * @return Las coincidencias de mayor a menor puntuación
+     */
+    public List<CoincidenciaNombre> buscar(String texto, int limite, double similitudMinima, int candidatosMaximos) {
+        String consulta = normalizar(texto);
+        if (consulta.length() < LONGITUD_MINIMA_CONSULTA || limite <= 0) {
+            return List.of();
+        }
+        // Con dos caracteres solo cabe un trigrama: el de inicio de palabra
+        int[] codigos = distintos(trigramas(consulta.length() < 3 ? " " + consulta : consulta));
+        byte[] bytesConsulta = consulta.getBytes(StandardCharsets.US_ASCII);
+
+        cerrojo.readLock().lock();
+        try {
+            ordenarPorFrecuencia(codigos);
+            int total = codigos.length;
+            int fallosPermitidos = Math.min(total - 1, (int) Math.floor(total * (1 - similitudMinima)));
+            // Un nombre al que le faltan como mucho f trigramas contiene alguno de los f + 1 más raros
+            int[] candidatos = unir(codigos, fallosPermitidos + 1, candidatosMaximos);
+
+            PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite + 1, PEOR_PRIMERO);
+            // Un préstamo dado de alta mientras se reconstruía el índice puede figurar dos veces con el mismo
+            // nombre: solo se evalúa su entrada más reciente, antes de elegir los mejores
+            Set<Long> evaluados = new HashSet<>();
+            for (int entrada : candidatos) {
+                if (!evaluados.add(ids[entrada])) {
+                    continue;
+                }
+                int aciertos = 0;
+                for (int codigo : codigos) {
+                    if (contiene(codigo, entrada)) {
+                        aciertos++;
+                    }
+                }
+                if (total - aciertos > fallosPermitidos) {
+                    continue;
+                }
+                Candidato candidato = new Candidato(entrada,
+                        puntuar(entrada, bytesConsulta, (double) aciertos / total), longitud(entrada));
+                if (mejores.size() < limite || PEOR_PRIMERO.compare(candidato, mejores.peek()) > 0) {
+                    mejores.offer(candidato);
+                    if (mejores.size() > limite) {
+                        mejores.poll();
+                    }
+                }
+            }
+            return coincidencias(mejores);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public int entradas() {
+        cerrojo.readLock().lock();
+        try {
+            return entradas;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Estimación de los bytes que ocupan en el heap las estructuras del índice
+     */
+    public long memoriaBytes() {
+        cerrojo.readLock().lock();
+        try {
+            long bytes = tamanioArray(listas.length, 8) + tamanioArray(tamanios.length, 4);
+            for (int[] lista : listas) {
+                if (lista != null) {
+                    bytes += tamanioArray(lista.length, 4);
+                }
+            }
+            return bytes
+                    + tamanioArray(ids.length, 8)
+                    + tamanioArray(finesNormalizados.length, 4)
+                    + tamanioArray(finesOriginales.length, 4)
+                    + tamanioArray(normalizados.length, 1)
+                    + tamanioArray(originales.length, 1);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pasa el texto a minúsculas, elimina acentos y diacríticos y reduce cualquier otro carácter
+     * a un único espacio separador.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinMarcas = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        StringBuilder resultado = new StringBuilder(sinMarcas.length());
+        boolean separador = true;
+        for (int i = 0; i < sinMarcas.length(); i++) {
+            char c = Character.toLowerCase(sinMarcas.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                resultado.append(c);
+                separador = false;
+            } else if (!separador) {
+                resultado.append(' ');
+                separador = true;
+            }
+        }
+        int longitud = resultado.length();
+        if (longitud > 0 && resultado.charAt(longitud - 1) == ' ') {
+            resultado.setLength(longitud - 1);
+        }
+        return resultado.toString();
+    }
+
+    private static int[] trigramas(String texto) {
+        int[] codigos = new int[Math.max(0, texto.length() - 2)];
+        for (int i = 0; i < codigos.length; i++) {
+            codigos[i] = (simbolo(texto.charAt(i)) * SIMBOLOS + simbolo(texto.charAt(i + 1))) * SIMBOLOS
+                    + simbolo(texto.charAt(i + 2));
+        }
+        return codigos;
+    }
+
+    private static int simbolo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+
+    private static int[] distintos(int[] codigos) {
+        return Arrays.stream(codigos).distinct().toArray();
+    }
+
+    private static long tamanioArray(int elementos, int bytesPorElemento) {
+        return 16L + (long) elementos * bytesPorElemento;
+    }
+
+    private void anotar(int codigo, int entrada) {
+        int[] lista = listas[codigo];
+        int tamanio = tamanios[codigo];
+        if (lista == null) {
+            lista = new int[CAPACIDAD_INICIAL_LISTA];
+            listas[codigo] = lista;
+        } else if (lista[tamanio - 1] == entrada) {
+            // Trigrama repetido dentro del mismo nombre
+            return;
+        } else if (tamanio == lista.length) {
+            lista = Arrays.copyOf(lista, tamanio + (tamanio >> 1));
+            listas[codigo] = lista;
+        }
+        lista[tamanio] = entrada;
+        tamanios[codigo] = tamanio + 1;
+    }
+
+    private void asegurarCapacidad(int longitudNormalizado, int longitudOriginal) {
+        if (entradas == ids.length) {
+            int capacidad = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacidad);
+            finesNormalizados = Arrays.copyOf(finesNormalizados, capacidad);
+            finesOriginales = Arrays.copyOf(finesOriginales, capacidad);
+        }
+        normalizados = ampliar(normalizados, bytesNormalizados + longitudNormalizado);
+        originales = ampliar(originales, bytesOriginales + longitudOriginal);
+    }
+
+    private static byte[] ampliar(byte[] bufer, int necesario) {
+        if (necesario <= bufer.length) {
+            return bufer;
+        }
+        return Arrays.copyOf(bufer, Math.max(necesario, bufer.length + (bufer.length >> 1)));
+    }
+
+    /**
+     * Ordena los trigramas de menos a más frecuente, empaquetando frecuencia y código en un long.
+     */
+    private void ordenarPorFrecuencia(int[] codigos) {
+        long[] orden = new long[codigos.length];
+        for (int i = 0; i < codigos.length; i++) {
+            orden[i] = ((long) tamanios[codigos[i]] << 32) | codigos[i];
+        }
+        Arrays.sort(orden);
+        for (int i = 0; i < codigos.length; i++) {
+            codigos[i] = (int) orden[i];
+        }
+    }
+
+    /**
+     * Une las listas de los primeros trigramas de la entrada más reciente a la más antigua, sin repetir,
+     * hasta el máximo de candidatos. Las listas están ordenadas: se recorren desde el final tomando cada vez
+     * la mayor, así que el recorte deja las más recientes de todas las listas y no solo de la primera.
+     */
+    private int[] unir(int[] codigos, int listasUnidas, int candidatosMaximos) {
+        int[] posiciones = new int[listasUnidas];
+        long disponibles = 0;
+        for (int i = 0; i < listasUnidas; i++) {
+            posiciones[i] = tamanios[codigos[i]] - 1;
+            disponibles += tamanios[codigos[i]];
+        }
+        int[] union = new int[(int) Math.min(disponibles, candidatosMaximos)];
+        int tamanioUnion = 0;
+        while (tamanioUnion < union.length) {
+            int mayor = -1;
+            for (int i = 0; i < listasUnidas; i++) {
+                if (posiciones[i] >= 0) {
+                    mayor = Math.max(mayor, listas[codigos[i]][posiciones[i]]);
+                }
+            }
+            if (mayor < 0) {
+                break;
+            }
+            union[tamanioUnion++] = mayor;
+            for (int i = 0; i < listasUnidas; i++) {
+                if (posiciones[i] >= 0 && listas[codigos[i]][posiciones[i]] == mayor) {
+                    posiciones[i]--;
+                }
+            }
+        }
+        return tamanioUnion == union.length ? union : Arrays.copyOf(union, tamanioUnion);
+    }
+
+    private boolean contiene(int codigo, int entrada) {
+        int[] lista = listas[codigo];
+        return lista != null && Arrays.binarySearch(lista, 0, tamanios[codigo], entrada) >= 0;
+    }
+
+    private double puntuar(int entrada, byte[] consulta, double similitud) {
+        double puntuacion = 0.6 * similitud;
+        int inicio = inicioNormalizado(entrada);
+        int fin = finesNormalizados[entrada];
+        boolean contenido = false;
+        for (int i = inicio; i + consulta.length <= fin; i++) {
+            if (Arrays.equals(normalizados, i, i + consulta.length, consulta, 0, consulta.length)) {
+                if (i == inicio || normalizados[i - 1] == ' ') {
+                    return puntuacion + 0.4;
+                }
+                contenido = true;
+            }
+        }
+        return contenido ? puntuacion + 0.25 : puntuacion;
+    }
+
+    private List<CoincidenciaNombre> coincidencias(PriorityQueue<Candidato> mejores) {
+        List<CoincidenciaNombre> resultado = new ArrayList<>(mejores.size());
+        while (!mejores.isEmpty()) {
+            resultado.add(coincidencia(mejores.poll()));
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    private CoincidenciaNombre coincidencia(Candidato candidato) {
+        int entrada = candidato.entrada();
+        int inicio = entrada == 0 ? 0 : finesOriginales[entrada - 1];
+        String nombre = new String(originales, inicio, finesOriginales[entrada] - inicio, StandardCharsets.UTF_8);
+        return new CoincidenciaNombre(ids[entrada], nombre, Math.round(candidato.puntuacion() * 1000) / 1000.0);
+    }
+
+    private int inicioNormalizado(int entrada) {
+        return entrada == 0 ? 0 : finesNormalizados[entrada - 1];
+    }
+
+    private int longitud(int entrada) {
+        return finesNormalizados[entrada] - inicioNormalizado(entrada);
+    }
+
+    private record Candidato(int entrada, double puntuacion, int longitud) {
+    }
+}
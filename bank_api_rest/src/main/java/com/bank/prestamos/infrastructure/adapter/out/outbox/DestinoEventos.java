@@ -0,0 +1,18 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import java.util.List;
+
+/**
+ * Destino al que el relé entrega los eventos de la bandeja de salida (broker, fichero, log...).
+ * La entrega es al menos una vez: si el destino falla o el borrado posterior no llega a confirmarse,
+ * el lote se vuelve a entregar en la siguiente ronda.
+ */
+public interface DestinoEventos {
+
+    /**
+     * Entrega un lote de eventos en orden de ID. Debe lanzar una excepción si no puede garantizar la entrega.
+     *
+     * @param mensajes Eventos a entregar
+     */
+    void enviar(List<MensajeOutbox> mensajes);
+}
@@ -0,0 +1,54 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import com.bank.prestamos.infrastructure.configuracion.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino que añade los eventos a un fichero NDJSON (un objeto JSON por línea).
+ * El lote se fuerza a disco antes de devolver, de modo que el relé solo borra lo ya persistido.
+ */
+@Component
+@ConditionalOnProperty(prefix = "prestamos.outbox", name = "destino", havingValue = "FICHERO")
+public class DestinoEventosFichero implements DestinoEventos {
+
+    private final OutboxProperties propiedades;
+    private final ObjectMapper objectMapper;
+
+    public DestinoEventosFichero(OutboxProperties propiedades, ObjectMapper objectMapper) {
+        this.propiedades = propiedades;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void enviar(List<MensajeOutbox> mensajes) {
+        StringBuilder lineas = new StringBuilder();
+        try {
+            for (MensajeOutbox mensaje : mensajes) {
+                lineas.append(objectMapper.writeValueAsString(mensaje)).append('\n');
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar un evento de la bandeja de salida", ex);
+        }
+        try (FileChannel canal = FileChannel.open(propiedades.fichero(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer contenido = ByteBuffer.wrap(lineas.toString().getBytes(StandardCharsets.UTF_8));
+            while (contenido.hasRemaining()) {
+                canal.write(contenido);
+            }
+            canal.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudieron escribir los eventos en " + propiedades.fichero(), ex);
+        }
+    }
+}
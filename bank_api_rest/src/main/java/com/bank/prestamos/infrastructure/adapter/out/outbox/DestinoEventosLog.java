@@ -0,0 +1,25 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Destino por defecto: escribe cada evento en el log, tras lo cual el relé lo borra de la bandeja como
+ * con cualquier otro destino. Útil mientras no hay un broker configurado.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "prestamos.outbox", name = "destino", havingValue = "LOG", matchIfMissing = true)
+public class DestinoEventosLog implements DestinoEventos {
+
+    @Override
+    public void enviar(List<MensajeOutbox> mensajes) {
+        for (MensajeOutbox mensaje : mensajes) {
+            log.info("Evento {} #{} del préstamo {}: {}",
+                    mensaje.tipo(), mensaje.id(), mensaje.prestamoId(), mensaje.carga());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento leído de la bandeja de salida, tal y como se entrega al destino.
+ *
+ * @param id Identificador creciente del evento; los consumidores lo usan para descartar duplicados
+ * @param tipo Tipo de evento
+ * @param prestamoId ID del préstamo
+ * @param carga Contenido del evento en JSON
+ * @param fechaCreacion Fecha y hora en que se registró el evento
+ */
+public record MensajeOutbox(
+        long id,
+        String tipo,
+        Long prestamoId,
+        @JsonRawValue String carga,
+        LocalDateTime fechaCreacion) {
+}
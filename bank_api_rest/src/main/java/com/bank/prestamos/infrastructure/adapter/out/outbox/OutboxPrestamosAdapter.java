@@ -0,0 +1,58 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import com.bank.prestamos.domain.models.EventoPrestamo;
+import com.bank.prestamos.domain.ports.out.EventosPrestamoPort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Escribe los eventos en la bandeja de salida dentro de la transacción del caso de uso.
+ * Es un INSERT por lotes sobre una tabla sin índices secundarios, sin llamadas a sistemas externos;
+ * el envío lo hace {@link RelayOutboxPrestamos}.
+ */
+@Component
+public class OutboxPrestamosAdapter implements EventosPrestamoPort {
+
+    private static final String SQL_INSERTAR = "INSERT INTO prestamos_outbox "
+            + "(tipo, prestamo_id, carga, fecha_creacion) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPrestamosAdapter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicar(List<EventoPrestamo> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        // La fecha de registro permite medir cuánto tarda el relé en enviar cada evento
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.batchUpdate(SQL_INSERTAR, eventos, eventos.size(), (ps, evento) -> {
+            ps.setString(1, evento.tipo().name());
+            ps.setLong(2, evento.prestamoId());
+            ps.setString(3, serializar(evento));
+            ps.setObject(4, ahora);
+        });
+    }
+
+    private String serializar(EventoPrestamo evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el evento del préstamo " + evento.prestamoId(), ex);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import com.bank.prestamos.infrastructure.configuracion.OutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relé de la bandeja de salida: lee los eventos pendientes por lotes, los entrega al destino y los borra.
+ * <p>
+ * Cada lote es una transacción: SELECT ... FOR UPDATE SKIP LOCKED, envío y DELETE por IDs. Las filas
+ * bloqueadas por otra instancia se saltan en lugar de esperarlas, por lo que varias réplicas de la
+ * aplicación se reparten la bandeja sin coordinarse. Si el destino falla, la transacción se deshace y el
+ * lote se reintenta en la siguiente ronda (entrega al menos una vez, en orden de ID dentro de cada réplica).
+ * <p>
+ * Las rondas corren en un programador propio de un solo hilo, no en el TaskScheduler compartido de Spring
+ * Boot, para que una ronda larga no retrase otras tareas programadas ni al revés.
+ */
+@Component
+@Slf4j
+public class RelayOutboxPrestamos {
+
+    private static final String SQL_LEER = "SELECT id, tipo, prestamo_id, carga, fecha_creacion "
+            + "FROM prestamos_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String SQL_BORRAR = "DELETE FROM prestamos_outbox WHERE id IN (%s)";
+
+    private static final RowMapper<MensajeOutbox> ROW_MAPPER = (rs, fila) -> new MensajeOutbox(
+            rs.getLong("id"),
+            rs.getString("tipo"),
+            rs.getLong("prestamo_id"),
+            rs.getString("carga"),
+            rs.getObject("fecha_creacion", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DestinoEventos destino;
+    private final OutboxProperties propiedades;
+    private final ThreadPoolTaskScheduler programador;
+    private final TransactionTemplate transaccion;
+    private final Counter enviados;
+    private final Counter fallos;
+    private final Timer retraso;
+    private final AtomicLong antiguedadMs = new AtomicLong();
+
+    public RelayOutboxPrestamos(JdbcTemplate jdbcTemplate,
+                                DestinoEventos destino,
+                                OutboxProperties propiedades,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry registro) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.destino = destino;
+        this.propiedades = propiedades;
+        this.programador = new ThreadPoolTaskScheduler();
+        this.programador.setPoolSize(1);
+        this.programador.setThreadNamePrefix("relay-outbox-");
+        // Al apagar, la ronda en curso termina antes de que se cierre el pool de conexiones
+        this.programador.setWaitForTasksToCompleteOnShutdown(true);
+        this.programador.setAwaitTerminationSeconds(30);
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.enviados = Counter.builder("prestamos.outbox.enviados")
+                .description("Eventos entregados al destino y borrados de la bandeja de salida")
+                .register(registro);
+        this.fallos = Counter.builder("prestamos.outbox.fallos")
+                .description("Rondas del relé interrumpidas por un error; el lote se reintenta")
+                .register(registro);
+        this.retraso = Timer.builder("prestamos.outbox.retraso")
+                .description("Tiempo desde que se registra un evento hasta que se entrega")
+                .publishPercentiles(0.5, 0.99)
+                .register(registro);
+        TimeGauge.builder("prestamos.outbox.antiguedad", antiguedadMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Antigüedad del evento más antiguo leído en la última ronda (0 si la bandeja estaba vacía)")
+                .register(registro);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        Duration intervalo = propiedades.intervaloSondeo();
+        log.info("Relé de la bandeja de salida iniciado: lotes de {} eventos, sondeo cada {}",
+                propiedades.tamanioLote(), intervalo);
+        programador.initialize();
+        programador.scheduleWithFixedDelay(this::despacharPendientes, Instant.now().plus(intervalo), intervalo);
+    }
+
+    @PreDestroy
+    public void detener() {
+        programador.shutdown();
+    }
+
+    /**
+     * Envía lotes mientras estén llenos, de modo que una acumulación se vacía sin esperar al siguiente sondeo.
+     */
+    void despacharPendientes() {
+        try {
+            int enviadosLote;
+            do {
+                enviadosLote = despacharLote();
+            } while (enviadosLote == propiedades.tamanioLote());
+        } catch (RuntimeException ex) {
+            // Un fallo puntual del destino o de la base de datos no debe cancelar las rondas siguientes
+            fallos.increment();
+            log.error("No se pudo despachar la bandeja de salida; se reintentará en la siguiente ronda", ex);
+        }
+    }
+
+    /**
+     * Lee, entrega y borra un lote en una única transacción.
+     *
+     * @return Número de eventos entregados
+     */
+    int despacharLote() {
+        List<MensajeOutbox> lote = consumirLote();
+        if (lote == null || lote.isEmpty()) {
+            antiguedadMs.set(0);
+            return 0;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        antiguedadMs.set(Duration.between(lote.get(0).fechaCreacion(), ahora).toMillis());
+        for (MensajeOutbox mensaje : lote) {
+            retraso.record(Duration.between(mensaje.fechaCreacion(), ahora));
+        }
+        enviados.increment(lote.size());
+        log.debug("Entregados {} eventos de la bandeja de salida (último ID {})",
+                lote.size(), lote.get(lote.size() - 1).id());
+        return lote.size();
+    }
+
+    private List<MensajeOutbox> consumirLote() {
+        return transaccion.execute(estado -> {
+            List<MensajeOutbox> mensajes = jdbcTemplate.query(SQL_LEER, ROW_MAPPER, propiedades.tamanioLote());
+            if (mensajes.isEmpty()) {
+                return mensajes;
+            }
+            destino.enviar(mensajes);
+            jdbcTemplate.update(SQL_BORRAR.formatted(String.join(",", Collections.nCopies(mensajes.size(), "?"))),
+                    mensajes.stream().map(MensajeOutbox::id).toArray());
+            return mensajes;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Adapta las sentencias JDBC que dependen del motor de base de datos.
+ * Se soportan PostgreSQL (producción) y H2 (desarrollo y tests).
+ */
+@Component
+class DialectoSql {
+
+    private static final int H2_ACTUALIZACION_CONCURRENTE = 90131;
+
+    private final boolean postgres;
+
+    DialectoSql(DataSource dataSource) {
+        this.postgres = esPostgres(dataSource);
+    }
+
+    /**
+     * Convierte un UPDATE en una sentencia que devuelve las filas modificadas en el mismo viaje:
+     * UPDATE ... RETURNING en PostgreSQL y SELECT ... FROM FINAL TABLE (UPDATE ...) en H2.
+     *
+     * @param update La sentencia UPDATE sin punto y coma final
+     * @param columnas Las columnas a devolver
+     * @return La sentencia a ejecutar como consulta
+     */
+    String actualizarDevolviendo(String update, String columnas) {
+        return postgres
+                ? update + " RETURNING " + columnas
+                : "SELECT " + columnas + " FROM FINAL TABLE (" + update + ")";
+    }
+
+    /**
+     * Convierte un UPDATE condicional en una sentencia que devuelve las filas modificadas con sus valores
+     * nuevos y, en la columna {@code <columna>_anterior}, el valor que tenía la columna indicada antes del cambio.
+     * RETURNING solo ve los valores nuevos: las filas se bloquean antes en una subconsulta FOR UPDATE, que vuelve
+     * a evaluar la condición sobre la última versión confirmada y conserva el valor anterior. Solo PostgreSQL;
+     * ver {@link #devuelveValoresAnteriores()}.
+     *
+     * @param tabla La tabla, con clave primaria id
+     * @param asignaciones Las asignaciones del SET, sin la palabra SET
+     * @param condicion La condición del WHERE, sobre columnas sin cualificar
+     * @param columna La columna cuyo valor anterior se devuelve
+     * @param columnas Las columnas a devolver con su valor nuevo
+     * @return La sentencia a ejecutar como consulta
+     */
+    String actualizarDevolviendoAnterior(String tabla, String asignaciones, String condicion,
+                                         String columna, String columnas) {
+        String anterior = columna + "_anterior";
+        return "UPDATE " + tabla + " SET " + asignaciones
+                + " FROM (SELECT id AS id_anterior, " + columna + " AS " + anterior + " FROM " + tabla
+                + " WHERE " + condicion + " FOR UPDATE) anterior"
+                + " WHERE " + tabla + ".id = anterior.id_anterior"
+                + " RETURNING " + columnas + ", anterior." + anterior;
+    }
+
+    /**
+     * Indica si {@link #actualizarDevolviendoAnterior} está disponible. H2 no admite UPDATE ... FROM:
+     * allí las filas se bloquean y leen con SELECT ... FOR UPDATE antes de actualizarlas en la misma transacción.
+     *
+     * @return true si un UPDATE puede devolver en la misma sentencia el valor anterior de una columna
+     */
+    boolean devuelveValoresAnteriores() {
+        return postgres;
+    }
+
+    /**
+     * Convierte un INSERT en una sentencia que devuelve la fila insertada y que, en PostgreSQL,
+     * no inserta nada si la fila choca con la restricción única de la columna indicada
+     * (INSERT ... ON CONFLICT DO NOTHING RETURNING). En H2 el conflicto se manifiesta
+     * como una violación de clave duplicada.
+     *
+     * @param insert La sentencia INSERT sin punto y coma final
+     * @param columnaUnica La columna con restricción UNIQUE que determina el conflicto
+     * @param columnas Las columnas a devolver
+     * @return La sentencia a ejecutar como consulta
+     */
+    String insertarDevolviendo(String insert, String columnaUnica, String columnas) {
+        return postgres
+                ? insert + " ON CONFLICT (" + columnaUnica + ") DO NOTHING RETURNING " + columnas
+                : "SELECT " + columnas + " FROM FINAL TABLE (" + insert + ")";
+    }
+
+    /**
+     * Indica si un INSERT de varias filas puede omitir las que chocan con una restricción única
+     * (ON CONFLICT DO NOTHING) sin fallar. En H2 el conflicto aborta la sentencia entera.
+     *
+     * @return true si {@link #insertarDevolviendo} admite varias filas con conflictos
+     */
+    boolean omiteConflictos() {
+        return postgres;
+    }
+
+    /**
+     * Indica si el error de una inserción se debe a la restricción única.
+     * H2 no espera a otra transacción que haya insertado la misma clave sin confirmar:
+     * falla con el código 90131 (actualización concurrente), que aquí se trata como duplicado.
+     *
+     * @param ex La excepción lanzada por la inserción
+     * @return true si la fila choca con otra existente o en curso
+     */
+    boolean esViolacionUnicidad(DataAccessException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        return !postgres
+                && ex.getMostSpecificCause() instanceof SQLException causa
+                && causa.getErrorCode() == H2_ACTUALIZACION_CONCURRENTE;
+    }
+
+    private static boolean esPostgres(DataSource dataSource) {
+        try {
+            String producto = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(producto);
+        } catch (MetaDataAccessException ex) {
+            throw new IllegalStateException("No se pudo determinar el motor de base de datos", ex);
+        }
+    }
+}
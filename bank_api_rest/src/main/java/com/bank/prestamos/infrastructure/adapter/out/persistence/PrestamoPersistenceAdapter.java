@@ -0,0 +1,385 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence;
+
+import com.bank.prestamos.application.mappers.PrestamoMapper;
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CampoOrdenPrestamos;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import com.bank.prestamos.domain.ports.out.RecorridoPrestamosPort;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.entities.PrestamoEntity;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.repository.PrestamoEspecificaciones;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.repository.PrestamoJpaRepository;
+import com.bank.prestamos.infrastructure.configuracion.ExportacionProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador de persistencia que implementa el puerto de salida con Spring Data JPA.
+ * Las lecturas masivas usan JDBC directo para no acumular entidades gestionadas.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrestamoPersistenceAdapter implements PrestamoRepositoryPort, RecorridoPrestamosPort {
+
+    private static final String SQL_RECORRER_TODOS =
+            "SELECT " + PrestamoRowMapper.COLUMNAS + " FROM prestamos ORDER BY id";
+
+    private static final String SQL_RECORRER_DOCUMENTOS = "SELECT documento_identificativo FROM prestamos";
+
+    private static final String SQL_INSERTAR_COLUMNAS = "INSERT INTO prestamos (nombre_solicitante, "
+            + "importe_solicitado, divisa, documento_identificativo, estado, fecha_creacion) VALUES ";
+
+    private static final String SQL_INSERTAR = SQL_INSERTAR_COLUMNAS + valoresInsercion("");
+
+    private static final String SQL_ASIGNAR_ESTADO = "estado = :nuevoEstado, fecha_ultima_modificacion = :fecha, "
+            + "usuario_ultima_modificacion = :usuario, version = version + 1";
+
+    private static final String SQL_CONDICION_ESTADO = "id IN (:ids) AND estado IN (:estadosPermitidos)";
+
+    private static final String SQL_ACTUALIZAR_ESTADO =
+            "UPDATE prestamos SET " + SQL_ASIGNAR_ESTADO + " WHERE " + SQL_CONDICION_ESTADO;
+
+    private static final String SQL_BLOQUEAR_ESTADOS =
+            "SELECT id, estado FROM prestamos WHERE " + SQL_CONDICION_ESTADO + " FOR UPDATE";
+
+    private static final PrestamoRowMapper ROW_MAPPER = new PrestamoRowMapper();
+
+    /**
+     * Máximo de IDs por sentencia en las operaciones por lotes, para acotar el tamaño de las cláusulas IN.
+     */
+    private static final int TAMANIO_BLOQUE = 500;
+
+    private final PrestamoJpaRepository jpaRepository;
+    private final PrestamoMapper mapeador;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final DialectoSql dialecto;
+    private final ExportacionProperties exportacion;
+
+    @Override
+    public Prestamo guardar(Prestamo prestamo) {
+        PrestamoEntity entidad = mapeador.toEntity(prestamo);
+        return mapeador.toDomain(jpaRepository.save(entidad));
+    }
+
+    @Override
+    public Prestamo insertar(Prestamo prestamo) {
+        MapSqlParameterSource parametros = parametrosInsercion(new MapSqlParameterSource(), prestamo, "");
+        // El ID y la versión salen de los valores por defecto de la tabla y vuelven en la misma sentencia
+        List<Prestamo> filas;
+        try {
+            filas = namedJdbcTemplate.query(
+                    dialecto.insertarDevolviendo(SQL_INSERTAR, "documento_identificativo", PrestamoRowMapper.COLUMNAS),
+                    parametros, ROW_MAPPER);
+        } catch (DataAccessException ex) {
+            if (dialecto.esViolacionUnicidad(ex)) {
+                throw new DocumentoDuplicadoException(prestamo.getDocumentoIdentificativo());
+            }
+            throw ex;
+        }
+        if (filas.isEmpty()) {
+            throw new DocumentoDuplicadoException(prestamo.getDocumentoIdentificativo());
+        }
+        return filas.get(0);
+    }
+
+    @Override
+    public List<Prestamo> insertarTodos(List<Prestamo> prestamos) {
+        List<Prestamo> insertados = new ArrayList<>(prestamos.size());
+        // Un INSERT de varias filas por bloque: las que chocan con el documento se omiten
+        // y el resto vuelve con su ID en la misma sentencia
+        for (List<Prestamo> bloque : enBloques(prestamos)) {
+            if (dialecto.omiteConflictos()) {
+                insertados.addAll(insertarBloque(bloque));
+                continue;
+            }
+            // H2 aborta la sentencia entera ante un duplicado: se descartan antes, con una sola consulta
+            // por bloque, los documentos ya dados de alta y los repetidos dentro del propio lote
+            List<Prestamo> nuevos = sinDocumentosExistentes(bloque);
+            if (nuevos.isEmpty()) {
+                continue;
+            }
+            try {
+                insertados.addAll(insertarBloque(nuevos));
+            } catch (DataAccessException ex) {
+                if (!dialecto.esViolacionUnicidad(ex)) {
+                    throw ex;
+                }
+                // Otra transacción dio de alta alguno de los documentos tras la comprobación: fila a fila,
+                // un duplicado falla solo su sentencia y no la transacción
+                for (Prestamo prestamo : nuevos) {
+                    try {
+                        insertados.add(insertar(prestamo));
+                    } catch (DocumentoDuplicadoException duplicado) {
+                        // Se informa por ausencia en el resultado
+                    }
+                }
+            }
+        }
+        return insertados;
+    }
+
+    private List<Prestamo> insertarBloque(List<Prestamo> bloque) {
+        StringBuilder sql = new StringBuilder(SQL_INSERTAR_COLUMNAS);
+        MapSqlParameterSource parametros = new MapSqlParameterSource();
+        for (int i = 0; i < bloque.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(valoresInsercion(String.valueOf(i)));
+            parametrosInsercion(parametros, bloque.get(i), String.valueOf(i));
+        }
+        return namedJdbcTemplate.query(
+                dialecto.insertarDevolviendo(sql.toString(), "documento_identificativo", PrestamoRowMapper.COLUMNAS),
+                parametros, ROW_MAPPER);
+    }
+
+    private List<Prestamo> sinDocumentosExistentes(List<Prestamo> bloque) {
+        Set<String> vistos = new HashSet<>(buscarDocumentosExistentes(
+                bloque.stream().map(Prestamo::getDocumentoIdentificativo).distinct().toList()));
+        return bloque.stream()
+                .filter(prestamo -> vistos.add(prestamo.getDocumentoIdentificativo()))
+                .toList();
+    }
+
+    @Override
+    public Optional<Prestamo> buscarPorId(Long id) {
+        return jpaRepository.findById(id).map(mapeador::toDomain);
+    }
+
+    @Override
+    public Optional<Long> buscarVersion(Long id) {
+        return jpaRepository.buscarVersion(id);
+    }
+
+    @Override
+    public List<Prestamo> buscarTodos() {
+        return jpaRepository.findAll().stream()
+                .map(mapeador::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Prestamo> buscarPagina(CursorPrestamo cursor, int limite) {
+        Pageable pageable = PageRequest.of(0, limite);
+        List<PrestamoEntity> entidades = cursor == null
+                ? jpaRepository.buscarPrimeraPagina(pageable)
+                : jpaRepository.buscarPaginaDespuesDe(cursor.fechaCreacion(), cursor.id(), pageable);
+        return entidades.stream()
+                .map(mapeador::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<VersionPrestamo> buscarVersionesPagina(CursorPrestamo cursor, int limite) {
+        Pageable pageable = PageRequest.of(0, limite);
+        List<Object[]> filas = cursor == null
+                ? jpaRepository.buscarVersionesPrimeraPagina(pageable)
+                : jpaRepository.buscarVersionesDespuesDe(cursor.fechaCreacion(), cursor.id(), pageable);
+        return filas.stream()
+                .map(fila -> new VersionPrestamo((Long) fila[0], (Long) fila[1]))
+                .toList();
+    }
+
+    @Override
+    public PaginaBusquedaPrestamos buscarPorCriterios(CriteriosBusquedaPrestamos criterios, int pagina, int tamanio) {
+        Pageable pageable = PageRequest.of(pagina, tamanio, ordenDe(criterios));
+        // Spring Data omite la consulta de recuento cuando la primera página ya contiene todos los resultados
+        Page<PrestamoEntity> resultado = jpaRepository.findAll(PrestamoEspecificaciones.cumplen(criterios), pageable);
+        return new PaginaBusquedaPrestamos(
+                resultado.getContent().stream().map(mapeador::toDomain).toList(),
+                pagina, tamanio, resultado.getTotalElements());
+    }
+
+    @Override
+    public void recorrerTodos(Consumer<Prestamo> consumidor) {
+        // Se usa JDBC directo con fetch size fijo: el driver trae las filas por bloques
+        // (cursor del servidor) y ninguna fila queda retenida en un contexto de persistencia
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    SQL_RECORRER_TODOS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportacion.tamanioLoteLectura());
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public void recorrerDocumentos(Consumer<String> consumidor) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    SQL_RECORRER_DOCUMENTOS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportacion.tamanioLoteLectura());
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(rs.getString(1)));
+    }
+
+    @Override
+    public long contar() {
+        return jpaRepository.count();
+    }
+
+    @Override
+    public List<EstadisticaPrestamos> calcularEstadisticas() {
+        return jpaRepository.calcularEstadisticas().stream()
+                .map(fila -> new EstadisticaPrestamos(
+                        (EstadoPrestamo) fila[0],
+                        (String) fila[1],
+                        ((Number) fila[2]).longValue(),
+                        (BigDecimal) fila[3],
+                        (BigDecimal) fila[4],
+                        (BigDecimal) fila[5]))
+                .toList();
+    }
+
+    @Override
+    public boolean existePorDocumento(String documento) {
+        return jpaRepository.existsByDocumentoIdentificativo(documento);
+    }
+
+    @Override
+    public Set<String> buscarDocumentosExistentes(Collection<String> documentos) {
+        if (documentos.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jpaRepository.buscarDocumentosExistentes(documentos));
+    }
+
+    @Override
+    public Map<Long, EstadoPrestamo> buscarEstados(Collection<Long> ids) {
+        Map<Long, EstadoPrestamo> estados = new HashMap<>();
+        for (List<Long> bloque : enBloques(ids)) {
+            for (Object[] fila : jpaRepository.buscarEstados(bloque)) {
+                estados.put((Long) fila[0], (EstadoPrestamo) fila[1]);
+            }
+        }
+        return estados;
+    }
+
+    @Override
+    public Optional<CambioEstadoAplicado> actualizarEstado(Long id, Set<EstadoPrestamo> estadosPermitidos,
+                                                           EstadoPrestamo nuevoEstado, String usuario,
+                                                           LocalDateTime fecha) {
+        return actualizarEstadoCondicional(List.of(id), estadosPermitidos, nuevoEstado, usuario, fecha)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<CambioEstadoAplicado> actualizarEstadoCondicional(Collection<Long> ids,
+                                                                  Set<EstadoPrestamo> estadosPermitidos,
+                                                                  EstadoPrestamo nuevoEstado, String usuario,
+                                                                  LocalDateTime fecha) {
+        List<CambioEstadoAplicado> actualizados = new ArrayList<>();
+        if (estadosPermitidos.isEmpty()) {
+            return actualizados;
+        }
+        for (List<Long> bloque : enBloques(ids)) {
+            MapSqlParameterSource parametros = new MapSqlParameterSource()
+                    .addValue("ids", bloque)
+                    .addValue("estadosPermitidos", estadosPermitidos.stream().map(Enum::name).toList())
+                    .addValue("nuevoEstado", nuevoEstado.name())
+                    .addValue("usuario", usuario)
+                    .addValue("fecha", fecha);
+            actualizados.addAll(dialecto.devuelveValoresAnteriores()
+                    ? actualizarDevolviendoAnterior(parametros)
+                    : bloquearYActualizar(parametros));
+        }
+        return actualizados;
+    }
+
+    /**
+     * Una sola sentencia por bloque: las filas que aún admiten la transición vuelven con sus valores
+     * nuevos y el estado que tenían, sin lectura previa ni posterior.
+     */
+    private List<CambioEstadoAplicado> actualizarDevolviendoAnterior(MapSqlParameterSource parametros) {
+        return namedJdbcTemplate.query(
+                dialecto.actualizarDevolviendoAnterior("prestamos", SQL_ASIGNAR_ESTADO, SQL_CONDICION_ESTADO,
+                        "estado", PrestamoRowMapper.COLUMNAS),
+                parametros,
+                (rs, fila) -> new CambioEstadoAplicado(
+                        ROW_MAPPER.mapRow(rs, fila), EstadoPrestamo.valueOf(rs.getString("estado_anterior"))));
+    }
+
+    /**
+     * H2: se bloquean y leen los estados actuales y después se actualizan las mismas filas.
+     * Los bloqueos impiden que cambien entre las dos sentencias.
+     */
+    private List<CambioEstadoAplicado> bloquearYActualizar(MapSqlParameterSource parametros) {
+        Map<Long, EstadoPrestamo> anteriores = new HashMap<>();
+        namedJdbcTemplate.query(SQL_BLOQUEAR_ESTADOS, parametros, (RowCallbackHandler) rs ->
+                anteriores.put(rs.getLong("id"), EstadoPrestamo.valueOf(rs.getString("estado"))));
+        if (anteriores.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query(
+                        dialecto.actualizarDevolviendo(SQL_ACTUALIZAR_ESTADO, PrestamoRowMapper.COLUMNAS),
+                        parametros, ROW_MAPPER)
+                .stream()
+                .map(prestamo -> new CambioEstadoAplicado(prestamo, anteriores.get(prestamo.getId())))
+                .toList();
+    }
+
+    /**
+     * Traduce el campo de orden del dominio a la propiedad de la entidad; el ID desempata
+     * en la misma dirección para que las páginas sean estables y coincidan con los índices compuestos.
+     */
+    private static Sort ordenDe(CriteriosBusquedaPrestamos criterios) {
+        Sort.Direction direccion = criterios.ascendente() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String propiedad = criterios.orden() == CampoOrdenPrestamos.IMPORTE_SOLICITADO
+                ? "importeSolicitado"
+                : "fechaCreacion";
+        return Sort.by(direccion, propiedad, "id");
+    }
+
+    private static String valoresInsercion(String sufijo) {
+        return "(:nombreSolicitante" + sufijo + ", :importeSolicitado" + sufijo + ", :divisa" + sufijo
+                + ", :documento" + sufijo + ", :estado" + sufijo + ", :fechaCreacion" + sufijo + ")";
+    }
+
+    private static MapSqlParameterSource parametrosInsercion(MapSqlParameterSource parametros, Prestamo prestamo,
+                                                             String sufijo) {
+        return parametros
+                .addValue("nombreSolicitante" + sufijo, prestamo.getNombreSolicitante())
+                .addValue("importeSolicitado" + sufijo, prestamo.getImporteSolicitado())
+                .addValue("divisa" + sufijo, prestamo.getDivisa())
+                .addValue("documento" + sufijo, prestamo.getDocumentoIdentificativo())
+                .addValue("estado" + sufijo, prestamo.getEstado().name())
+                .addValue("fechaCreacion" + sufijo, prestamo.getFechaCreacion());
+    }
+
+    private static <T> List<List<T>> enBloques(Collection<T> elementos) {
+        List<T> todos = new ArrayList<>(elementos);
+        List<List<T>> bloques = new ArrayList<>();
+        for (int inicio = 0; inicio < todos.size(); inicio += TAMANIO_BLOQUE) {
+            bloques.add(todos.subList(inicio, Math.min(inicio + TAMANIO_BLOQUE, todos.size())));
+        }
+        return bloques;
+    }
+}
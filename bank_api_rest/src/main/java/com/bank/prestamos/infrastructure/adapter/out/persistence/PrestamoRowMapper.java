@@ -0,0 +1,35 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Convierte filas de la tabla prestamos directamente en entidades de dominio.
+ * Lo usan las consultas JDBC que evitan el contexto de persistencia de JPA.
+ */
+class PrestamoRowMapper implements RowMapper<Prestamo> {
+
+    static final String COLUMNAS = "id, nombre_solicitante, importe_solicitado, divisa, documento_identificativo, "
+            + "estado, fecha_creacion, fecha_ultima_modificacion, usuario_ultima_modificacion, version";
+
+    @Override
+    public Prestamo mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Prestamo.builder()
+                .id(rs.getLong("id"))
+                .nombreSolicitante(rs.getString("nombre_solicitante"))
+                .importeSolicitado(rs.getBigDecimal("importe_solicitado"))
+                .divisa(rs.getString("divisa"))
+                .documentoIdentificativo(rs.getString("documento_identificativo"))
+                .estado(EstadoPrestamo.valueOf(rs.getString("estado")))
+                .fechaCreacion(rs.getObject("fecha_creacion", LocalDateTime.class))
+                .fechaUltimaModificacion(rs.getObject("fecha_ultima_modificacion", LocalDateTime.class))
+                .usuarioUltimaModificacion(rs.getString("usuario_ultima_modificacion"))
+                .version(rs.getLong("version"))
+                .build();
+    }
+}
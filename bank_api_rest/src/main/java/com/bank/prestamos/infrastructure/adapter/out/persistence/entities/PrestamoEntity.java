@@ -0,0 +1,59 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence.entities;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA que mapea la tabla prestamos.
+ */
+@Entity
+@Table(name = "prestamos")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrestamoEntity {
+
+    /**
+     * Las altas se insertan por JDBC y toman el ID del valor por defecto de la columna, un nextval
+     * de prestamos_seq por fila; la secuencia avanza de uno en uno (V9) para no saltarse IDs.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prestamos_seq")
+    @SequenceGenerator(name = "prestamos_seq", sequenceName = "prestamos_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "nombre_solicitante", nullable = false)
+    private String nombreSolicitante;
+
+    @Column(name = "importe_solicitado", nullable = false, precision = 15, scale = 2)
+    private BigDecimal importeSolicitado;
+
+    @Column(name = "divisa", nullable = false, length = 3)
+    private String divisa;
+
+    @Column(name = "documento_identificativo", nullable = false, unique = true, length = 20)
+    private String documentoIdentificativo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoPrestamo estado;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_ultima_modificacion")
+    private LocalDateTime fechaUltimaModificacion;
+
+    @Column(name = "usuario_ultima_modificacion")
+    private String usuarioUltimaModificacion;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
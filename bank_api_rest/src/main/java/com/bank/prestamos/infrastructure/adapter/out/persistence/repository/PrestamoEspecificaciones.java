@@ -0,0 +1,52 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence.repository;
+
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.entities.PrestamoEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Construye la consulta dinámica de la búsqueda filtrada de préstamos.
+ * Solo se añaden los predicados de los filtros informados, de modo que cada combinación
+ * genera una sentencia distinta que el optimizador puede resolver con el índice compuesto
+ * más adecuado (ver V5__indices_busqueda_prestamos.sql).
+ */
+public final class PrestamoEspecificaciones {
+
+    private PrestamoEspecificaciones() {
+    }
+
+    /**
+     * Especificación que cumplen los préstamos que satisfacen todos los criterios informados.
+     *
+     * @param criterios Criterios de la búsqueda
+     * @return La especificación combinada con AND
+     */
+    public static Specification<PrestamoEntity> cumplen(CriteriosBusquedaPrestamos criterios) {
+        return (raiz, consulta, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (criterios.estado() != null) {
+                predicados.add(cb.equal(raiz.get("estado"), criterios.estado()));
+            }
+            if (criterios.divisa() != null) {
+                predicados.add(cb.equal(raiz.get("divisa"), criterios.divisa()));
+            }
+            if (criterios.fechaCreacionDesde() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(raiz.get("fechaCreacion"), criterios.fechaCreacionDesde()));
+            }
+            if (criterios.fechaCreacionHasta() != null) {
+                predicados.add(cb.lessThanOrEqualTo(raiz.get("fechaCreacion"), criterios.fechaCreacionHasta()));
+            }
+            if (criterios.importeMinimo() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(raiz.get("importeSolicitado"), criterios.importeMinimo()));
+            }
+            if (criterios.importeMaximo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(raiz.get("importeSolicitado"), criterios.importeMaximo()));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence.repository;
+
+import com.bank.prestamos.infrastructure.adapter.out.persistence.entities.PrestamoEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio Spring Data JPA para la entidad PrestamoEntity.
+ * Las búsquedas filtradas se construyen con {@link PrestamoEspecificaciones}.
+ */
+public interface PrestamoJpaRepository extends JpaRepository<PrestamoEntity, Long>,
+        JpaSpecificationExecutor<PrestamoEntity> {
+
+    boolean existsByDocumentoIdentificativo(String documentoIdentificativo);
+
+    @Query("SELECT p.documentoIdentificativo FROM PrestamoEntity p WHERE p.documentoIdentificativo IN :documentos")
+    List<String> buscarDocumentosExistentes(@Param("documentos") Collection<String> documentos);
+
+    /**
+     * Primera página del listado ordenado por fecha de creación descendente.
+     */
+    @Query("SELECT p FROM PrestamoEntity p ORDER BY p.fechaCreacion DESC, p.id DESC")
+    List<PrestamoEntity> buscarPrimeraPagina(Pageable pageable);
+
+    /**
+     * Página siguiente a la posición (fechaCreacion, id) indicada.
+     * El predicado por clave permite recorrer el índice idx_prestamos_fecha_creacion
+     * sin OFFSET, por lo que el coste no depende de la profundidad de la página.
+     */
+    @Query("SELECT p FROM PrestamoEntity p "
+            + "WHERE p.fechaCreacion < :fechaCreacion "
+            + "OR (p.fechaCreacion = :fechaCreacion AND p.id < :id) "
+            + "ORDER BY p.fechaCreacion DESC, p.id DESC")
+    List<PrestamoEntity> buscarPaginaDespuesDe(
+            @Param("fechaCreacion") LocalDateTime fechaCreacion,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT p.version FROM PrestamoEntity p WHERE p.id = :id")
+    Optional<Long> buscarVersion(@Param("id") Long id);
+
+    /**
+     * Pares (id, version) de la primera página, con el mismo orden que {@link #buscarPrimeraPagina}.
+     */
+    @Query("SELECT p.id, p.version FROM PrestamoEntity p ORDER BY p.fechaCreacion DESC, p.id DESC")
+    List<Object[]> buscarVersionesPrimeraPagina(Pageable pageable);
+
+    /**
+     * Pares (id, version) de la página siguiente a la posición indicada, como {@link #buscarPaginaDespuesDe}.
+     */
+    @Query("SELECT p.id, p.version FROM PrestamoEntity p "
+            + "WHERE p.fechaCreacion < :fechaCreacion "
+            + "OR (p.fechaCreacion = :fechaCreacion AND p.id < :id) "
+            + "ORDER BY p.fechaCreacion DESC, p.id DESC")
+    List<Object[]> buscarVersionesDespuesDe(
+            @Param("fechaCreacion") LocalDateTime fechaCreacion,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT p.estado, p.divisa, COUNT(p), SUM(p.importeSolicitado), "
+            + "MIN(p.importeSolicitado), MAX(p.importeSolicitado) "
+            + "FROM PrestamoEntity p GROUP BY p.estado, p.divisa")
+    List<Object[]> calcularEstadisticas();
+
+    @Query("SELECT p.id, p.estado FROM PrestamoEntity p WHERE p.id IN :ids")
+    List<Object[]> buscarEstados(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,202 @@
+package com.bank.prestamos.infrastructure.adapter.out.r2dbc;
+
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoReactivoRepositoryPort;
+import com.bank.prestamos.infrastructure.configuracion.ExportacionProperties;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcException;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Adaptador de persistencia no bloqueante sobre R2DBC. Usa las mismas sentencias que el adaptador
+ * JDBC: alta y cambio de estado devuelven la fila, y el cambio también el estado anterior, en el mismo
+ * viaje a la base de datos.
+ * Se soportan PostgreSQL (r2dbc-postgresql) y H2 (r2dbc-h2).
+ */
+@Component
+@ConditionalOnProperty(prefix = "prestamos.reactivo", name = "habilitado", havingValue = "true")
+public class PrestamoR2dbcAdapter implements PrestamoReactivoRepositoryPort {
+
+    private static final String COLUMNAS = "id, nombre_solicitante, importe_solicitado, divisa, "
+            + "documento_identificativo, estado, fecha_creacion, fecha_ultima_modificacion, "
+            + "usuario_ultima_modificacion, version";
+
+    private static final String SQL_INSERTAR = "INSERT INTO prestamos (nombre_solicitante, importe_solicitado, "
+            + "divisa, documento_identificativo, estado, fecha_creacion) "
+            + "VALUES (:nombreSolicitante, :importeSolicitado, :divisa, :documento, :estado, :fechaCreacion)";
+
+    private static final String SQL_ASIGNAR_ESTADO = "UPDATE prestamos SET estado = :nuevoEstado, "
+            + "fecha_ultima_modificacion = :fecha, usuario_ultima_modificacion = :usuario, version = version + 1 ";
+
+    private static final String SQL_ACTUALIZAR_ESTADO = SQL_ASIGNAR_ESTADO
+            + "WHERE id = :id AND estado IN (:estadosPermitidos)";
+
+    /**
+     * PostgreSQL: RETURNING solo ve la fila nueva, así que el estado anterior sale de la subconsulta
+     * que bloquea la fila (como DialectoSql.actualizarDevolviendoAnterior en el adaptador JDBC).
+     */
+    private static final String SQL_ACTUALIZAR_ESTADO_DEVOLVIENDO_ANTERIOR = SQL_ASIGNAR_ESTADO
+            + "FROM (SELECT id AS id_anterior, estado AS estado_anterior FROM prestamos "
+            + "WHERE id = :id AND estado IN (:estadosPermitidos) FOR UPDATE) anterior "
+            + "WHERE prestamos.id = anterior.id_anterior RETURNING " + COLUMNAS + ", anterior.estado_anterior";
+
+    private static final String SQL_BUSCAR_POR_ID = "SELECT " + COLUMNAS + " FROM prestamos WHERE id = :id";
+
+    private static final String SQL_BUSCAR_ESTADO = "SELECT estado FROM prestamos WHERE id = :id";
+
+    private static final String SQL_PRIMERA_PAGINA = "SELECT " + COLUMNAS + " FROM prestamos "
+            + "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite";
+
+    private static final String SQL_PAGINA_DESPUES_DE = "SELECT " + COLUMNAS + " FROM prestamos "
+            + "WHERE fecha_creacion < :fechaCreacion OR (fecha_creacion = :fechaCreacion AND id < :id) "
+            + "ORDER BY fecha_creacion DESC, id DESC LIMIT :limite";
+
+    private static final String SQL_RECORRER_TODOS = "SELECT " + COLUMNAS + " FROM prestamos ORDER BY id";
+
+    private static final int H2_ACTUALIZACION_CONCURRENTE = 90131;
+
+    private final DatabaseClient cliente;
+    private final ExportacionProperties exportacion;
+    private final boolean postgres;
+
+    public PrestamoR2dbcAdapter(ConnectionFactory connectionFactory, ExportacionProperties exportacion) {
+        this.cliente = DatabaseClient.create(connectionFactory);
+        this.exportacion = exportacion;
+        this.postgres = "PostgreSQL".equalsIgnoreCase(connectionFactory.getMetadata().getName());
+    }
+
+    @Override
+    public Mono<Prestamo> insertar(Prestamo prestamo) {
+        String sql = postgres
+                ? SQL_INSERTAR + " ON CONFLICT (documento_identificativo) DO NOTHING RETURNING " + COLUMNAS
+                : "SELECT " + COLUMNAS + " FROM FINAL TABLE (" + SQL_INSERTAR + ")";
+        return cliente.sql(sql)
+                .bind("nombreSolicitante", prestamo.getNombreSolicitante())
+                .bind("importeSolicitado", prestamo.getImporteSolicitado())
+                .bind("divisa", prestamo.getDivisa())
+                .bind("documento", prestamo.getDocumentoIdentificativo())
+                .bind("estado", prestamo.getEstado().name())
+                .bind("fechaCreacion", prestamo.getFechaCreacion())
+                .map(PrestamoR2dbcAdapter::mapear)
+                .one()
+                .onErrorMap(this::esViolacionUnicidad,
+                        ex -> new DocumentoDuplicadoException(prestamo.getDocumentoIdentificativo()))
+                .switchIfEmpty(Mono.error(() -> new DocumentoDuplicadoException(prestamo.getDocumentoIdentificativo())));
+    }
+
+    @Override
+    public Mono<Prestamo> buscarPorId(Long id) {
+        return cliente.sql(SQL_BUSCAR_POR_ID)
+                .bind("id", id)
+                .map(PrestamoR2dbcAdapter::mapear)
+                .one();
+    }
+
+    @Override
+    public Flux<Prestamo> buscarPagina(CursorPrestamo cursor, int limite) {
+        DatabaseClient.GenericExecuteSpec consulta = cursor == null
+                ? cliente.sql(SQL_PRIMERA_PAGINA)
+                : cliente.sql(SQL_PAGINA_DESPUES_DE)
+                        .bind("fechaCreacion", cursor.fechaCreacion())
+                        .bind("id", cursor.id());
+        return consulta.bind("limite", limite)
+                .map(PrestamoR2dbcAdapter::mapear)
+                .all();
+    }
+
+    @Override
+    public Flux<Prestamo> buscarTodos() {
+        // El driver pide las filas por bloques según la demanda del suscriptor: un cliente lento
+        // frena la lectura en lugar de acumular filas en memoria
+        return cliente.sql(SQL_RECORRER_TODOS)
+                .filter(sentencia -> sentencia.fetchSize(exportacion.tamanioLoteLectura()))
+                .map(PrestamoR2dbcAdapter::mapear)
+                .all();
+    }
+
+    @Override
+    public Mono<EstadoPrestamo> buscarEstado(Long id) {
+        return cliente.sql(SQL_BUSCAR_ESTADO)
+                .bind("id", id)
+                .map(fila -> EstadoPrestamo.valueOf(fila.get("estado", String.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<CambioEstadoAplicado> actualizarEstado(Long id, Set<EstadoPrestamo> estadosPermitidos,
+                                                       EstadoPrestamo nuevoEstado, String usuario,
+                                                       LocalDateTime fecha) {
+        if (estadosPermitidos.isEmpty()) {
+            return Mono.empty();
+        }
+        // En H2 la fila vuelve como era antes (OLD TABLE) y los valores nuevos son los que fija la sentencia
+        String sql = postgres
+                ? SQL_ACTUALIZAR_ESTADO_DEVOLVIENDO_ANTERIOR
+                : "SELECT " + COLUMNAS + " FROM OLD TABLE (" + SQL_ACTUALIZAR_ESTADO + ")";
+        return cliente.sql(sql)
+                .bind("id", id)
+                .bind("estadosPermitidos", estadosPermitidos.stream().map(Enum::name).toList())
+                .bind("nuevoEstado", nuevoEstado.name())
+                .bind("usuario", usuario)
+                .bind("fecha", fecha)
+                .map(fila -> postgres
+                        ? new CambioEstadoAplicado(mapear(fila),
+                                EstadoPrestamo.valueOf(fila.get("estado_anterior", String.class)))
+                        : desdeFilaAnterior(mapear(fila), nuevoEstado, usuario, fecha))
+                .one();
+    }
+
+    /**
+     * Como en el adaptador JDBC, en H2 un alta concurrente con la misma clave falla con el código 90131.
+     */
+    private boolean esViolacionUnicidad(Throwable ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        return !postgres
+                && ex instanceof DataAccessException acceso
+                && acceso.getMostSpecificCause() instanceof R2dbcException causa
+                && causa.getErrorCode() == H2_ACTUALIZACION_CONCURRENTE;
+    }
+
+    private static CambioEstadoAplicado desdeFilaAnterior(Prestamo anterior, EstadoPrestamo nuevoEstado,
+                                                          String usuario, LocalDateTime fecha) {
+        Prestamo actualizado = anterior.toBuilder()
+                .estado(nuevoEstado)
+                .fechaUltimaModificacion(fecha)
+                .usuarioUltimaModificacion(usuario)
+                .version(anterior.getVersion() + 1)
+                .build();
+        return new CambioEstadoAplicado(actualizado, anterior.getEstado());
+    }
+
+    private static Prestamo mapear(Readable fila) {
+        return Prestamo.builder()
+                .id(fila.get("id", Long.class))
+                .nombreSolicitante(fila.get("nombre_solicitante", String.class))
+                .importeSolicitado(fila.get("importe_solicitado", BigDecimal.class))
+                .divisa(fila.get("divisa", String.class))
+                .documentoIdentificativo(fila.get("documento_identificativo", String.class))
+                .estado(EstadoPrestamo.valueOf(fila.get("estado", String.class)))
+                .fechaCreacion(fila.get("fecha_creacion", LocalDateTime.class))
+                .fechaUltimaModificacion(fila.get("fecha_ultima_modificacion", LocalDateTime.class))
+                .usuarioUltimaModificacion(fila.get("usuario_ultima_modificacion", String.class))
+                .version(fila.get("version", Long.class))
+                .build();
+    }
+}
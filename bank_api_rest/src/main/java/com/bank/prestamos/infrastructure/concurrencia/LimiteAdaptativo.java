@@ -0,0 +1,115 @@
+package com.bank.prestamos.infrastructure.concurrencia;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia que se ajusta con AIMD (incremento aditivo, reducción multiplicativa),
+ * como el control de congestión de TCP.
+ * <p>
+ * Cada petición terminada es una muestra: si tardó más que la latencia objetivo o falló por
+ * sobrecarga, el límite se multiplica por el factor de reducción; si fue rápida y el límite se estaba
+ * usando al menos a la mitad, crece en uno. Sin demanda no crece, porque una petición rápida con el
+ * límite casi vacío no demuestra que el sistema admita más. Las peticiones que superan el límite no
+ * esperan: {@link #intentarAdquirir()} devuelve false y se rechazan de inmediato.
+ * <p>
+ * Como TCP, reduce como mucho una vez por ventana de ida y vuelta: solo las peticiones que empezaron
+ * después de la última reducción pueden provocar otra. Las que ya estaban en curso vieron la carga
+ * anterior; si cada una redujera, una única racha lenta hundiría el límite hasta el mínimo.
+ */
+public class LimiteAdaptativo {
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaObjetivoNanos;
+    private final double factorReduccion;
+    private final LongSupplier relojNanos;
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private double limite;
+    private volatile int limiteActual;
+    private long ultimaReduccionNanos = Long.MIN_VALUE;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, Duration latenciaObjetivo, double factorReduccion) {
+        this(inicial, minimo, maximo, latenciaObjetivo, factorReduccion, System::nanoTime);
+    }
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo, Duration latenciaObjetivo, double factorReduccion,
+                     LongSupplier relojNanos) {
+        if (minimo < 1 || minimo > maximo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("Se requiere 1 <= mínimo <= inicial <= máximo");
+        }
+        if (factorReduccion <= 0 || factorReduccion >= 1) {
+            throw new IllegalArgumentException("El factor de reducción debe estar entre 0 y 1");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaObjetivoNanos = latenciaObjetivo.toNanos();
+        this.factorReduccion = factorReduccion;
+        this.relojNanos = relojNanos;
+        this.limite = inicial;
+        this.limiteActual = inicial;
+    }
+
+    /**
+     * Reserva un hueco si hay menos peticiones en curso que el límite actual.
+     *
+     * @return true si la petición puede continuar; en ese caso debe llamarse después a {@link #liberar}
+     */
+    public boolean intentarAdquirir() {
+        while (true) {
+            int actuales = enCurso.get();
+            if (actuales >= limiteActual) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actuales, actuales + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco de una petición terminada y ajusta el límite con su resultado.
+     *
+     * @param duracionNanos Duración de la petición
+     * @param sobrecarga true si la petición falló por falta de recursos aguas abajo
+     */
+    public void liberar(long duracionNanos, boolean sobrecarga) {
+        ajustar(enCurso.getAndDecrement(), duracionNanos, sobrecarga, true);
+    }
+
+    /**
+     * Libera el hueco de una petición cuya duración no refleja la salud del sistema (un lote, una espera
+     * a otra petición): no hace crecer el límite ni lo reduce por latencia, solo por sobrecarga.
+     *
+     * @param duracionNanos Duración de la petición
+     * @param sobrecarga true si la petición falló por falta de recursos aguas abajo
+     */
+    public void liberarSinMedir(long duracionNanos, boolean sobrecarga) {
+        ajustar(enCurso.getAndDecrement(), duracionNanos, sobrecarga, false);
+    }
+
+    private synchronized void ajustar(int enCursoAlTerminar, long duracionNanos, boolean sobrecarga,
+                                      boolean medirLatencia) {
+        long ahora = relojNanos.getAsLong();
+        if (sobrecarga || (medirLatencia && duracionNanos > latenciaObjetivoNanos)) {
+            // Solo reduce una petición que empezó después de la última reducción
+            if (ahora - duracionNanos >= ultimaReduccionNanos) {
+                limite = Math.max(minimo, limite * factorReduccion);
+                ultimaReduccionNanos = ahora;
+            }
+        } else if (medirLatencia && enCursoAlTerminar * 2 >= limite) {
+            limite = Math.min(maximo, limite + 1);
+        }
+        limiteActual = (int) limite;
+    }
+
+    public int limite() {
+        return limiteActual;
+    }
+
+    public int enCurso() {
+        return enCurso.get();
+    }
+}
@@ -0,0 +1,134 @@
+package com.bank.prestamos.infrastructure.concurrencia;
+
+import com.bank.prestamos.infrastructure.configuracion.LimiteAdaptativoProperties;
+import com.bank.prestamos.infrastructure.excepcion.ServicioSobrecargadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+
+/**
+ * Limita las peticiones que atiende a la vez PrestamoController con un {@link LimiteAdaptativo} para las
+ * lecturas y otro para las escrituras, de modo que una avalancha de consultas no deje sin hueco a las altas.
+ * <p>
+ * Cuando la base de datos se ralentiza, las peticiones tardan más que la latencia objetivo y el límite
+ * baja; las que no caben se rechazan al instante con 503 y Retry-After en lugar de acumularse en Tomcat
+ * hasta agotar el connection-timeout de Hikari. Además de la latencia, cuentan como sobrecarga los errores
+ * de acceso a datos por falta de conexión, bloqueos o tiempos de espera.
+ * <p>
+ * La exportación queda fuera: escribe la respuesta después de salir del método del controlador
+ * y su duración no dice nada de la salud de la base de datos. Los lotes y las altas que esperan a otra
+ * con la misma Idempotency-Key ocupan hueco, pero su duración no cuenta como muestra de latencia: superan
+ * la latencia objetivo sin que el sistema esté sobrecargado.
+ */
+@Aspect
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "prestamos.limite-adaptativo", name = "habilitado", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class LimiteAdaptativoAspect {
+
+    private static final Set<String> LOTES = Set.of("crearPrestamosLote", "cambiarEstadoPrestamosLote");
+    private static final String ATRIBUTO_SIN_MUESTRA = LimiteAdaptativoAspect.class.getName() + ".sinMuestra";
+
+    private final LimiteAdaptativo lecturas;
+    private final LimiteAdaptativo escrituras;
+    private final LimiteAdaptativoProperties propiedades;
+    private final Counter rechazosLecturas;
+    private final Counter rechazosEscrituras;
+
+    public LimiteAdaptativoAspect(LimiteAdaptativoProperties propiedades, MeterRegistry registro) {
+        this.propiedades = propiedades;
+        this.lecturas = new LimiteAdaptativo(propiedades.limiteInicialLecturas(), propiedades.limiteMinimo(),
+                propiedades.limiteMaximoLecturas(), propiedades.latenciaObjetivo(), propiedades.factorReduccion());
+        this.escrituras = new LimiteAdaptativo(propiedades.limiteInicialEscrituras(), propiedades.limiteMinimo(),
+                propiedades.limiteMaximoEscrituras(), propiedades.latenciaObjetivo(), propiedades.factorReduccion());
+        this.rechazosLecturas = registrarMetricas(registro, "lectura", lecturas);
+        this.rechazosEscrituras = registrarMetricas(registro, "escritura", escrituras);
+        log.info("Límite adaptativo de peticiones: {} lecturas y {} escrituras iniciales, latencia objetivo {}",
+                lecturas.limite(), escrituras.limite(), propiedades.latenciaObjetivo());
+    }
+
+    @Around("within(com.bank.prestamos.infrastructure.adapter.in.rest.controller.PrestamoController) "
+            + "&& execution(public * *(..)) && !execution(* exportarPrestamos(..))")
+    public Object limitar(ProceedingJoinPoint punto) throws Throwable {
+        boolean lectura = AnnotatedElementUtils.hasAnnotation(
+                ((MethodSignature) punto.getSignature()).getMethod(), GetMapping.class);
+        LimiteAdaptativo limite = lectura ? lecturas : escrituras;
+        if (!limite.intentarAdquirir()) {
+            (lectura ? rechazosLecturas : rechazosEscrituras).increment();
+            throw new ServicioSobrecargadoException(
+                    "El servicio está saturado, vuelva a intentarlo más tarde", propiedades.reintentarTras());
+        }
+        long inicio = System.nanoTime();
+        boolean sobrecarga = false;
+        try {
+            return punto.proceed();
+        } catch (Throwable ex) {
+            sobrecarga = esSobrecarga(ex);
+            throw ex;
+        } finally {
+            long duracion = System.nanoTime() - inicio;
+            if (LOTES.contains(punto.getSignature().getName()) || muestraDescartada()) {
+                limite.liberarSinMedir(duracion, sobrecarga);
+            } else {
+                limite.liberar(duracion, sobrecarga);
+            }
+        }
+    }
+
+    /**
+     * Marca la petición en curso para que su duración no cuente como muestra de latencia, por ejemplo
+     * porque ha esperado a otra petición. Fuera de una petición no hace nada.
+     */
+    public static void descartarMuestra() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion != null) {
+            peticion.setAttribute(ATRIBUTO_SIN_MUESTRA, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean muestraDescartada() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        return peticion != null
+                && peticion.getAttribute(ATRIBUTO_SIN_MUESTRA, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private static boolean esSobrecarga(Throwable ex) {
+        return ex instanceof DataAccessResourceFailureException
+                || ex instanceof TransientDataAccessException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private static Counter registrarMetricas(MeterRegistry registro, String tipo, LimiteAdaptativo limite) {
+        Gauge.builder("prestamos.concurrencia.limite", limite, LimiteAdaptativo::limite)
+                .description("Peticiones concurrentes admitidas por el límite adaptativo")
+                .tag("tipo", tipo)
+                .register(registro);
+        Gauge.builder("prestamos.concurrencia.en.curso", limite, LimiteAdaptativo::enCurso)
+                .description("Peticiones en curso dentro del límite adaptativo")
+                .tag("tipo", tipo)
+                .register(registro);
+        return Counter.builder("prestamos.concurrencia.rechazos")
+                .description("Peticiones rechazadas al instante por superar el límite adaptativo")
+                .tag("tipo", tipo)
+                .register(registro);
+    }
+}
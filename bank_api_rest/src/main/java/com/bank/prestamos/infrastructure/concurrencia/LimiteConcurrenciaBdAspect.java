@@ -0,0 +1,77 @@
+package com.bank.prestamos.infrastructure.concurrencia;
+
+import com.bank.prestamos.infrastructure.configuracion.ConcurrenciaBdProperties;
+import com.bank.prestamos.infrastructure.excepcion.ServicioSobrecargadoException;
+import com.bank.prestamos.infrastructure.metricas.MetricasCasosUsoAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita los casos de uso que acceden a la vez al puerto de persistencia al tamaño del pool de conexiones.
+ * <p>
+ * Con hilos virtuales cada petición tiene su propio hilo y ya no es el pool de Tomcat el que
+ * acota la concurrencia: sin este límite, miles de peticiones esperarían a la vez una conexión de
+ * Hikari hasta agotar su connection-timeout. Aquí esperan un permiso de un semáforo justo durante
+ * {@code esperaMaxima} y, si no lo obtienen, se rechazan con 503 y Retry-After.
+ * <p>
+ * Se aplica alrededor del caso de uso y no de cada llamada al puerto porque la transacción de
+ * PrestamoService toma la conexión al empezar; por eso se ordena entre las métricas y la transacción.
+ */
+@Aspect
+@Component
+@Order(LimiteConcurrenciaBdAspect.ORDEN)
+@ConditionalOnProperty(prefix = "prestamos.concurrencia-bd", name = "habilitado", havingValue = "true")
+@Slf4j
+public class LimiteConcurrenciaBdAspect {
+
+    public static final int ORDEN = MetricasCasosUsoAspect.ORDEN + 10;
+
+    private final Semaphore permisos;
+    private final ConcurrenciaBdProperties propiedades;
+    private final Counter rechazos;
+
+    public LimiteConcurrenciaBdAspect(ConcurrenciaBdProperties propiedades,
+                                      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanioPool,
+                                      MeterRegistry registro) {
+        int total = propiedades.permisos() > 0 ? propiedades.permisos() : tamanioPool;
+        this.permisos = new Semaphore(total, true);
+        this.propiedades = propiedades;
+        Gauge.builder("prestamos.concurrencia.bd.disponibles", permisos, Semaphore::availablePermits)
+                .description("Permisos libres para acceder a la base de datos")
+                .register(registro);
+        Gauge.builder("prestamos.concurrencia.bd.en.espera", permisos, Semaphore::getQueueLength)
+                .description("Casos de uso esperando un permiso para acceder a la base de datos")
+                .register(registro);
+        this.rechazos = Counter.builder("prestamos.concurrencia.bd.rechazos")
+                .description("Peticiones rechazadas por superar la espera máxima de un permiso")
+                .register(registro);
+        log.info("Concurrencia contra la base de datos limitada a {} casos de uso", total);
+    }
+
+    @Around("execution(* com.bank.prestamos.domain.ports.in.*.*(..)) "
+            + "&& target(com.bank.prestamos.application.services.PrestamoService)")
+    public Object limitar(ProceedingJoinPoint punto) throws Throwable {
+        if (!permisos.tryAcquire(propiedades.esperaMaxima().toMillis(), TimeUnit.MILLISECONDS)) {
+            rechazos.increment();
+            throw new ServicioSobrecargadoException(
+                    "El servicio está saturado, vuelva a intentarlo más tarde", propiedades.reintentarTras());
+        }
+        try {
+            return punto.proceed();
+        } finally {
+            permisos.release();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import com.bank.prestamos.domain.models.Prestamo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Define la caché de préstamos por ID. Con prestamos.cache.habilitada=false no se registra
+ * y {@link PersistenciaPrestamosConfig} no la coloca delante del adaptador de persistencia.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "prestamos.cache", name = "habilitada", havingValue = "true", matchIfMissing = true)
+public class CachePrestamosConfig {
+
+    static final String NOMBRE_CACHE = "prestamos";
+
+    @Bean
+    public Cache<Long, Prestamo> cachePrestamos(CacheProperties propiedades, MeterRegistry registro) {
+        Cache<Long, Prestamo> cache = Caffeine.newBuilder()
+                .maximumSize(propiedades.tamanioMaximo())
+                .expireAfterWrite(propiedades.expiracion())
+                .recordStats()
+                .build();
+        // Publica aciertos, fallos y expulsiones como métricas cache.* con cache=prestamos
+        CaffeineCacheMetrics.monitor(registro, cache, NOMBRE_CACHE);
+        return cache;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de préstamos por ID.
+ *
+ * @param habilitada Si es false, el puerto de persistencia se usa sin caché
+ * @param tamanioMaximo Número máximo de préstamos en caché; al superarlo se expulsan según W-TinyLFU
+ * @param expiracion Tiempo máximo que una entrada permanece en caché desde que se cargó
+ */
+@ConfigurationProperties(prefix = "prestamos.cache")
+public record CacheProperties(
+        @DefaultValue("true") boolean habilitada,
+        @DefaultValue("10000") long tamanioMaximo,
+        @DefaultValue("5m") Duration expiracion) {
+}
@@ -0,0 +1,22 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Límite de casos de uso ejecutándose a la vez contra la base de datos.
+ *
+ * @param habilitado Si es true, los casos de uso esperan un permiso antes de abrir su transacción
+ * @param permisos Permisos disponibles; con 0 se usa spring.datasource.hikari.maximum-pool-size
+ * @param esperaMaxima Tiempo máximo de espera por un permiso antes de rechazar la petición
+ * @param reintentarTras Valor de la cabecera Retry-After de las peticiones rechazadas
+ */
+@ConfigurationProperties(prefix = "prestamos.concurrencia-bd")
+public record ConcurrenciaBdProperties(
+        @DefaultValue("false") boolean habilitado,
+        @DefaultValue("0") int permisos,
+        @DefaultValue("2s") Duration esperaMaxima,
+        @DefaultValue("1s") Duration reintentarTras) {
+}
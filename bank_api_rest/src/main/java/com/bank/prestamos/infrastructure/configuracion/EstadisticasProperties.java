@@ -0,0 +1,16 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las estadísticas de la cartera en memoria.
+ *
+ * @param intervaloReconciliacion Tiempo entre dos comprobaciones de los contadores contra la base de datos
+ */
+@ConfigurationProperties(prefix = "prestamos.estadisticas")
+public record EstadisticasProperties(
+        @DefaultValue("5m") Duration intervaloReconciliacion) {
+}
@@ -0,0 +1,14 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración de la exportación masiva de préstamos.
+ *
+ * @param tamanioLoteLectura Filas que el driver JDBC trae del servidor en cada viaje (fetch size)
+ */
+@ConfigurationProperties(prefix = "prestamos.exportacion")
+public record ExportacionProperties(
+        @DefaultValue("500") int tamanioLoteLectura) {
+}
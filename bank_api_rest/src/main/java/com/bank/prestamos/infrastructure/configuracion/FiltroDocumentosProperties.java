@@ -0,0 +1,20 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración del filtro de Bloom sobre documentos identificativos.
+ *
+ * @param habilitado Si es false, toda comprobación de duplicados consulta la base de datos
+ * @param capacidadMinima Elementos mínimos para los que se dimensiona el filtro
+ * @param factorCrecimiento Margen sobre el número de préstamos existentes al construir el filtro
+ * @param tasaFalsosPositivos Tasa de falsos positivos objetivo al alcanzar la capacidad
+ */
+@ConfigurationProperties(prefix = "prestamos.filtro-documentos")
+public record FiltroDocumentosProperties(
+        @DefaultValue("true") boolean habilitado,
+        @DefaultValue("100000") long capacidadMinima,
+        @DefaultValue("2.0") double factorCrecimiento,
+        @DefaultValue("0.01") double tasaFalsosPositivos) {
+}
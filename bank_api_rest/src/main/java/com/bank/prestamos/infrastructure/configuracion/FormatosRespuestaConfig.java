@@ -0,0 +1,54 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import com.bank.prestamos.infrastructure.adapter.in.rest.formatos.FormatosRespuesta;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registra CBOR y Smile como formatos negociables con la cabecera Accept.
+ * Spring MVC y WebFlux ya traen convertidores para ellos cuando las librerías están en el classpath,
+ * pero con un ObjectMapper propio que ignora spring.jackson.*; aquí se sustituyen por los de
+ * {@link FormatosRespuesta} para que fechas e importes se codifiquen igual que en JSON.
+ */
+@Configuration
+public class FormatosRespuestaConfig {
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class FormatosServlet {
+
+        // Spring Boot coloca estos beans en lugar de los convertidores por defecto del mismo tipo
+        @Bean
+        public MappingJackson2CborHttpMessageConverter convertidorCbor(FormatosRespuesta formatos) {
+            return new MappingJackson2CborHttpMessageConverter(formatos.cbor());
+        }
+
+        @Bean
+        public MappingJackson2SmileHttpMessageConverter convertidorSmile(FormatosRespuesta formatos) {
+            return new MappingJackson2SmileHttpMessageConverter(formatos.smile());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class FormatosReactivos {
+
+        @Bean
+        public CodecCustomizer codecsFormatosBinarios(FormatosRespuesta formatos) {
+            return configurador -> {
+                configurador.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(formatos.smile()));
+                configurador.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(formatos.smile()));
+                configurador.customCodecs().register(new Jackson2CborEncoder(formatos.cbor()));
+                configurador.customCodecs().register(new Jackson2CborDecoder(formatos.cbor()));
+            };
+        }
+    }
+}
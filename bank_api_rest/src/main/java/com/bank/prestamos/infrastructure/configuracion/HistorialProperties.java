@@ -0,0 +1,41 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del historial de cambios de estado.
+ *
+ * @param modo Durabilidad de la escritura del historial
+ * @param capacidadCola Registros pendientes como máximo en modo ASINCRONO
+ * @param tamanioLote Registros por sentencia INSERT por lotes
+ * @param reintentos Reintentos del escritor para un lote fallido antes de escribir sus registros uno a uno
+ * @param esperaReintento Pausa del escritor entre reintentos; el hilo de la petición nunca espera
+ */
+@ConfigurationProperties(prefix = "prestamos.historial")
+public record HistorialProperties(
+        @DefaultValue("TRANSACCIONAL") ModoDurabilidad modo,
+        @DefaultValue("10000") int capacidadCola,
+        @DefaultValue("500") int tamanioLote,
+        @DefaultValue("3") int reintentos,
+        @DefaultValue("1s") Duration esperaReintento) {
+
+    /**
+     * Momento y forma en que se escribe el historial.
+     */
+    public enum ModoDurabilidad {
+        /**
+         * En la misma transacción que el cambio de estado: o se guardan ambos o ninguno,
+         * a costa de que la petición espere al INSERT.
+         */
+        TRANSACCIONAL,
+        /**
+         * Tras el commit, por un escritor en segundo plano que agrupa los registros en lotes.
+         * La petición no espera, pero los registros aún en cola se pierden si el proceso muere
+         * sin apagarse de forma ordenada.
+         */
+        ASINCRONO
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las claves de idempotencia de las altas (cabecera Idempotency-Key).
+ *
+ * @param expiracion Tiempo durante el que se reconoce una clave y se devuelve la respuesta guardada
+ * @param capacidadMemoria Respuestas mantenidas en memoria; las demás se leen de la base de datos
+ * @param esperaMaxima Espera máxima de una petición por otra en curso con la misma clave
+ * @param intervaloLimpieza Pausa entre dos borrados de las respuestas caducadas
+ */
+@ConfigurationProperties(prefix = "prestamos.idempotencia")
+public record IdempotenciaProperties(
+        @DefaultValue("24h") Duration expiracion,
+        @DefaultValue("10000") long capacidadMemoria,
+        @DefaultValue("10s") Duration esperaMaxima,
+        @DefaultValue("1h") Duration intervaloLimpieza) {
+}
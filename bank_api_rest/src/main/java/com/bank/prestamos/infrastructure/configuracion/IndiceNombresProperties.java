@@ -0,0 +1,38 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del índice en memoria de nombres de solicitantes.
+ *
+ * @param resultadosPorDefecto Coincidencias devueltas cuando el cliente no indica límite
+ * @param resultadosMaximos Límite superior aplicado a cualquier límite solicitado
+ * @param similitudMinima Fracción de trigramas del texto buscado que debe contener un nombre para coincidir
+ * @param candidatosMaximos Nombres evaluados como máximo por búsqueda (los más recientes); acota el coste de los
+ *                          textos muy comunes, cuya ordenación pasa a ser aproximada
+ * @param reintentarTras Espera sugerida al cliente si busca mientras el índice se construye
+ */
+@ConfigurationProperties(prefix = "prestamos.indice-nombres")
+public record IndiceNombresProperties(
+        @DefaultValue("10") int resultadosPorDefecto,
+        @DefaultValue("50") int resultadosMaximos,
+        @DefaultValue("0.6") double similitudMinima,
+        @DefaultValue("10000") int candidatosMaximos,
+        @DefaultValue("5s") Duration reintentarTras) {
+
+    /**
+     * Ajusta el límite solicitado al rango [1, resultadosMaximos].
+     *
+     * @param solicitado Límite pedido por el cliente (puede ser null)
+     * @return El límite efectivo
+     */
+    public int limiteEfectivo(Integer solicitado) {
+        if (solicitado == null) {
+            return Math.min(resultadosPorDefecto, resultadosMaximos);
+        }
+        return Math.max(1, Math.min(solicitado, resultadosMaximos));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Límite adaptativo (AIMD) de peticiones concurrentes a la API, con presupuestos separados
+ * para lecturas (GET) y escrituras (POST y PATCH).
+ *
+ * @param habilitado Si es false, las peticiones no se limitan
+ * @param latenciaObjetivo Duración a partir de la cual una petición se considera señal de sobrecarga
+ * @param factorReduccion Factor por el que se multiplica el límite ante una señal de sobrecarga
+ * @param limiteMinimo Límite por debajo del cual no se reduce ningún presupuesto
+ * @param limiteInicialLecturas Límite de lecturas al arrancar
+ * @param limiteMaximoLecturas Límite de lecturas que no se supera aunque la latencia sea baja
+ * @param limiteInicialEscrituras Límite de escrituras al arrancar
+ * @param limiteMaximoEscrituras Límite de escrituras que no se supera aunque la latencia sea baja
+ * @param reintentarTras Valor de la cabecera Retry-After de las peticiones rechazadas
+ */
+@ConfigurationProperties(prefix = "prestamos.limite-adaptativo")
+public record LimiteAdaptativoProperties(
+        @DefaultValue("true") boolean habilitado,
+        @DefaultValue("200ms") Duration latenciaObjetivo,
+        @DefaultValue("0.9") double factorReduccion,
+        @DefaultValue("2") int limiteMinimo,
+        @DefaultValue("40") int limiteInicialLecturas,
+        @DefaultValue("200") int limiteMaximoLecturas,
+        @DefaultValue("10") int limiteInicialEscrituras,
+        @DefaultValue("50") int limiteMaximoEscrituras,
+        @DefaultValue("1s") Duration reintentarTras) {
+}
@@ -0,0 +1,22 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuración de la bandeja de salida de eventos y de su relé.
+ * El destino se elige con prestamos.outbox.destino: LOG (por defecto) o FICHERO.
+ *
+ * @param intervaloSondeo Pausa entre dos rondas del relé cuando la bandeja queda vacía
+ * @param tamanioLote Eventos leídos, enviados y borrados por transacción
+ * @param fichero Fichero NDJSON al que se añaden los eventos con el destino FICHERO
+ */
+@ConfigurationProperties(prefix = "prestamos.outbox")
+public record OutboxProperties(
+        @DefaultValue("500ms") Duration intervaloSondeo,
+        @DefaultValue("200") int tamanioLote,
+        @DefaultValue("eventos-prestamos.ndjson") Path fichero) {
+}
@@ -0,0 +1,29 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración del tamaño de página de los listados.
+ *
+ * @param tamanioPorDefecto Tamaño usado cuando el cliente no indica ninguno
+ * @param tamanioMaximo Límite superior aplicado a cualquier tamaño solicitado
+ */
+@ConfigurationProperties(prefix = "prestamos.paginacion")
+public record PaginacionProperties(
+        @DefaultValue("20") int tamanioPorDefecto,
+        @DefaultValue("100") int tamanioMaximo) {
+
+    /**
+     * Ajusta el tamaño solicitado al rango [1, tamanioMaximo].
+     *
+     * @param solicitado Tamaño pedido por el cliente (puede ser null)
+     * @return El tamaño de página efectivo
+     */
+    public int tamanioEfectivo(Integer solicitado) {
+        if (solicitado == null) {
+            return Math.min(tamanioPorDefecto, tamanioMaximo);
+        }
+        return Math.max(1, Math.min(solicitado, tamanioMaximo));
+    }
+}
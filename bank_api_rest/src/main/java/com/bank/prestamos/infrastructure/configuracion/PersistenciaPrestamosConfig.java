@@ -0,0 +1,38 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import com.bank.prestamos.infrastructure.adapter.out.cache.PrestamoCacheAdapter;
+import com.bank.prestamos.infrastructure.adapter.out.filtro.FiltroDocumentos;
+import com.bank.prestamos.infrastructure.adapter.out.filtro.PrestamoFiltroDocumentosAdapter;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.PrestamoPersistenceAdapter;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Compone el puerto de persistencia que usan los servicios: el adaptador JPA envuelto,
+ * de dentro a fuera, por el filtro de documentos y por la caché por ID, cada uno solo si está habilitado.
+ */
+@Configuration
+public class PersistenciaPrestamosConfig {
+
+    @Bean
+    @Primary
+    public PrestamoRepositoryPort prestamoRepositoryPort(PrestamoPersistenceAdapter adaptador,
+                                                         ObjectProvider<FiltroDocumentos> filtroDocumentos,
+                                                         ObjectProvider<Cache<Long, Prestamo>> cachePrestamos) {
+        PrestamoRepositoryPort puerto = adaptador;
+        FiltroDocumentos filtro = filtroDocumentos.getIfAvailable();
+        if (filtro != null) {
+            puerto = new PrestamoFiltroDocumentosAdapter(puerto, filtro);
+        }
+        Cache<Long, Prestamo> cache = cachePrestamos.getIfAvailable();
+        if (cache != null) {
+            puerto = new PrestamoCacheAdapter(puerto, cache);
+        }
+        return puerto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Con el perfil reactivo, R2dbcAutoConfiguration registra una ConnectionFactory y DataSourceAutoConfiguration
+ * se retira, porque solo actúa si no la hay. Sin DataSource no habría Flyway, JPA ni JdbcTemplate, de los que
+ * siguen dependiendo el esquema, el historial, la bandeja de salida y el índice de nombres: se declara aquí
+ * el pool JDBC a partir de spring.datasource.*, como lo haría Spring Boot.
+ * <p>
+ * No se combina con la réplica de lectura, que solo enruta JDBC y declara su propio DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "prestamos.reactivo", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactivoJdbcConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("jdbc-reactivo");
+        return dataSource;
+    }
+}
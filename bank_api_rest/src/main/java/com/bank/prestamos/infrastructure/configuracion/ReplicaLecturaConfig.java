@@ -0,0 +1,69 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import com.bank.prestamos.infrastructure.replica.DataSourceLecturaEscritura;
+import com.bank.prestamos.infrastructure.replica.FiltroLecturaPropiaEscritura;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Con prestamos.replica-lectura.habilitada=true sustituye el DataSource de Spring Boot por dos pools,
+ * primario (spring.datasource.*) y réplica (prestamos.replica-lectura.*), detrás de un DataSource que
+ * envía a la réplica las transacciones de solo lectura. JPA, JdbcTemplate y Flyway usan este último;
+ * todo lo que no es una transacción de solo lectura sigue yendo al primario.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "prestamos.replica-lectura", name = "habilitada", havingValue = "true")
+public class ReplicaLecturaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("prestamos.replica-lectura.hikari")
+    public HikariDataSource dataSourceReplica(ReplicaLecturaProperties propiedades) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(propiedades.url())
+                .username(propiedades.usuario())
+                .password(propiedades.contrasenia())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Una réplica caída al arrancar no debe impedir el arranque: sus lecturas irán al primario
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 ReplicaLecturaProperties propiedades,
+                                 MeterRegistry registro) {
+        return new LazyConnectionDataSourceProxy(
+                new DataSourceLecturaEscritura(primario, replica, propiedades.pausaTrasFallo(), registro));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FiltroLecturaPropiaEscritura filtroLecturaPropiaEscritura(ReplicaLecturaProperties propiedades) {
+        return new FiltroLecturaPropiaEscritura(propiedades.ventanaLecturaPropia());
+    }
+}
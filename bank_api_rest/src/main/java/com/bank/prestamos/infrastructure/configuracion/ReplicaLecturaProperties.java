@@ -0,0 +1,27 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Réplica de lectura de la base de datos. El pool de la réplica se configura aparte con
+ * prestamos.replica-lectura.hikari.* (mismas claves que spring.datasource.hikari.*).
+ *
+ * @param habilitada Si es true, las transacciones de solo lectura se envían a la réplica
+ * @param url URL JDBC de la réplica
+ * @param usuario Usuario de la réplica
+ * @param contrasenia Contraseña de la réplica
+ * @param ventanaLecturaPropia Tiempo tras una escritura durante el que las lecturas del mismo cliente van al primario
+ * @param pausaTrasFallo Tiempo durante el que no se usa la réplica después de que falle al dar una conexión
+ */
+@ConfigurationProperties(prefix = "prestamos.replica-lectura")
+public record ReplicaLecturaProperties(
+        @DefaultValue("false") boolean habilitada,
+        String url,
+        String usuario,
+        String contrasenia,
+        @DefaultValue("2s") Duration ventanaLecturaPropia,
+        @DefaultValue("10s") Duration pausaTrasFallo) {
+}
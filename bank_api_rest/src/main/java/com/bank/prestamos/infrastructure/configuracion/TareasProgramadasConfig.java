@@ -0,0 +1,12 @@
+package com.bank.prestamos.infrastructure.configuracion;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas y, con ello, el TaskScheduler que autoconfigura Spring Boot.
+ */
+@Configuration
+@EnableScheduling
+public class TareasProgramadasConfig {
+}
@@ -0,0 +1,11 @@
+package com.bank.prestamos.infrastructure.excepcion;
+
+/**
+ * Excepción lanzada cuando la cabecera Idempotency-Key no es válida o ya se usó con otra petición.
+ */
+public class ClaveIdempotenciaInvalidaException extends RuntimeException {
+
+    public ClaveIdempotenciaInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.prestamos.infrastructure.excepcion;
+
+import com.bank.prestamos.domain.excepcion.CursorInvalidoException;
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.RespuestaError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manejador de excepciones para la pila reactiva (WebFlux).
+ * Produce las mismas respuestas que {@link ManejadorGlobalExcepciones} en la pila servlet.
+ */
+@RestControllerAdvice
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ManejadorExcepcionesReactivo {
+
+    @ExceptionHandler(PrestamoNoEncontradoException.class)
+    public ResponseEntity<RespuestaError> manejarPrestamoNoEncontrado(
+            PrestamoNoEncontradoException ex,
+            ServerWebExchange intercambio) {
+
+        log.warn("Préstamo no encontrado: {}", ex.getMessage());
+        return respuesta(HttpStatus.NOT_FOUND, "No Encontrado", ex.getMessage(), intercambio, null);
+    }
+
+    @ExceptionHandler(TransicionEstadoInvalidaException.class)
+    public ResponseEntity<RespuestaError> manejarTransicionEstadoInvalida(
+            TransicionEstadoInvalidaException ex,
+            ServerWebExchange intercambio) {
+
+        log.warn("Transición de estado inválida: {}", ex.getMessage());
+        return respuesta(HttpStatus.CONFLICT, "Conflicto", ex.getMessage(), intercambio, null);
+    }
+
+    @ExceptionHandler(DocumentoDuplicadoException.class)
+    public ResponseEntity<RespuestaError> manejarDocumentoDuplicado(
+            DocumentoDuplicadoException ex,
+            ServerWebExchange intercambio) {
+
+        log.warn("Documento duplicado: {}", ex.getMessage());
+        return respuesta(HttpStatus.CONFLICT, "Conflicto", ex.getMessage(), intercambio, null);
+    }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<RespuestaError> manejarCursorInvalido(
+            CursorInvalidoException ex,
+            ServerWebExchange intercambio) {
+
+        log.warn("Cursor inválido: {}", ex.getMessage());
+        return respuesta(HttpStatus.BAD_REQUEST, "Solicitud Incorrecta", ex.getMessage(), intercambio, null);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<RespuestaError> manejarErroresValidacion(
+            WebExchangeBindException ex,
+            ServerWebExchange intercambio) {
+
+        Map<String, String> erroresValidacion = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                erroresValidacion.put(error.getField(), error.getDefaultMessage())
+        );
+
+        log.warn("Errores de validación: {}", erroresValidacion);
+        return respuesta(HttpStatus.BAD_REQUEST, "Solicitud Incorrecta", "Falló la validación",
+                intercambio, erroresValidacion);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<RespuestaError> manejarExcepcionGlobal(
+            Exception ex,
+            ServerWebExchange intercambio) {
+
+        log.error("Error inesperado: ", ex);
+        return respuesta(HttpStatus.INTERNAL_SERVER_ERROR, "Error Interno del Servidor",
+                "Ocurrió un error inesperado", intercambio, null);
+    }
+
+    private ResponseEntity<RespuestaError> respuesta(HttpStatus estado, String error, String mensaje,
+                                                     ServerWebExchange intercambio,
+                                                     Map<String, String> erroresValidacion) {
+        RespuestaError cuerpo = new RespuestaError(
+                LocalDateTime.now(),
+                estado.value(),
+                error,
+                mensaje,
+                intercambio.getRequest().getPath().value(),
+                erroresValidacion
+        );
+        return ResponseEntity.status(estado).body(cuerpo);
+    }
+}
@@ -1,10 +1,14 @@
 package com.bank.prestamos.infrastructure.excepcion;
 
+import com.bank.prestamos.domain.excepcion.CursorInvalidoException;
 import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
 import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
 import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
 import com.bank.prestamos.infrastructure.adapter.in.rest.dto.RespuestaError;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,6 +16,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -23,6 +28,7 @@ import java.util.Map;
  */
 @RestControllerAdvice
 @Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ManejadorGlobalExcepciones {
 
     @ExceptionHandler(PrestamoNoEncontradoException.class)
@@ -82,6 +88,84 @@ public class ManejadorGlobalExcepciones {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(ClaveIdempotenciaInvalidaException.class)
+    public ResponseEntity<RespuestaError> manejarClaveIdempotenciaInvalida(
+            ClaveIdempotenciaInvalidaException ex,
+            WebRequest request) {
+
+        log.warn("Clave de idempotencia inválida: {}", ex.getMessage());
+
+        RespuestaError error = new RespuestaError(
+                LocalDateTime.now(),
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Entidad No Procesable",
+                ex.getMessage(),
+                obtenerRuta(request),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<RespuestaError> manejarConflictoVersion(
+            OptimisticLockingFailureException ex,
+            WebRequest request) {
+
+        log.warn("Conflicto de versión: {}", ex.getMessage());
+
+        RespuestaError error = new RespuestaError(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflicto",
+                "El préstamo fue modificado por otra operación",
+                obtenerRuta(request),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ServicioSobrecargadoException.class)
+    public ResponseEntity<RespuestaError> manejarServicioSobrecargado(
+            ServicioSobrecargadoException ex,
+            WebRequest request) {
+
+        log.warn("Petición rechazada por sobrecarga: {}", obtenerRuta(request));
+
+        RespuestaError error = new RespuestaError(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servicio No Disponible",
+                ex.getMessage(),
+                obtenerRuta(request),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getReintentarTras().toSeconds())))
+                .body(error);
+    }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<RespuestaError> manejarCursorInvalido(
+            CursorInvalidoException ex,
+            WebRequest request) {
+
+        log.warn("Cursor inválido: {}", ex.getMessage());
+
+        RespuestaError error = new RespuestaError(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Solicitud Incorrecta",
+                ex.getMessage(),
+                obtenerRuta(request),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<RespuestaError> manejarErroresValidacion(
             MethodArgumentNotValidException ex,
@@ -106,6 +190,25 @@ public class ManejadorGlobalExcepciones {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<RespuestaError> manejarParametroInvalido(
+            MethodArgumentTypeMismatchException ex,
+            WebRequest request) {
+
+        log.warn("Parámetro '{}' inválido: {}", ex.getName(), ex.getValue());
+
+        RespuestaError error = new RespuestaError(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Solicitud Incorrecta",
+                "Valor inválido para el parámetro '" + ex.getName() + "'",
+                obtenerRuta(request),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<RespuestaError> manejarExcepcionGlobal(
             Exception ex,
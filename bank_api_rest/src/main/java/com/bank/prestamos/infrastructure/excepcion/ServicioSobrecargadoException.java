@@ -0,0 +1,19 @@
+package com.bank.prestamos.infrastructure.excepcion;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando la aplicación no admite más trabajo concurrente y rechaza la petición.
+ */
+@Getter
+public class ServicioSobrecargadoException extends RuntimeException {
+
+    private final Duration reintentarTras;
+
+    public ServicioSobrecargadoException(String mensaje, Duration reintentarTras) {
+        super(mensaje);
+        this.reintentarTras = reintentarTras;
+    }
+}
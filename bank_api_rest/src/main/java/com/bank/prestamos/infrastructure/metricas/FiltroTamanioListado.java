@@ -0,0 +1,148 @@
+package com.bank.prestamos.infrastructure.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Registra en prestamos.listado.respuesta los bytes del cuerpo que devuelve el listado paginado
+ * (GET /api/prestamos), medidos al escribirse en la respuesta, es decir, ya serializados.
+ * <p>
+ * El cuerpo no se retiene: solo se cuentan los bytes que atraviesan el flujo de salida.
+ * Las respuestas 304 no llevan cuerpo y no se registran.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FiltroTamanioListado extends OncePerRequestFilter {
+
+    static final String RUTA_LISTADO = "/api/prestamos";
+
+    private final DistributionSummary tamanio;
+
+    public FiltroTamanioListado(MeterRegistry registro) {
+        this.tamanio = DistributionSummary.builder("prestamos.listado.respuesta")
+                .description("Tamaño del cuerpo de las respuestas del listado paginado")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registro);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest peticion) {
+        return !HttpMethod.GET.matches(peticion.getMethod())
+                || !RUTA_LISTADO.equals(peticion.getRequestURI().substring(peticion.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest peticion, HttpServletResponse respuesta, FilterChain cadena)
+            throws ServletException, IOException {
+        RespuestaContada contada = new RespuestaContada(respuesta);
+        cadena.doFilter(peticion, contada);
+        contada.vaciar();
+        if (contada.getStatus() == HttpStatus.OK.value()) {
+            tamanio.record(contada.bytes());
+        }
+    }
+
+    private static final class RespuestaContada extends HttpServletResponseWrapper {
+
+        private FlujoContado flujo;
+        private PrintWriter escritor;
+
+        RespuestaContada(HttpServletResponse respuesta) {
+            super(respuesta);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (flujo == null) {
+                flujo = new FlujoContado(super.getOutputStream());
+            }
+            return flujo;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                escritor = new PrintWriter(
+                        new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            vaciar();
+            super.flushBuffer();
+        }
+
+        void vaciar() {
+            // Los caracteres aún en el escritor no se han contado hasta que pasan al flujo
+            if (escritor != null) {
+                escritor.flush();
+            }
+        }
+
+        long bytes() {
+            return flujo == null ? 0 : flujo.bytes;
+        }
+    }
+
+    private static final class FlujoContado extends ServletOutputStream {
+
+        private final ServletOutputStream delegado;
+        private long bytes;
+
+        FlujoContado(ServletOutputStream delegado) {
+            this.delegado = delegado;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegado.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegado.write(b, off, len);
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegado.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegado.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegado.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegado.setWriteListener(listener);
+        }
+    }
+}
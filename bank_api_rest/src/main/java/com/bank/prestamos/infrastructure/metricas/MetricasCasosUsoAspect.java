@@ -0,0 +1,186 @@
+package com.bank.prestamos.infrastructure.metricas;
+
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.ResultadoCambioEstado;
+import com.bank.prestamos.domain.models.ResultadoCreacion;
+import com.bank.prestamos.domain.models.TipoResultadoCambioEstado;
+import com.bank.prestamos.domain.models.TipoResultadoCreacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumenta los casos de uso (puertos de entrada) implementados por PrestamoService:
+ * <ul>
+ *     <li>prestamos.casos.uso: timer por caso de uso, método y resultado</li>
+ *     <li>prestamos.transiciones: cambios de estado confirmados, por estado origen y destino</li>
+ *     <li>prestamos.rechazos: operaciones rechazadas, por motivo</li>
+ *     <li>prestamos.listado.elementos: número de préstamos devuelto por los listados</li>
+ * </ul>
+ * Se ejecuta por fuera de la transacción, de modo que el tiempo medido incluye el commit.
+ * <p>
+ * Las transiciones se cuentan en el adaptador JDBC, que es quien devuelve el estado que tenía cada fila al
+ * actualizarla ({@link CambioEstadoAplicado#estadoAnterior()}), y solo cuando se confirma la transacción.
+ * El tamaño en bytes de la respuesta del listado lo mide {@link FiltroTamanioListado}.
+ */
+@Aspect
+@Component
+@Order(MetricasCasosUsoAspect.ORDEN)
+public class MetricasCasosUsoAspect {
+
+    public static final int ORDEN = 0;
+
+    private static final String PAQUETE_PUERTOS_ENTRADA = "com.bank.prestamos.domain.ports.in";
+
+    private final MeterRegistry registro;
+    private final Map<Method, String> casosUso = new ConcurrentHashMap<>();
+
+    public MetricasCasosUsoAspect(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    @AfterReturning(pointcut = "execution(* com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort"
+            + ".actualizarEstado*(..)) && target(com.bank.prestamos.infrastructure.adapter.out.persistence.PrestamoPersistenceAdapter)",
+            returning = "valor")
+    public void contarTransiciones(Object valor) {
+        List<CambioEstadoAplicado> cambios = List.of();
+        if (valor instanceof Optional<?> cambio) {
+            cambios = cambio.map(CambioEstadoAplicado.class::cast).stream().toList();
+        } else if (valor instanceof List<?> lista) {
+            cambios = lista.stream().map(CambioEstadoAplicado.class::cast).toList();
+        }
+        if (!cambios.isEmpty()) {
+            List<CambioEstadoAplicado> aplicados = cambios;
+            despuesDelCommit(() -> aplicados.forEach(this::contarTransicion));
+        }
+    }
+
+    @Around("execution(* com.bank.prestamos.domain.ports.in.*.*(..)) "
+            + "&& target(com.bank.prestamos.application.services.PrestamoService)")
+    public Object medir(ProceedingJoinPoint punto) throws Throwable {
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+        String casoUso = casoUso(metodo, punto.getTarget().getClass());
+        Timer.Sample muestra = Timer.start(registro);
+        String resultado = "ok";
+        try {
+            Object valor = punto.proceed();
+            registrarResultado(metodo.getName(), valor);
+            return valor;
+        } catch (Throwable ex) {
+            resultado = ex.getClass().getSimpleName();
+            registrarRechazo(ex);
+            throw ex;
+        } finally {
+            muestra.stop(Timer.builder("prestamos.casos.uso")
+                    .description("Duración de los casos de uso de préstamos")
+                    .tags("caso_uso", casoUso, "metodo", metodo.getName(), "resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(registro));
+        }
+    }
+
+    private void registrarResultado(String metodo, Object valor) {
+        if (valor instanceof PaginaPrestamos pagina) {
+            registrarElementos(metodo, pagina.prestamos().size());
+        } else if (valor instanceof List<?> lista && "obtenerTodos".equals(metodo)) {
+            registrarElementos(metodo, lista.size());
+        } else if (valor instanceof List<?> lista && "cambiarEstadoLote".equals(metodo)) {
+            for (Object elemento : lista) {
+                TipoResultadoCambioEstado tipo = ((ResultadoCambioEstado) elemento).tipo();
+                if (tipo != TipoResultadoCambioEstado.ACTUALIZADO) {
+                    contarRechazo(tipo == TipoResultadoCambioEstado.NO_ENCONTRADO
+                            ? "no_encontrado" : "transicion_invalida");
+                }
+            }
+        } else if (valor instanceof List<?> lista && "crearLote".equals(metodo)) {
+            for (Object elemento : lista) {
+                if (((ResultadoCreacion) elemento).tipo() == TipoResultadoCreacion.DUPLICADO) {
+                    contarRechazo("duplicado");
+                }
+            }
+        }
+    }
+
+    private void registrarRechazo(Throwable ex) {
+        if (ex instanceof DocumentoDuplicadoException) {
+            contarRechazo("duplicado");
+        } else if (ex instanceof TransicionEstadoInvalidaException) {
+            contarRechazo("transicion_invalida");
+        } else if (ex instanceof PrestamoNoEncontradoException) {
+            contarRechazo("no_encontrado");
+        }
+    }
+
+    private void contarTransicion(CambioEstadoAplicado cambio) {
+        Counter.builder("prestamos.transiciones")
+                .description("Cambios de estado de préstamos realizados")
+                .tags("origen", cambio.estadoAnterior().name(), "destino", cambio.prestamo().getEstado().name())
+                .register(registro)
+                .increment();
+    }
+
+    private void contarRechazo(String motivo) {
+        Counter.builder("prestamos.rechazos")
+                .description("Operaciones sobre préstamos rechazadas")
+                .tag("motivo", motivo)
+                .register(registro)
+                .increment();
+    }
+
+    private void registrarElementos(String metodo, int elementos) {
+        DistributionSummary.builder("prestamos.listado.elementos")
+                .description("Préstamos devueltos por cada listado")
+                .baseUnit("prestamos")
+                .tag("metodo", metodo)
+                .publishPercentileHistogram()
+                .register(registro)
+                .record(elementos);
+    }
+
+    private static void despuesDelCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    /**
+     * Nombre del puerto de entrada que declara el método invocado (p. ej. ConsultarPrestamoUseCase).
+     */
+    private String casoUso(Method metodo, Class<?> claseDestino) {
+        return casosUso.computeIfAbsent(metodo, m -> ClassUtils.getAllInterfacesForClassAsSet(claseDestino).stream()
+                .filter(interfaz -> interfaz.getPackageName().equals(PAQUETE_PUERTOS_ENTRADA))
+                .filter(interfaz -> ReflectionUtils.findMethod(interfaz, m.getName(), m.getParameterTypes()) != null)
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(claseDestino.getSimpleName()));
+    }
+}
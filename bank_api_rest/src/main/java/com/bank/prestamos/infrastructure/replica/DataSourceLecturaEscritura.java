@@ -0,0 +1,83 @@
+package com.bank.prestamos.infrastructure.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a la réplica y todo lo demás al primario.
+ * <p>
+ * Decide al pedir la conexión física, por lo que debe envolverse en un {@link LazyConnectionDataSourceProxy}:
+ * el gestor de transacciones pide la conexión al empezar, antes de marcar la transacción como de solo
+ * lectura, y el proxy retrasa la petición real hasta la primera sentencia.
+ * <p>
+ * Si la réplica no entrega una conexión, la lectura va al primario y la réplica se deja de usar durante
+ * {@code pausaTrasFallo}, para que cada petición no pague el tiempo de espera de un pool caído.
+ */
+@Slf4j
+public class DataSourceLecturaEscritura extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final long pausaTrasFalloNanos;
+    private final Counter lecturasReplica;
+    private final Counter lecturasPrimario;
+    private final Counter fallosReplica;
+
+    private volatile long replicaSuspendidaHasta = System.nanoTime();
+
+    public DataSourceLecturaEscritura(DataSource primario, DataSource replica, Duration pausaTrasFallo,
+                                      MeterRegistry registro) {
+        this.primario = primario;
+        this.replica = replica;
+        this.pausaTrasFalloNanos = pausaTrasFallo.toNanos();
+        this.lecturasReplica = Counter.builder("prestamos.replica.lecturas")
+                .description("Transacciones de solo lectura por base de datos de destino")
+                .tag("destino", "replica")
+                .register(registro);
+        this.lecturasPrimario = Counter.builder("prestamos.replica.lecturas")
+                .description("Transacciones de solo lectura por base de datos de destino")
+                .tag("destino", "primario")
+                .register(registro);
+        this.fallosReplica = Counter.builder("prestamos.replica.fallos")
+                .description("Lecturas desviadas al primario porque la réplica no entregó una conexión")
+                .register(registro);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primario.getConnection();
+        }
+        if (FijacionPrimario.activa() || System.nanoTime() - replicaSuspendidaHasta < 0) {
+            lecturasPrimario.increment();
+            return primario.getConnection();
+        }
+        try {
+            Connection conexion = replica.getConnection();
+            lecturasReplica.increment();
+            return conexion;
+        } catch (SQLException | RuntimeException ex) {
+            replicaSuspendidaHasta = System.nanoTime() + pausaTrasFalloNanos;
+            fallosReplica.increment();
+            log.warn("Réplica no disponible; las lecturas van al primario durante {} ms",
+                    pausaTrasFalloNanos / 1_000_000, ex);
+            lecturasPrimario.increment();
+            return primario.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasenia) throws SQLException {
+        // Las credenciales explícitas solo tienen sentido contra el primario
+        return primario.getConnection(usuario, contrasenia);
+    }
+}
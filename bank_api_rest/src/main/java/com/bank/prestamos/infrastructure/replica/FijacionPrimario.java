@@ -0,0 +1,65 @@
+package com.bank.prestamos.infrastructure.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Fija en el primario las transacciones de solo lectura del hilo actual, aunque haya réplica.
+ * <p>
+ * Lo usan las peticiones de un cliente que acaba de escribir, para que lea lo que escribió aunque
+ * la réplica aún no lo tenga, y los procesos que reconstruyen estructuras en memoria a partir de la
+ * base de datos, que no pueden partir de una copia con retraso. Sin réplica configurada no tiene efecto.
+ */
+public final class FijacionPrimario {
+
+    private static final ThreadLocal<Boolean> FIJADA = new ThreadLocal<>();
+
+    private FijacionPrimario() {
+    }
+
+    /**
+     * Ejecuta la tarea con las lecturas fijadas en el primario.
+     *
+     * @param tarea Tarea que abre sus propias transacciones
+     */
+    public static void ejecutar(Runnable tarea) {
+        boolean previa = activar();
+        try {
+            tarea.run();
+        } finally {
+            restaurar(previa);
+        }
+    }
+
+    /**
+     * Obtiene un valor con las lecturas fijadas en el primario.
+     *
+     * @param tarea Tarea que abre sus propias transacciones o lee en una que aún no ha usado la conexión
+     * @return El valor que devuelve la tarea
+     */
+    public static <T> T obtener(Supplier<T> tarea) {
+        boolean previa = activar();
+        try {
+            return tarea.get();
+        } finally {
+            restaurar(previa);
+        }
+    }
+
+    public static boolean activa() {
+        return Boolean.TRUE.equals(FIJADA.get());
+    }
+
+    static boolean activar() {
+        boolean previa = activa();
+        FIJADA.set(Boolean.TRUE);
+        return previa;
+    }
+
+    static void restaurar(boolean previa) {
+        if (previa) {
+            FIJADA.set(Boolean.TRUE);
+        } else {
+            FIJADA.remove();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.prestamos.infrastructure.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Garantiza que un cliente lee lo que acaba de escribir aunque la réplica vaya con retraso.
+ * <p>
+ * Las peticiones que pueden escribir (todo salvo GET, HEAD y OPTIONS) se atienden contra el primario y
+ * devuelven una cookie con el instante hasta el que el cliente queda fijado en él. Mientras la cookie
+ * esté vigente, sus lecturas tampoco van a la réplica. Los clientes que no guardan cookies leen de la
+ * réplica en cuanto termina su escritura.
+ * <p>
+ * La cookie no va firmada, así que su valor solo se acepta si no supera el instante actual más la ventana:
+ * un cliente no puede fijarse en el primario por más tiempo del que le daría una escritura.
+ */
+public class FiltroLecturaPropiaEscritura extends OncePerRequestFilter {
+
+    static final String COOKIE = "prestamos-primario-hasta";
+
+    private final Duration ventana;
+
+    public FiltroLecturaPropiaEscritura(Duration ventana) {
+        this.ventana = ventana;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest peticion, HttpServletResponse respuesta, FilterChain cadena)
+            throws ServletException, IOException {
+        boolean escritura = !esLectura(peticion.getMethod());
+        if (escritura) {
+            // La cookie se envía antes de ejecutar la escritura porque después la respuesta puede estar confirmada
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + ventana.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, ventana.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            respuesta.addCookie(cookie);
+        }
+        if (!escritura && !fijadoPorCookie(peticion, ventana.toMillis())) {
+            cadena.doFilter(peticion, respuesta);
+            return;
+        }
+        boolean previa = FijacionPrimario.activar();
+        try {
+            cadena.doFilter(peticion, respuesta);
+        } finally {
+            FijacionPrimario.restaurar(previa);
+        }
+    }
+
+    private static boolean esLectura(String metodo) {
+        return HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo) || HttpMethod.OPTIONS.matches(metodo);
+    }
+
+    private static boolean fijadoPorCookie(HttpServletRequest peticion, long ventanaMillis) {
+        Cookie[] cookies = peticion.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long hasta = Long.parseLong(cookie.getValue());
+                    long ahora = System.currentTimeMillis();
+                    return hasta > ahora && hasta <= ahora + ventanaMillis;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
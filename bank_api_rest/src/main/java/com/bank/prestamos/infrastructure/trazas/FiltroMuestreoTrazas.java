@@ -0,0 +1,122 @@
+package com.bank.prestamos.infrastructure.trazas;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Filtro de Logback que limita las trazas por petición (INFO y DEBUG) de los loggers configurados
+ * a un máximo por segundo; las de WARN y superiores pasan siempre.
+ * <p>
+ * Actúa antes de que se construya el evento, así que una línea descartada no formatea el mensaje
+ * ni ocupa la cola del appender asíncrono. Al abrir cada ventana de un segundo se avisa de las líneas
+ * descartadas hasta entonces, para que el muestreo nunca sea silencioso.
+ * <p>
+ * Se declara en logback-spring.xml:
+ * <pre>{@code
+ * <turboFilter class="com.bank.prestamos.infrastructure.trazas.FiltroMuestreoTrazas">
+ *     <logger>com.bank.prestamos.application.services</logger>
+ *     <maximoPorSegundo>100</maximoPorSegundo>
+ * </turboFilter>
+ * }</pre>
+ */
+public class FiltroMuestreoTrazas extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private final LongSupplier relojMillis;
+    private final AtomicLong segundoActual = new AtomicLong();
+    private final AtomicInteger admitidasEnSegundo = new AtomicInteger();
+    private final AtomicInteger descartadasEnSegundo = new AtomicInteger();
+    private final LongAdder descartadas = new LongAdder();
+
+    private int maximoPorSegundo = 100;
+    private Logger avisos;
+
+    public FiltroMuestreoTrazas() {
+        this(System::currentTimeMillis);
+    }
+
+    FiltroMuestreoTrazas(LongSupplier relojMillis) {
+        this.relojMillis = relojMillis;
+    }
+
+    /**
+     * Añade un prefijo de logger sujeto al muestreo (el paquete incluye sus subpaquetes).
+     */
+    public void addLogger(String prefijo) {
+        loggers.add(prefijo.trim());
+    }
+
+    public void setMaximoPorSegundo(int maximoPorSegundo) {
+        this.maximoPorSegundo = maximoPorSegundo;
+    }
+
+    /**
+     * Líneas descartadas desde el arranque.
+     */
+    public long descartadas() {
+        return descartadas.sum();
+    }
+
+    @Override
+    public void start() {
+        if (maximoPorSegundo < 1) {
+            addError("maximoPorSegundo debe ser positivo: " + maximoPorSegundo);
+            return;
+        }
+        // Del propio contexto: durante la configuración de Logback SLF4J aún no está listo
+        avisos = ((LoggerContext) getContext()).getLogger(FiltroMuestreoTrazas.class);
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // Sin formato es una comprobación isXxxEnabled(): no consume cupo
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !muestreado(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return admitir() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean muestreado(String nombre) {
+        for (String prefijo : loggers) {
+            if (nombre.startsWith(prefijo)
+                    && (nombre.length() == prefijo.length() || nombre.charAt(prefijo.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean admitir() {
+        long segundo = relojMillis.getAsLong() / 1000;
+        long anterior = segundoActual.get();
+        if (segundo > anterior && segundoActual.compareAndSet(anterior, segundo)) {
+            // Un hilo que cruce el cambio de segundo puede contar en la ventana vieja: basta para muestrear
+            admitidasEnSegundo.set(0);
+            int descartadasAntes = descartadasEnSegundo.getAndSet(0);
+            if (descartadasAntes > 0) {
+                avisos.warn("Muestreo de trazas: {} líneas descartadas (máximo {} por segundo)",
+                        descartadasAntes, maximoPorSegundo);
+            }
+        }
+        if (admitidasEnSegundo.incrementAndGet() <= maximoPorSegundo) {
+            return true;
+        }
+        descartadasEnSegundo.incrementAndGet();
+        descartadas.increment();
+        return false;
+    }
+}
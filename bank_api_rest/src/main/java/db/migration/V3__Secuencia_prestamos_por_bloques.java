@@ -0,0 +1,46 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Sustituye el BIGSERIAL de prestamos.id por la secuencia prestamos_seq con incremento 50,
+ * que Hibernate usaba para reservar IDs por bloques en las altas masivas (V9 la deja en incremento 1).
+ * Es una migración Java porque el valor inicial depende de los datos existentes
+ * y la sintaxis para cambiar el valor por defecto de la columna difiere entre PostgreSQL y H2.
+ */
+public class V3__Secuencia_prestamos_por_bloques extends BaseJavaMigration {
+
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexion = context.getConnection();
+        long siguienteId = obtenerSiguienteId(conexion);
+        boolean postgres = conexion.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE SEQUENCE prestamos_seq START WITH " + siguienteId + " INCREMENT BY " + INCREMENTO);
+            if (postgres) {
+                sentencia.execute("ALTER TABLE prestamos ALTER COLUMN id SET DEFAULT nextval('prestamos_seq')");
+                sentencia.execute("ALTER SEQUENCE prestamos_seq OWNED BY prestamos.id");
+                sentencia.execute("DROP SEQUENCE IF EXISTS prestamos_id_seq");
+            } else {
+                sentencia.execute("ALTER TABLE prestamos ALTER COLUMN id DROP IDENTITY");
+                sentencia.execute("ALTER TABLE prestamos ALTER COLUMN id SET DEFAULT NEXT VALUE FOR prestamos_seq");
+            }
+        }
+    }
+
+    private long obtenerSiguienteId(Connection conexion) throws Exception {
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet rs = sentencia.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM prestamos")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
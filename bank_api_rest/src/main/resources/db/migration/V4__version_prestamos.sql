@@ -0,0 +1,4 @@
+-- Columna de versión para control de concurrencia optimista
+ALTER TABLE prestamos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN prestamos.version IS 'Versión del registro; se incrementa en cada modificación';
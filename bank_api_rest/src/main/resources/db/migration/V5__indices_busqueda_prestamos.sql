@@ -0,0 +1,16 @@
+-- Índices compuestos para la búsqueda filtrada de préstamos (GET /api/prestamos/buscar).
+-- La columna de igualdad va primero y la de rango u orden después, de modo que un único
+-- recorrido del índice resuelve el filtro y devuelve las filas ya ordenadas.
+
+-- Estado, opcionalmente con rango de fechas, ordenado por fecha (el caso más habitual)
+CREATE INDEX idx_prestamos_estado_fecha ON prestamos(estado, fecha_creacion DESC, id DESC);
+
+-- Divisa, opcionalmente con rango de fechas, ordenado por fecha
+CREATE INDEX idx_prestamos_divisa_fecha ON prestamos(divisa, fecha_creacion DESC, id DESC);
+
+-- Estado con rango de importes u ordenado por importe
+CREATE INDEX idx_prestamos_estado_importe ON prestamos(estado, importe_solicitado, id);
+
+-- idx_prestamos_estado queda cubierto por el prefijo de idx_prestamos_estado_fecha
+-- y solo añadiría coste a cada escritura
+DROP INDEX IF EXISTS idx_prestamos_estado;
@@ -0,0 +1,21 @@
+-- Historial de solo inserción de los cambios de estado de los préstamos
+CREATE TABLE prestamos_historial (
+    id BIGSERIAL PRIMARY KEY,
+    prestamo_id BIGINT NOT NULL,
+    estado_anterior VARCHAR(20),
+    estado_nuevo VARCHAR(20) NOT NULL,
+    usuario VARCHAR(255),
+    fecha TIMESTAMP NOT NULL
+);
+
+-- Consulta paginada del historial de un préstamo, del cambio más reciente al más antiguo
+CREATE INDEX idx_prestamos_historial_prestamo ON prestamos_historial(prestamo_id, fecha DESC, id DESC);
+
+-- Sin clave foránea hacia prestamos: el historial se escribe en segundo plano en lotes
+-- y no debe bloquear ni ser bloqueado por las operaciones sobre la tabla principal
+COMMENT ON TABLE prestamos_historial IS 'Historial de cambios de estado de los préstamos (solo inserción)';
+COMMENT ON COLUMN prestamos_historial.prestamo_id IS 'ID del préstamo que cambió de estado';
+COMMENT ON COLUMN prestamos_historial.estado_anterior IS 'Estado antes del cambio; nulo si no pudo determinarse';
+COMMENT ON COLUMN prestamos_historial.estado_nuevo IS 'Estado después del cambio';
+COMMENT ON COLUMN prestamos_historial.usuario IS 'Usuario que realizó el cambio';
+COMMENT ON COLUMN prestamos_historial.fecha IS 'Fecha y hora del cambio, igual a fecha_ultima_modificacion del préstamo';
@@ -0,0 +1,18 @@
+-- Bandeja de salida (outbox) de los eventos de préstamos para sistemas externos.
+-- Cada evento se inserta en la misma transacción que el cambio que lo origina y un relé
+-- en segundo plano lo envía y lo borra; la tabla solo contiene los eventos pendientes.
+CREATE TABLE prestamos_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    prestamo_id BIGINT NOT NULL,
+    carga VARCHAR(2000) NOT NULL,
+    fecha_creacion TIMESTAMP NOT NULL
+);
+
+-- El relé lee por orden de clave primaria, por lo que no necesita índices adicionales
+COMMENT ON TABLE prestamos_outbox IS 'Eventos de préstamos pendientes de envío (patrón outbox transaccional)';
+COMMENT ON COLUMN prestamos_outbox.id IS 'Identificador del evento, creciente; sirve a los consumidores para descartar duplicados';
+COMMENT ON COLUMN prestamos_outbox.tipo IS 'Tipo de evento: PRESTAMO_CREADO, ESTADO_CAMBIADO';
+COMMENT ON COLUMN prestamos_outbox.prestamo_id IS 'ID del préstamo al que se refiere el evento';
+COMMENT ON COLUMN prestamos_outbox.carga IS 'Contenido del evento en JSON';
+COMMENT ON COLUMN prestamos_outbox.fecha_creacion IS 'Fecha y hora en que se registró el evento';
@@ -0,0 +1,20 @@
+-- Respuestas de las altas con cabecera Idempotency-Key, para devolver la misma respuesta a los reintentos.
+-- La aplicación las mantiene también en memoria; la tabla permite responder tras un reinicio o desde
+-- otra réplica. Una tarea periódica borra las caducadas.
+CREATE TABLE prestamos_idempotencia (
+    clave VARCHAR(255) PRIMARY KEY,
+    huella VARCHAR(64) NOT NULL,
+    respuesta VARCHAR(4000) NOT NULL,
+    fecha_creacion TIMESTAMP NOT NULL,
+    fecha_expiracion TIMESTAMP NOT NULL
+);
+
+-- Borrado periódico de las respuestas caducadas
+CREATE INDEX idx_prestamos_idempotencia_expiracion ON prestamos_idempotencia(fecha_expiracion);
+
+COMMENT ON TABLE prestamos_idempotencia IS 'Respuestas de las altas de préstamos por clave de idempotencia';
+COMMENT ON COLUMN prestamos_idempotencia.clave IS 'Valor de la cabecera Idempotency-Key enviado por el cliente';
+COMMENT ON COLUMN prestamos_idempotencia.huella IS 'SHA-256 en hexadecimal del cuerpo de la petición original';
+COMMENT ON COLUMN prestamos_idempotencia.respuesta IS 'Préstamo creado, en JSON, tal como se devolvió al cliente';
+COMMENT ON COLUMN prestamos_idempotencia.fecha_creacion IS 'Fecha y hora del alta original';
+COMMENT ON COLUMN prestamos_idempotencia.fecha_expiracion IS 'A partir de esta fecha la clave deja de reconocerse';
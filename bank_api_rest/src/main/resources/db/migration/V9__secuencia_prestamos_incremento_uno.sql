@@ -0,0 +1,4 @@
+-- Las altas se insertan por JDBC y cada fila toma un único valor de prestamos_seq como valor por defecto
+-- de la columna id. Con el incremento 50 de V3 cada alta se saltaba 49 IDs: la secuencia pasa a avanzar
+-- de uno en uno. Los IDs ya asignados no cambian.
+ALTER SEQUENCE prestamos_seq INCREMENT BY 1;
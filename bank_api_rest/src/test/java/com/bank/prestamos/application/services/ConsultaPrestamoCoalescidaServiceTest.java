@@ -0,0 +1,173 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.infrastructure.replica.FijacionPrimario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de concurrencia para ConsultaPrestamoCoalescidaService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de la consulta de préstamos agrupada (single-flight)")
+class ConsultaPrestamoCoalescidaServiceTest {
+
+    private static final int HILOS = 16;
+
+    @Mock
+    private PrestamoService delegado;
+
+    private ConsultaPrestamoCoalescidaService servicio;
+    private Prestamo prestamo;
+
+    @BeforeEach
+    void setUp() {
+        servicio = new ConsultaPrestamoCoalescidaService(delegado);
+        prestamo = Prestamo.builder()
+                .id(1L)
+                .nombreSolicitante("Juan Pérez")
+                .importeSolicitado(new BigDecimal("10000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo("12345678A")
+                .estado(EstadoPrestamo.PENDIENTE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("N llamadas concurrentes al mismo ID deben producir una sola carga")
+    void debeAgruparLlamadasConcurrentes() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegado.obtenerPorId(1L)).thenAnswer(invocacion -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return prestamo;
+        });
+        Queue<Object> resultados = new ConcurrentLinkedQueue<>();
+
+        List<Thread> hilos = lanzar(() -> resultados.add(servicio.obtenerPorId(1L)));
+        esperarBloqueados(hilos);
+        liberar.countDown();
+        unir(hilos);
+
+        verify(delegado, times(1)).obtenerPorId(1L);
+        assertThat(resultados).hasSize(HILOS).allMatch(prestamo::equals);
+    }
+
+    @Test
+    @DisplayName("La excepción de la carga debe propagarse a todas las llamadas agrupadas")
+    void debePropagarExcepcionATodos() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegado.obtenerPorId(1L)).thenAnswer(invocacion -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            throw new PrestamoNoEncontradoException(1L);
+        });
+        Queue<Throwable> errores = new ConcurrentLinkedQueue<>();
+
+        List<Thread> hilos = lanzar(() -> {
+            try {
+                servicio.obtenerPorId(1L);
+            } catch (RuntimeException ex) {
+                errores.add(ex);
+            }
+        });
+        esperarBloqueados(hilos);
+        liberar.countDown();
+        unir(hilos);
+
+        verify(delegado, times(1)).obtenerPorId(1L);
+        assertThat(errores).hasSize(HILOS).allMatch(PrestamoNoEncontradoException.class::isInstance);
+    }
+
+    @Test
+    @DisplayName("Una llamada con las lecturas fijadas en el primario no debe agruparse con una carga en curso")
+    void noDebeAgruparLecturasFijadasEnElPrimario() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Prestamo recienEscrito = prestamo.toBuilder().estado(EstadoPrestamo.APROBADA).build();
+        when(delegado.obtenerPorId(1L))
+                .thenAnswer(invocacion -> {
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return prestamo;
+                })
+                .thenReturn(recienEscrito);
+        Thread enCurso = new Thread(() -> servicio.obtenerPorId(1L), "consulta-replica");
+        enCurso.start();
+        esperarBloqueados(List.of(enCurso));
+
+        Prestamo[] leido = new Prestamo[1];
+        FijacionPrimario.ejecutar(() -> leido[0] = servicio.obtenerPorId(1L));
+        liberar.countDown();
+        unir(List.of(enCurso));
+
+        assertThat(leido[0].getEstado()).isEqualTo(EstadoPrestamo.APROBADA);
+        verify(delegado, times(2)).obtenerPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Una carga terminada no debe reutilizarse en llamadas posteriores")
+    void noDebeReutilizarCargasTerminadas() {
+        when(delegado.obtenerPorId(1L)).thenReturn(prestamo);
+
+        servicio.obtenerPorId(1L);
+        servicio.obtenerPorId(1L);
+
+        verify(delegado, times(2)).obtenerPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Una carga fallida no debe impedir cargas posteriores")
+    void debePermitirReintentoTrasError() {
+        when(delegado.obtenerPorId(1L))
+                .thenThrow(new PrestamoNoEncontradoException(1L))
+                .thenReturn(prestamo);
+
+        assertThatThrownBy(() -> servicio.obtenerPorId(1L)).isInstanceOf(PrestamoNoEncontradoException.class);
+        assertThat(servicio.obtenerPorId(1L)).isEqualTo(prestamo);
+    }
+
+    private static List<Thread> lanzar(Runnable tarea) {
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            Thread hilo = new Thread(tarea, "consulta-" + i);
+            hilos.add(hilo);
+            hilo.start();
+        }
+        return hilos;
+    }
+
+    /**
+     * Espera a que todos los hilos estén bloqueados: uno dentro de la carga y el resto esperando su resultado.
+     */
+    private static void esperarBloqueados(List<Thread> hilos) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!hilos.stream().allMatch(hilo -> hilo.getState() == Thread.State.WAITING
+                || hilo.getState() == Thread.State.TIMED_WAITING)) {
+            assertThat(System.nanoTime()).as("los hilos no llegaron a bloquearse").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void unir(List<Thread> hilos) throws InterruptedException {
+        for (Thread hilo : hilos) {
+            hilo.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
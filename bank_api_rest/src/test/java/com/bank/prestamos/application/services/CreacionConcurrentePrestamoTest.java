@@ -0,0 +1,128 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.ResultadoCreacion;
+import com.bank.prestamos.domain.models.TipoResultadoCreacion;
+import com.bank.prestamos.domain.ports.in.CrearPrestamoUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de altas concurrentes con el mismo documento sobre H2.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:creacion_concurrente_db",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Tests de creación concurrente de préstamos")
+class CreacionConcurrentePrestamoTest {
+
+    private static final int PETICIONES = 8;
+    private static final String DOCUMENTO = "CONC0001X";
+
+    @Autowired
+    private CrearPrestamoUseCase crearPrestamoUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM prestamos WHERE documento_identificativo LIKE 'CONC%'");
+    }
+
+    @Test
+    @DisplayName("Solo una de varias altas concurrentes con el mismo documento debe prosperar")
+    void debeHaberUnSoloGanador() throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(PETICIONES);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Prestamo>> altas = new ArrayList<>();
+        for (int i = 0; i < PETICIONES; i++) {
+            altas.add(ejecutor.submit(() -> {
+                salida.await();
+                return crearPrestamoUseCase.crear(nuevoPrestamo());
+            }));
+        }
+
+        salida.countDown();
+        int creados = 0;
+        int duplicados = 0;
+        for (Future<Prestamo> alta : altas) {
+            try {
+                assertThat(alta.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+                creados++;
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(DocumentoDuplicadoException.class);
+                duplicados++;
+            }
+        }
+        ejecutor.shutdown();
+
+        assertThat(creados).isEqualTo(1);
+        assertThat(duplicados).isEqualTo(PETICIONES - 1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM prestamos WHERE documento_identificativo = ?", Long.class, DOCUMENTO))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Los lotes concurrentes con un documento común deben informarlo como duplicado sin fallar")
+    void debeInformarDuplicadosEntreLotesConcurrentes() throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(PETICIONES);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<List<ResultadoCreacion>>> lotes = new ArrayList<>();
+        for (int i = 0; i < PETICIONES; i++) {
+            String propio = "CONC%04dY".formatted(i + 2);
+            lotes.add(ejecutor.submit(() -> {
+                salida.await();
+                return crearPrestamoUseCase.crearLote(List.of(nuevoPrestamo(), nuevoPrestamo(propio)));
+            }));
+        }
+
+        salida.countDown();
+        int comunesCreados = 0;
+        for (Future<List<ResultadoCreacion>> lote : lotes) {
+            List<ResultadoCreacion> resultados = lote.get(10, TimeUnit.SECONDS);
+            assertThat(resultados.get(1).tipo()).isEqualTo(TipoResultadoCreacion.CREADO);
+            if (resultados.get(0).tipo() == TipoResultadoCreacion.CREADO) {
+                comunesCreados++;
+            }
+        }
+        ejecutor.shutdown();
+
+        assertThat(comunesCreados).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM prestamos WHERE documento_identificativo LIKE 'CONC%'", Long.class))
+                .isEqualTo(PETICIONES + 1L);
+    }
+
+    private static Prestamo nuevoPrestamo() {
+        return nuevoPrestamo(DOCUMENTO);
+    }
+
+    private static Prestamo nuevoPrestamo(String documento) {
+        return Prestamo.builder()
+                .nombreSolicitante("Solicitante concurrente")
+                .importeSolicitado(new BigDecimal("5000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo(documento)
+                .build();
+    }
+}
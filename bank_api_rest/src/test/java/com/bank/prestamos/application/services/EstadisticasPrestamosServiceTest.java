@@ -0,0 +1,119 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.EstadisticaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para EstadisticasPrestamosService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de las estadísticas de la cartera")
+class EstadisticasPrestamosServiceTest {
+
+    @Mock
+    private PrestamoRepositoryPort repositoryPort;
+
+    @InjectMocks
+    private EstadisticasPrestamosService estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        when(repositoryPort.calcularEstadisticas()).thenReturn(List.of(
+                new EstadisticaPrestamos(EstadoPrestamo.PENDIENTE, "EUR", 2,
+                        new BigDecimal("3000.00"), new BigDecimal("1000.00"), new BigDecimal("2000.00"))));
+        estadisticas.reconciliar();
+    }
+
+    @Test
+    @DisplayName("Debe sembrar los contadores con la consulta agregada")
+    void debeSembrarContadores() {
+        assertThat(estadisticas.obtenerEstadisticas()).containsExactly(
+                new EstadisticaPrestamos(EstadoPrestamo.PENDIENTE, "EUR", 2,
+                        new BigDecimal("3000.00"), new BigDecimal("1000.00"), new BigDecimal("2000.00")));
+        assertThat(estadisticas.getUltimaReconciliacion()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Debe acumular las altas en céntimos sin errores de redondeo")
+    void debeAcumularAltasEnCentimos() {
+        estadisticas.registrarAltas(List.of(
+                prestamo(EstadoPrestamo.PENDIENTE, "USD", "0.10"),
+                prestamo(EstadoPrestamo.PENDIENTE, "USD", "0.20")));
+
+        EstadisticaPrestamos usd = buscar(EstadoPrestamo.PENDIENTE, "USD");
+        assertThat(usd.cantidad()).isEqualTo(2);
+        assertThat(usd.importeTotal()).isEqualByComparingTo("0.30");
+        assertThat(usd.importeMinimo()).isEqualByComparingTo("0.10");
+        assertThat(usd.importeMaximo()).isEqualByComparingTo("0.20");
+    }
+
+    @Test
+    @DisplayName("Debe mover el préstamo del estado origen al destino")
+    void debeMoverPrestamoEntreEstados() {
+        estadisticas.registrarCambiosEstado(List.of(new CambioEstadoAplicado(
+                prestamo(EstadoPrestamo.APROBADA, "EUR", "1000.00"), EstadoPrestamo.PENDIENTE)));
+
+        EstadisticaPrestamos pendientes = buscar(EstadoPrestamo.PENDIENTE, "EUR");
+        EstadisticaPrestamos aprobados = buscar(EstadoPrestamo.APROBADA, "EUR");
+        assertThat(pendientes.cantidad()).isEqualTo(1);
+        assertThat(pendientes.importeTotal()).isEqualByComparingTo("2000.00");
+        assertThat(aprobados.cantidad()).isEqualTo(1);
+        assertThat(aprobados.importeTotal()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Debe aplicar un cambio por lotes como diferencias sin volver a consultar la base de datos")
+    void debeAplicarCambioPorLotesSinReconciliar() {
+        estadisticas.registrarCambiosEstado(List.of(
+                new CambioEstadoAplicado(prestamo(EstadoPrestamo.APROBADA, "EUR", "1000.00"), EstadoPrestamo.PENDIENTE),
+                new CambioEstadoAplicado(prestamo(EstadoPrestamo.RECHAZADA, "EUR", "2000.00"), EstadoPrestamo.PENDIENTE)));
+
+        assertThat(estadisticas.obtenerEstadisticas()).extracting(EstadisticaPrestamos::estado)
+                .containsExactly(EstadoPrestamo.APROBADA, EstadoPrestamo.RECHAZADA);
+        assertThat(buscar(EstadoPrestamo.RECHAZADA, "EUR").importeTotal()).isEqualByComparingTo("2000.00");
+        verify(repositoryPort, times(1)).calcularEstadisticas();
+    }
+
+    @Test
+    @DisplayName("Debe detectar y corregir la desviación respecto a la base de datos")
+    void debeCorregirDesviacion() {
+        estadisticas.registrarAltas(List.of(prestamo(EstadoPrestamo.PENDIENTE, "EUR", "500.00")));
+
+        assertThat(estadisticas.reconciliar()).isFalse();
+        assertThat(buscar(EstadoPrestamo.PENDIENTE, "EUR").cantidad()).isEqualTo(2);
+        assertThat(estadisticas.reconciliar()).isTrue();
+    }
+
+    private EstadisticaPrestamos buscar(EstadoPrestamo estado, String divisa) {
+        return estadisticas.obtenerEstadisticas().stream()
+                .filter(e -> e.estado() == estado && e.divisa().equals(divisa))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Prestamo prestamo(EstadoPrestamo estado, String divisa, String importe) {
+        return Prestamo.builder()
+                .estado(estado)
+                .divisa(divisa)
+                .importeSolicitado(new BigDecimal(importe))
+                .build();
+    }
+}
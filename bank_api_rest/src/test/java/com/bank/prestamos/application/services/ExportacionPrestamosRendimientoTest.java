@@ -0,0 +1,141 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.ports.in.ConsultarPrestamoUseCase;
+import com.bank.prestamos.infrastructure.adapter.in.rest.mappers.PrestamoDtoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de rendimiento de la exportación masiva.
+ * Exporta un millón de préstamos con el heap limitado por el perfil Maven "rendimiento" (-Xmx64m) y mide
+ * el heap retenido durante la exportación: tras forzar una recolección cada cierto número de filas, lo
+ * ocupado no puede crecer más que un margen fijo sobre lo que había antes de empezar.
+ * <p>
+ * La base de datos H2 está en fichero (con una caché de páginas pequeña) para que el millón de filas
+ * no viva en el mismo heap que se mide.
+ * Ejecutar con: mvn test -Prendimiento
+ */
+@Tag("rendimiento")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/exportacion_db;LAZY_QUERY_EXECUTION=TRUE;CACHE_SIZE=4096",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@DisplayName("Tests de rendimiento de la exportación de préstamos")
+class ExportacionPrestamosRendimientoTest {
+
+    private static final int NUMERO_PRESTAMOS = 1_000_000;
+    private static final int TAMANIO_TANDA_CARGA = 50_000;
+    private static final int FILAS_ENTRE_MUESTRAS = 100_000;
+    /**
+     * Crecimiento máximo admitido del heap retenido: materializar la tabla ocuparía cientos de MB.
+     */
+    private static final long CRECIMIENTO_MAXIMO_BYTES = 16L * 1024 * 1024;
+
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+    @Autowired
+    private ConsultarPrestamoUseCase consultarPrestamoUseCase;
+
+    @Autowired
+    private PrestamoDtoMapper mapeador;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // La base de datos en fichero sobrevive a una ejecución interrumpida
+        tearDown();
+        // Por tandas, cada una en su transacción: una sola inserción de un millón de filas se haría en memoria
+        for (int desde = 1; desde <= NUMERO_PRESTAMOS; desde += TAMANIO_TANDA_CARGA) {
+            jdbcTemplate.update("""
+                    INSERT INTO prestamos (nombre_solicitante, importe_solicitado, divisa,
+                                           documento_identificativo, estado, fecha_creacion)
+                    SELECT 'Solicitante ' || X, 1000.00, 'EUR', 'EXP' || LPAD(X, 8, '0'), 'PENDIENTE', CURRENT_TIMESTAMP
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, desde, Math.min(desde + TAMANIO_TANDA_CARGA - 1, NUMERO_PRESTAMOS));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM prestamos WHERE documento_identificativo LIKE 'EXP%'");
+    }
+
+    @Test
+    @DisplayName("Debe exportar un millón de préstamos con memoria constante")
+    void debeExportarUnMillonDePrestamosConMemoriaConstante() {
+        long totalEnBaseDeDatos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prestamos", Long.class);
+        AtomicLong exportados = new AtomicLong();
+        ContadorBytes salida = new ContadorBytes();
+        long retenidoAntes = heapRetenido();
+        AtomicLong retenidoMaximo = new AtomicLong(retenidoAntes);
+
+        consultarPrestamoUseCase.exportarTodos(prestamo -> {
+            try {
+                salida.write(objectMapper.writeValueAsBytes(mapeador.toResponse(prestamo)));
+                salida.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (exportados.incrementAndGet() % FILAS_ENTRE_MUESTRAS == 0) {
+                retenidoMaximo.accumulateAndGet(heapRetenido(), Math::max);
+            }
+        });
+
+        assertThat(exportados.get()).isEqualTo(totalEnBaseDeDatos);
+        assertThat(salida.lineas).isEqualTo(totalEnBaseDeDatos);
+        assertThat(retenidoMaximo.get() - retenidoAntes)
+                .as("Heap retenido durante la exportación por encima del inicial")
+                .isLessThan(CRECIMIENTO_MAXIMO_BYTES);
+    }
+
+    /**
+     * Heap ocupado tras una recolección completa: lo que la exportación mantiene vivo, sin la basura pendiente.
+     */
+    private long heapRetenido() {
+        memoria.gc();
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Salida que descarta los bytes y solo cuenta las líneas escritas.
+     */
+    private static final class ContadorBytes extends OutputStream {
+
+        private long lineas;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lineas++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // Los objetos JSON no contienen saltos de línea; basta con descartarlos
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.prestamos.application.services;
+
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
+import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.domain.ports.out.HistorialPrestamosPort;
+import com.bank.prestamos.domain.ports.out.IndiceNombresPrestamosPort;
+import com.bank.prestamos.domain.ports.out.PrestamoReactivoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para PrestamoReactivoService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del servicio PrestamoReactivoService")
+class PrestamoReactivoServiceTest {
+
+    @Mock
+    private PrestamoReactivoRepositoryPort repositoryPort;
+
+    @Mock
+    private IndiceNombresPrestamosPort indiceNombres;
+
+    @Mock
+    private HistorialPrestamosPort historial;
+
+    @InjectMocks
+    private PrestamoReactivoService prestamoService;
+
+    private Prestamo prestamoMock;
+
+    @BeforeEach
+    void setUp() {
+        prestamoMock = Prestamo.builder()
+                .id(1L)
+                .nombreSolicitante("Juan Pérez")
+                .importeSolicitado(new BigDecimal("15000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo("12345678A")
+                .estado(EstadoPrestamo.PENDIENTE)
+                .fechaCreacion(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe crear préstamo en estado PENDIENTE")
+    void debeCrearPrestamo() {
+        Prestamo nuevo = Prestamo.builder().documentoIdentificativo("12345678A").build();
+        when(repositoryPort.insertar(any(Prestamo.class))).thenReturn(Mono.just(prestamoMock));
+
+        StepVerifier.create(prestamoService.crear(nuevo))
+                .expectNext(prestamoMock)
+                .verifyComplete();
+
+        assertThat(nuevo.getEstado()).isEqualTo(EstadoPrestamo.PENDIENTE);
+        assertThat(nuevo.getFechaCreacion()).isNotNull();
+        verify(indiceNombres).registrar(List.of(prestamoMock));
+    }
+
+    @Test
+    @DisplayName("Debe propagar DocumentoDuplicadoException al crear")
+    void debePropagarDocumentoDuplicado() {
+        when(repositoryPort.insertar(any(Prestamo.class)))
+                .thenReturn(Mono.error(new DocumentoDuplicadoException("12345678A")));
+
+        StepVerifier.create(prestamoService.crear(prestamoMock))
+                .expectError(DocumentoDuplicadoException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debe lanzar PrestamoNoEncontradoException si el préstamo no existe")
+    void debeFallarSiNoExiste() {
+        when(repositoryPort.buscarPorId(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(prestamoService.obtenerPorId(999L))
+                .expectError(PrestamoNoEncontradoException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debe devolver cursor cuando hay más préstamos que el tamaño de página")
+    void debeDevolverCursorSiHayMas() {
+        Prestamo segundo = prestamoMock.toBuilder().id(2L).build();
+        when(repositoryPort.buscarPagina(null, 2))
+                .thenReturn(Flux.just(prestamoMock, segundo));
+
+        StepVerifier.create(prestamoService.obtenerPagina(null, 1))
+                .assertNext(pagina -> {
+                    assertThat(pagina.prestamos()).containsExactly(prestamoMock);
+                    assertThat(pagina.hayMas()).isTrue();
+                    assertThat(pagina.siguiente().id()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe cambiar el estado con una actualización condicional y registrar el historial fuera del event loop")
+    void debeCambiarEstado() {
+        LocalDateTime ahora = LocalDateTime.now();
+        AtomicReference<String> hiloHistorial = new AtomicReference<>();
+        doAnswer(invocacion -> {
+            hiloHistorial.set(Thread.currentThread().getName());
+            return null;
+        }).when(historial).registrar(any());
+        Prestamo aprobado = prestamoMock.toBuilder().estado(EstadoPrestamo.APROBADA).version(1L)
+                .fechaUltimaModificacion(ahora).build();
+        when(repositoryPort.actualizarEstado(eq(1L), eq(EstadoPrestamo.APROBADA.predecesores()),
+                eq(EstadoPrestamo.APROBADA), eq("gestor@banco.com"), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(new CambioEstadoAplicado(aprobado, EstadoPrestamo.PENDIENTE)));
+
+        StepVerifier.create(prestamoService.cambiarEstado(1L, EstadoPrestamo.APROBADA, "gestor@banco.com"))
+                .expectNext(aprobado)
+                .verifyComplete();
+        verify(historial).registrar(List.of(new RegistroHistorial(
+                1L, EstadoPrestamo.PENDIENTE, EstadoPrestamo.APROBADA, "gestor@banco.com", ahora)));
+        assertThat(hiloHistorial.get()).startsWith("boundedElastic");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una transición no permitida desde el estado actual")
+    void debeRechazarTransicionInvalida() {
+        when(repositoryPort.actualizarEstado(eq(1L), any(), eq(EstadoPrestamo.APROBADA), anyString(), any()))
+                .thenReturn(Mono.empty());
+        when(repositoryPort.buscarEstado(1L)).thenReturn(Mono.just(EstadoPrestamo.RECHAZADA));
+
+        StepVerifier.create(prestamoService.cambiarEstado(1L, EstadoPrestamo.APROBADA, "gestor@banco.com"))
+                .expectError(TransicionEstadoInvalidaException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debe lanzar PrestamoNoEncontradoException al cambiar el estado de un préstamo inexistente")
+    void debeFallarCambioEstadoSiNoExiste() {
+        when(repositoryPort.actualizarEstado(eq(999L), any(), eq(EstadoPrestamo.APROBADA), anyString(), any()))
+                .thenReturn(Mono.empty());
+        when(repositoryPort.buscarEstado(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(prestamoService.cambiarEstado(999L, EstadoPrestamo.APROBADA, "gestor@banco.com"))
+                .expectError(PrestamoNoEncontradoException.class)
+                .verify();
+    }
+}
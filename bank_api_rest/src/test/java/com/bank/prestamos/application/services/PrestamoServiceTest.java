@@ -3,8 +3,26 @@ package com.bank.prestamos.application.services;
 import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
 import com.bank.prestamos.domain.excepcion.PrestamoNoEncontradoException;
 import com.bank.prestamos.domain.excepcion.TransicionEstadoInvalidaException;
+import com.bank.prestamos.domain.models.CambioEstado;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.CursorPrestamo;
 import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.EventoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
 import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.domain.models.ResultadoCambioEstado;
+import com.bank.prestamos.domain.models.ResultadoCreacion;
+import com.bank.prestamos.domain.models.TipoResultadoCambioEstado;
+import com.bank.prestamos.domain.models.TipoEventoPrestamo;
+import com.bank.prestamos.domain.models.TipoResultadoCreacion;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import com.bank.prestamos.domain.ports.out.EventosPrestamoPort;
+import com.bank.prestamos.domain.ports.out.HistorialPrestamosPort;
+import com.bank.prestamos.domain.ports.out.IndiceNombresPrestamosPort;
 import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,12 +33,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -34,6 +59,18 @@ class PrestamoServiceTest {
     @Mock
     private PrestamoRepositoryPort repositoryPort;
 
+    @Mock
+    private EstadisticasPrestamosService estadisticas;
+
+    @Mock
+    private IndiceNombresPrestamosPort indiceNombres;
+
+    @Mock
+    private HistorialPrestamosPort historial;
+
+    @Mock
+    private EventosPrestamoPort eventos;
+
     @InjectMocks
     private PrestamoService prestamoService;
 
@@ -52,30 +89,71 @@ class PrestamoServiceTest {
     }
 
     @Test
-    @DisplayName("Debe crear préstamo exitosamente")
+    @DisplayName("Debe crear préstamo con una única inserción")
     void debeCrearPrestamoExitosamente() {
-        when(repositoryPort.existePorDocumento(anyString())).thenReturn(false);
-        when(repositoryPort.guardar(any(Prestamo.class))).thenReturn(prestamoMock);
+        when(repositoryPort.insertar(any(Prestamo.class))).thenReturn(prestamoMock);
 
         Prestamo resultado = prestamoService.crear(prestamoMock);
 
         assertThat(resultado).isNotNull();
         assertThat(resultado.getEstado()).isEqualTo(EstadoPrestamo.PENDIENTE);
-        verify(repositoryPort).existePorDocumento("12345678A");
-        verify(repositoryPort).guardar(any(Prestamo.class));
+        verify(repositoryPort).insertar(any(Prestamo.class));
+        verify(repositoryPort, never()).existePorDocumento(anyString());
+        verify(estadisticas).registrarAltas(List.of(prestamoMock));
+        verify(indiceNombres).registrar(List.of(prestamoMock));
+        verify(eventos).publicar(List.of(EventoPrestamo.creado(prestamoMock)));
     }
 
     @Test
     @DisplayName("Debe lanzar excepción cuando el documento está duplicado")
     void debeLanzarExcepcionDocumentoDuplicado() {
-        when(repositoryPort.existePorDocumento(anyString())).thenReturn(true);
+        when(repositoryPort.insertar(any(Prestamo.class)))
+                .thenThrow(new DocumentoDuplicadoException("12345678A"));
 
         assertThatThrownBy(() -> prestamoService.crear(prestamoMock))
                 .isInstanceOf(DocumentoDuplicadoException.class)
                 .hasMessageContaining("Ya existe un préstamo con el documento 12345678A");
 
-        verify(repositoryPort).existePorDocumento("12345678A");
-        verify(repositoryPort, never()).guardar(any());
+        verify(repositoryPort, never()).existePorDocumento(anyString());
+    }
+
+    @Test
+    @DisplayName("Debe crear lote marcando duplicados existentes y repetidos en el lote")
+    void debeCrearLoteMarcandoDuplicados() {
+        Prestamo existente = Prestamo.builder().documentoIdentificativo("87654321B").build();
+        Prestamo repetido = Prestamo.builder().documentoIdentificativo("12345678A").build();
+        Prestamo nuevo = Prestamo.builder().documentoIdentificativo("12345678A").build();
+
+        when(repositoryPort.buscarDocumentosExistentes(anyList())).thenReturn(Set.of("87654321B"));
+        when(repositoryPort.insertarTodos(anyList())).thenReturn(List.of(prestamoMock));
+
+        List<ResultadoCreacion> resultados = prestamoService.crearLote(List.of(nuevo, existente, repetido));
+
+        assertThat(resultados).extracting(ResultadoCreacion::tipo).containsExactly(
+                TipoResultadoCreacion.CREADO, TipoResultadoCreacion.DUPLICADO, TipoResultadoCreacion.DUPLICADO);
+        assertThat(resultados.get(0).prestamo()).isEqualTo(prestamoMock);
+        assertThat(nuevo.getEstado()).isEqualTo(EstadoPrestamo.PENDIENTE);
+        verify(repositoryPort).buscarDocumentosExistentes(List.of("12345678A", "87654321B", "12345678A"));
+        verify(repositoryPort).insertarTodos(List.of(nuevo));
+        verify(repositoryPort, never()).existePorDocumento(anyString());
+    }
+
+    @Test
+    @DisplayName("Debe informar como duplicado el préstamo que la inserción omite por un alta concurrente")
+    void debeInformarDuplicadoOmitidoPorLaInsercion() {
+        Prestamo otro = Prestamo.builder().documentoIdentificativo("87654321B").build();
+        Prestamo nuevo = Prestamo.builder().documentoIdentificativo("12345678A").build();
+
+        when(repositoryPort.buscarDocumentosExistentes(anyList())).thenReturn(Set.of());
+        when(repositoryPort.insertarTodos(anyList())).thenReturn(List.of(prestamoMock));
+
+        List<ResultadoCreacion> resultados = prestamoService.crearLote(List.of(otro, nuevo));
+
+        assertThat(resultados).extracting(ResultadoCreacion::tipo).containsExactly(
+                TipoResultadoCreacion.DUPLICADO, TipoResultadoCreacion.CREADO);
+        assertThat(resultados.get(1).prestamo()).isEqualTo(prestamoMock);
+        verify(estadisticas).registrarAltas(List.of(prestamoMock));
+        verify(eventos).publicar(anyList());
     }
 
     @Test
@@ -119,29 +197,192 @@ class PrestamoServiceTest {
     }
 
     @Test
-    @DisplayName("Debe cambiar estado de préstamo exitosamente")
+    @DisplayName("Debe devolver página con cursor cuando hay más préstamos")
+    void debeDevolverPaginaConCursorCuandoHayMas() {
+        LocalDateTime fecha = LocalDateTime.of(2026, 2, 7, 10, 30);
+        Prestamo prestamo2 = Prestamo.builder().id(2L).fechaCreacion(fecha).build();
+        Prestamo prestamo3 = Prestamo.builder().id(3L).fechaCreacion(fecha.minusDays(1)).build();
+        prestamoMock.setFechaCreacion(fecha.plusDays(1));
+
+        when(repositoryPort.buscarPagina(null, 3)).thenReturn(List.of(prestamoMock, prestamo2, prestamo3));
+
+        PaginaPrestamos resultado = prestamoService.obtenerPagina(null, 2);
+
+        assertThat(resultado.prestamos()).containsExactly(prestamoMock, prestamo2);
+        assertThat(resultado.hayMas()).isTrue();
+        assertThat(resultado.siguiente()).isEqualTo(new CursorPrestamo(fecha, 2L));
+    }
+
+    @Test
+    @DisplayName("Debe devolver última página sin cursor")
+    void debeDevolverUltimaPaginaSinCursor() {
+        CursorPrestamo cursor = new CursorPrestamo(LocalDateTime.of(2026, 2, 7, 10, 30), 5L);
+        when(repositoryPort.buscarPagina(cursor, 3)).thenReturn(List.of(prestamoMock));
+
+        PaginaPrestamos resultado = prestamoService.obtenerPagina(cursor, 2);
+
+        assertThat(resultado.prestamos()).containsExactly(prestamoMock);
+        assertThat(resultado.hayMas()).isFalse();
+        assertThat(resultado.siguiente()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe leer las versiones de la página con un elemento de más, como el listado")
+    void debeObtenerVersionesPagina() {
+        List<VersionPrestamo> versiones = List.of(new VersionPrestamo(1L, 0L));
+        when(repositoryPort.buscarVersionesPagina(null, 21)).thenReturn(versiones);
+
+        assertThat(prestamoService.obtenerVersionesPagina(null, 20)).isSameAs(versiones);
+        verify(repositoryPort, never()).buscarPagina(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debe delegar la búsqueda filtrada en el repositorio")
+    void debeBuscarPorCriterios() {
+        CriteriosBusquedaPrestamos criterios = new CriteriosBusquedaPrestamos(
+                EstadoPrestamo.PENDIENTE, "EUR", null, null, null, null, null, false);
+        PaginaBusquedaPrestamos pagina = new PaginaBusquedaPrestamos(List.of(prestamoMock), 0, 20, 1);
+        when(repositoryPort.buscarPorCriterios(criterios, 0, 20)).thenReturn(pagina);
+
+        PaginaBusquedaPrestamos resultado = prestamoService.buscar(criterios, 0, 20);
+
+        assertThat(resultado).isSameAs(pagina);
+        assertThat(resultado.hayMas()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe exportar los préstamos entregándolos de uno en uno")
+    @SuppressWarnings("unchecked")
+    void debeExportarPrestamosUnoAUno() {
+        doAnswer(invocacion -> {
+            Consumer<Prestamo> consumidor = invocacion.getArgument(0);
+            consumidor.accept(prestamoMock);
+            return null;
+        }).when(repositoryPort).recorrerTodos(any(Consumer.class));
+
+        List<Prestamo> exportados = new ArrayList<>();
+        prestamoService.exportarTodos(exportados::add);
+
+        assertThat(exportados).containsExactly(prestamoMock);
+        verify(repositoryPort, never()).buscarTodos();
+    }
+
+    @Test
+    @DisplayName("Debe cambiar estado de préstamo con una única actualización condicional")
     void debeCambiarEstadoExitosamente() {
-        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(prestamoMock));
-        when(repositoryPort.guardar(any(Prestamo.class))).thenReturn(prestamoMock);
+        Prestamo aprobado = Prestamo.builder()
+                .id(1L)
+                .estado(EstadoPrestamo.APROBADA)
+                .usuarioUltimaModificacion("gestor@banco.com")
+                .version(1L)
+                .build();
+        CambioEstadoAplicado cambio = new CambioEstadoAplicado(aprobado, EstadoPrestamo.PENDIENTE);
+        when(repositoryPort.actualizarEstado(eq(1L), eq(Set.of(EstadoPrestamo.PENDIENTE)),
+                eq(EstadoPrestamo.APROBADA), eq("gestor@banco.com"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(cambio));
 
         Prestamo resultado = prestamoService.cambiarEstado(1L, EstadoPrestamo.APROBADA, "gestor@banco.com");
 
-        assertThat(resultado).isNotNull();
         assertThat(resultado.getEstado()).isEqualTo(EstadoPrestamo.APROBADA);
-        verify(repositoryPort).buscarPorId(1L);
-        verify(repositoryPort).guardar(any(Prestamo.class));
+        assertThat(resultado.getVersion()).isEqualTo(1L);
+        verify(repositoryPort, never()).buscarPorId(any());
+        verify(repositoryPort, never()).buscarEstados(any());
+        verify(repositoryPort, never()).guardar(any());
+        verify(estadisticas).registrarCambiosEstado(List.of(cambio));
+        verify(historial).registrar(argThat(registros -> registros.size() == 1
+                && registros.get(0).estadoAnterior() == EstadoPrestamo.PENDIENTE
+                && registros.get(0).estadoNuevo() == EstadoPrestamo.APROBADA
+                && registros.get(0).usuario().equals("gestor@banco.com")));
+        verify(eventos).publicar(argThat(publicados -> publicados.size() == 1
+                && publicados.get(0).tipo() == TipoEventoPrestamo.ESTADO_CAMBIADO
+                && publicados.get(0).estadoAnterior() == EstadoPrestamo.PENDIENTE
+                && publicados.get(0).estado() == EstadoPrestamo.APROBADA));
     }
 
     @Test
     @DisplayName("Debe lanzar excepción cuando transición de estado es inválida")
     void debeLanzarExcepcionTransicionInvalida() {
-        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(prestamoMock));
+        when(repositoryPort.actualizarEstado(eq(1L), any(), eq(EstadoPrestamo.CANCELADA), anyString(), any()))
+                .thenReturn(Optional.empty());
+        when(repositoryPort.buscarEstados(List.of(1L))).thenReturn(Map.of(1L, EstadoPrestamo.RECHAZADA));
 
         assertThatThrownBy(() -> prestamoService.cambiarEstado(1L, EstadoPrestamo.CANCELADA, "gestor@banco.com"))
                 .isInstanceOf(TransicionEstadoInvalidaException.class)
-                .hasMessageContaining("Transición de estado inválida");
+                .hasMessageContaining("Transición de estado inválida de RECHAZADA a CANCELADA");
 
-        verify(repositoryPort).buscarPorId(1L);
         verify(repositoryPort, never()).guardar(any());
+        verifyNoInteractions(estadisticas, historial, eventos);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción al cambiar el estado de un préstamo inexistente")
+    void debeLanzarExcepcionCambioEstadoPrestamoInexistente() {
+        when(repositoryPort.actualizarEstado(eq(999L), any(), eq(EstadoPrestamo.APROBADA), anyString(), any()))
+                .thenReturn(Optional.empty());
+        when(repositoryPort.buscarEstados(List.of(999L))).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> prestamoService.cambiarEstado(999L, EstadoPrestamo.APROBADA, "gestor@banco.com"))
+                .isInstanceOf(PrestamoNoEncontradoException.class);
+    }
+
+    @Test
+    @DisplayName("Debe cambiar estado por lotes informando del resultado de cada préstamo")
+    void debeCambiarEstadoPorLotes() {
+        CambioEstadoAplicado cambioAplicado = new CambioEstadoAplicado(
+                Prestamo.builder().id(1L).estado(EstadoPrestamo.APROBADA).divisa("EUR")
+                        .importeSolicitado(new BigDecimal("1000.00")).version(1L).build(),
+                EstadoPrestamo.PENDIENTE);
+        when(repositoryPort.buscarEstados(List.of(1L, 2L, 3L, 4L))).thenReturn(Map.of(
+                1L, EstadoPrestamo.PENDIENTE,
+                2L, EstadoPrestamo.RECHAZADA,
+                4L, EstadoPrestamo.PENDIENTE));
+        when(repositoryPort.actualizarEstadoCondicional(eq(List.of(1L, 4L)), eq(Set.of(EstadoPrestamo.PENDIENTE)),
+                eq(EstadoPrestamo.APROBADA), eq("gestor@banco.com"), any(LocalDateTime.class)))
+                .thenReturn(List.of(cambioAplicado));
+
+        List<ResultadoCambioEstado> resultados = prestamoService.cambiarEstadoLote(List.of(
+                new CambioEstado(1L, EstadoPrestamo.APROBADA),
+                new CambioEstado(2L, EstadoPrestamo.APROBADA),
+                new CambioEstado(3L, EstadoPrestamo.APROBADA),
+                new CambioEstado(4L, EstadoPrestamo.APROBADA),
+                new CambioEstado(1L, EstadoPrestamo.RECHAZADA)
+        ), "gestor@banco.com");
+
+        assertThat(resultados).extracting(ResultadoCambioEstado::tipo).containsExactly(
+                TipoResultadoCambioEstado.ACTUALIZADO,
+                TipoResultadoCambioEstado.TRANSICION_INVALIDA,
+                TipoResultadoCambioEstado.NO_ENCONTRADO,
+                TipoResultadoCambioEstado.TRANSICION_INVALIDA,
+                TipoResultadoCambioEstado.TRANSICION_INVALIDA);
+        assertThat(resultados.get(1).mensaje()).contains("Transición de estado inválida de RECHAZADA a APROBADA");
+        verify(repositoryPort, never()).buscarPorId(any());
+        verify(repositoryPort, never()).guardar(any());
+        verify(historial).registrar(argThat(registros -> registros.size() == 1
+                && registros.get(0).prestamoId().equals(1L)
+                && registros.get(0).estadoAnterior() == EstadoPrestamo.PENDIENTE));
+        verify(estadisticas).registrarCambiosEstado(List.of(cambioAplicado));
+        verify(estadisticas, never()).reconciliar();
+    }
+
+    @Test
+    @DisplayName("Debe obtener el historial de un préstamo existente")
+    void debeObtenerHistorial() {
+        PaginaHistorialPrestamo pagina = new PaginaHistorialPrestamo(List.of(new RegistroHistorial(
+                1L, EstadoPrestamo.PENDIENTE, EstadoPrestamo.APROBADA, "gestor@banco.com", LocalDateTime.now())),
+                0, 20, false);
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(prestamoMock));
+        when(historial.buscarPorPrestamo(1L, 0, 20)).thenReturn(pagina);
+
+        assertThat(prestamoService.obtenerHistorial(1L, 0, 20)).isSameAs(pagina);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción al consultar el historial de un préstamo inexistente")
+    void debeLanzarExcepcionHistorialPrestamoInexistente() {
+        when(repositoryPort.buscarPorId(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> prestamoService.obtenerHistorial(999L, 0, 20))
+                .isInstanceOf(PrestamoNoEncontradoException.class);
+        verifyNoInteractions(historial);
     }
 }
@@ -54,4 +54,13 @@ class EstadoPrestamoTest {
         assertThat(EstadoPrestamo.CANCELADA.puedeTransicionarA(EstadoPrestamo.RECHAZADA)).isFalse();
         assertThat(EstadoPrestamo.CANCELADA.puedeTransicionarA(EstadoPrestamo.PENDIENTE)).isFalse();
     }
+
+    @Test
+    @DisplayName("Debe derivar los predecesores de cada estado a partir de las transiciones válidas")
+    void debeDerivarPredecesores() {
+        assertThat(EstadoPrestamo.PENDIENTE.predecesores()).isEmpty();
+        assertThat(EstadoPrestamo.APROBADA.predecesores()).containsExactly(EstadoPrestamo.PENDIENTE);
+        assertThat(EstadoPrestamo.RECHAZADA.predecesores()).containsExactly(EstadoPrestamo.PENDIENTE);
+        assertThat(EstadoPrestamo.CANCELADA.predecesores()).containsExactly(EstadoPrestamo.APROBADA);
+    }
 }
@@ -0,0 +1,80 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.etag;
+
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.VersionPrestamo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para GeneradorEtag.
+ */
+@DisplayName("Tests del generador de ETags")
+class GeneradorEtagTest {
+
+    private final GeneradorEtag generador = new GeneradorEtag();
+
+    @Test
+    @DisplayName("Debe calcular el mismo ETag a partir de la versión que del préstamo cargado")
+    void debeCoincidirEtagDeVersionYDePrestamo() {
+        Prestamo prestamo = Prestamo.builder().id(7L).version(3L).build();
+
+        assertThat(generador.dePrestamo(prestamo))
+                .isEqualTo(generador.deVersion(7L, 3L))
+                .isEqualTo("W/\"7-3\"");
+    }
+
+    @Test
+    @DisplayName("Debe calcular el mismo ETag de página desde las versiones que desde la página cargada")
+    void debeCoincidirEtagDeVersionesYDePagina() {
+        LocalDateTime fecha = LocalDateTime.of(2026, 2, 1, 12, 0);
+        Prestamo primero = Prestamo.builder().id(3L).version(0L).fechaCreacion(fecha).build();
+        Prestamo segundo = Prestamo.builder().id(2L).version(1L).fechaCreacion(fecha).build();
+        PaginaPrestamos pagina = new PaginaPrestamos(List.of(primero, segundo), new CursorPrestamo(fecha, 2L));
+        List<VersionPrestamo> versiones = List.of(
+                new VersionPrestamo(3L, 0L), new VersionPrestamo(2L, 1L), new VersionPrestamo(1L, 0L));
+
+        assertThat(generador.deVersionesPagina(versiones, 2)).isEqualTo(generador.dePagina(pagina));
+    }
+
+    @Test
+    @DisplayName("Los ETags deben ser débiles: valen para cualquier codificación de la misma versión")
+    void debenSerEtagsDebiles() {
+        List<VersionPrestamo> versiones = List.of(new VersionPrestamo(3L, 0L));
+
+        assertThat(generador.deVersion(7L, 3L)).startsWith("W/\"");
+        assertThat(generador.deVersionesPagina(versiones, 2)).startsWith("W/\"p-");
+    }
+
+    @Test
+    @DisplayName("Debe cambiar el ETag de página si cambia una versión o aparece una página siguiente")
+    void debeCambiarEtagDePagina() {
+        List<VersionPrestamo> versiones = List.of(new VersionPrestamo(3L, 0L), new VersionPrestamo(2L, 1L));
+        String etag = generador.deVersionesPagina(versiones, 2);
+
+        assertThat(generador.deVersionesPagina(
+                List.of(new VersionPrestamo(3L, 1L), new VersionPrestamo(2L, 1L)), 2)).isNotEqualTo(etag);
+        assertThat(generador.deVersionesPagina(
+                List.of(new VersionPrestamo(3L, 0L), new VersionPrestamo(2L, 1L), new VersionPrestamo(1L, 0L)), 2))
+                .isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Debe reconocer el ETag en listas, con y sin prefijo débil y con comodín")
+    void debeCompararIfNoneMatch() {
+        String etag = generador.deVersion(7L, 3L);
+
+        assertThat(generador.coincide(etag, etag)).isTrue();
+        assertThat(generador.coincide("\"1-0\", W/\"7-3\"", etag)).isTrue();
+        assertThat(generador.coincide("\"7-3\"", etag)).isTrue();
+        assertThat(generador.coincide("*", etag)).isTrue();
+        assertThat(generador.coincide("W/\"7-2\"", etag)).isFalse();
+        assertThat(generador.coincide(null, etag)).isFalse();
+    }
+}
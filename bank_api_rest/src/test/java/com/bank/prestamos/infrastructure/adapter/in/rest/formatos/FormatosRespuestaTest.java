@@ -0,0 +1,96 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.formatos;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para FormatosRespuesta.
+ */
+@DisplayName("Tests de los formatos de respuesta")
+class FormatosRespuestaTest {
+
+    private final FormatosRespuesta formatos = new FormatosRespuesta(constructores());
+
+    @Test
+    @DisplayName("Debe exportar en NDJSON si el cliente no pide otro formato")
+    void debeExportarEnNdjsonPorDefecto() {
+        assertThat(formatos.formatoExportacion(null)).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(formatos.formatoExportacion("*/*")).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(formatos.formatoExportacion("text/html")).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(formatos.formatoExportacion("no es un tipo")).isEqualTo(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    @DisplayName("Debe elegir el formato de exportación según la calidad indicada en Accept")
+    void debeElegirFormatoSegunCalidad() {
+        assertThat(formatos.formatoExportacion("application/cbor-seq"))
+                .isEqualTo(FormatosRespuesta.APPLICATION_CBOR_SEQ);
+        assertThat(formatos.formatoExportacion("application/x-ndjson;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(FormatosRespuesta.APPLICATION_SMILE);
+        assertThat(formatos.formatoExportacion("application/cbor-seq;q=0.2, application/x-ndjson;q=0.8"))
+                .isEqualTo(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    @DisplayName("Debe escribir una secuencia CBOR legible valor a valor y sin cerrar la salida")
+    void debeEscribirSecuenciaCbor() throws Exception {
+        PrestamoResponse primero = respuesta(1L);
+        PrestamoResponse segundo = respuesta(2L);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("La salida pertenece al contenedor y no debe cerrarse");
+            }
+        };
+
+        try (SequenceWriter secuencia = formatos.escritorSecuencia(FormatosRespuesta.APPLICATION_CBOR_SEQ)
+                .writeValues(salida)) {
+            secuencia.write(primero);
+            secuencia.write(segundo);
+        }
+
+        try (MappingIterator<PrestamoResponse> leidos = formatos.cbor()
+                .readerFor(PrestamoResponse.class).readValues(salida.toByteArray())) {
+            assertThat(leidos.readAll()).containsExactly(primero, segundo);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe ocupar menos en Smile que en JSON con la misma configuración de Jackson")
+    void debeOcuparMenosEnSmileQueEnJson() throws Exception {
+        List<PrestamoResponse> respuestas = List.of(respuesta(1L), respuesta(2L), respuesta(3L));
+
+        byte[] json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(respuestas);
+        byte[] smile = formatos.smile().writeValueAsBytes(respuestas);
+
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    private static PrestamoResponse respuesta(Long id) {
+        LocalDateTime fecha = LocalDateTime.of(2026, 2, 7, 10, 30);
+        return new PrestamoResponse(id, "Juan Pérez García", new BigDecimal("15000.00"), "EUR",
+                "12345678A", EstadoPrestamo.PENDIENTE, fecha, fecha, "gestor@banco.com");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<Jackson2ObjectMapperBuilder> constructores() {
+        ObjectProvider<Jackson2ObjectMapperBuilder> constructores = mock(ObjectProvider.class);
+        when(constructores.getObject()).thenAnswer(invocacion -> Jackson2ObjectMapperBuilder.json());
+        return constructores;
+    }
+}
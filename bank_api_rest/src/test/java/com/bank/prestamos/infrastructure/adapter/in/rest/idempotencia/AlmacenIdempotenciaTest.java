@@ -0,0 +1,170 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.idempotencia;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.CrearPrestamoRequest;
+import com.bank.prestamos.infrastructure.adapter.in.rest.dto.PrestamoResponse;
+import com.bank.prestamos.infrastructure.excepcion.ClaveIdempotenciaInvalidaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test de integración del almacén de claves de idempotencia sobre H2.
+ * La limpieza programada se aplaza una hora y se lanza desde el propio test.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencia_db",
+        "spring.jpa.show-sql=false",
+        "prestamos.idempotencia.intervalo-limpieza=1h",
+        "prestamos.idempotencia.espera-maxima=5s"
+})
+@DisplayName("Tests del almacén de claves de idempotencia")
+class AlmacenIdempotenciaTest {
+
+    private static final CrearPrestamoRequest PETICION = new CrearPrestamoRequest(
+            "Juan Pérez García", new BigDecimal("15000.00"), "EUR", "12345678A");
+
+    @Autowired
+    private AlmacenIdempotencia almacen;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger altas = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM prestamos_idempotencia");
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar el alta una sola vez y devolver la misma respuesta a los reintentos")
+    void debeRepetirRespuestaGuardada() {
+        ResultadoIdempotente primero = almacen.ejecutar("clave-repetida", PETICION, alta(1L));
+        ResultadoIdempotente reintento = almacen.ejecutar("clave-repetida", PETICION, alta(2L));
+
+        assertThat(primero.repetido()).isFalse();
+        assertThat(reintento.repetido()).isTrue();
+        assertThat(reintento.prestamo()).isEqualTo(primero.prestamo());
+        assertThat(altas).hasValue(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM prestamos_idempotencia WHERE clave = 'clave-repetida'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una clave reutilizada con una petición distinta")
+    void debeRechazarClaveConOtraPeticion() {
+        almacen.ejecutar("clave-reutilizada", PETICION, alta(1L));
+        CrearPrestamoRequest otra = new CrearPrestamoRequest(
+                "Juan Pérez García", new BigDecimal("20000.00"), "EUR", "12345678A");
+
+        assertThatThrownBy(() -> almacen.ejecutar("clave-reutilizada", otra, alta(2L)))
+                .isInstanceOf(ClaveIdempotenciaInvalidaException.class);
+        assertThat(altas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar claves vacías o más largas que la columna")
+    void debeRechazarClavesInvalidas() {
+        assertThatThrownBy(() -> almacen.ejecutar(" ", PETICION, alta(1L)))
+                .isInstanceOf(ClaveIdempotenciaInvalidaException.class);
+        assertThatThrownBy(() -> almacen.ejecutar(
+                "x".repeat(AlmacenIdempotencia.LONGITUD_MAXIMA_CLAVE + 1), PETICION, alta(1L)))
+                .isInstanceOf(ClaveIdempotenciaInvalidaException.class);
+        assertThat(altas).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Debe hacer esperar a la petición simultánea con la misma clave en lugar de repetir el alta")
+    void debeEsperarALaPeticionEnCurso() throws Exception {
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<ResultadoIdempotente> primera = CompletableFuture.supplyAsync(() ->
+                almacen.ejecutar("clave-simultanea", PETICION, () -> {
+                    dentro.countDown();
+                    try {
+                        liberar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return alta(1L).get();
+                }));
+        assertThat(dentro.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResultadoIdempotente> segunda = CompletableFuture.supplyAsync(() ->
+                almacen.ejecutar("clave-simultanea", PETICION, alta(2L)));
+
+        Thread.sleep(100);
+        assertThat(segunda).isNotDone();
+        liberar.countDown();
+
+        assertThat(primera.get(5, TimeUnit.SECONDS).repetido()).isFalse();
+        assertThat(segunda.get(5, TimeUnit.SECONDS).repetido()).isTrue();
+        assertThat(segunda.get().prestamo().id()).isEqualTo(1L);
+        assertThat(altas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar el alta en el reintento si la primera petición falló")
+    void debeEjecutarTrasUnFallo() {
+        assertThatThrownBy(() -> almacen.ejecutar("clave-fallida", PETICION, () -> {
+            throw new IllegalStateException("fallo");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResultadoIdempotente reintento = almacen.ejecutar("clave-fallida", PETICION, alta(1L));
+
+        assertThat(reintento.repetido()).isFalse();
+        assertThat(altas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe responder desde la base de datos las claves que no están en memoria")
+    void debeLeerDeLaBaseDeDatos() {
+        almacen.ejecutar("clave-origen", PETICION, alta(1L));
+        // Se renombra la fila para que su clave no esté en memoria, como si la hubiera atendido otra réplica
+        jdbcTemplate.update("UPDATE prestamos_idempotencia SET clave = 'clave-otra-replica' WHERE clave = 'clave-origen'");
+
+        ResultadoIdempotente resultado = almacen.ejecutar("clave-otra-replica", PETICION, alta(2L));
+
+        assertThat(resultado.repetido()).isTrue();
+        assertThat(resultado.prestamo().id()).isEqualTo(1L);
+        assertThat(altas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe borrar solo las respuestas caducadas")
+    void debePurgarExpiradas() {
+        almacen.ejecutar("clave-vigente", PETICION, alta(1L));
+        almacen.ejecutar("clave-caducada", PETICION, alta(2L));
+        jdbcTemplate.update("UPDATE prestamos_idempotencia SET fecha_expiracion = ? WHERE clave = 'clave-caducada'",
+                LocalDateTime.now().minusMinutes(1));
+
+        almacen.purgarExpiradas();
+
+        assertThat(jdbcTemplate.queryForList("SELECT clave FROM prestamos_idempotencia", String.class))
+                .containsExactly("clave-vigente");
+    }
+
+    private Supplier<PrestamoResponse> alta(Long id) {
+        return () -> {
+            altas.incrementAndGet();
+            LocalDateTime fecha = LocalDateTime.of(2026, 2, 7, 10, 30);
+            return new PrestamoResponse(id, PETICION.nombreSolicitante(), PETICION.importeSolicitado(),
+                    PETICION.divisa(), PETICION.documentoIdentificativo(), EstadoPrestamo.PENDIENTE,
+                    fecha, null, null);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.prestamos.infrastructure.adapter.in.rest.paginacion;
+
+import com.bank.prestamos.domain.excepcion.CursorInvalidoException;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para CodificadorCursor.
+ */
+@DisplayName("Tests del codificador de cursores de paginación")
+class CodificadorCursorTest {
+
+    private final CodificadorCursor codificador = new CodificadorCursor();
+
+    @Test
+    @DisplayName("Debe recuperar el mismo cursor tras codificar y decodificar")
+    void debeRecuperarMismoCursor() {
+        CursorPrestamo cursor = new CursorPrestamo(LocalDateTime.of(2026, 2, 7, 10, 30, 15, 123456000), 42L);
+
+        String token = codificador.codificar(cursor);
+
+        assertThat(token).doesNotContain("|", "=", "+", "/");
+        assertThat(codificador.decodificar(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Debe tratar la ausencia de token como primera página")
+    void debeTratarAusenciaDeTokenComoPrimeraPagina() {
+        assertThat(codificador.decodificar(null)).isNull();
+        assertThat(codificador.decodificar(" ")).isNull();
+        assertThat(codificador.codificar(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción con un token manipulado")
+    void debeLanzarExcepcionConTokenManipulado() {
+        assertThatThrownBy(() -> codificador.decodificar("no-es-un-cursor"))
+                .isInstanceOf(CursorInvalidoException.class)
+                .hasMessageContaining("Cursor de paginación inválido");
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.prestamos.infrastructure.adapter.out.cache;
+
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import com.bank.prestamos.infrastructure.replica.FijacionPrimario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para PrestamoCacheAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de la caché de préstamos por ID")
+class PrestamoCacheAdapterTest {
+
+    @Mock
+    private PrestamoRepositoryPort delegado;
+
+    private Cache<Long, Prestamo> cache;
+    private PrestamoCacheAdapter adaptador;
+    private Prestamo prestamo;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().maximumSize(100).recordStats().build();
+        adaptador = new PrestamoCacheAdapter(delegado, cache);
+        prestamo = Prestamo.builder()
+                .id(1L)
+                .nombreSolicitante("Juan Pérez")
+                .importeSolicitado(new BigDecimal("10000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo("12345678A")
+                .estado(EstadoPrestamo.PENDIENTE)
+                .fechaCreacion(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe consultar el repositorio solo en el primer acceso")
+    void debeServirDesdeCacheTrasPrimeraLectura() {
+        when(delegado.buscarPorId(1L)).thenReturn(Optional.of(prestamo));
+
+        adaptador.buscarPorId(1L);
+        Optional<Prestamo> segunda = adaptador.buscarPorId(1L);
+
+        assertThat(segunda).contains(prestamo);
+        verify(delegado, times(1)).buscarPorId(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe leer del primario los fallos de caché, tanto del préstamo como de su versión")
+    void debeCargarLosFallosDesdeElPrimario() {
+        when(delegado.buscarPorId(1L)).thenAnswer(invocacion -> {
+            assertThat(FijacionPrimario.activa()).isTrue();
+            return Optional.of(prestamo);
+        });
+        when(delegado.buscarVersion(2L)).thenAnswer(invocacion -> {
+            assertThat(FijacionPrimario.activa()).isTrue();
+            return Optional.of(4L);
+        });
+
+        assertThat(adaptador.buscarPorId(1L)).contains(prestamo);
+        assertThat(adaptador.buscarVersion(2L)).contains(4L);
+        assertThat(FijacionPrimario.activa()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe devolver copias para que los cambios del llamante no alteren la caché")
+    void debeDevolverCopias() {
+        when(delegado.buscarPorId(1L)).thenReturn(Optional.of(prestamo));
+
+        adaptador.buscarPorId(1L).orElseThrow().setEstado(EstadoPrestamo.RECHAZADA);
+
+        assertThat(adaptador.buscarPorId(1L).orElseThrow().getEstado()).isEqualTo(EstadoPrestamo.PENDIENTE);
+    }
+
+    @Test
+    @DisplayName("No debe cachear préstamos inexistentes")
+    void noDebeCachearInexistentes() {
+        when(delegado.buscarPorId(999L)).thenReturn(Optional.empty());
+
+        assertThat(adaptador.buscarPorId(999L)).isEmpty();
+        assertThat(adaptador.buscarPorId(999L)).isEmpty();
+
+        verify(delegado, times(2)).buscarPorId(999L);
+    }
+
+    @Test
+    @DisplayName("Debe invalidar la entrada al cambiar el estado")
+    void debeInvalidarAlCambiarEstado() {
+        when(delegado.buscarPorId(1L)).thenReturn(Optional.of(prestamo));
+        when(delegado.actualizarEstado(any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(new CambioEstadoAplicado(prestamo, EstadoPrestamo.PENDIENTE)));
+        adaptador.buscarPorId(1L);
+
+        adaptador.actualizarEstado(1L, Set.of(EstadoPrestamo.PENDIENTE), EstadoPrestamo.APROBADA,
+                "gestor@banco.com", LocalDateTime.now());
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe invalidar solo los préstamos actualizados en un cambio por lotes")
+    void debeInvalidarActualizadosEnLote() {
+        cache.put(1L, prestamo);
+        cache.put(2L, prestamo);
+        when(delegado.actualizarEstadoCondicional(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(new CambioEstadoAplicado(prestamo, EstadoPrestamo.PENDIENTE)));
+
+        adaptador.actualizarEstadoCondicional(List.of(1L, 2L), Set.of(EstadoPrestamo.PENDIENTE),
+                EstadoPrestamo.APROBADA, "gestor@banco.com", LocalDateTime.now());
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.getIfPresent(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Debe invalidar la entrada al guardar")
+    void debeInvalidarAlGuardar() {
+        cache.put(1L, prestamo);
+        when(delegado.guardar(prestamo)).thenReturn(prestamo);
+
+        adaptador.guardar(prestamo);
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+}
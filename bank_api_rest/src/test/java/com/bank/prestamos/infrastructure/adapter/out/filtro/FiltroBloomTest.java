@@ -0,0 +1,71 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para FiltroBloom.
+ */
+@DisplayName("Tests del filtro de Bloom")
+class FiltroBloomTest {
+
+    private static final int ELEMENTOS = 100_000;
+
+    @Test
+    @DisplayName("No debe dar falsos negativos")
+    void noDebeDarFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(ELEMENTOS, 0.01);
+        for (int i = 0; i < ELEMENTOS; i++) {
+            filtro.agregar(documento(i));
+        }
+
+        for (int i = 0; i < ELEMENTOS; i++) {
+            assertThat(filtro.puedeContener(documento(i))).isTrue();
+        }
+        assertThat(filtro.elementos()).isEqualTo(ELEMENTOS);
+    }
+
+    @Test
+    @DisplayName("La tasa de falsos positivos debe mantenerse cerca de la objetivo")
+    void debeRespetarTasaFalsosPositivos() {
+        FiltroBloom filtro = new FiltroBloom(ELEMENTOS, 0.01);
+        for (int i = 0; i < ELEMENTOS; i++) {
+            filtro.agregar(documento(i));
+        }
+
+        int falsosPositivos = 0;
+        for (int i = ELEMENTOS; i < 2 * ELEMENTOS; i++) {
+            if (filtro.puedeContener(documento(i))) {
+                falsosPositivos++;
+            }
+        }
+
+        assertThat((double) falsosPositivos / ELEMENTOS).isLessThan(0.02);
+        assertThat(filtro.tasaFalsosPositivosEstimada()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    @DisplayName("Debe dimensionarse según capacidad y tasa objetivo")
+    void debeDimensionarse() {
+        FiltroBloom filtro = new FiltroBloom(1_000_000, 0.01);
+
+        // ~9,6 bits por elemento y 7 funciones hash para un 1 %
+        assertThat(filtro.bits()).isBetween(9_500_000L, 9_700_000L);
+        assertThat(filtro.funcionesHash()).isEqualTo(7);
+        assertThat(filtro.memoriaBytes()).isEqualTo(filtro.bits() / 8);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar parámetros no válidos")
+    void debeRechazarParametrosInvalidos() {
+        assertThatThrownBy(() -> new FiltroBloom(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FiltroBloom(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String documento(int i) {
+        return String.format("%08d%c", i, 'A' + i % 23);
+    }
+}
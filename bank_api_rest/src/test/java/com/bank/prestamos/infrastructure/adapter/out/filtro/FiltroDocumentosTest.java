@@ -0,0 +1,88 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.RecorridoPrestamosPort;
+import com.bank.prestamos.infrastructure.configuracion.FiltroDocumentosProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests unitarios para FiltroDocumentos.
+ */
+@DisplayName("Tests del filtro de documentos")
+class FiltroDocumentosTest {
+
+    private static final FiltroDocumentosProperties PROPIEDADES = new FiltroDocumentosProperties(true, 1000, 2.0, 0.01);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Los documentos registrados durante una reconstrucción deben estar en el filtro nuevo")
+    void debeConservarRegistrosDuranteReconstruccion() {
+        RecorridoFalso recorrido = new RecorridoFalso(List.of("11111111A"));
+        FiltroDocumentos filtro = new FiltroDocumentos(recorrido, PROPIEDADES, mock(PlatformTransactionManager.class));
+        filtro.reconstruir();
+        recorrido.durante = () -> filtro.registrar("22222222B");
+
+        filtro.reconstruir();
+
+        assertThat(filtro.puedeExistir("11111111A")).isTrue();
+        assertThat(filtro.puedeExistir("22222222B")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe añadir el documento cuando se confirma la transacción del alta")
+    void debeRegistrarTrasElCommit() {
+        FiltroDocumentos filtro = new FiltroDocumentos(
+                new RecorridoFalso(List.of()), PROPIEDADES, mock(PlatformTransactionManager.class));
+        filtro.reconstruir();
+        TransactionSynchronizationManager.initSynchronization();
+
+        filtro.registrar("33333333C");
+
+        assertThat(filtro.puedeExistir("33333333C")).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(filtro.puedeExistir("33333333C")).isTrue();
+    }
+
+    private static final class RecorridoFalso implements RecorridoPrestamosPort {
+
+        private final List<String> documentos;
+        private Runnable durante = () -> { };
+
+        private RecorridoFalso(List<String> documentos) {
+            this.documentos = documentos;
+        }
+
+        @Override
+        public long contar() {
+            return documentos.size();
+        }
+
+        @Override
+        public void recorrerDocumentos(Consumer<String> consumidor) {
+            documentos.forEach(consumidor);
+            durante.run();
+        }
+
+        @Override
+        public void recorrerTodos(Consumer<Prestamo> consumidor) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.prestamos.infrastructure.adapter.out.filtro;
+
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.ports.out.PrestamoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para PrestamoFiltroDocumentosAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del decorador con filtro de documentos")
+class PrestamoFiltroDocumentosAdapterTest {
+
+    @Mock
+    private PrestamoRepositoryPort delegado;
+
+    @Mock
+    private FiltroDocumentos filtro;
+
+    private PrestamoFiltroDocumentosAdapter adaptador;
+
+    @BeforeEach
+    void setUp() {
+        adaptador = new PrestamoFiltroDocumentosAdapter(delegado, filtro);
+    }
+
+    @Test
+    @DisplayName("No debe consultar la base de datos si el filtro descarta el documento")
+    void noDebeConsultarSiFiltroDescarta() {
+        when(filtro.puedeExistir("12345678A")).thenReturn(false);
+
+        assertThat(adaptador.existePorDocumento("12345678A")).isFalse();
+        verify(delegado, never()).existePorDocumento(anyString());
+    }
+
+    @Test
+    @DisplayName("Debe confirmar en base de datos y anotar el falso positivo")
+    void debeConfirmarEnBaseDeDatos() {
+        when(filtro.puedeExistir("12345678A")).thenReturn(true);
+        when(delegado.existePorDocumento("12345678A")).thenReturn(false);
+
+        assertThat(adaptador.existePorDocumento("12345678A")).isFalse();
+        verify(filtro).registrarFalsoPositivo();
+    }
+
+    @Test
+    @DisplayName("Debe consultar en lote solo los documentos no descartados")
+    void debeConsultarSoloCandidatos() {
+        when(filtro.puedeExistir("11111111A")).thenReturn(false);
+        when(filtro.puedeExistir("22222222B")).thenReturn(true);
+        when(delegado.buscarDocumentosExistentes(List.of("22222222B"))).thenReturn(Set.of("22222222B"));
+
+        Set<String> existentes = adaptador.buscarDocumentosExistentes(List.of("11111111A", "22222222B"));
+
+        assertThat(existentes).containsExactly("22222222B");
+        verify(filtro, never()).registrarFalsoPositivo();
+    }
+
+    @Test
+    @DisplayName("No debe contar como falsos positivos los documentos repetidos en el lote")
+    void noDebeContarRepetidosComoFalsosPositivos() {
+        when(filtro.puedeExistir("22222222B")).thenReturn(true);
+        when(filtro.puedeExistir("33333333C")).thenReturn(true);
+        when(delegado.buscarDocumentosExistentes(List.of("22222222B", "33333333C"))).thenReturn(Set.of("22222222B"));
+
+        Set<String> existentes = adaptador.buscarDocumentosExistentes(
+                List.of("22222222B", "22222222B", "33333333C", "22222222B"));
+
+        assertThat(existentes).containsExactly("22222222B");
+        verify(filtro, times(1)).registrarFalsoPositivo();
+    }
+
+    @Test
+    @DisplayName("Debe registrar en el filtro los documentos dados de alta")
+    void debeRegistrarAltas() {
+        Prestamo prestamo = Prestamo.builder().id(1L).documentoIdentificativo("12345678A").build();
+        when(delegado.guardar(prestamo)).thenReturn(prestamo);
+
+        adaptador.guardar(prestamo);
+
+        verify(filtro).registrar("12345678A");
+    }
+}
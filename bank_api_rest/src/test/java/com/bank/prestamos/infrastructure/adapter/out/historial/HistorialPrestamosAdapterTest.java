@@ -0,0 +1,105 @@
+package com.bank.prestamos.infrastructure.adapter.out.historial;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaHistorialPrestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración del historial de estados en modo ASINCRONO sobre H2.
+ * Detener el adaptador vacía la cola, lo que permite comprobar lo escrito sin esperas arbitrarias.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:historial_db",
+        "spring.jpa.show-sql=false",
+        "prestamos.historial.modo=ASINCRONO"
+})
+@DisplayName("Tests del adaptador del historial de estados")
+class HistorialPrestamosAdapterTest {
+
+    private static final long PRESTAMO_ID = 424_242L;
+    private static final LocalDateTime FECHA = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Autowired
+    private HistorialPrestamosAdapter adaptador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        adaptador.start();
+        jdbcTemplate.update("DELETE FROM prestamos_historial WHERE prestamo_id = ?", PRESTAMO_ID);
+    }
+
+    @Test
+    @DisplayName("Debe escribir en segundo plano y paginar del cambio más reciente al más antiguo")
+    void debeEscribirYPaginarDelMasReciente() {
+        adaptador.registrar(List.of(
+                registro(null, EstadoPrestamo.PENDIENTE, 0),
+                registro(EstadoPrestamo.PENDIENTE, EstadoPrestamo.APROBADA, 1)));
+        adaptador.registrar(List.of(registro(EstadoPrestamo.APROBADA, EstadoPrestamo.CANCELADA, 2)));
+
+        adaptador.stop();
+
+        PaginaHistorialPrestamo primera = adaptador.buscarPorPrestamo(PRESTAMO_ID, 0, 2);
+        PaginaHistorialPrestamo segunda = adaptador.buscarPorPrestamo(PRESTAMO_ID, 1, 2);
+        assertThat(primera.registros()).extracting(RegistroHistorial::estadoNuevo)
+                .containsExactly(EstadoPrestamo.CANCELADA, EstadoPrestamo.APROBADA);
+        assertThat(primera.hayMas()).isTrue();
+        assertThat(segunda.registros()).singleElement()
+                .satisfies(registro -> assertThat(registro.estadoAnterior()).isNull());
+        assertThat(segunda.hayMas()).isFalse();
+    }
+
+    @Test
+    @DisplayName("No debe registrar los cambios de una transacción que acaba en rollback")
+    void noDebeRegistrarCambiosConRollback() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            adaptador.registrar(List.of(registro(EstadoPrestamo.PENDIENTE, EstadoPrestamo.RECHAZADA, 0)));
+            estado.setRollbackOnly();
+        });
+
+        adaptador.stop();
+
+        assertThat(adaptador.buscarPorPrestamo(PRESTAMO_ID, 0, 10).registros()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Con el escritor detenido debe escribir en el hilo de la llamada sin perder el registro")
+    void debeEscribirDeFormaSincronaConElEscritorDetenido() {
+        adaptador.stop();
+
+        adaptador.registrar(List.of(registro(EstadoPrestamo.PENDIENTE, EstadoPrestamo.APROBADA, 0)));
+
+        assertThat(adaptador.buscarPorPrestamo(PRESTAMO_ID, 0, 10).registros()).singleElement()
+                .satisfies(registro -> assertThat(registro.estadoNuevo()).isEqualTo(EstadoPrestamo.APROBADA));
+    }
+
+    @Test
+    @DisplayName("Debe detenerse después de que el servidor web termine de atender peticiones")
+    void debeDetenerseTrasElServidorWeb() {
+        // El servidor web se detiene en DEFAULT_PHASE - 2048; una fase menor se detiene después
+        assertThat(adaptador.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    private static RegistroHistorial registro(EstadoPrestamo anterior, EstadoPrestamo nuevo, int minutos) {
+        return new RegistroHistorial(PRESTAMO_ID, anterior, nuevo, "gestor@banco.com", FECHA.plusMinutes(minutos));
+    }
+}
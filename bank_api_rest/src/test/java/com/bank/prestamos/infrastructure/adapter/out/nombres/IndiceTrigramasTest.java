@@ -0,0 +1,143 @@
+package com.bank.prestamos.infrastructure.adapter.out.nombres;
+
+import com.bank.prestamos.domain.models.CoincidenciaNombre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para IndiceTrigramas.
+ */
+@DisplayName("Tests del índice de trigramas de nombres")
+class IndiceTrigramasTest {
+
+    private static final double SIMILITUD_MINIMA = 0.6;
+    private static final int CANDIDATOS_MAXIMOS = 10_000;
+
+    private IndiceTrigramas indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTrigramas(16);
+        indice.agregar(1L, "José Pérez García");
+        indice.agregar(2L, "María Pereira López");
+        indice.agregar(3L, "Juan Gómez Pérez");
+        indice.agregar(4L, "Ana González Ruiz");
+        indice.agregar(5L, "Pedro Lopez");
+        indice.agregar(6L, "Carlos Esperanza Díaz");
+    }
+
+    @Test
+    @DisplayName("Debe normalizar mayúsculas, acentos y separadores")
+    void debeNormalizar() {
+        assertThat(IndiceTrigramas.normalizar("  José-María  O'Neill Ñúñez ")).isEqualTo("jose maria o neill nunez");
+        assertThat(IndiceTrigramas.normalizar(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe encontrar nombres sin distinguir acentos y conservar el nombre original")
+    void debeBuscarSinAcentos() {
+        List<CoincidenciaNombre> coincidencias = buscar("Perez", 10);
+
+        assertThat(coincidencias).extracting(CoincidenciaNombre::id).startsWith(3L, 1L).contains(2L);
+        assertThat(coincidencias.get(0).puntuacion()).isEqualTo(1.0);
+        assertThat(coincidencias.get(1).nombreSolicitante()).isEqualTo("José Pérez García");
+        assertThat(coincidencias.get(2).puntuacion()).isLessThan(coincidencias.get(1).puntuacion());
+    }
+
+    @Test
+    @DisplayName("Debe tolerar pequeñas erratas")
+    void debeToleraErratas() {
+        assertThat(buscar("Gonzales", 10)).extracting(CoincidenciaNombre::id).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Con dos caracteres debe buscar solo inicios de palabra")
+    void debeBuscarPrefijoCorto() {
+        assertThat(buscar("lo", 10)).extracting(CoincidenciaNombre::id).containsExactlyInAnyOrder(2L, 5L);
+    }
+
+    @Test
+    @DisplayName("Debe puntuar más un inicio de palabra que una coincidencia dentro de la palabra")
+    void debePriorizarInicioDePalabra() {
+        indice.agregar(7L, "Rosa Pera");
+
+        assertThat(buscar("pera", 10)).extracting(CoincidenciaNombre::id).startsWith(7L).contains(6L);
+    }
+
+    @Test
+    @DisplayName("Debe devolver como mucho el límite, prefiriendo los más recientes a igual puntuación")
+    void debeRespetarLimite() {
+        IndiceTrigramas repetidos = new IndiceTrigramas(16);
+        for (long id = 1; id <= 100; id++) {
+            repetidos.agregar(id, "Juan Pérez");
+        }
+
+        assertThat(repetidos.buscar("perez", 5, SIMILITUD_MINIMA, CANDIDATOS_MAXIMOS))
+                .extracting(CoincidenciaNombre::id)
+                .containsExactly(100L, 99L, 98L, 97L, 96L);
+    }
+
+    @Test
+    @DisplayName("Debe descartar las entradas repetidas de un préstamo antes de elegir los mejores")
+    void debeDescartarRepetidosAntesDelLimite() {
+        IndiceTrigramas repetidos = new IndiceTrigramas(16);
+        repetidos.agregar(1L, "Juan Pérez");
+        repetidos.agregar(2L, "Juana Pérez");
+        // Alta recibida mientras se reconstruía: figura dos veces
+        repetidos.agregar(3L, "Juan Pérez");
+        repetidos.agregar(3L, "Juan Pérez");
+
+        assertThat(repetidos.buscar("juan perez", 2, SIMILITUD_MINIMA, CANDIDATOS_MAXIMOS))
+                .extracting(CoincidenciaNombre::id)
+                .containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Con más candidatos que el máximo debe clasificar solo los más recientes")
+    void debeAcotarCandidatosALosMasRecientes() {
+        IndiceTrigramas comunes = new IndiceTrigramas(16);
+        comunes.agregar(1L, "Perez");
+        for (long id = 2; id <= 20; id++) {
+            comunes.agregar(id, "Juan Pérez");
+        }
+
+        // Sin recorte gana el nombre más corto; con él, el más antiguo ni siquiera se evalúa
+        assertThat(comunes.buscar("perez", 3, SIMILITUD_MINIMA, CANDIDATOS_MAXIMOS))
+                .extracting(CoincidenciaNombre::id)
+                .containsExactly(1L, 20L, 19L);
+        assertThat(comunes.buscar("perez", 3, SIMILITUD_MINIMA, 5))
+                .extracting(CoincidenciaNombre::id)
+                .containsExactly(20L, 19L, 18L);
+    }
+
+    @Test
+    @DisplayName("Debe ignorar textos sin al menos dos letras o dígitos")
+    void debeIgnorarTextosCortos() {
+        assertThat(buscar("a", 10)).isEmpty();
+        assertThat(buscar(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe crecer al añadir nombres e informar de su memoria")
+    void debeInformarMemoria() {
+        long memoriaInicial = indice.memoriaBytes();
+        for (int i = 0; i < 10_000; i++) {
+            indice.agregar(100L + i, "Solicitante " + i);
+        }
+
+        assertThat(indice.entradas()).isEqualTo(10_006);
+        assertThat(indice.memoriaBytes()).isGreaterThan(memoriaInicial);
+        assertThat(indice.buscar("solicitante 9999", 1, SIMILITUD_MINIMA, CANDIDATOS_MAXIMOS))
+                .extracting(CoincidenciaNombre::id)
+                .containsExactly(10_099L);
+    }
+
+    private List<CoincidenciaNombre> buscar(String texto, int limite) {
+        return indice.buscar(texto, limite, SIMILITUD_MINIMA, CANDIDATOS_MAXIMOS);
+    }
+}
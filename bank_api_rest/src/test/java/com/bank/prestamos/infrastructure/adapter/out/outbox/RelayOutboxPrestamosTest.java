@@ -0,0 +1,181 @@
+package com.bank.prestamos.infrastructure.adapter.out.outbox;
+
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.EventoPrestamo;
+import com.bank.prestamos.domain.models.RegistroHistorial;
+import com.bank.prestamos.infrastructure.configuracion.OutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de la bandeja de salida sobre H2 con un destino en memoria.
+ * El sondeo programado se aplaza una hora y las rondas se lanzan desde el propio test.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox_db",
+        "spring.jpa.show-sql=false",
+        "prestamos.outbox.intervalo-sondeo=1h",
+        "prestamos.outbox.tamanio-lote=2"
+})
+@DisplayName("Tests del relé de la bandeja de salida")
+class RelayOutboxPrestamosTest {
+
+    @Autowired
+    private OutboxPrestamosAdapter outbox;
+
+    @Autowired
+    private RelayOutboxPrestamos relay;
+
+    @Autowired
+    private DestinoEnMemoria destino;
+
+    @Autowired
+    private OutboxProperties propiedades;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        destino.limpiar();
+        jdbcTemplate.update("DELETE FROM prestamos_outbox");
+    }
+
+    @Test
+    @DisplayName("Debe entregar los eventos en orden, en lotes, y borrarlos de la bandeja")
+    void debeEntregarEnOrdenYBorrar() {
+        publicar(1L, 2L, 3L);
+
+        relay.despacharPendientes();
+
+        assertThat(destino.lotes).hasSize(2);
+        assertThat(destino.entregados()).extracting(MensajeOutbox::prestamoId).containsExactly(1L, 2L, 3L);
+        assertThat(destino.entregados().get(0).carga()).contains("\"estado\":\"APROBADA\"");
+        assertThat(pendientes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe conservar el lote si el destino falla y entregarlo en la ronda siguiente")
+    void debeReintentarSiElDestinoFalla() {
+        publicar(1L);
+        destino.fallar = true;
+
+        relay.despacharPendientes();
+
+        assertThat(pendientes()).isEqualTo(1);
+        destino.fallar = false;
+        relay.despacharPendientes();
+        assertThat(destino.entregados()).extracting(MensajeOutbox::prestamoId).containsExactly(1L);
+        assertThat(pendientes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe saltarse los eventos bloqueados por otra transacción en lugar de esperarlos")
+    void debeSaltarseEventosBloqueados() throws Exception {
+        publicar(1L, 2L);
+        long primerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM prestamos_outbox", Long.class);
+        CountDownLatch bloqueado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> otraInstancia = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                    jdbcTemplate.queryForList("SELECT id FROM prestamos_outbox WHERE id = ? FOR UPDATE", primerId);
+                    bloqueado.countDown();
+                    try {
+                        liberar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(bloqueado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        int entregados = relay.despacharLote();
+        liberar.countDown();
+        otraInstancia.get(5, TimeUnit.SECONDS);
+
+        assertThat(entregados).isEqualTo(1);
+        assertThat(destino.entregados()).extracting(MensajeOutbox::prestamoId).containsExactly(2L);
+        assertThat(pendientes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Con el destino LOG por defecto debe trazar cada evento y vaciar la bandeja")
+    void debeConsumirLosEventosConElDestinoLog() {
+        RelayOutboxPrestamos relayLog = new RelayOutboxPrestamos(jdbcTemplate, new DestinoEventosLog(),
+                propiedades, transactionManager, new SimpleMeterRegistry());
+        publicar(1L, 2L, 3L);
+
+        relayLog.despacharPendientes();
+
+        assertThat(relayLog.despacharLote()).isZero();
+        assertThat(pendientes()).isZero();
+    }
+
+    private void publicar(long... prestamoIds) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoPrestamo> eventos = LongStream.of(prestamoIds)
+                .mapToObj(id -> EventoPrestamo.estadoCambiado(new RegistroHistorial(
+                        id, EstadoPrestamo.PENDIENTE, EstadoPrestamo.APROBADA, "gestor@banco.com", ahora)))
+                .toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> outbox.publicar(eventos));
+    }
+
+    private int pendientes() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prestamos_outbox", Integer.class);
+    }
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        @Primary
+        DestinoEnMemoria destinoEnMemoria() {
+            return new DestinoEnMemoria();
+        }
+    }
+
+    static class DestinoEnMemoria implements DestinoEventos {
+
+        final List<List<MensajeOutbox>> lotes = new ArrayList<>();
+        volatile boolean fallar;
+
+        @Override
+        public synchronized void enviar(List<MensajeOutbox> mensajes) {
+            if (fallar) {
+                throw new IllegalStateException("Destino no disponible");
+            }
+            lotes.add(List.copyOf(mensajes));
+        }
+
+        synchronized List<MensajeOutbox> entregados() {
+            return lotes.stream().flatMap(List::stream).toList();
+        }
+
+        synchronized void limpiar() {
+            lotes.clear();
+            fallar = false;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence;
+
+import com.bank.prestamos.application.mappers.PrestamoMapper;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.repository.PrestamoJpaRepository;
+import com.bank.prestamos.infrastructure.configuracion.ExportacionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de las altas por lotes sobre H2.
+ * Cuenta las sentencias INSERT que llegan a la base de datos: el lote va en un INSERT de varias filas
+ * por bloque de 500, frente a uno por préstamo del alta individual, y los IDs salen seguidos de la secuencia.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:alta_lote_db",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Tests de las altas por lotes de préstamos")
+class AltaLotePrestamosTest {
+
+    private static final String PREFIJO = "LOTE";
+    private static final int NUMERO_PRESTAMOS = 1_000;
+
+    @Autowired
+    private PrestamoJpaRepository jpaRepository;
+
+    @Autowired
+    private PrestamoMapper mapeador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DialectoSql dialecto;
+
+    @Autowired
+    private ExportacionProperties exportacion;
+
+    private final AtomicInteger inserciones = new AtomicInteger();
+
+    private PrestamoPersistenceAdapter adaptador;
+
+    @BeforeEach
+    void setUp() {
+        NamedParameterJdbcTemplate contador = new NamedParameterJdbcTemplate(jdbcTemplate) {
+            @Override
+            public <T> List<T> query(String sql, SqlParameterSource parametros, RowMapper<T> mapeadorFilas) {
+                if (sql.contains("INSERT INTO prestamos")) {
+                    inserciones.incrementAndGet();
+                }
+                return super.query(sql, parametros, mapeadorFilas);
+            }
+        };
+        adaptador = new PrestamoPersistenceAdapter(
+                jpaRepository, mapeador, jdbcTemplate, contador, dialecto, exportacion);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM prestamos WHERE documento_identificativo LIKE ?", PREFIJO + "%");
+    }
+
+    @Test
+    @DisplayName("Debe insertar el lote con un INSERT por bloque en lugar de uno por préstamo")
+    void debeInsertarLoteEnBloques() {
+        List<Prestamo> individuales = prestamos("I", NUMERO_PRESTAMOS);
+        individuales.forEach(adaptador::insertar);
+        int sentenciasIndividuales = inserciones.getAndSet(0);
+
+        List<Prestamo> insertados = adaptador.insertarTodos(prestamos("L", NUMERO_PRESTAMOS));
+
+        assertThat(sentenciasIndividuales).isEqualTo(NUMERO_PRESTAMOS);
+        assertThat(inserciones.get()).isEqualTo(2);
+        assertThat(insertados).hasSize(NUMERO_PRESTAMOS);
+        long menor = insertados.stream().mapToLong(Prestamo::getId).min().orElseThrow();
+        long mayor = insertados.stream().mapToLong(Prestamo::getId).max().orElseThrow();
+        assertThat(mayor - menor).isEqualTo(NUMERO_PRESTAMOS - 1);
+    }
+
+    @Test
+    @DisplayName("Debe omitir los documentos ya dados de alta y los repetidos en el lote sin abortar el bloque")
+    void debeOmitirDuplicados() {
+        adaptador.insertar(prestamo("D", 1));
+        inserciones.set(0);
+        List<Prestamo> lote = List.of(prestamo("D", 1), prestamo("D", 2), prestamo("D", 2), prestamo("D", 3));
+
+        List<Prestamo> insertados = adaptador.insertarTodos(lote);
+
+        assertThat(insertados).extracting(Prestamo::getDocumentoIdentificativo)
+                .containsExactlyInAnyOrder(PREFIJO + "D000002", PREFIJO + "D000003");
+        assertThat(insertados).allSatisfy(prestamo -> {
+            assertThat(prestamo.getId()).isNotNull();
+            assertThat(prestamo.getEstado()).isEqualTo(EstadoPrestamo.PENDIENTE);
+        });
+        assertThat(inserciones.get()).isEqualTo(1);
+    }
+
+    private static List<Prestamo> prestamos(String serie, int cantidad) {
+        List<Prestamo> prestamos = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            prestamos.add(prestamo(serie, i));
+        }
+        return prestamos;
+    }
+
+    private static Prestamo prestamo(String serie, int numero) {
+        return Prestamo.builder()
+                .nombreSolicitante("Solicitante " + numero)
+                .importeSolicitado(new BigDecimal("1000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo(PREFIJO + serie + String.format("%06d", numero))
+                .estado(EstadoPrestamo.PENDIENTE)
+                .fechaCreacion(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.bank.prestamos.infrastructure.adapter.out.persistence;
+
+import com.bank.prestamos.domain.models.CampoOrdenPrestamos;
+import com.bank.prestamos.domain.models.CriteriosBusquedaPrestamos;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaBusquedaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración de la búsqueda filtrada sobre H2.
+ * Además de los resultados, comprueba con EXPLAIN que los filtros habituales
+ * se resuelven con los índices compuestos de V5 y no con un recorrido completo de la tabla.
+ * El plan se pide para la sentencia que genera Hibernate a partir de PrestamoEspecificaciones,
+ * capturada con un StatementInspector, no para una consulta escrita a mano.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:busqueda_db",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Tests de la búsqueda filtrada de préstamos")
+class BusquedaPrestamosIndicesTest {
+
+    private static final String PREFIJO = "BUSQ";
+    private static final int NUMERO_PRESTAMOS = 2_000;
+    private static final LocalDateTime ORIGEN = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private PrestamoPersistenceAdapter adaptador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SentenciasCapturadas sentencias;
+
+    @BeforeEach
+    void setUp() {
+        // Estados, divisas, importes y fechas repartidos de forma determinista entre las filas
+        jdbcTemplate.update("""
+                INSERT INTO prestamos (nombre_solicitante, importe_solicitado, divisa,
+                                       documento_identificativo, estado, fecha_creacion)
+                SELECT 'Solicitante ' || X,
+                       1000.00 * MOD(X, 50) + 500.00,
+                       CASE MOD(X, 3) WHEN 0 THEN 'USD' ELSE 'EUR' END,
+                       '%s' || LPAD(X, 6, '0'),
+                       CASE MOD(X, 4) WHEN 0 THEN 'PENDIENTE' WHEN 1 THEN 'APROBADA'
+                                      WHEN 2 THEN 'RECHAZADA' ELSE 'CANCELADA' END,
+                       DATEADD(HOUR, X, TIMESTAMP '2026-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)
+                """.formatted(PREFIJO), NUMERO_PRESTAMOS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM prestamos WHERE documento_identificativo LIKE ?", PREFIJO + "%");
+    }
+
+    @Test
+    @DisplayName("Debe combinar los filtros con AND y paginar en el orden solicitado")
+    void debeFiltrarYPaginar() {
+        CriteriosBusquedaPrestamos criterios = new CriteriosBusquedaPrestamos(
+                EstadoPrestamo.APROBADA, "EUR", ORIGEN, ORIGEN.plusHours(400),
+                new BigDecimal("10000"), null, CampoOrdenPrestamos.IMPORTE_SOLICITADO, true);
+
+        PaginaBusquedaPrestamos primera = adaptador.buscarPorCriterios(criterios, 0, 10);
+        PaginaBusquedaPrestamos segunda = adaptador.buscarPorCriterios(criterios, 1, 10);
+
+        assertThat(primera.total()).isPositive().isEqualTo(segunda.total());
+        assertThat(primera.prestamos()).hasSize(10)
+                .allSatisfy(prestamo -> {
+                    assertThat(prestamo.getEstado()).isEqualTo(EstadoPrestamo.APROBADA);
+                    assertThat(prestamo.getDivisa()).isEqualTo("EUR");
+                    assertThat(prestamo.getImporteSolicitado()).isGreaterThanOrEqualTo(new BigDecimal("10000"));
+                    assertThat(prestamo.getFechaCreacion()).isBetween(ORIGEN, ORIGEN.plusHours(400));
+                });
+        assertThat(primera.prestamos()).extracting(Prestamo::getImporteSolicitado).isSorted();
+        assertThat(primera.prestamos()).extracting(Prestamo::getId)
+                .doesNotContainAnyElementsOf(segunda.prestamos().stream().map(Prestamo::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Debe devolver la última página sin indicar que hay más")
+    void debeIndicarUltimaPagina() {
+        CriteriosBusquedaPrestamos criterios = new CriteriosBusquedaPrestamos(
+                EstadoPrestamo.CANCELADA, "USD", null, null, null, null, null, false);
+
+        PaginaBusquedaPrestamos pagina = adaptador.buscarPorCriterios(criterios, 0, NUMERO_PRESTAMOS);
+
+        assertThat(pagina.hayMas()).isFalse();
+        assertThat(pagina.prestamos()).hasSize((int) pagina.total());
+        assertThat(pagina.prestamos()).extracting(Prestamo::getFechaCreacion)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filtrosHabituales")
+    @DisplayName("Los filtros habituales deben usar un índice y no recorrer la tabla")
+    void filtrosHabitualesDebenUsarIndice(String descripcion, CriteriosBusquedaPrestamos criterios) {
+        sentencias.limpiar();
+        adaptador.buscarPorCriterios(criterios, 0, 20);
+
+        // EXPLAIN de la sentencia que generó Hibernate; H2 no exige valores para los parámetros sin ANALYZE
+        String sql = sentencias.consultaDePrestamos();
+        String plan = jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql),
+                (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : null);
+
+        assertThat(plan)
+                .as("Plan para el filtro por %s: %s", descripcion, sql)
+                .containsIgnoringCase("IDX_PRESTAMOS_")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    static Stream<Arguments> filtrosHabituales() {
+        return Stream.of(
+                Arguments.of("estado", new CriteriosBusquedaPrestamos(
+                        EstadoPrestamo.PENDIENTE, null, null, null, null, null, null, false)),
+                Arguments.of("estado y rango de fechas", new CriteriosBusquedaPrestamos(
+                        EstadoPrestamo.APROBADA, null, ORIGEN.plusDays(4), ORIGEN.plusDays(19),
+                        null, null, null, false)),
+                Arguments.of("estado y rango de importes", new CriteriosBusquedaPrestamos(
+                        EstadoPrestamo.RECHAZADA, null, null, null, new BigDecimal("1000"), new BigDecimal("5000"),
+                        CampoOrdenPrestamos.IMPORTE_SOLICITADO, true)),
+                Arguments.of("divisa", new CriteriosBusquedaPrestamos(
+                        null, "USD", null, null, null, null, null, false)),
+                Arguments.of("divisa y rango de fechas", new CriteriosBusquedaPrestamos(
+                        null, "EUR", ORIGEN.plusMonths(1), null, null, null, null, false)),
+                Arguments.of("rango de fechas", new CriteriosBusquedaPrestamos(
+                        null, null, ORIGEN.plusMonths(2), null, null, null, null, false)));
+    }
+
+    /**
+     * Registra como inspector de Hibernate un recolector de las sentencias SQL generadas.
+     */
+    @TestConfiguration
+    static class ConfiguracionSentencias {
+
+        @Bean
+        SentenciasCapturadas sentenciasCapturadas() {
+            return new SentenciasCapturadas();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer inspectorSentencias(SentenciasCapturadas sentencias) {
+            return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, sentencias);
+        }
+    }
+
+    static final class SentenciasCapturadas implements StatementInspector {
+
+        private final List<String> sentencias = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            sentencias.add(sql);
+            return sql;
+        }
+
+        void limpiar() {
+            sentencias.clear();
+        }
+
+        /**
+         * La última consulta de filas sobre prestamos; se descarta la de recuento de la paginación.
+         */
+        String consultaDePrestamos() {
+            List<String> consultas = sentencias.stream()
+                    .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("from prestamos"))
+                    .filter(sql -> !sql.toLowerCase(Locale.ROOT).contains("count("))
+                    .toList();
+            assertThat(consultas).as("Consultas generadas por Hibernate").isNotEmpty();
+            return consultas.get(consultas.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bank.prestamos.infrastructure.adapter.out.r2dbc;
+
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.models.CursorPrestamo;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.Prestamo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de integración del adaptador R2DBC sobre H2 (r2dbc-h2) con el perfil reactivo.
+ * Flyway crea el esquema por JDBC y el adaptador lo usa por R2DBC sobre la misma base de datos en memoria.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivo_db",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivo_db;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles({"h2", "reactivo"})
+@DisplayName("Tests del adaptador de persistencia R2DBC")
+class PrestamoR2dbcAdapterTest {
+
+    private static final String PREFIJO = "R2DBC";
+
+    @Autowired
+    private PrestamoR2dbcAdapter adaptador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM prestamos WHERE documento_identificativo LIKE ?", PREFIJO + "%");
+    }
+
+    @Test
+    @DisplayName("Debe insertar y devolver la fila con ID y versión")
+    void debeInsertar() {
+        StepVerifier.create(adaptador.insertar(nuevoPrestamo(PREFIJO + "001")))
+                .assertNext(prestamo -> {
+                    assertThat(prestamo.getId()).isNotNull();
+                    assertThat(prestamo.getVersion()).isZero();
+                    assertThat(prestamo.getEstado()).isEqualTo(EstadoPrestamo.PENDIENTE);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe convertir la violación de unicidad en DocumentoDuplicadoException")
+    void debeDetectarDuplicado() {
+        adaptador.insertar(nuevoPrestamo(PREFIJO + "002")).block();
+
+        StepVerifier.create(adaptador.insertar(nuevoPrestamo(PREFIJO + "002")))
+                .expectError(DocumentoDuplicadoException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debe actualizar el estado solo desde un estado permitido")
+    void debeActualizarEstadoCondicional() {
+        Prestamo creado = adaptador.insertar(nuevoPrestamo(PREFIJO + "003")).block();
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        StepVerifier.create(adaptador.actualizarEstado(creado.getId(), Set.of(EstadoPrestamo.PENDIENTE),
+                        EstadoPrestamo.APROBADA, "gestor@banco.com", ahora))
+                .assertNext(cambio -> {
+                    assertThat(cambio.prestamo().getEstado()).isEqualTo(EstadoPrestamo.APROBADA);
+                    assertThat(cambio.prestamo().getVersion()).isEqualTo(1L);
+                    assertThat(cambio.prestamo().getUsuarioUltimaModificacion()).isEqualTo("gestor@banco.com");
+                    assertThat(cambio.estadoAnterior()).isEqualTo(EstadoPrestamo.PENDIENTE);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(adaptador.actualizarEstado(creado.getId(), Set.of(EstadoPrestamo.PENDIENTE),
+                        EstadoPrestamo.RECHAZADA, "gestor@banco.com", ahora))
+                .verifyComplete();
+        StepVerifier.create(adaptador.buscarEstado(creado.getId()))
+                .expectNext(EstadoPrestamo.APROBADA)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe paginar por clave en orden de creación descendente")
+    void debePaginarPorClave() {
+        Prestamo primero = adaptador.insertar(nuevoPrestamo(PREFIJO + "004")).block();
+        Prestamo segundo = adaptador.insertar(nuevoPrestamo(PREFIJO + "005")).block();
+
+        StepVerifier.create(adaptador.buscarPagina(CursorPrestamo.desde(segundo), 100)
+                        .filter(prestamo -> prestamo.getDocumentoIdentificativo().startsWith(PREFIJO)))
+                .assertNext(prestamo -> assertThat(prestamo.getId()).isEqualTo(primero.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe emitir los préstamos según la demanda del suscriptor")
+    void debeRespetarContrapresion() {
+        for (int i = 0; i < 5; i++) {
+            adaptador.insertar(nuevoPrestamo(PREFIJO + "1" + i)).block();
+        }
+
+        StepVerifier.create(adaptador.buscarTodos(), 2)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+    }
+
+    private static Prestamo nuevoPrestamo(String documento) {
+        return Prestamo.builder()
+                .nombreSolicitante("Cliente Reactivo")
+                .importeSolicitado(new BigDecimal("12000.00"))
+                .divisa("EUR")
+                .documentoIdentificativo(documento)
+                .estado(EstadoPrestamo.PENDIENTE)
+                .fechaCreacion(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.bank.prestamos.infrastructure.concurrencia;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para LimiteAdaptativo.
+ */
+@DisplayName("Tests del límite adaptativo de concurrencia")
+class LimiteAdaptativoTest {
+
+    private static final Duration OBJETIVO = Duration.ofMillis(20);
+    private static final long RAPIDA = Duration.ofMillis(1).toNanos();
+    private static final long LENTA = Duration.ofMillis(100).toNanos();
+
+    private final AtomicLong reloj = new AtomicLong(Duration.ofSeconds(1).toNanos());
+
+    @Test
+    @DisplayName("Debe rechazar al instante las peticiones que superan el límite")
+    void debeRechazarAlSuperarElLimite() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 1, 10, OBJETIVO, 0.5);
+
+        assertThat(limite.intentarAdquirir()).isTrue();
+        assertThat(limite.intentarAdquirir()).isTrue();
+        assertThat(limite.intentarAdquirir()).isFalse();
+        assertThat(limite.enCurso()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe reducir el límite de forma multiplicativa ante latencia alta o sobrecarga, sin bajar del mínimo")
+    void debeReducirAnteSobrecarga() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 10, OBJETIVO, 0.5, reloj::get);
+
+        completar(limite, LENTA, false);
+        assertThat(limite.limite()).isEqualTo(5);
+        reloj.addAndGet(LENTA);
+        completar(limite, RAPIDA, true);
+        assertThat(limite.limite()).isEqualTo(2);
+        reloj.addAndGet(LENTA);
+        completar(limite, LENTA, false);
+        assertThat(limite.limite()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe reducir una sola vez por las peticiones que ya estaban en curso al reducir")
+    void debeReducirUnaVezPorVentana() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 10, OBJETIVO, 0.5, reloj::get);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limite.intentarAdquirir()).isTrue();
+        }
+
+        // Las tres empezaron a la vez: solo la primera en terminar reduce
+        reloj.addAndGet(LENTA);
+        limite.liberar(LENTA, false);
+        limite.liberar(LENTA, false);
+        limite.liberar(LENTA, true);
+        assertThat(limite.limite()).isEqualTo(5);
+
+        // Una petición que empieza después de la reducción sí puede volver a reducir
+        assertThat(limite.intentarAdquirir()).isTrue();
+        reloj.addAndGet(LENTA);
+        limite.liberar(LENTA, false);
+        assertThat(limite.limite()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Una petición sin medir no debe mover el límite por su duración, solo por sobrecarga")
+    void noDebeMedirLaLatenciaDeLotesNiEsperas() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 1, 10, OBJETIVO, 0.5, reloj::get);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limite.intentarAdquirir()).isTrue();
+        }
+
+        limite.liberarSinMedir(LENTA, false);
+        limite.liberarSinMedir(RAPIDA, false);
+        assertThat(limite.limite()).isEqualTo(4);
+        assertThat(limite.enCurso()).isEqualTo(2);
+
+        reloj.addAndGet(LENTA);
+        limite.liberarSinMedir(LENTA, true);
+        assertThat(limite.limite()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe aumentar el límite de uno en uno solo si se está usando, sin superar el máximo")
+    void debeAumentarSoloConDemanda() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 1, 5, OBJETIVO, 0.5);
+
+        // Una sola petición en curso con límite 4: no hay demanda que justifique crecer
+        completar(limite, RAPIDA, false);
+        assertThat(limite.limite()).isEqualTo(4);
+
+        assertThat(limite.intentarAdquirir()).isTrue();
+        assertThat(limite.intentarAdquirir()).isTrue();
+        limite.liberar(RAPIDA, false);
+        assertThat(limite.limite()).isEqualTo(5);
+        limite.liberar(RAPIDA, false);
+        assertThat(limite.limite()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Debe mantener acotada la latencia frente a un repositorio que se degrada con la concurrencia")
+    void debeAcotarLatenciaConRepositorioSobrecargado() throws Exception {
+        RepositorioSobrecargado repositorio = new RepositorioSobrecargado(Duration.ofMillis(2));
+        LimiteAdaptativo limite = new LimiteAdaptativo(48, 1, 64, OBJETIVO, 0.9);
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        LongAdder rechazos = new LongAdder();
+        long inicio = System.nanoTime();
+        long mitad = inicio + Duration.ofMillis(750).toNanos();
+        long fin = inicio + Duration.ofMillis(1500).toNanos();
+
+        // 48 clientes sin límite tendrían ~96 ms por consulta; con él deben rondar el objetivo de 20 ms
+        ExecutorService clientes = Executors.newFixedThreadPool(48);
+        for (int i = 0; i < 48; i++) {
+            clientes.submit(() -> {
+                while (System.nanoTime() < fin) {
+                    if (!limite.intentarAdquirir()) {
+                        rechazos.increment();
+                        dormir(Duration.ofMillis(2));
+                        continue;
+                    }
+                    long comienzo = System.nanoTime();
+                    repositorio.consultar();
+                    long duracion = System.nanoTime() - comienzo;
+                    limite.liberar(duracion, false);
+                    if (comienzo > mitad) {
+                        latencias.add(duracion);
+                    }
+                }
+            });
+        }
+        clientes.shutdown();
+        assertThat(clientes.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        List<Long> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        long p95 = ordenadas.get((int) (ordenadas.size() * 0.95));
+        assertThat(rechazos.sum()).isPositive();
+        assertThat(limite.limite()).isLessThan(48);
+        assertThat(Duration.ofNanos(p95)).isLessThan(Duration.ofMillis(50));
+    }
+
+    private static void completar(LimiteAdaptativo limite, long duracionNanos, boolean sobrecarga) {
+        assertThat(limite.intentarAdquirir()).isTrue();
+        limite.liberar(duracionNanos, sobrecarga);
+    }
+
+    private static void dormir(Duration duracion) {
+        try {
+            Thread.sleep(duracion);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Repositorio simulado cuya latencia crece con las consultas simultáneas, como una base de datos saturada.
+     */
+    private static final class RepositorioSobrecargado {
+
+        private final Duration costePorConsulta;
+        private final AtomicInteger enCurso = new AtomicInteger();
+
+        private RepositorioSobrecargado(Duration costePorConsulta) {
+            this.costePorConsulta = costePorConsulta;
+        }
+
+        void consultar() {
+            int simultaneas = enCurso.incrementAndGet();
+            try {
+                dormir(costePorConsulta.multipliedBy(simultaneas));
+            } finally {
+                enCurso.decrementAndGet();
+            }
+        }
+    }
+}
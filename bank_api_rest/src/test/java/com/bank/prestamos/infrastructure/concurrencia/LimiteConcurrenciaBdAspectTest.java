@@ -0,0 +1,79 @@
+package com.bank.prestamos.infrastructure.concurrencia;
+
+import com.bank.prestamos.application.services.PrestamoService;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.infrastructure.configuracion.ConcurrenciaBdProperties;
+import com.bank.prestamos.infrastructure.excepcion.ServicioSobrecargadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para LimiteConcurrenciaBdAspect.
+ */
+@DisplayName("Tests del límite de concurrencia contra la base de datos")
+class LimiteConcurrenciaBdAspectTest {
+
+    private SimpleMeterRegistry registro;
+    private PrestamoService servicio;
+    private PrestamoService proxy;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        servicio = mock(PrestamoService.class);
+        ConcurrenciaBdProperties propiedades = new ConcurrenciaBdProperties(
+                true, 1, Duration.ofMillis(50), Duration.ofSeconds(1));
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(servicio);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new LimiteConcurrenciaBdAspect(propiedades, 10, registro));
+        proxy = fabrica.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el caso de uso cuando no hay permisos libres")
+    void debeRechazarSinPermisos() throws Exception {
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(servicio.obtenerPorId(1L)).thenAnswer(invocacion -> {
+            dentro.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Prestamo.builder().id(1L).build();
+        });
+        CompletableFuture<Prestamo> ocupado = CompletableFuture.supplyAsync(() -> proxy.obtenerPorId(1L));
+        assertThat(dentro.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> proxy.obtenerPorId(2L))
+                .isInstanceOf(ServicioSobrecargadoException.class)
+                .extracting(ex -> ((ServicioSobrecargadoException) ex).getReintentarTras())
+                .isEqualTo(Duration.ofSeconds(1));
+        assertThat(registro.get("prestamos.concurrencia.bd.rechazos").counter().count()).isEqualTo(1.0);
+
+        liberar.countDown();
+        assertThat(ocupado.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el permiso aunque el caso de uso falle")
+    void debeLiberarPermisoTrasExcepcion() {
+        when(servicio.obtenerPorId(1L)).thenThrow(new IllegalStateException("fallo"));
+        when(servicio.obtenerPorId(2L)).thenReturn(Prestamo.builder().id(2L).build());
+
+        assertThatThrownBy(() -> proxy.obtenerPorId(1L)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(proxy.obtenerPorId(2L).getId()).isEqualTo(2L);
+        assertThat(registro.get("prestamos.concurrencia.bd.disponibles").gauge().value()).isEqualTo(1.0);
+    }
+}
@@ -7,6 +7,8 @@ import com.bank.prestamos.infrastructure.adapter.in.rest.dto.RespuestaError;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -82,6 +85,33 @@ class ManejadorGlobalExcepcionesTest {
         assertThat(response.getBody().mensaje()).contains("Ya existe un préstamo con el documento");
     }
 
+    @Test
+    @DisplayName("Debe manejar conflictos de versión con status 409")
+    void debeManejarConflictoVersion() {
+        OptimisticLockingFailureException excepcion = new OptimisticLockingFailureException("Row was updated");
+
+        ResponseEntity<RespuestaError> response = manejador.manejarConflictoVersion(excepcion, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().estado()).isEqualTo(409);
+        assertThat(response.getBody().mensaje()).contains("modificado por otra operación");
+    }
+
+    @Test
+    @DisplayName("Debe manejar ServicioSobrecargadoException con status 503 y Retry-After")
+    void debeManejarServicioSobrecargado() {
+        ServicioSobrecargadoException excepcion =
+            new ServicioSobrecargadoException("El servicio está saturado", Duration.ofSeconds(2));
+
+        ResponseEntity<RespuestaError> response = manejador.manejarServicioSobrecargado(excepcion, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().estado()).isEqualTo(503);
+    }
+
     @Test
     @DisplayName("Debe manejar MethodArgumentNotValidException con status 400")
     void debeManejarErroresValidacion() {
@@ -0,0 +1,56 @@
+package com.bank.prestamos.infrastructure.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para FiltroTamanioListado.
+ */
+@DisplayName("Tests del filtro de tamaño del listado")
+class FiltroTamanioListadoTest {
+
+    private SimpleMeterRegistry registro;
+    private FiltroTamanioListado filtro;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        filtro = new FiltroTamanioListado(registro);
+    }
+
+    @Test
+    @DisplayName("Debe registrar los bytes serializados del listado")
+    void debeRegistrarBytesDelListado() throws Exception {
+        String cuerpo = "{\"prestamos\":[{\"nombreSolicitante\":\"Jesús\"}],\"hayMas\":false}";
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/prestamos"), respuesta,
+                (req, res) -> res.getOutputStream().write(cuerpo.getBytes(StandardCharsets.UTF_8)));
+
+        DistributionSummary tamanio = registro.get("prestamos.listado.respuesta").summary();
+        assertThat(tamanio.count()).isEqualTo(1);
+        assertThat(tamanio.totalAmount()).isEqualTo(cuerpo.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(respuesta.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(cuerpo);
+    }
+
+    @Test
+    @DisplayName("No debe registrar otras rutas ni respuestas sin cuerpo")
+    void noDebeRegistrarOtrasRutasNiSinCuerpo() throws Exception {
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/prestamos/1"), new MockHttpServletResponse(),
+                (req, res) -> res.getOutputStream().write(new byte[100]));
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/prestamos"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(304));
+
+        assertThat(registro.get("prestamos.listado.respuesta").summary().count()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package com.bank.prestamos.infrastructure.metricas;
+
+import com.bank.prestamos.application.services.PrestamoService;
+import com.bank.prestamos.domain.excepcion.DocumentoDuplicadoException;
+import com.bank.prestamos.domain.models.CambioEstado;
+import com.bank.prestamos.domain.models.CambioEstadoAplicado;
+import com.bank.prestamos.domain.models.EstadoPrestamo;
+import com.bank.prestamos.domain.models.PaginaPrestamos;
+import com.bank.prestamos.domain.models.Prestamo;
+import com.bank.prestamos.domain.models.ResultadoCambioEstado;
+import com.bank.prestamos.infrastructure.adapter.out.persistence.PrestamoPersistenceAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para MetricasCasosUsoAspect.
+ */
+@DisplayName("Tests de las métricas de casos de uso")
+class MetricasCasosUsoAspectTest {
+
+    private SimpleMeterRegistry registro;
+    private PrestamoService servicio;
+    private PrestamoService proxy;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        servicio = mock(PrestamoService.class);
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(servicio);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasCasosUsoAspect(registro));
+        proxy = fabrica.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe medir el caso de uso")
+    void debeMedirCasoUso() {
+        Prestamo aprobado = Prestamo.builder().id(1L).estado(EstadoPrestamo.APROBADA).build();
+        when(servicio.cambiarEstado(1L, EstadoPrestamo.APROBADA, "gestor@banco.com")).thenReturn(aprobado);
+
+        proxy.cambiarEstado(1L, EstadoPrestamo.APROBADA, "gestor@banco.com");
+
+        assertThat(registro.get("prestamos.casos.uso")
+                .tags("caso_uso", "ModificarEstadoPrestamoUseCase", "metodo", "cambiarEstado", "resultado", "ok")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe contar cada transición con el estado anterior que devolvió la actualización")
+    void debeContarTransicionConEstadoAnterior() {
+        PrestamoPersistenceAdapter adaptador = mock(PrestamoPersistenceAdapter.class);
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(adaptador);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasCasosUsoAspect(registro));
+        PrestamoPersistenceAdapter puerto = fabrica.getProxy();
+        Prestamo rechazado = Prestamo.builder().id(1L).estado(EstadoPrestamo.RECHAZADA).build();
+        Prestamo cancelado = Prestamo.builder().id(2L).estado(EstadoPrestamo.CANCELADA).build();
+        when(adaptador.actualizarEstado(any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(new CambioEstadoAplicado(rechazado, EstadoPrestamo.PENDIENTE)));
+        when(adaptador.actualizarEstadoCondicional(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(new CambioEstadoAplicado(cancelado, EstadoPrestamo.APROBADA)));
+
+        puerto.actualizarEstado(1L, EstadoPrestamo.RECHAZADA.predecesores(), EstadoPrestamo.RECHAZADA,
+                "gestor@banco.com", LocalDateTime.now());
+        puerto.actualizarEstadoCondicional(List.of(2L), EstadoPrestamo.CANCELADA.predecesores(),
+                EstadoPrestamo.CANCELADA, "gestor@banco.com", LocalDateTime.now());
+
+        assertThat(registro.get("prestamos.transiciones")
+                .tags("origen", "PENDIENTE", "destino", "RECHAZADA")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registro.get("prestamos.transiciones")
+                .tags("origen", "APROBADA", "destino", "CANCELADA")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe contar los rechazos por documento duplicado")
+    void debeContarRechazoDuplicado() {
+        when(servicio.crear(any())).thenThrow(new DocumentoDuplicadoException("12345678A"));
+
+        assertThatThrownBy(() -> proxy.crear(new Prestamo())).isInstanceOf(DocumentoDuplicadoException.class);
+
+        assertThat(registro.get("prestamos.rechazos").tag("motivo", "duplicado").counter().count()).isEqualTo(1.0);
+        assertThat(registro.get("prestamos.casos.uso")
+                .tags("caso_uso", "CrearPrestamoUseCase", "resultado", "DocumentoDuplicadoException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe clasificar los resultados de un cambio de estado por lotes")
+    void debeClasificarResultadosDeLote() {
+        List<CambioEstado> cambios = List.of(
+                new CambioEstado(1L, EstadoPrestamo.APROBADA),
+                new CambioEstado(2L, EstadoPrestamo.CANCELADA),
+                new CambioEstado(3L, EstadoPrestamo.APROBADA));
+        when(servicio.cambiarEstadoLote(any(), anyString())).thenReturn(List.of(
+                ResultadoCambioEstado.actualizado(1L),
+                ResultadoCambioEstado.transicionInvalida(2L, "inválida"),
+                ResultadoCambioEstado.noEncontrado(3L)));
+
+        proxy.cambiarEstadoLote(cambios, "gestor@banco.com");
+
+        assertThat(registro.get("prestamos.rechazos").tag("motivo", "transicion_invalida").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registro.get("prestamos.rechazos").tag("motivo", "no_encontrado").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe registrar el número de elementos de cada página")
+    void debeRegistrarElementosDePagina() {
+        when(servicio.obtenerPagina(null, 20)).thenReturn(new PaginaPrestamos(
+                List.of(new Prestamo(), new Prestamo(), new Prestamo()), null));
+
+        proxy.obtenerPagina(null, 20);
+
+        assertThat(registro.get("prestamos.listado.elementos").tag("metodo", "obtenerPagina")
+                .summary().totalAmount()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.bank.prestamos.infrastructure.replica;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests del enrutado de lecturas a la réplica con dos bases de datos H2 en memoria,
+ * cada una con una tabla que identifica a qué base se ha conectado la consulta.
+ */
+@DisplayName("Tests del DataSource de lectura y escritura")
+class DataSourceLecturaEscrituraTest {
+
+    private final DataSource primario = baseDeDatos("replica_test_primario", "primario");
+    private final DataSource replica = baseDeDatos("replica_test_replica", "replica");
+    private final MeterRegistry registro = new SimpleMeterRegistry();
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+
+    @BeforeEach
+    void setUp() {
+        usar(replica);
+    }
+
+    @Test
+    @DisplayName("Debe enviar las transacciones de solo lectura a la réplica y el resto al primario")
+    void debeEnrutarSegunLaTransaccion() {
+        assertThat(leer(lectura, this::origen)).isEqualTo("replica");
+        assertThat(leer(escritura, this::origen)).isEqualTo("primario");
+        assertThat(origen()).isEqualTo("primario");
+        assertThat(registro.get("prestamos.replica.lecturas").tag("destino", "replica").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe leer del primario mientras las lecturas están fijadas en él")
+    void debeLeerDelPrimarioSiEstaFijado() {
+        String[] leido = new String[1];
+
+        FijacionPrimario.ejecutar(() -> leido[0] = leer(lectura, this::origen));
+
+        assertThat(leido[0]).isEqualTo("primario");
+        assertThat(FijacionPrimario.activa()).isFalse();
+        assertThat(leer(lectura, this::origen)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Debe enrutar igual con JpaTransactionManager, que prepara la conexión antes de marcar la "
+            + "transacción como de solo lectura")
+    void debeEnrutarConJpaTransactionManager() {
+        LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setPackagesToScan(getClass().getPackageName());
+        fabrica.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = fabrica.getObject();
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate escrituraJpa = new TransactionTemplate(transactionManager);
+            TransactionTemplate lecturaJpa = new TransactionTemplate(transactionManager);
+            lecturaJpa.setReadOnly(true);
+            String[] fijada = new String[1];
+
+            assertThat(leer(lecturaJpa, () -> origenJpa(entityManagerFactory))).isEqualTo("replica");
+            assertThat(leer(escrituraJpa, () -> origenJpa(entityManagerFactory))).isEqualTo("primario");
+            FijacionPrimario.ejecutar(() -> fijada[0] = leer(lecturaJpa, () -> origenJpa(entityManagerFactory)));
+            assertThat(fijada[0]).isEqualTo("primario");
+        } finally {
+            fabrica.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe recurrir al primario si la réplica falla y dejar de intentarlo durante la pausa")
+    void debeRecurrirAlPrimarioSiLaReplicaFalla() {
+        ReplicaCaida caida = new ReplicaCaida();
+        usar(caida);
+
+        assertThat(leer(lectura, this::origen)).isEqualTo("primario");
+        assertThat(leer(lectura, this::origen)).isEqualTo("primario");
+
+        assertThat(caida.intentos).hasValue(1);
+        assertThat(registro.get("prestamos.replica.fallos").counter().count()).isEqualTo(1);
+    }
+
+    private void usar(DataSource replicaUsada) {
+        dataSource = new LazyConnectionDataSourceProxy(
+                new DataSourceLecturaEscritura(primario, replicaUsada, Duration.ofMinutes(1), registro));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    private static String leer(TransactionTemplate transaccion, Supplier<String> consulta) {
+        return transaccion.execute(estado -> consulta.get());
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private static String origenJpa(EntityManagerFactory entityManagerFactory) {
+        return (String) EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                .createNativeQuery("SELECT nombre FROM origen")
+                .getSingleResult();
+    }
+
+    private static DataSource baseDeDatos(String nombre, String origen) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate plantilla = new JdbcTemplate(dataSource);
+        plantilla.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20))");
+        plantilla.update("DELETE FROM origen");
+        plantilla.update("INSERT INTO origen (nombre) VALUES (?)", origen);
+        return dataSource;
+    }
+
+    /**
+     * Réplica que nunca entrega una conexión, como un pool que agota su connection-timeout.
+     */
+    private static final class ReplicaCaida extends AbstractDataSource {
+
+        private final AtomicInteger intentos = new AtomicInteger();
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            intentos.incrementAndGet();
+            throw new SQLException("Réplica no disponible");
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String contrasenia) throws SQLException {
+            return getConnection();
+        }
+    }
+}
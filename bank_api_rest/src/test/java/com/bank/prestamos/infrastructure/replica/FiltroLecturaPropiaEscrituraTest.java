@@ -0,0 +1,73 @@
+package com.bank.prestamos.infrastructure.replica;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para FiltroLecturaPropiaEscritura.
+ */
+@DisplayName("Tests del filtro de lectura de la propia escritura")
+class FiltroLecturaPropiaEscrituraTest {
+
+    private static final Duration VENTANA = Duration.ofSeconds(10);
+
+    private final FiltroLecturaPropiaEscritura filtro = new FiltroLecturaPropiaEscritura(VENTANA);
+
+    @Test
+    @DisplayName("Debe fijar al primario una lectura con la cookie dentro de la ventana")
+    void debeFijarLecturaConCookieVigente() throws Exception {
+        long hasta = System.currentTimeMillis() + VENTANA.toMillis() / 2;
+
+        assertThat(lecturaFijada(new Cookie(FiltroLecturaPropiaEscritura.COOKIE, String.valueOf(hasta)))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar una cookie caducada")
+    void debeIgnorarCookieCaducada() throws Exception {
+        long hasta = System.currentTimeMillis() - 1;
+
+        assertThat(lecturaFijada(new Cookie(FiltroLecturaPropiaEscritura.COOKIE, String.valueOf(hasta)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar una cookie que promete más tiempo que la ventana")
+    void debeIgnorarCookieMasAllaDeLaVentana() throws Exception {
+        long hasta = System.currentTimeMillis() + VENTANA.toMillis() * 100;
+
+        assertThat(lecturaFijada(new Cookie(FiltroLecturaPropiaEscritura.COOKIE, String.valueOf(hasta)))).isFalse();
+        assertThat(lecturaFijada(new Cookie(FiltroLecturaPropiaEscritura.COOKIE, String.valueOf(Long.MAX_VALUE))))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe fijar las escrituras y devolver la cookie con la ventana")
+    void debeFijarEscrituraYDevolverCookie() throws Exception {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("POST", "/api/prestamos");
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        AtomicBoolean fijada = new AtomicBoolean();
+
+        filtro.doFilter(peticion, respuesta, (req, res) -> fijada.set(FijacionPrimario.activa()));
+
+        assertThat(fijada).isTrue();
+        Cookie cookie = respuesta.getCookie(FiltroLecturaPropiaEscritura.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isLessThanOrEqualTo(System.currentTimeMillis() + VENTANA.toMillis());
+        assertThat(FijacionPrimario.activa()).isFalse();
+    }
+
+    private boolean lecturaFijada(Cookie cookie) throws Exception {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("GET", "/api/prestamos");
+        peticion.setCookies(cookie);
+        AtomicBoolean fijada = new AtomicBoolean();
+        filtro.doFilter(peticion, new MockHttpServletResponse(), (req, res) -> fijada.set(FijacionPrimario.activa()));
+        return fijada.get();
+    }
+}
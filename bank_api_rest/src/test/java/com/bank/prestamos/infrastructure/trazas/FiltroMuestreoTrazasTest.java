@@ -0,0 +1,108 @@
+package com.bank.prestamos.infrastructure.trazas;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para FiltroMuestreoTrazas.
+ */
+@DisplayName("Tests del muestreo de trazas por petición")
+class FiltroMuestreoTrazasTest {
+
+    private static final String SERVICIOS = "com.bank.prestamos.application.services";
+
+    private final AtomicLong reloj = new AtomicLong(1_000);
+    private final LoggerContext contexto = new LoggerContext();
+    private final ListAppender<ILoggingEvent> escritas = new ListAppender<>();
+    private FiltroMuestreoTrazas filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new FiltroMuestreoTrazas(reloj::get);
+        filtro.setContext(contexto);
+        filtro.addLogger(SERVICIOS);
+        filtro.setMaximoPorSegundo(3);
+        filtro.start();
+        contexto.addTurboFilter(filtro);
+
+        escritas.setContext(contexto);
+        escritas.start();
+        Logger raiz = contexto.getLogger(Logger.ROOT_LOGGER_NAME);
+        raiz.setLevel(Level.DEBUG);
+        raiz.addAppender(escritas);
+    }
+
+    @Test
+    @DisplayName("Debe admitir como máximo el cupo por segundo de trazas INFO y DEBUG")
+    void debeLimitarLasTrazasPorSegundo() {
+        Logger servicio = contexto.getLogger(SERVICIOS + ".PrestamoService");
+
+        for (int i = 0; i < 10; i++) {
+            servicio.info("Préstamo creado exitosamente con ID: {}", i);
+        }
+
+        assertThat(escritas.list).hasSize(3);
+        assertThat(filtro.descartadas()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Debe dejar pasar siempre WARN y ERROR y los loggers no muestreados")
+    void noDebeMuestrearAvisosNiOtrosLoggers() {
+        Logger servicio = contexto.getLogger(SERVICIOS + ".PrestamoService");
+        Logger otro = contexto.getLogger("com.bank.prestamos.infrastructure.adapter.out.historial.HistorialPrestamosAdapter");
+        Logger parecido = contexto.getLogger(SERVICIOS + "Extra");
+
+        for (int i = 0; i < 5; i++) {
+            servicio.warn("Préstamo no encontrado con ID: {}", i);
+            otro.info("Escritor del historial iniciado");
+            parecido.info("Traza de otro paquete");
+        }
+
+        assertThat(escritas.list).hasSize(15);
+        assertThat(filtro.descartadas()).isZero();
+    }
+
+    @Test
+    @DisplayName("No debe consumir cupo con comprobaciones de nivel ni con trazas de nivel desactivado")
+    void noDebeConsumirCupoSinEscribir() {
+        Logger servicio = contexto.getLogger(SERVICIOS + ".PrestamoService");
+        servicio.setLevel(Level.INFO);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(servicio.isInfoEnabled()).isTrue();
+            servicio.debug("Consultando préstamo con ID: {}", i);
+        }
+        servicio.info("Préstamo creado exitosamente con ID: {}", 1);
+
+        assertThat(escritas.list).hasSize(1);
+        assertThat(filtro.descartadas()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe renovar el cupo cada segundo y avisar de las trazas descartadas")
+    void debeRenovarElCupoYAvisar() {
+        Logger servicio = contexto.getLogger(SERVICIOS + ".PrestamoService");
+        for (int i = 0; i < 5; i++) {
+            servicio.info("Préstamo creado exitosamente con ID: {}", i);
+        }
+
+        reloj.addAndGet(1_000);
+        servicio.info("Préstamo creado exitosamente con ID: {}", 5);
+
+        assertThat(escritas.list).hasSize(5);
+        ILoggingEvent aviso = escritas.list.get(3);
+        assertThat(aviso.getLevel()).isEqualTo(Level.WARN);
+        assertThat(aviso.getFormattedMessage()).contains("2 líneas descartadas");
+        assertThat(escritas.list.get(4).getFormattedMessage()).endsWith("ID: 5");
+    }
+}